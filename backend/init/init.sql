@@ -3,6 +3,8 @@
 -- ============================================
 
 -- 1. SUPPRIMER TOUTES LES TABLES (dans le bon ordre)
+DROP TABLE IF EXISTS evaluation_test CASCADE;
+DROP TABLE IF EXISTS user_stats CASCADE;
 DROP TABLE IF EXISTS message CASCADE;
 DROP TABLE IF EXISTS test CASCADE;
 DROP TABLE IF EXISTS debat CASCADE;
@@ -64,7 +66,8 @@ CREATE TABLE debat (
                        duree INT,
                        id_sujet INT NOT NULL REFERENCES sujet(id) ON DELETE CASCADE,
                        id_utilisateur INT NOT NULL REFERENCES utilisateur(id) ON DELETE CASCADE,
-                       choix_utilisateur VARCHAR(10) NOT NULL DEFAULT 'POUR'
+                       choix_utilisateur VARCHAR(10) NOT NULL DEFAULT 'POUR',
+                       chatbot_session_id VARCHAR(100)
 );
 
 -- Table test (dépend de debat)
@@ -80,7 +83,8 @@ CREATE TABLE message (
                          contenu TEXT NOT NULL,
                          timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                          id_debat INT NOT NULL REFERENCES debat(id) ON DELETE CASCADE,
-                         id_utilisateur INT NOT NULL REFERENCES utilisateur(id) ON DELETE CASCADE
+                         id_utilisateur INT NOT NULL REFERENCES utilisateur(id) ON DELETE CASCADE,
+                         id_message_source INT REFERENCES message(id) ON DELETE SET NULL
 );
 
 -- Table password_reset_token
@@ -106,6 +110,27 @@ CREATE TABLE signalement (
                              id_debat BIGINT REFERENCES debat(id) ON DELETE SET NULL
 );
 
+-- Table user_stats : statistiques par utilisateur maintenues au fil de l'eau
+CREATE TABLE user_stats (
+                            id_utilisateur BIGINT PRIMARY KEY REFERENCES utilisateur(id) ON DELETE CASCADE,
+                            total_debats INT NOT NULL DEFAULT 0,
+                            debats_gagnes INT NOT NULL DEFAULT 0,
+                            nombre_notes INT NOT NULL DEFAULT 0,
+                            somme_notes INT NOT NULL DEFAULT 0,
+                            meilleure_note INT,
+                            date_maj TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Table evaluation_test : file d'évaluation automatique des tests (une ligne par débat)
+CREATE TABLE evaluation_test (
+                                 id_debat BIGINT PRIMARY KEY REFERENCES debat(id) ON DELETE CASCADE,
+                                 statut VARCHAR(20) NOT NULL DEFAULT 'EN_ATTENTE',
+                                 tentatives INT NOT NULL DEFAULT 0,
+                                 prochaine_tentative TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                 derniere_erreur VARCHAR(500),
+                                 date_maj TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Index pour optimiser les requêtes
 CREATE INDEX idx_signalement_utilisateur ON signalement(id_utilisateur);
 CREATE INDEX idx_signalement_statut ON signalement(statut);
@@ -117,10 +142,14 @@ CREATE INDEX idx_utilisateur_role ON utilisateur(role);
 CREATE INDEX idx_debat_date_debut ON debat(date_debut);
 CREATE INDEX idx_debat_duree ON debat(duree);
 CREATE INDEX idx_message_timestamp ON message(timestamp);
+CREATE INDEX idx_message_source ON message(id_message_source);
 CREATE INDEX idx_test_note ON test(note);
 CREATE INDEX idx_sujet_categorie ON sujet(categorie);
 CREATE INDEX idx_sujet_difficulte ON sujet(difficulte);
 
+-- Index pour la file d'évaluation (tâches dues)
+CREATE INDEX idx_evaluation_test_statut ON evaluation_test(statut, prochaine_tentative);
+
 -- 5. INSÉRER LES DONNÉES DANS LE BON ORDRE
 -- 1. Badge d'abord
 INSERT INTO badge (nom, description, categorie) VALUES
@@ -235,14 +264,35 @@ INSERT INTO signalement (id_utilisateur, titre, description, type_probleme, stat
                                                                                                                                                                 (2, 'Sujet manquant', 'Il manque des sujets sur l''écologie et le développement durable.', 'SUGGESTION', 'EN_ATTENTE', CURRENT_TIMESTAMP - INTERVAL '1 hour', NULL, NULL, NULL),
                                                                                                                                                                 (4, 'Problème de connexion', 'Je suis parfois déconnecté pendant un débat.', 'BUG_TECHNIQUE', 'EN_COURS', CURRENT_TIMESTAMP - INTERVAL '12 hours', NULL, 1, 'Nous investiguons les problèmes de connexion');
 
--- 8. VÉRIFICATION DES DONNÉES
+-- 8. Statistiques utilisateur (calculées depuis les débats et tests insérés)
+INSERT INTO user_stats (id_utilisateur, total_debats, debats_gagnes, nombre_notes, somme_notes, meilleure_note)
+SELECT u.id,
+       COUNT(DISTINCT d.id),
+       COUNT(t.id) FILTER (WHERE t.note >= 12),
+       COUNT(t.note),
+       COALESCE(SUM(t.note), 0),
+       MAX(t.note)
+FROM utilisateur u
+         LEFT JOIN debat d ON d.id_utilisateur = u.id
+         LEFT JOIN test t ON t.id_debat = d.id
+GROUP BY u.id;
+
+-- 8 bis. Séquences des tables les plus écrites : Hibernate réserve les IDs par blocs de 50
+-- (optimiseur pooled, la valeur lue est la borne haute du bloc) et peut ainsi regrouper les INSERT.
+-- message_id_seq reste à 1 : l'ordre des IDs de message doit suivre l'ordre d'insertion.
+ALTER SEQUENCE debat_id_seq INCREMENT BY 50;
+ALTER SEQUENCE test_id_seq INCREMENT BY 50;
+SELECT setval('debat_id_seq', COALESCE((SELECT MAX(id) FROM debat), 1));
+SELECT setval('test_id_seq', COALESCE((SELECT MAX(id) FROM test), 1));
+
+-- 9. VÉRIFICATION DES DONNÉES
 DO $$
 BEGIN
     RAISE NOTICE '=== BASE DE DONNÉES DEBATEARENA INITIALISÉE AVEC SUCCÈS ===';
     RAISE NOTICE 'Date d''exécution: %', CURRENT_TIMESTAMP;
 END $$;
 
--- 9. STATISTIQUES (pour vérifier)
+-- 10. STATISTIQUES (pour vérifier)
 SELECT '=== STATISTIQUES GLOBALES ===' as info;
 SELECT
     (SELECT COUNT(*) FROM utilisateur WHERE role = 'UTILISATEUR') as total_utilisateurs,
@@ -255,7 +305,7 @@ SELECT
     (SELECT COUNT(*) FROM signalement) as total_signalements,
     (SELECT COUNT(*) FROM signalement WHERE statut = 'EN_ATTENTE') as signalements_en_attente;
 
--- 10. VÉRIFICATION DES DONNÉES IMPORTANTES
+-- 11. VÉRIFICATION DES DONNÉES IMPORTANTES
 SELECT '=== UTILISATEURS ADMIN ===' as info;
 SELECT id, nom, prenom, email, role FROM utilisateur WHERE role = 'ADMIN';
 
@@ -274,7 +324,7 @@ ORDER BY s.date_creation DESC;
 SELECT '=== SUJETS DISPONIBLES ===' as info;
 SELECT id, titre, difficulte, categorie FROM sujet ORDER BY categorie, difficulte;
 
--- 11. VÉRIFICATION DES INDEX
+-- 12. VÉRIFICATION DES INDEX
 SELECT '=== INDEX CRÉÉS ===' as info;
 SELECT schemaname, tablename, indexname, indexdef
 FROM pg_indexes
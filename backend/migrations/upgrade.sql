@@ -0,0 +1,67 @@
+-- ============================================
+-- MISE À NIVEAU D'UNE BASE EXISTANTE
+-- ============================================
+-- init.sql ne s'exécute qu'à la création du volume PostgreSQL (il supprime puis recrée tout).
+-- Ce script apporte à une base déjà en service les objets ajoutés depuis, sans toucher aux données.
+-- Il est idempotent : il peut être rejoué sans effet sur une base déjà à jour.
+-- À exécuter backend arrêté (voir REDME.md).
+
+BEGIN;
+
+-- 1. Colonnes ajoutées
+-- Session du chatbot associée au débat
+ALTER TABLE debat ADD COLUMN IF NOT EXISTS chatbot_session_id VARCHAR(100);
+
+-- Message utilisateur auquel répond un message du chatbot
+ALTER TABLE message ADD COLUMN IF NOT EXISTS id_message_source INT REFERENCES message(id) ON DELETE SET NULL;
+
+-- 2. Tables ajoutées
+-- Table user_stats : statistiques par utilisateur maintenues au fil de l'eau
+CREATE TABLE IF NOT EXISTS user_stats (
+                                          id_utilisateur BIGINT PRIMARY KEY REFERENCES utilisateur(id) ON DELETE CASCADE,
+                                          total_debats INT NOT NULL DEFAULT 0,
+                                          debats_gagnes INT NOT NULL DEFAULT 0,
+                                          nombre_notes INT NOT NULL DEFAULT 0,
+                                          somme_notes INT NOT NULL DEFAULT 0,
+                                          meilleure_note INT,
+                                          date_maj TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Table evaluation_test : file d'évaluation automatique des tests (une ligne par débat)
+CREATE TABLE IF NOT EXISTS evaluation_test (
+                                               id_debat BIGINT PRIMARY KEY REFERENCES debat(id) ON DELETE CASCADE,
+                                               statut VARCHAR(20) NOT NULL DEFAULT 'EN_ATTENTE',
+                                               tentatives INT NOT NULL DEFAULT 0,
+                                               prochaine_tentative TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                               derniere_erreur VARCHAR(500),
+                                               date_maj TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 3. Index ajoutés
+CREATE INDEX IF NOT EXISTS idx_message_source ON message(id_message_source);
+CREATE INDEX IF NOT EXISTS idx_evaluation_test_statut ON evaluation_test(statut, prochaine_tentative);
+
+-- 4. Statistiques des utilisateurs existants (les lignes déjà présentes sont conservées)
+INSERT INTO user_stats (id_utilisateur, total_debats, debats_gagnes, nombre_notes, somme_notes, meilleure_note)
+SELECT u.id,
+       COUNT(DISTINCT d.id),
+       COUNT(t.id) FILTER (WHERE t.note >= 12),
+       COUNT(t.note),
+       COALESCE(SUM(t.note), 0),
+       MAX(t.note)
+FROM utilisateur u
+         LEFT JOIN debat d ON d.id_utilisateur = u.id
+         LEFT JOIN test t ON t.id_debat = d.id
+GROUP BY u.id
+ON CONFLICT (id_utilisateur) DO NOTHING;
+
+-- 5. Séquences : blocs de 50 pour debat et test (optimiseur pooled d'Hibernate),
+-- pas de 1 pour message (l'ordre des IDs de message doit suivre l'ordre d'insertion).
+-- La séquence ne recule jamais : un bloc déjà réservé ne peut pas être distribué une seconde fois.
+ALTER SEQUENCE debat_id_seq INCREMENT BY 50;
+ALTER SEQUENCE test_id_seq INCREMENT BY 50;
+ALTER SEQUENCE message_id_seq INCREMENT BY 1;
+SELECT setval('debat_id_seq', GREATEST((SELECT last_value FROM debat_id_seq), COALESCE((SELECT MAX(id) FROM debat), 1)));
+SELECT setval('test_id_seq', GREATEST((SELECT last_value FROM test_id_seq), COALESCE((SELECT MAX(id) FROM test), 1)));
+
+COMMIT;
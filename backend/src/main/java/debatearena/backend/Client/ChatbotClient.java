@@ -1,39 +1,90 @@
 package debatearena.backend.Client;
 
+import debatearena.backend.Config.ChatbotHttpConfig;
 import debatearena.backend.DTO.ChatbotRequest;
 import debatearena.backend.DTO.ChatbotResponse;
 import debatearena.backend.DTO.ChatbotHealthResponse;
 import debatearena.backend.Exceptions.ChatbotServiceException;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import java.time.Duration;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Component
 public class ChatbotClient {
 
     private final RestTemplate restTemplate;
+    private final RestTemplate healthRestTemplate;
+    private final PoolingHttpClientConnectionManager connectionManager;
     private final String baseUrl;
 
     public ChatbotClient(RestTemplateBuilder restTemplateBuilder,
-                         @Value("${app.chatbot.base-url:http://chatbot:5005}") String baseUrl) {
+                         CloseableHttpClient chatbotHttpClient,
+                         PoolingHttpClientConnectionManager chatbotConnectionManager,
+                         @Value("${app.chatbot.base-url:http://chatbot:5005}") String baseUrl,
+                         @Value("${app.chatbot.http.chat-timeout-ms:30000}") long chatTimeoutMs,
+                         @Value("${app.chatbot.http.health-timeout-ms:2000}") long healthTimeoutMs,
+                         @Value("${app.chatbot.http.attente-connexion-ms:2000}") long attenteConnexionMs,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuels,
+                         @Value("${app.chatbot.http.attente-connexion-virtuels-ms:25000}") long attenteConnexionVirtuelsMs) {
         this.baseUrl = baseUrl;
+        this.connectionManager = chatbotConnectionManager;
+
+        // Threads virtuels : attendre une connexion ne bloque aucun thread plateforme
+        long attenteConnexion = ChatbotHttpConfig.modeVirtuel(threadsVirtuels) ? attenteConnexionVirtuelsMs : attenteConnexionMs;
+
+        // Deux RestTemplate sur le même pool : seuls les délais de réponse diffèrent
         this.restTemplate = restTemplateBuilder
-                .setConnectTimeout(Duration.ofSeconds(5))
-                .setReadTimeout(Duration.ofSeconds(30))
+                .requestFactory(() -> creerRequestFactory(chatbotHttpClient, chatTimeoutMs, attenteConnexion))
+                .build();
+        this.healthRestTemplate = restTemplateBuilder
+                .requestFactory(() -> creerRequestFactory(chatbotHttpClient, healthTimeoutMs, attenteConnexion))
                 .build();
     }
 
+    private static ClientHttpRequestFactory creerRequestFactory(CloseableHttpClient httpClient,
+                                                                long reponseTimeoutMs,
+                                                                long attenteConnexionMs) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setResponseTimeout(Timeout.ofMilliseconds(reponseTimeoutMs))
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(attenteConnexionMs))
+                .build();
+
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfig);
+            return context;
+        });
+        return factory;
+    }
+
     public boolean isHealthy() {
         try {
             String url = baseUrl + "/health";
-            ResponseEntity<ChatbotHealthResponse> response = restTemplate.getForEntity(
+            ResponseEntity<ChatbotHealthResponse> response = healthRestTemplate.getForEntity(
                     url,
                     ChatbotHealthResponse.class
             );
@@ -49,12 +100,21 @@ public class ChatbotClient {
     }
 
     public ChatbotResponse sendMessage(String message, String sessionId) {
+        return sendMessage(message, sessionId, "train");
+    }
+
+    /**
+     * Envoi dans un mode donné : "train" pour débattre, "score" pour faire évaluer les arguments
+     * (le message "fin du débat" renvoie alors le rapport final).
+     */
+    public ChatbotResponse sendMessage(String message, String sessionId, String mode) {
         try {
             String url = baseUrl + "/chat";
 
             ChatbotRequest request = new ChatbotRequest();
             request.setMessage(message);
             request.setSession_id(sessionId);
+            request.setMode(mode);
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -77,9 +137,79 @@ public class ChatbotClient {
         }
     }
 
+    public ChatbotResponse streamMessage(String message, String sessionId, Consumer<String> surFragment) {
+        return streamMessage(message, sessionId, "train", surFragment);
+    }
+
+    /**
+     * Variante en flux de sendMessage (même mode) : chaque morceau reçu est transmis à surFragment
+     * dès sa lecture, puis la réponse complète est renvoyée.
+     */
+    public ChatbotResponse streamMessage(String message, String sessionId, String mode, Consumer<String> surFragment) {
+        try {
+            String url = baseUrl + "/chat/stream";
+
+            ChatbotRequest request = new ChatbotRequest();
+            request.setMessage(message);
+            request.setSession_id(sessionId);
+            request.setMode(mode);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(List.of(MediaType.TEXT_PLAIN));
+            HttpEntity<ChatbotRequest> entity = new HttpEntity<>(request, headers);
+
+            ChatbotResponse response = restTemplate.execute(
+                    url,
+                    HttpMethod.POST,
+                    restTemplate.httpEntityCallback(entity),
+                    clientResponse -> lireFlux(clientResponse, surFragment)
+            );
+
+            if (response == null) {
+                throw new ChatbotServiceException("Réponse vide du chatbot");
+            }
+
+            return response;
+
+        } catch (Exception e) {
+            throw new ChatbotServiceException("Erreur lors de l'appel au chatbot: " + e.getMessage());
+        }
+    }
+
+    private ChatbotResponse lireFlux(ClientHttpResponse clientResponse, Consumer<String> surFragment) throws IOException {
+        StringBuilder complete = new StringBuilder();
+        char[] buffer = new char[256];
+
+        try (Reader reader = new InputStreamReader(clientResponse.getBody(), StandardCharsets.UTF_8)) {
+            int lus;
+            while ((lus = reader.read(buffer)) != -1) {
+                String fragment = new String(buffer, 0, lus);
+                complete.append(fragment);
+                surFragment.accept(fragment);
+            }
+        }
+
+        return new ChatbotResponse(complete.toString(), clientResponse.getHeaders().getFirst("X-Session-Id"));
+    }
+
+    /**
+     * Statistiques du pool de connexions vers le chatbot.
+     */
+    public Map<String, Object> getStatistiquesPool() {
+        PoolStats stats = connectionManager.getTotalStats();
+
+        Map<String, Object> pool = new LinkedHashMap<>();
+        pool.put("max", stats.getMax());
+        pool.put("leased", stats.getLeased());
+        pool.put("available", stats.getAvailable());
+        pool.put("pending", stats.getPending());
+        return pool;
+    }
+
     public void clearSession(String sessionId) {
         try {
-            String url = baseUrl + "/chat/" + sessionId;
+            String url = baseUrl + "/session/" + sessionId;
             restTemplate.delete(url);
         } catch (Exception e) {
             // Ignorer les erreurs de nettoyage
@@ -0,0 +1,79 @@
+package debatearena.backend.Client;
+
+import debatearena.backend.Exceptions.ChatbotServiceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * État de santé du chatbot, mis en cache.
+ * La sonde /health tourne en tâche de fond ; les appels réels passent par
+ * {@link #executer(Supplier)} qui alimente le disjoncteur.
+ */
+@Component
+public class ChatbotHealthMonitor {
+
+    private final ChatbotClient chatbotClient;
+    private final CircuitBreaker circuitBreaker;
+
+    // Optimiste au démarrage : le disjoncteur prend le relais si le chatbot ne répond pas
+    private volatile boolean sondeOk = true;
+    private volatile LocalDateTime derniereVerification;
+
+    public ChatbotHealthMonitor(ChatbotClient chatbotClient,
+                                @Value("${app.chatbot.circuit.seuil-echecs:3}") int seuilEchecs,
+                                @Value("${app.chatbot.circuit.duree-ouverture-secondes:30}") long dureeOuvertureSecondes) {
+        this.chatbotClient = chatbotClient;
+        this.circuitBreaker = new CircuitBreaker(seuilEchecs, Duration.ofSeconds(dureeOuvertureSecondes));
+    }
+
+    // ========== SONDE ==========
+
+    @Scheduled(fixedDelayString = "${app.chatbot.health.intervalle-ms:15000}")
+    public void rafraichir() {
+        sondeOk = chatbotClient.isHealthy();
+        derniereVerification = LocalDateTime.now();
+    }
+
+    // ========== ÉTAT ==========
+
+    /**
+     * Lecture seule, sans appel réseau : la dernière sonde est bonne et le circuit n'est pas ouvert.
+     */
+    public boolean isDisponible() {
+        return sondeOk && circuitBreaker.getEtat() != CircuitBreaker.Etat.OUVERT;
+    }
+
+    public CircuitBreaker.Etat getEtatCircuit() {
+        return circuitBreaker.getEtat();
+    }
+
+    public LocalDateTime getDerniereVerification() {
+        return derniereVerification;
+    }
+
+    // ========== APPELS ==========
+
+    /**
+     * Exécute un appel au chatbot à travers le disjoncteur.
+     * Lève ChatbotServiceException sans appel réseau si le chatbot est considéré indisponible.
+     */
+    public <T> T executer(Supplier<T> appel) {
+        if (!sondeOk || !circuitBreaker.autoriserAppel()) {
+            throw new ChatbotServiceException("Chatbot indisponible");
+        }
+
+        try {
+            T resultat = appel.get();
+            circuitBreaker.enregistrerSucces();
+            return resultat;
+        } catch (RuntimeException e) {
+            circuitBreaker.enregistrerEchec();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package debatearena.backend.Client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Disjoncteur simple FERME / OUVERT / SEMI_OUVERT.
+ * Il s'ouvre après un nombre d'échecs consécutifs, puis laisse passer
+ * un unique appel d'essai une fois la durée d'ouverture écoulée.
+ */
+public class CircuitBreaker {
+
+    public enum Etat { FERME, OUVERT, SEMI_OUVERT }
+
+    private final int seuilEchecs;
+    private final Duration dureeOuverture;
+    private final Clock clock;
+
+    private Etat etat = Etat.FERME;
+    private int echecsConsecutifs;
+    private Instant ouvertDepuis;
+    private boolean essaiEnCours;
+
+    public CircuitBreaker(int seuilEchecs, Duration dureeOuverture) {
+        this(seuilEchecs, dureeOuverture, Clock.systemUTC());
+    }
+
+    CircuitBreaker(int seuilEchecs, Duration dureeOuverture, Clock clock) {
+        this.seuilEchecs = Math.max(1, seuilEchecs);
+        this.dureeOuverture = dureeOuverture;
+        this.clock = clock;
+    }
+
+    /**
+     * Indique si un appel peut être tenté. En SEMI_OUVERT, un seul appel
+     * d'essai est accordé jusqu'à ce que son résultat soit enregistré.
+     */
+    public synchronized boolean autoriserAppel() {
+        if (etat == Etat.OUVERT) {
+            if (!delaiEcoule()) {
+                return false;
+            }
+            etat = Etat.SEMI_OUVERT;
+            essaiEnCours = false;
+        }
+
+        if (etat == Etat.SEMI_OUVERT) {
+            if (essaiEnCours) {
+                return false;
+            }
+            essaiEnCours = true;
+        }
+
+        return true;
+    }
+
+    public synchronized void enregistrerSucces() {
+        etat = Etat.FERME;
+        echecsConsecutifs = 0;
+        essaiEnCours = false;
+    }
+
+    public synchronized void enregistrerEchec() {
+        essaiEnCours = false;
+        echecsConsecutifs++;
+
+        if (etat == Etat.SEMI_OUVERT || echecsConsecutifs >= seuilEchecs) {
+            etat = Etat.OUVERT;
+            ouvertDepuis = clock.instant();
+        }
+    }
+
+    public synchronized Etat getEtat() {
+        // Un circuit ouvert dont le délai est écoulé accepte déjà un essai
+        if (etat == Etat.OUVERT && delaiEcoule()) {
+            return Etat.SEMI_OUVERT;
+        }
+        return etat;
+    }
+
+    private boolean delaiEcoule() {
+        return !clock.instant().isBefore(ouvertDepuis.plus(dureeOuverture));
+    }
+}
@@ -0,0 +1,32 @@
+package debatearena.backend.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Plafond optionnel d'accès concurrents à la base (app.db.acces-concurrents-max, 0 = désactivé).
+ * Utile en mode threads virtuels, où le nombre de requêtes simultanées n'est plus borné
+ * par le pool de threads Tomcat.
+ */
+@Configuration
+public class AccesBaseConfig {
+
+    @Bean
+    public static BeanPostProcessor plafondAccesBase(
+            @Value("${app.db.acces-concurrents-max:0}") int accesMax,
+            @Value("${app.db.attente-acces-ms:5000}") long attenteMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (accesMax > 0 && bean instanceof DataSource dataSource && !(bean instanceof AccesBaseLimite)) {
+                    return new AccesBaseLimite(dataSource, accesMax, attenteMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
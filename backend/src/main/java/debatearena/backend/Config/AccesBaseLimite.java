@@ -0,0 +1,93 @@
+package debatearena.backend.Config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource qui plafonne le nombre de connexions empruntées en même temps.
+ * Avec des milliers de threads virtuels, les requêtes attendent leur tour ici (file équitable,
+ * attente bornée) au lieu de toutes se presser sur le pool Hikari.
+ * La place est rendue à la fermeture de la connexion.
+ */
+public class AccesBaseLimite extends DelegatingDataSource {
+
+    private final Semaphore places;
+    private final long attenteMs;
+
+    public AccesBaseLimite(DataSource cible, int accesMax, long attenteMs) {
+        super(cible);
+        this.places = new Semaphore(Math.max(1, accesMax), true);
+        this.attenteMs = attenteMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        reserver();
+        try {
+            return liberantALaFermeture(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            places.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        reserver();
+        try {
+            return liberantALaFermeture(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            places.release();
+            throw e;
+        }
+    }
+
+    public int getPlacesLibres() {
+        return places.availablePermits();
+    }
+
+    private void reserver() throws SQLException {
+        try {
+            if (!places.tryAcquire(attenteMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Trop d'accès concurrents à la base (attente de " + attenteMs + " ms dépassée)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Attente d'un accès à la base interrompue", e);
+        }
+    }
+
+    private Connection liberantALaFermeture(Connection connexion) {
+        AtomicBoolean liberee = new AtomicBoolean(false);
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, methode, arguments) -> {
+                    if (methode.getName().equals("close") && liberee.compareAndSet(false, true)) {
+                        try {
+                            connexion.close();
+                        } finally {
+                            places.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return methode.invoke(connexion, arguments);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+        );
+    }
+}
@@ -0,0 +1,79 @@
+package debatearena.backend.Config;
+
+import debatearena.backend.Utils.ExecuteurVirtuel;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Transport HTTP du chatbot : pool de connexions persistantes partagé
+ * par les appels /chat et /health.
+ * En mode threads virtuels, le pool est dimensionné sur le plafond des appels simultanés
+ * (app.chatbot.http.max-connexions-virtuels) au lieu de max-connexions.
+ */
+@Configuration
+public class ChatbotHttpConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager chatbotConnectionManager(
+            @Value("${app.chatbot.http.max-connexions:50}") int maxConnexions,
+            @Value("${app.chatbot.http.max-connexions-par-route:50}") int maxConnexionsParRoute,
+            @Value("${app.chatbot.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${app.chatbot.http.validation-apres-inactivite-ms:2000}") long validationApresInactiviteMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuels,
+            @Value("${app.chatbot.http.max-connexions-virtuels:${app.chatbot.async.max-virtuels:2000}}") int maxConnexionsVirtuels) {
+        if (modeVirtuel(threadsVirtuels)) {
+            // Un appel en attente ne coûte plus un thread plateforme : le pool ne doit plus être le goulot
+            maxConnexions = Math.max(maxConnexions, maxConnexionsVirtuels);
+            maxConnexionsParRoute = Math.max(maxConnexionsParRoute, maxConnexionsVirtuels);
+        }
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnexions)
+                .setMaxConnPerRoute(maxConnexionsParRoute)
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setTcpNoDelay(true)
+                        .build())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        // Vérifie qu'une connexion restée inactive n'a pas été fermée par le serveur
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validationApresInactiviteMs))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient chatbotHttpClient(
+            PoolingHttpClientConnectionManager chatbotConnectionManager,
+            @Value("${app.chatbot.http.keep-alive-secondes:30}") long keepAliveSecondes,
+            @Value("${app.chatbot.http.eviction-inactives-secondes:60}") long evictionInactivesSecondes) {
+        TimeValue keepAliveMax = TimeValue.ofSeconds(keepAliveSecondes);
+
+        return HttpClients.custom()
+                .setConnectionManager(chatbotConnectionManager)
+                // Respecte le Keep-Alive annoncé par le serveur, borné par notre maximum
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue annonce = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return TimeValue.isPositive(annonce) && annonce.compareTo(keepAliveMax) < 0 ? annonce : keepAliveMax;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(evictionInactivesSecondes))
+                .build();
+    }
+
+    /**
+     * Vrai si les threads virtuels sont demandés et disponibles sur la JVM courante
+     */
+    public static boolean modeVirtuel(boolean threadsVirtuels) {
+        return threadsVirtuels && ExecuteurVirtuel.estSupporte();
+    }
+}
@@ -11,9 +11,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -54,7 +56,8 @@ public class AdminController {
 
     @Operation(
             summary = "Récupérer le dashboard administrateur",
-            description = "Statistiques globales de la plateforme, activité et tendances"
+            description = "Statistiques globales de la plateforme, activité et tendances " +
+                    "(instantané recalculé périodiquement, voir dateCalcul)"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -71,6 +74,25 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getDashboardStats());
     }
 
+    @Operation(
+            summary = "Recalculer le dashboard administrateur",
+            description = "Recalcule immédiatement l'instantané des statistiques et le retourne"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Dashboard recalculé",
+                    content = @Content(schema = @Schema(implementation = DashboardAdminResponse.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Non authentifié"),
+            @ApiResponse(responseCode = "403", description = "Accès réservé aux administrateurs")
+    })
+    @PostMapping("/dashboard/rafraichir")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DashboardAdminResponse> rafraichirDashboard() {
+        return ResponseEntity.ok(adminService.rafraichirDashboard());
+    }
+
     // ========== GESTION DES SUJETS ==========
 
     @Operation(
@@ -145,13 +167,21 @@ public class AdminController {
                     description = "Liste des sujets avec stats",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = SujetStatsResponse.class)))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
             @ApiResponse(responseCode = "401", description = "Non authentifié"),
             @ApiResponse(responseCode = "403", description = "Accès réservé aux administrateurs")
     })
     @GetMapping("/sujets/stats")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<SujetStatsResponse>> getSujetsWithStats() {
-        return ResponseEntity.ok(adminService.getSujetsWithStats());
+    public ResponseEntity<List<SujetStatsResponse>> getSujetsWithStats(@Parameter(hidden = true) WebRequest webRequest) {
+        String etag = adminService.getEtagSujetsStats();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(adminService.getSujetsWithStats());
     }
 
     // ========== GESTION DES SIGNALEMENTS ==========
@@ -180,6 +210,35 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getAllSignalements(statut, typeProbleme));
     }
 
+    @Operation(
+            summary = "Récupérer les signalements par pages",
+            description = "Pagination par curseur avec filtres optionnels, du plus récent au plus ancien"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page de signalements",
+                    content = @Content(schema = @Schema(implementation = PageResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Filtre ou curseur invalide"),
+            @ApiResponse(responseCode = "401", description = "Non authentifié"),
+            @ApiResponse(responseCode = "403", description = "Accès réservé aux administrateurs")
+    })
+    @GetMapping("/signalements/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PageResponse<SignalementResponse>> getSignalementsPage(
+            @Parameter(description = "Filtrer par statut", example = "EN_ATTENTE")
+            @RequestParam(required = false) String statut,
+            @Parameter(description = "Filtrer par type de problème", example = "BUG_TECHNIQUE")
+            @RequestParam(required = false) String typeProbleme,
+            @Parameter(description = "Curseur renvoyé par la page précédente (absent pour la première page)")
+            @RequestParam(required = false) String curseur,
+            @Parameter(description = "Nombre d'éléments par page (1 à 100)", example = "20")
+            @RequestParam(required = false) Integer taille
+    ) {
+        return ResponseEntity.ok(adminService.getSignalementsPage(statut, typeProbleme, curseur, taille));
+    }
+
     @Operation(
             summary = "Traiter un signalement",
             description = "Met à jour le statut et ajoute un commentaire admin"
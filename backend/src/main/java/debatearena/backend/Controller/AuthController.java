@@ -173,4 +173,32 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Déconnexion",
+            description = "Révoque le JWT courant jusqu'à son expiration"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Déconnexion effectuée",
+                    content = @Content(schema = @Schema(type = "string", example = "Déconnecté"))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Token manquant"
+            )
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(
+            @Parameter(hidden = true)
+            @RequestHeader(value = "Authorization", required = false) String authorization
+    ) {
+        try {
+            authService.logout(authorization);
+            return ResponseEntity.ok("Déconnecté");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+}
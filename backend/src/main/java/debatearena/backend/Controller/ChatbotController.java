@@ -27,7 +27,8 @@ public class ChatbotController {
 
     @Operation(
             summary = "Vérifier l'état du chatbot",
-            description = "Retourne l'état de santé du service chatbot et le nombre de sessions actives"
+            description = "Retourne l'état de santé du service chatbot (mis en cache, sans appel réseau), " +
+                    "l'état du disjoncteur, le nombre de sessions actives et l'occupation du pool de connexions"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -37,7 +38,10 @@ public class ChatbotController {
                 {
                   "status": "healthy",
                   "service": "chatbot",
-                  "active_sessions": 5
+                  "circuit": "FERME",
+                  "last_check": "2025-01-15T10:30:00",
+                  "active_sessions": 5,
+                  "pool": { "max": 50, "leased": 3, "available": 7, "pending": 0 }
                 }
                 """))
             )
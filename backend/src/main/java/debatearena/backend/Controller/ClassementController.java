@@ -0,0 +1,100 @@
+package debatearena.backend.Controller;
+
+import debatearena.backend.DTO.EntreeClassement;
+import debatearena.backend.DTO.PositionClassementResponse;
+import debatearena.backend.Service.ClassementService;
+import debatearena.backend.Service.UtilisateurService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/classement")
+@Tag(name = "Classement", description = "API des classements (général, par catégorie, par période)")
+@SecurityRequirement(name = "bearerAuth")
+public class ClassementController {
+
+    private final ClassementService classementService;
+    private final UtilisateurService utilisateurService;
+
+    public ClassementController(ClassementService classementService, UtilisateurService utilisateurService) {
+        this.classementService = classementService;
+        this.utilisateurService = utilisateurService;
+    }
+
+    @Operation(
+            summary = "Premiers du classement",
+            description = "Classement général par score, ou par catégorie / par période selon la somme des notes de test"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Premiers du classement",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = EntreeClassement.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Catégorie ou période invalide, ou les deux à la fois"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Non authentifié"
+            )
+    })
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<EntreeClassement>> getMeilleurs(
+            @Parameter(description = "Catégorie de sujet", example = "INFORMATIQUE")
+            @RequestParam(required = false) String categorie,
+            @Parameter(description = "Période : SEMAINE ou MOIS", example = "SEMAINE")
+            @RequestParam(required = false) String periode,
+            @Parameter(description = "Nombre de joueurs (1 à 100)", example = "10")
+            @RequestParam(required = false) Integer limite
+    ) {
+        return ResponseEntity.ok(classementService.getMeilleurs(categorie, periode, limite));
+    }
+
+    @Operation(
+            summary = "Ma position dans le classement",
+            description = "Rang de l'utilisateur authentifié et joueurs classés juste avant et juste après lui"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Position de l'utilisateur",
+                    content = @Content(schema = @Schema(implementation = PositionClassementResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Catégorie ou période invalide, ou les deux à la fois"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Non authentifié"
+            )
+    })
+    @GetMapping("/moi")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PositionClassementResponse> getMaPosition(
+            @Parameter(description = "Catégorie de sujet", example = "INFORMATIQUE")
+            @RequestParam(required = false) String categorie,
+            @Parameter(description = "Période : SEMAINE ou MOIS", example = "MOIS")
+            @RequestParam(required = false) String periode,
+            @Parameter(description = "Nombre de voisins de chaque côté (0 à 10)", example = "2")
+            @RequestParam(required = false) Integer rayon
+    ) {
+        Long userId = utilisateurService.getCurrentUserId();
+        return ResponseEntity.ok(classementService.getPosition(userId, categorie, periode, rayon));
+    }
+}
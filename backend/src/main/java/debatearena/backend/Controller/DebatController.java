@@ -11,11 +11,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/debats")
@@ -24,9 +32,15 @@ import java.util.List;
 public class DebatController {
 
     private final DebatService debatService;
+    private final int attenteMaxSecondes;
+    private final long fluxTimeoutMillis;
 
-    public DebatController(DebatService debatService) {
+    public DebatController(DebatService debatService,
+                           @Value("${app.chatbot.async.attente-max-secondes:25}") int attenteMaxSecondes,
+                           @Value("${app.chatbot.stream.timeout-secondes:60}") long fluxTimeoutSecondes) {
         this.debatService = debatService;
+        this.attenteMaxSecondes = attenteMaxSecondes;
+        this.fluxTimeoutMillis = TimeUnit.SECONDS.toMillis(fluxTimeoutSecondes);
     }
 
     @Operation(
@@ -100,6 +114,139 @@ public class DebatController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Envoyer un message sans attendre le chatbot",
+            description = "Enregistre le message et rend la main immédiatement. " +
+                    "La réponse du chatbot est générée en arrière-plan et se récupère via /messages/{messageId}/reponse"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Message enregistré, réponse du chatbot en cours de génération",
+                    content = @Content(schema = @Schema(implementation = MessageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Message vide ou débat terminé"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Non authentifié"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Débat non trouvé"
+            )
+    })
+    @PostMapping("/{debatId}/messages/async")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<MessageResponse> envoyerMessageAsync(
+            @Parameter(description = "ID du débat", example = "123")
+            @PathVariable Long debatId,
+            @Parameter(description = "Contenu du message", required = true)
+            @RequestBody MessageRequest request
+    ) {
+        MessageResponse response = debatService.envoyerMessageAsync(debatId, request);
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @Operation(
+            summary = "Récupérer la réponse du chatbot à un message",
+            description = "Long-polling : attend la réponse au plus 'attente' secondes. " +
+                    "Retourne 202 si la réponse n'est pas encore prête"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Réponse du chatbot",
+                    content = @Content(schema = @Schema(implementation = MessageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Réponse toujours en cours de génération"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Non authentifié"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Débat ou message non trouvé"
+            )
+    })
+    @GetMapping("/{debatId}/messages/{messageId}/reponse")
+    @PreAuthorize("isAuthenticated()")
+    public CompletableFuture<ResponseEntity<MessageResponse>> attendreReponseChatbot(
+            @Parameter(description = "ID du débat", example = "123")
+            @PathVariable Long debatId,
+            @Parameter(description = "ID du message utilisateur", example = "456")
+            @PathVariable Long messageId,
+            @Parameter(description = "Durée d'attente maximale en secondes (0 = simple polling)", example = "20")
+            @RequestParam(defaultValue = "20") int attente
+    ) {
+        int attenteBornee = Math.max(0, Math.min(attente, attenteMaxSecondes));
+
+        return debatService.attendreReponseChatbot(debatId, messageId)
+                .thenApply(reponse -> reponse != null
+                        ? ResponseEntity.ok(reponse)
+                        : ResponseEntity.accepted().<MessageResponse>build())
+                .completeOnTimeout(ResponseEntity.accepted().build(), attenteBornee, TimeUnit.SECONDS);
+    }
+
+    @Operation(
+            summary = "Envoyer un message et recevoir la réponse en flux",
+            description = "Server-Sent Events : des événements 'fragment' relaient la réponse du chatbot " +
+                    "au fil de sa génération, puis un événement 'message' contient le message enregistré"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Flux d'événements de la réponse du chatbot"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Message vide ou débat terminé"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Non authentifié"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Débat non trouvé"
+            )
+    })
+    @PostMapping(value = "/{debatId}/messages/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter envoyerMessageEnFlux(
+            @Parameter(description = "ID du débat", example = "123")
+            @PathVariable Long debatId,
+            @Parameter(description = "Contenu du message", required = true)
+            @RequestBody MessageRequest request
+    ) {
+        SseEmitter emitter = new SseEmitter(fluxTimeoutMillis);
+
+        debatService.envoyerMessageEnFlux(debatId, request, fragment -> envoyerEvenement(emitter, "fragment", fragment))
+                .whenComplete((message, erreur) -> {
+                    if (erreur != null) {
+                        emitter.completeWithError(erreur);
+                    } else {
+                        envoyerEvenement(emitter, "message", message);
+                        emitter.complete();
+                    }
+                });
+
+        return emitter;
+    }
+
+    private void envoyerEvenement(SseEmitter emitter, String nom, Object donnees) {
+        try {
+            emitter.send(SseEmitter.event().name(nom).data(donnees));
+        } catch (IOException | IllegalStateException e) {
+            // Client déconnecté : la génération continue pour que le message soit enregistré
+        }
+    }
+
     @Operation(
             summary = "Terminer un débat",
             description = "Marque un débat comme terminé et calcule sa durée"
@@ -168,6 +315,10 @@ public class DebatController {
                     description = "Liste des messages",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = MessageResponse.class)))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Non authentifié"
@@ -181,10 +332,52 @@ public class DebatController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<MessageResponse>> getMessagesDebat(
             @Parameter(description = "ID du débat", example = "123")
-            @PathVariable Long debatId
+            @PathVariable Long debatId,
+            @Parameter(hidden = true) WebRequest webRequest
     ) {
+        String etag = debatService.getEtagMessages(debatId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         List<MessageResponse> responses = debatService.getMessagesDebat(debatId);
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok().eTag(etag).body(responses);
+    }
+
+    @Operation(
+            summary = "Récupérer les messages d'un débat par pages",
+            description = "Pagination par curseur, dans l'ordre d'envoi des messages"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page de messages",
+                    content = @Content(schema = @Schema(implementation = PageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Curseur invalide"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Non authentifié"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Débat non trouvé"
+            )
+    })
+    @GetMapping("/{debatId}/messages/page")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PageResponse<MessageResponse>> getMessagesDebatPage(
+            @Parameter(description = "ID du débat", example = "123")
+            @PathVariable Long debatId,
+            @Parameter(description = "Curseur renvoyé par la page précédente (absent pour la première page)")
+            @RequestParam(required = false) String curseur,
+            @Parameter(description = "Nombre d'éléments par page (1 à 100)", example = "20")
+            @RequestParam(required = false) Integer taille
+    ) {
+        return ResponseEntity.ok(debatService.getMessagesDebatPage(debatId, curseur, taille));
     }
 
     @Operation(
@@ -209,6 +402,36 @@ public class DebatController {
         return ResponseEntity.ok(responses);
     }
 
+    @Operation(
+            summary = "Récupérer mes débats par pages",
+            description = "Pagination par curseur, du débat le plus récent au plus ancien"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page de débats",
+                    content = @Content(schema = @Schema(implementation = PageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Curseur invalide"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Non authentifié"
+            )
+    })
+    @GetMapping("/mes-debats/page")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PageResponse<DebatResponse>> getMesDebatsPage(
+            @Parameter(description = "Curseur renvoyé par la page précédente (absent pour la première page)")
+            @RequestParam(required = false) String curseur,
+            @Parameter(description = "Nombre d'éléments par page (1 à 100)", example = "20")
+            @RequestParam(required = false) Integer taille
+    ) {
+        return ResponseEntity.ok(debatService.getMesDebatsPage(curseur, taille));
+    }
+
     @Operation(
             summary = "Récupérer les débats en cours",
             description = "Retourne la liste des débats actuellement en cours"
@@ -287,17 +510,18 @@ public class DebatController {
 
     @Operation(
             summary = "Évaluer un test",
-            description = "Déclenche l'évaluation d'un débat de type TEST (note et feedback)"
+            description = "L'évaluation d'un TEST démarre automatiquement à sa fin. Relance une évaluation " +
+                    "abandonnée, sinon retourne le dernier message du chatbot (attente ou note et feedback)"
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "Évaluation en cours",
+                    description = "Évaluation en cours ou résultat",
                     content = @Content(schema = @Schema(implementation = MessageResponse.class))
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Ce débat n'est pas un TEST"
+                    description = "Ce débat n'est pas un TEST ou n'est pas terminé"
             ),
             @ApiResponse(
                     responseCode = "401",
@@ -11,8 +11,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -42,6 +44,10 @@ public class EnumController {
                             array = @ArraySchema(schema = @Schema(implementation = EnumDTO.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Erreur interne du serveur",
@@ -49,8 +55,12 @@ public class EnumController {
             )
     })
     @GetMapping("/categories-sujet")
-    public ResponseEntity<List<EnumDTO>> getCategoriesSujet() {
-        return ResponseEntity.ok(enumService.getCategoriesSujet());
+    public ResponseEntity<List<EnumDTO>> getCategoriesSujet(@Parameter(hidden = true) WebRequest webRequest) {
+        String etag = enumService.getEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(enumService.getCategoriesSujet());
     }
 
     @Operation(
@@ -66,14 +76,22 @@ public class EnumController {
                             array = @ArraySchema(schema = @Schema(implementation = EnumDTO.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Erreur interne du serveur"
             )
     })
     @GetMapping("/niveaux")
-    public ResponseEntity<List<EnumDTO>> getNiveaux() {
-        return ResponseEntity.ok(enumService.getNiveaux());
+    public ResponseEntity<List<EnumDTO>> getNiveaux(@Parameter(hidden = true) WebRequest webRequest) {
+        String etag = enumService.getEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(enumService.getNiveaux());
     }
 
     @Operation(
@@ -89,14 +107,22 @@ public class EnumController {
                             array = @ArraySchema(schema = @Schema(implementation = EnumDTO.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Erreur interne du serveur"
             )
     })
     @GetMapping("/roles")
-    public ResponseEntity<List<EnumDTO>> getRoles() {
-        return ResponseEntity.ok(enumService.getRoles());
+    public ResponseEntity<List<EnumDTO>> getRoles(@Parameter(hidden = true) WebRequest webRequest) {
+        String etag = enumService.getEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(enumService.getRoles());
     }
 
     @Operation(
@@ -112,14 +138,22 @@ public class EnumController {
                             array = @ArraySchema(schema = @Schema(implementation = EnumDTO.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Erreur interne du serveur"
             )
     })
     @GetMapping("/categories-badge")
-    public ResponseEntity<List<EnumDTO>> getCategoriesBadge() {
-        return ResponseEntity.ok(enumService.getCategoriesBadge());
+    public ResponseEntity<List<EnumDTO>> getCategoriesBadge(@Parameter(hidden = true) WebRequest webRequest) {
+        String etag = enumService.getEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(enumService.getCategoriesBadge());
     }
 
     @Operation(
@@ -1,9 +1,11 @@
 package debatearena.backend.Controller;
 
 import debatearena.backend.DTO.CreateSignalementRequest;
+import debatearena.backend.DTO.PageResponse;
 import debatearena.backend.DTO.SignalementResponse;
 import debatearena.backend.Service.SignalementService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -68,6 +70,30 @@ public class SignalementController {
         return ResponseEntity.ok(signalementService.getMesSignalements());
     }
 
+    @Operation(
+            summary = "Récupérer mes signalements par pages",
+            description = "Pagination par curseur, du signalement le plus récent au plus ancien"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page de signalements",
+                    content = @Content(schema = @Schema(implementation = PageResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide"),
+            @ApiResponse(responseCode = "401", description = "Non authentifié")
+    })
+    @GetMapping("/mes-signalements/page")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PageResponse<SignalementResponse>> getMesSignalementsPage(
+            @Parameter(description = "Curseur renvoyé par la page précédente (absent pour la première page)")
+            @RequestParam(required = false) String curseur,
+            @Parameter(description = "Nombre d'éléments par page (1 à 100)", example = "20")
+            @RequestParam(required = false) Integer taille
+    ) {
+        return ResponseEntity.ok(signalementService.getMesSignalementsPage(curseur, taille));
+    }
+
     @Operation(
             summary = "Détail d'un signalement",
             description = "Récupère les détails d'un signalement spécifique"
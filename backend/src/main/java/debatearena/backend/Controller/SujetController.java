@@ -1,5 +1,7 @@
 package debatearena.backend.Controller;
 
+import debatearena.backend.DTO.PageResponse;
+import debatearena.backend.DTO.RechercheSujetsResponse;
 import debatearena.backend.DTO.SujetResponse;
 import debatearena.backend.Service.SujetService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,9 +13,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -38,6 +42,10 @@ public class SujetController {
                     description = "Liste des sujets",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = SujetResponse.class)))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Non authentifié"
@@ -46,9 +54,59 @@ public class SujetController {
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     @SecurityRequirement(name = "bearerAuth")
-    public ResponseEntity<List<SujetResponse>> getAllSujets() {
+    public ResponseEntity<List<SujetResponse>> getAllSujets(
+            @Parameter(hidden = true) WebRequest webRequest
+    ) {
+        String etag = sujetService.getEtagCatalogue();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         List<SujetResponse> sujets = sujetService.getAllSujets();
-        return ResponseEntity.ok(sujets);
+        return ResponseEntity.ok().eTag(etag).body(sujets);
+    }
+
+    @Operation(
+            summary = "Récupérer les sujets par pages",
+            description = "Pagination par curseur, dans l'ordre des identifiants, avec indication d'accessibilité"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page de sujets",
+                    content = @Content(schema = @Schema(implementation = PageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Curseur invalide"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Non authentifié"
+            )
+    })
+    @GetMapping("/page")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<PageResponse<SujetResponse>> getSujetsPage(
+            @Parameter(description = "Curseur renvoyé par la page précédente (absent pour la première page)")
+            @RequestParam(required = false) String curseur,
+            @Parameter(description = "Nombre d'éléments par page (1 à 100)", example = "20")
+            @RequestParam(required = false) Integer taille,
+            @Parameter(hidden = true) WebRequest webRequest
+    ) {
+        String etag = sujetService.getEtagCatalogue();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(sujetService.getSujetsPage(curseur, taille));
     }
 
     @Operation(
@@ -61,6 +119,10 @@ public class SujetController {
                     description = "Sujet trouvé",
                     content = @Content(schema = @Schema(implementation = SujetResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Non authentifié"
@@ -75,10 +137,16 @@ public class SujetController {
     @SecurityRequirement(name = "bearerAuth")
     public ResponseEntity<SujetResponse> getSujetById(
             @Parameter(description = "ID du sujet", example = "1")
-            @PathVariable Long id
+            @PathVariable Long id,
+            @Parameter(hidden = true) WebRequest webRequest
     ) {
+        String etag = sujetService.getEtagCatalogue();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         SujetResponse sujet = sujetService.getSujetById(id);
-        return ResponseEntity.ok(sujet);
+        return ResponseEntity.ok().eTag(etag).body(sujet);
     }
 
     @Operation(
@@ -91,6 +159,10 @@ public class SujetController {
                     description = "Sujets filtrés",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = SujetResponse.class)))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Paramètres de filtre invalides"
@@ -107,15 +179,21 @@ public class SujetController {
             @Parameter(description = "Catégorie du sujet", example = "SCIENCE")
             @RequestParam(required = false) String categorie,
             @Parameter(description = "Difficulté du sujet", example = "INTERMEDIAIRE")
-            @RequestParam(required = false) String difficulte
+            @RequestParam(required = false) String difficulte,
+            @Parameter(hidden = true) WebRequest webRequest
     ) {
+        String etag = sujetService.getEtagCatalogue();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         List<SujetResponse> sujets = sujetService.getSujetsFiltres(categorie, difficulte);
-        return ResponseEntity.ok(sujets);
+        return ResponseEntity.ok().eTag(etag).body(sujets);
     }
 
     @Operation(
             summary = "Rechercher des sujets",
-            description = "Recherche des sujets par titre (insensible à la casse)"
+            description = "Recherche des sujets par titre, classés par pertinence (sans accents, par préfixe, tolérante aux fautes de frappe)"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -123,6 +201,10 @@ public class SujetController {
                     description = "Résultats de recherche",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = SujetResponse.class)))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Requête de recherche vide"
@@ -137,15 +219,66 @@ public class SujetController {
     @SecurityRequirement(name = "bearerAuth")
     public ResponseEntity<List<SujetResponse>> rechercherSujets(
             @Parameter(description = "Terme de recherche", example = "intelligence artificielle", required = true)
-            @RequestParam String q
+            @RequestParam String q,
+            @Parameter(hidden = true) WebRequest webRequest
     ) {
+        String etag = sujetService.getEtagCatalogue();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         List<SujetResponse> sujets = sujetService.searchSujets(q);
-        return ResponseEntity.ok(sujets);
+        return ResponseEntity.ok().eTag(etag).body(sujets);
+    }
+
+    @Operation(
+            summary = "Rechercher des sujets par pages",
+            description = "Résultats classés par pertinence, paginés par curseur, avec une requête corrigée en suggestion"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page de résultats et suggestions",
+                    content = @Content(schema = @Schema(implementation = RechercheSujetsResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Curseur invalide"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Non authentifié"
+            )
+    })
+    @GetMapping("/rechercher/page")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<RechercheSujetsResponse> rechercherSujetsPage(
+            @Parameter(description = "Terme de recherche", example = "intelligence artificielle", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Curseur renvoyé par la page précédente (absent pour la première page)")
+            @RequestParam(required = false) String curseur,
+            @Parameter(description = "Nombre d'éléments par page (1 à 100)", example = "20")
+            @RequestParam(required = false) Integer taille,
+            @Parameter(hidden = true) WebRequest webRequest
+    ) {
+        String etag = sujetService.getEtagCatalogue();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(sujetService.rechercherSujetsPage(q, curseur, taille));
     }
 
     @Operation(
             summary = "Sujets recommandés",
-            description = "Retourne les sujets recommandés selon le niveau de l'utilisateur"
+            description = "Retourne les sujets accessibles les mieux adaptés à l'utilisateur (historique, notes, progression, tendances)"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -153,6 +286,10 @@ public class SujetController {
                     description = "Sujets recommandés",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = SujetResponse.class)))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Non authentifié"
@@ -161,9 +298,16 @@ public class SujetController {
     @GetMapping("/recommandes")
     @PreAuthorize("isAuthenticated()")
     @SecurityRequirement(name = "bearerAuth")
-    public ResponseEntity<List<SujetResponse>> getSujetsRecommandes() {
+    public ResponseEntity<List<SujetResponse>> getSujetsRecommandes(
+            @Parameter(hidden = true) WebRequest webRequest
+    ) {
+        String etag = sujetService.getEtagRecommandes();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         List<SujetResponse> sujets = sujetService.getSujetsRecommandes();
-        return ResponseEntity.ok(sujets);
+        return ResponseEntity.ok().eTag(etag).body(sujets);
     }
 
     @Operation(
@@ -11,10 +11,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -125,6 +127,10 @@ public class UtilisateurController {
                     description = "Tableau de bord récupéré",
                     content = @Content(schema = @Schema(implementation = Dashboard.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Inchangé depuis l'ETag envoyé dans If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Non authentifié"
@@ -132,8 +138,13 @@ public class UtilisateurController {
     })
     @GetMapping("/dashboard")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Dashboard> getDashboard() {
+    public ResponseEntity<Dashboard> getDashboard(@Parameter(hidden = true) WebRequest webRequest) {
+        String etag = utilisateurService.getEtagDashboard();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         Dashboard dashboard = utilisateurService.getDashboard();
-        return ResponseEntity.ok(dashboard);
+        return ResponseEntity.ok().eTag(etag).body(dashboard);
     }
 }
\ No newline at end of file
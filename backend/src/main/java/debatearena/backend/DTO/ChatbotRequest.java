@@ -22,6 +22,12 @@ public class ChatbotRequest {
     @NotBlank(message = "L'ID de session est requis")
     private String session_id;
 
+    @Schema(
+            description = "Mode du chatbot : train (débat) ou score (évaluation des arguments)",
+            example = "train"
+    )
+    private String mode = "train";
+
     public ChatbotRequest() {
     }
 
@@ -36,4 +42,7 @@ public class ChatbotRequest {
 
     public String getSession_id() { return session_id; }
     public void setSession_id(String session_id) { this.session_id = session_id; }
+
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package debatearena.backend.DTO;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(description = "Réponse du chatbot à un message")
@@ -9,6 +10,7 @@ public class ChatbotResponse {
             description = "Réponse textuelle du chatbot",
             example = "L'intelligence artificielle présente à la fois des opportunités et des défis pour notre société..."
     )
+    @JsonAlias("text")
     private String response;
 
     @Schema(
@@ -26,6 +26,9 @@ public class DashboardAdminResponse {
     private ActivityStats activite7j;
     private ActivityStats activite30j;
 
+    // Date de calcul de l'instantané servi
+    private LocalDateTime dateCalcul;
+
 
     public static class ActivityStats {
         private Integer nouveauxUtilisateurs;
@@ -190,4 +193,12 @@ public class DashboardAdminResponse {
     public void setActivite30j(ActivityStats activite30j) {
         this.activite30j = activite30j;
     }
-}
\ No newline at end of file
+
+    public LocalDateTime getDateCalcul() {
+        return dateCalcul;
+    }
+
+    public void setDateCalcul(LocalDateTime dateCalcul) {
+        this.dateCalcul = dateCalcul;
+    }
+}
@@ -1,5 +1,7 @@
 package debatearena.backend.DTO;
 
+import debatearena.backend.Entity.categorie_sujet_enum;
+import debatearena.backend.Entity.niveau_enum;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
@@ -63,6 +65,29 @@ public class DebatRecap {
         this.duree = duree;
     }
 
+    /**
+     * Constructeur utilisé par la requête JPQL (SELECT new ...) :
+     * le type et la durée sont déduits des colonnes brutes.
+     */
+    public DebatRecap(Long id, String sujet, categorie_sujet_enum categorie, niveau_enum difficulte,
+                      Long testId, String choixUtilisateur, Integer note,
+                      LocalDateTime date, Integer dureeSecondes) {
+        this(id, sujet, categorie.name(), difficulte.name(),
+                testId != null ? "TEST" : "ENTRAINEMENT",
+                choixUtilisateur, note, date, formatDuree(dureeSecondes));
+    }
+
+    /**
+     * Formate la durée en minutes/secondes
+     */
+    public static String formatDuree(Integer dureeSecondes) {
+        if (dureeSecondes == null) return "N/A";
+
+        int minutes = dureeSecondes / 60;
+        int secondes = dureeSecondes % 60;
+        return minutes + "min " + secondes + "s";
+    }
+
     // Getters
     public Long getId() { return id; }
     public String getSujet() { return sujet; }
@@ -0,0 +1,52 @@
+package debatearena.backend.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Une ligne du classement")
+public class EntreeClassement {
+
+    @Schema(description = "Rang (les ex aequo partagent le même rang)", example = "3")
+    private Integer rang;
+
+    @Schema(description = "ID de l'utilisateur", example = "12")
+    private Long utilisateurId;
+
+    @Schema(description = "Prénom", example = "Amina")
+    private String prenom;
+
+    @Schema(description = "Nom", example = "Benali")
+    private String nom;
+
+    @Schema(
+            description = "Points : score pour le classement général, somme des notes de test sinon",
+            example = "640"
+    )
+    private Integer points;
+
+    public EntreeClassement() {
+    }
+
+    public EntreeClassement(Integer rang, Long utilisateurId, String prenom, String nom, Integer points) {
+        this.rang = rang;
+        this.utilisateurId = utilisateurId;
+        this.prenom = prenom;
+        this.nom = nom;
+        this.points = points;
+    }
+
+    // Getters et Setters
+    public Integer getRang() { return rang; }
+    public void setRang(Integer rang) { this.rang = rang; }
+
+    public Long getUtilisateurId() { return utilisateurId; }
+    public void setUtilisateurId(Long utilisateurId) { this.utilisateurId = utilisateurId; }
+
+    public String getPrenom() { return prenom; }
+    public void setPrenom(String prenom) { this.prenom = prenom; }
+
+    public String getNom() { return nom; }
+    public void setNom(String nom) { this.nom = nom; }
+
+    public Integer getPoints() { return points; }
+    public void setPoints(Integer points) { this.points = points; }
+}
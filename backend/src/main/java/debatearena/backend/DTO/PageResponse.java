@@ -0,0 +1,40 @@
+package debatearena.backend.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Page d'une liste paginée par curseur")
+public class PageResponse<T> {
+
+    @Schema(description = "Éléments de la page")
+    private List<T> items;
+
+    @Schema(
+            description = "Curseur à passer pour obtenir la page suivante (null s'il n'y en a pas)",
+            example = "MjAyNC0wMS0xNVQxNDozMDoxNXw0NTY"
+    )
+    private String curseurSuivant;
+
+    @Schema(description = "Indique s'il reste des éléments après cette page", example = "true")
+    private boolean hasNext;
+
+    public PageResponse() {
+    }
+
+    public PageResponse(List<T> items, String curseurSuivant, boolean hasNext) {
+        this.items = items;
+        this.curseurSuivant = curseurSuivant;
+        this.hasNext = hasNext;
+    }
+
+    // Getters et Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getCurseurSuivant() { return curseurSuivant; }
+    public void setCurseurSuivant(String curseurSuivant) { this.curseurSuivant = curseurSuivant; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+}
@@ -0,0 +1,44 @@
+package debatearena.backend.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Position de l'utilisateur dans un classement, avec ses voisins")
+public class PositionClassementResponse {
+
+    @Schema(description = "Rang de l'utilisateur (null s'il n'est pas encore classé)", example = "42")
+    private Integer rang;
+
+    @Schema(description = "Points de l'utilisateur dans ce classement", example = "310")
+    private Integer points;
+
+    @Schema(description = "Nombre de joueurs classés", example = "1250")
+    private Integer totalJoueurs;
+
+    @Schema(description = "Joueurs autour de l'utilisateur, lui compris, dans l'ordre du classement")
+    private List<EntreeClassement> voisins;
+
+    public PositionClassementResponse() {
+    }
+
+    public PositionClassementResponse(Integer rang, Integer points, Integer totalJoueurs, List<EntreeClassement> voisins) {
+        this.rang = rang;
+        this.points = points;
+        this.totalJoueurs = totalJoueurs;
+        this.voisins = voisins;
+    }
+
+    // Getters et Setters
+    public Integer getRang() { return rang; }
+    public void setRang(Integer rang) { this.rang = rang; }
+
+    public Integer getPoints() { return points; }
+    public void setPoints(Integer points) { this.points = points; }
+
+    public Integer getTotalJoueurs() { return totalJoueurs; }
+    public void setTotalJoueurs(Integer totalJoueurs) { this.totalJoueurs = totalJoueurs; }
+
+    public List<EntreeClassement> getVoisins() { return voisins; }
+    public void setVoisins(List<EntreeClassement> voisins) { this.voisins = voisins; }
+}
@@ -0,0 +1,26 @@
+package debatearena.backend.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Page de résultats d'une recherche de sujets, classés par pertinence")
+public class RechercheSujetsResponse extends PageResponse<SujetResponse> {
+
+    @Schema(
+            description = "Requête corrigée proposée quand un terme ne correspond à aucun titre (vide sinon)",
+            example = "[\"intelligence artificielle\"]"
+    )
+    private List<String> suggestions;
+
+    public RechercheSujetsResponse() {
+    }
+
+    public RechercheSujetsResponse(PageResponse<SujetResponse> page, List<String> suggestions) {
+        super(page.getItems(), page.getCurseurSuivant(), page.isHasNext());
+        this.suggestions = suggestions;
+    }
+
+    public List<String> getSuggestions() { return suggestions; }
+    public void setSuggestions(List<String> suggestions) { this.suggestions = suggestions; }
+}
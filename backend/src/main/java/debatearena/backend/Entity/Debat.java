@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 public class Debat {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "debat_seq")
+    @SequenceGenerator(name = "debat_seq", sequenceName = "debat_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "date_debut", nullable = false)
@@ -24,6 +25,10 @@ public class Debat {
     @Column(name = "choix_utilisateur", nullable = false, length = 10)
     private String choixUtilisateur = "POUR";
 
+    // Session côté chatbot, écrite uniquement via DebatRepository.updateChatbotSessionId
+    @Column(name = "chatbot_session_id", length = 100, insertable = false, updatable = false)
+    private String chatbotSessionId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_sujet", nullable = false)
     private Sujet sujet;
@@ -77,6 +82,14 @@ public class Debat {
         this.choixUtilisateur = choixUtilisateur;
     }
 
+    public String getChatbotSessionId() {
+        return chatbotSessionId;
+    }
+
+    public void setChatbotSessionId(String chatbotSessionId) {
+        this.chatbotSessionId = chatbotSessionId;
+    }
+
     public Sujet getSujet() {
         return sujet;
     }
@@ -0,0 +1,42 @@
+package debatearena.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tâche d'évaluation automatique d'un débat TEST terminé.
+ * La clé est l'ID du débat : un débat n'est jamais mis deux fois en file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "evaluation_test")
+public class EvaluationTest {
+
+    @Id
+    @Column(name = "id_debat")
+    private Long debatId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatutEvaluationEnum statut = StatutEvaluationEnum.EN_ATTENTE;
+
+    @Column(nullable = false)
+    private Integer tentatives = 0;
+
+    @Column(name = "prochaine_tentative", nullable = false)
+    private LocalDateTime prochaineTentative = LocalDateTime.now();
+
+    @Column(name = "derniere_erreur", length = 500)
+    private String derniereErreur;
+
+    @Column(name = "date_maj", nullable = false)
+    private LocalDateTime dateMaj = LocalDateTime.now();
+
+    public EvaluationTest(Long debatId) {
+        this.debatId = debatId;
+    }
+}
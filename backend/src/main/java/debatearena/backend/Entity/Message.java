@@ -11,6 +11,8 @@ import java.time.LocalDateTime;
 public class Message {
 
     @Id
+    // IDENTITY (pas de blocs) : l'ordre des IDs suit l'ordre d'insertion, sur lequel reposent
+    // le curseur des messages, l'ETag du fil et la recherche de la réponse du chatbot
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -28,6 +30,10 @@ public class Message {
     @JoinColumn(name = "id_utilisateur", nullable = false)
     private Utilisateur utilisateur;
 
+    // Message utilisateur auquel répond ce message du chatbot (null pour les autres messages)
+    @Column(name = "id_message_source")
+    private Long idMessageSource;
+
 
     public Message() {
     }
@@ -78,4 +84,12 @@ public class Message {
     public void setUtilisateur(Utilisateur utilisateur) {
         this.utilisateur = utilisateur;
     }
+
+    public Long getIdMessageSource() {
+        return idMessageSource;
+    }
+
+    public void setIdMessageSource(Long idMessageSource) {
+        this.idMessageSource = idMessageSource;
+    }
 }
\ No newline at end of file
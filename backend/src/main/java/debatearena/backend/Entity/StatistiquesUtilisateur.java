@@ -0,0 +1,50 @@
+package debatearena.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Statistiques d'un utilisateur, tenues à jour à chaque débat créé, annulé ou noté.
+ * Le dashboard lit une seule ligne au lieu d'agréger debat et test.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_stats")
+public class StatistiquesUtilisateur {
+
+    @Id
+    @Column(name = "id_utilisateur")
+    private Long utilisateurId;
+
+    @Column(name = "total_debats", nullable = false)
+    private Integer totalDebats = 0;
+
+    // Tests notés >= 12
+    @Column(name = "debats_gagnes", nullable = false)
+    private Integer debatsGagnes = 0;
+
+    @Column(name = "nombre_notes", nullable = false)
+    private Integer nombreNotes = 0;
+
+    @Column(name = "somme_notes", nullable = false)
+    private Integer sommeNotes = 0;
+
+    @Column(name = "meilleure_note")
+    private Integer meilleureNote;
+
+    @Column(name = "date_maj", nullable = false)
+    private LocalDateTime dateMaj = LocalDateTime.now();
+
+    public StatistiquesUtilisateur(Long utilisateurId) {
+        this.utilisateurId = utilisateurId;
+    }
+
+    // Même arrondi que l'ancien AVG converti en Integer (troncature)
+    public Integer getMoyenneNotes() {
+        return nombreNotes > 0 ? sommeNotes / nombreNotes : null;
+    }
+}
@@ -0,0 +1,8 @@
+package debatearena.backend.Entity;
+
+public enum StatutEvaluationEnum {
+    EN_ATTENTE,
+    EN_COURS,
+    TERMINEE,
+    ECHEC
+}
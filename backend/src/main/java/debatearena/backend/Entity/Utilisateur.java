@@ -35,11 +35,13 @@ public class Utilisateur {
     @JdbcTypeCode(SqlTypes.NAMED_ENUM)
     private role_enum role = role_enum.UTILISATEUR;
 
-    @Column(nullable = false)
+    // Score et badge ne changent que par ajouterScore / changerBadge (requêtes ciblées) :
+    // un save() d'une copie ancienne ne peut pas les réécrire
+    @Column(nullable = false, updatable = false)
     private Integer score = 0;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "id_badge")
+    @JoinColumn(name = "id_badge", updatable = false)
     private Badge badge;
 
     @Column(name = "imagepath")
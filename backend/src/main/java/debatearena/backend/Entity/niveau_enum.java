@@ -4,5 +4,16 @@ public enum niveau_enum {
     DEBUTANT,
     INTERMEDIAIRE,
     AVANCE,
-    EXPERT
+    EXPERT;
+
+    /**
+     * Niveau atteint avec ce score (seuils communs aux sujets, au profil et aux recommandations)
+     */
+    public static niveau_enum pourScore(Integer score) {
+        int points = score != null ? score : 0;
+        if (points >= 1000) return EXPERT;
+        if (points >= 500) return AVANCE;
+        if (points >= 200) return INTERMEDIAIRE;
+        return DEBUTANT;
+    }
 }
@@ -1,11 +1,15 @@
 package debatearena.backend.Repository;
 
+import debatearena.backend.DTO.DebatRecap;
 import debatearena.backend.Entity.Debat;
 import debatearena.backend.Entity.Utilisateur;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,9 +18,45 @@ import java.util.Optional;
 @Repository
 public interface DebatRepository extends JpaRepository<Debat, Long> {
 
+    String SELECT_RESUME = "SELECT d.id AS id, d.dateDebut AS dateDebut, d.duree AS duree, " +
+            "d.choixUtilisateur AS choixUtilisateur, " +
+            "s.id AS sujetId, s.titre AS sujetTitre, s.categorie AS sujetCategorie, s.difficulte AS sujetDifficulte, " +
+            "t.id AS testId, t.note AS note " +
+            "FROM Debat d " +
+            "JOIN d.sujet s " +
+            "LEFT JOIN Test t ON t.debat = d " +
+            "WHERE d.utilisateur = :utilisateur ";
+
     // Débats d'un utilisateur
     List<Debat> findByUtilisateurOrderByDateDebutDesc(Utilisateur utilisateur);
 
+    // Listes de débats projetées (débat + sujet + test) en une seule requête
+    @Query(SELECT_RESUME + "ORDER BY d.dateDebut DESC")
+    List<DebatResumeView> findResumesByUtilisateur(@Param("utilisateur") Utilisateur utilisateur);
+
+    @Query(SELECT_RESUME + "AND d.duree IS NULL ORDER BY d.dateDebut DESC")
+    List<DebatResumeView> findResumesEnCoursByUtilisateur(@Param("utilisateur") Utilisateur utilisateur);
+
+    @Query(SELECT_RESUME + "AND d.duree IS NOT NULL ORDER BY d.dateDebut DESC")
+    List<DebatResumeView> findResumesTerminesByUtilisateur(@Param("utilisateur") Utilisateur utilisateur);
+
+    // Historique paginé par curseur (dateDebut, id), du plus récent au plus ancien
+    @Query(SELECT_RESUME + "ORDER BY d.dateDebut DESC, d.id DESC")
+    List<DebatResumeView> findPageResumesByUtilisateur(
+            @Param("utilisateur") Utilisateur utilisateur,
+            Pageable pageable
+    );
+
+    @Query(SELECT_RESUME +
+            "AND (d.dateDebut < :dateDebut OR (d.dateDebut = :dateDebut AND d.id < :id)) " +
+            "ORDER BY d.dateDebut DESC, d.id DESC")
+    List<DebatResumeView> findPageResumesByUtilisateurAvant(
+            @Param("utilisateur") Utilisateur utilisateur,
+            @Param("dateDebut") LocalDateTime dateDebut,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
     // Débats en cours (duree = null)
     @Query("SELECT d FROM Debat d WHERE d.utilisateur = :utilisateur AND d.duree IS NULL")
     List<Debat> findDebatsEnCoursByUtilisateur(@Param("utilisateur") Utilisateur utilisateur);
@@ -39,14 +79,15 @@ public interface DebatRepository extends JpaRepository<Debat, Long> {
     @Query("SELECT COUNT(d) FROM Debat d WHERE d.utilisateur.id = :userId")
     Integer countByUtilisateurId(@Param("userId") Long userId);
 
-    // Débats récents avec les infos nécessaires pour le dashboard
-    @Query("SELECT d.id, s.titre, s.categorie, s.difficulte, t.note, d.dateDebut, d.duree " +
+    // Débats récents déjà mis en forme pour le dashboard (une seule requête, limite en SQL)
+    @Query("SELECT new debatearena.backend.DTO.DebatRecap(" +
+            "d.id, s.titre, s.categorie, s.difficulte, t.id, d.choixUtilisateur, t.note, d.dateDebut, d.duree) " +
             "FROM Debat d " +
             "JOIN d.sujet s " +
             "LEFT JOIN Test t ON t.debat = d " +
             "WHERE d.utilisateur.id = :userId " +
-            "ORDER BY d.dateDebut DESC")
-    List<Object[]> findRecentDebatsByUtilisateurId(@Param("userId") Long userId);
+            "ORDER BY d.dateDebut DESC, d.id DESC")
+    List<DebatRecap> findRecentDebatsByUtilisateurId(@Param("userId") Long userId, Pageable pageable);
 
     // Débats terminés
     @Query("SELECT d FROM Debat d WHERE d.utilisateur = :utilisateur AND d.duree IS NOT NULL")
@@ -63,6 +104,41 @@ public interface DebatRepository extends JpaRepository<Debat, Long> {
     @Query("SELECT d.sujet.id, COUNT(d) FROM Debat d GROUP BY d.sujet.id")
     List<Object[]> countDebatsBySujet();
 
+    // Recommandations : débats récents par sujet (tendances)
     @Query("SELECT d.sujet.id, COUNT(d) FROM Debat d WHERE d.dateDebut >= :dateDebut GROUP BY d.sujet.id")
     List<Object[]> countDebatsBySujetDepuis(@Param("dateDebut") LocalDateTime dateDebut);
-}
\ No newline at end of file
+
+    // Recommandations : historique d'un utilisateur par sujet (nombre de débats, note moyenne des tests)
+    @Query("SELECT d.sujet.id, COUNT(d), AVG(t.note) FROM Debat d LEFT JOIN Test t ON t.debat = d " +
+            "WHERE d.utilisateur.id = :userId GROUP BY d.sujet.id")
+    List<Object[]> findHistoriqueParSujet(@Param("userId") Long userId);
+
+    // Recommandations : utilisateurs actifs depuis une date (ID, score), pour le précalcul
+    @Query("SELECT DISTINCT u.id, u.score FROM Debat d JOIN d.utilisateur u WHERE d.dateDebut >= :dateDebut")
+    List<Object[]> findUtilisateursActifsDepuis(@Param("dateDebut") LocalDateTime dateDebut);
+
+    // Version des statistiques par sujet (sert d'ETag), en une seule ligne
+    @Query("SELECT COUNT(d.id) AS nombreDebats, COALESCE(MAX(d.id), 0) AS dernierDebatId, " +
+            "COALESCE(SUM(CASE WHEN d.duree IS NULL THEN 1 ELSE 0 END), 0) AS debatsEnCours, " +
+            "COUNT(t.note) AS nombreNotes, COALESCE(SUM(t.note), 0) AS sommeNotes " +
+            "FROM Debat d LEFT JOIN Test t ON t.debat = d")
+    VersionStatsSujetsView findVersionStatsSujets();
+
+    // Nombre de sujets ayant reçu au moins :seuil débats depuis une date
+    @Query("SELECT COUNT(DISTINCT d.sujet.id) FROM Debat d WHERE d.sujet.id IN (" +
+            "SELECT d2.sujet.id FROM Debat d2 WHERE d2.dateDebut >= :dateDebut " +
+            "GROUP BY d2.sujet.id HAVING COUNT(d2) >= :seuil)")
+    Integer countSujetsTendanceDepuis(@Param("dateDebut") LocalDateTime dateDebut, @Param("seuil") long seuil);
+
+    // Session chatbot associée à un débat
+    @Query("SELECT d.chatbotSessionId FROM Debat d WHERE d.id = :id")
+    Optional<String> findChatbotSessionIdById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Debat d SET d.chatbotSessionId = :sessionId WHERE d.id = :id")
+    int updateChatbotSessionId(
+            @Param("id") Long id,
+            @Param("sessionId") String sessionId
+    );
+}
@@ -0,0 +1,34 @@
+package debatearena.backend.Repository;
+
+import debatearena.backend.Entity.categorie_sujet_enum;
+import debatearena.backend.Entity.niveau_enum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'un débat pour les listes : champs du débat, du sujet et du test
+ * éventuel, chargés en une seule requête.
+ */
+public interface DebatResumeView {
+
+    Long getId();
+
+    LocalDateTime getDateDebut();
+
+    Integer getDuree();
+
+    String getChoixUtilisateur();
+
+    Long getSujetId();
+
+    String getSujetTitre();
+
+    categorie_sujet_enum getSujetCategorie();
+
+    niveau_enum getSujetDifficulte();
+
+    // null si le débat est un entraînement
+    Long getTestId();
+
+    Integer getNote();
+}
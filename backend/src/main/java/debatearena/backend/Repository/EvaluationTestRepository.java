@@ -0,0 +1,47 @@
+package debatearena.backend.Repository;
+
+import debatearena.backend.Entity.EvaluationTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EvaluationTestRepository extends JpaRepository<EvaluationTest, Long> {
+
+    // Débats dont l'évaluation est due, la plus ancienne d'abord
+    @Query("SELECT e.debatId FROM EvaluationTest e " +
+            "WHERE e.statut = debatearena.backend.Entity.StatutEvaluationEnum.EN_ATTENTE " +
+            "AND e.prochaineTentative <= :maintenant ORDER BY e.prochaineTentative")
+    List<Long> findDebatsAEvaluer(@Param("maintenant") LocalDateTime maintenant, Pageable pageable);
+
+    // Réservation d'une tâche : une seule instance (et un seul worker) l'obtient
+    @Modifying
+    @Transactional
+    @Query("UPDATE EvaluationTest e SET e.statut = debatearena.backend.Entity.StatutEvaluationEnum.EN_COURS, " +
+            "e.tentatives = e.tentatives + 1, e.dateMaj = :maintenant " +
+            "WHERE e.debatId = :debatId AND e.statut = debatearena.backend.Entity.StatutEvaluationEnum.EN_ATTENTE " +
+            "AND e.prochaineTentative <= :maintenant")
+    int reserver(@Param("debatId") Long debatId, @Param("maintenant") LocalDateTime maintenant);
+
+    // Signe de vie d'une évaluation en cours : repousse sa libération par libererBloquees
+    @Modifying
+    @Transactional
+    @Query("UPDATE EvaluationTest e SET e.dateMaj = :maintenant " +
+            "WHERE e.debatId = :debatId AND e.statut = debatearena.backend.Entity.StatutEvaluationEnum.EN_COURS")
+    int prolonger(@Param("debatId") Long debatId, @Param("maintenant") LocalDateTime maintenant);
+
+    // Tâches restées EN_COURS sans signe de vie (instance arrêtée pendant l'évaluation) : remises en file
+    @Modifying
+    @Transactional
+    @Query("UPDATE EvaluationTest e SET e.statut = debatearena.backend.Entity.StatutEvaluationEnum.EN_ATTENTE, " +
+            "e.dateMaj = CURRENT_TIMESTAMP " +
+            "WHERE e.statut = debatearena.backend.Entity.StatutEvaluationEnum.EN_COURS AND e.dateMaj < :limite")
+    int libererBloquees(@Param("limite") LocalDateTime limite);
+}
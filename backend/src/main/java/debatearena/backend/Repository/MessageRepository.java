@@ -3,6 +3,7 @@ package debatearena.backend.Repository;
 import debatearena.backend.Entity.Debat;
 import debatearena.backend.Entity.Message;
 import debatearena.backend.Entity.Utilisateur;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,6 +19,9 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     // Trouver tous les messages d'un débat, ordonnés par timestamp (plus ancien d'abord)
     List<Message> findByDebatOrderByTimestampAsc(Debat debat);
 
+    // Messages d'un débat paginés par curseur (ID croissant = ordre d'envoi)
+    List<Message> findByDebatAndIdGreaterThanOrderByIdAsc(Debat debat, Long id, Pageable pageable);
+
     // Trouver tous les messages d'un débat, ordonnés par timestamp (plus récent d'abord)
     List<Message> findByDebatOrderByTimestampDesc(Debat debat);
 
@@ -46,6 +50,13 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT m FROM Message m WHERE m.debat = :debat AND m.utilisateur.role = 'CHATBOT' ORDER BY m.timestamp ASC")
     List<Message> findChatbotMessagesByDebat(@Param("debat") Debat debat);
 
+    // Trouver la réponse du chatbot à un message utilisateur donné
+    @Query("SELECT m FROM Message m WHERE m.debat = :debat AND m.idMessageSource = :messageId")
+    Optional<Message> findReponseChatbotA(
+            @Param("debat") Debat debat,
+            @Param("messageId") Long messageId
+    );
+
     // Trouver les messages de l'utilisateur (non-chatbot) dans un débat
     @Query("SELECT m FROM Message m WHERE m.debat = :debat AND m.utilisateur.role != 'CHATBOT' ORDER BY m.timestamp ASC")
     List<Message> findUtilisateurMessagesByDebat(@Param("debat") Debat debat);
@@ -57,6 +68,13 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
             @Param("debatId") Long debatId
     );
 
+    // Dernier message d'un débat de l'utilisateur (les messages ne sont jamais modifiés : sert de version)
+    @Query("SELECT MAX(m.id) FROM Message m WHERE m.debat.id = :debatId AND m.debat.utilisateur.id = :userId")
+    Long findDernierMessageId(
+            @Param("debatId") Long debatId,
+            @Param("userId") Long userId
+    );
+
     // Compter les messages depuis une date
     @Query("SELECT COUNT(m) FROM Message m WHERE m.timestamp >= :dateDebut")
     Integer countMessagesDepuis(@Param("dateDebut") LocalDateTime dateDebut);
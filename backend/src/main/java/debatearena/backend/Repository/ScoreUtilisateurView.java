@@ -0,0 +1,16 @@
+package debatearena.backend.Repository;
+
+import debatearena.backend.Entity.categorie_badge_enum;
+
+/**
+ * Score relu juste après une mise à jour atomique, avec l'email qui sert de clé au cache utilisateurs
+ * et la catégorie du badge actuel (null sans badge).
+ */
+public interface ScoreUtilisateurView {
+
+    String getEmail();
+
+    Integer getScore();
+
+    categorie_badge_enum getBadgeCategorie();
+}
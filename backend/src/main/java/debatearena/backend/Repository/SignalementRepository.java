@@ -3,6 +3,7 @@ package debatearena.backend.Repository;
 import debatearena.backend.Entity.Signalement;
 import debatearena.backend.Entity.TypeProblemeEnum;
 import debatearena.backend.Entity.StatutSignalementEnum;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -41,4 +42,45 @@ public interface SignalementRepository extends JpaRepository<Signalement, Long>
             @Param("statut") StatutSignalementEnum statut,
             @Param("typeProbleme") TypeProblemeEnum typeProbleme
     );
-}
\ No newline at end of file
+
+    // Signalements paginés par curseur (dateCreation, id), du plus récent au plus ancien
+    @Query("SELECT s FROM Signalement s WHERE " +
+            "(:statut IS NULL OR s.statut = :statut) AND " +
+            "(:typeProbleme IS NULL OR s.typeProbleme = :typeProbleme) " +
+            "ORDER BY s.dateCreation DESC, s.id DESC")
+    List<Signalement> findPageWithFilters(
+            @Param("statut") StatutSignalementEnum statut,
+            @Param("typeProbleme") TypeProblemeEnum typeProbleme,
+            Pageable pageable
+    );
+
+    @Query("SELECT s FROM Signalement s WHERE " +
+            "(:statut IS NULL OR s.statut = :statut) AND " +
+            "(:typeProbleme IS NULL OR s.typeProbleme = :typeProbleme) AND " +
+            "(s.dateCreation < :dateCreation OR (s.dateCreation = :dateCreation AND s.id < :id)) " +
+            "ORDER BY s.dateCreation DESC, s.id DESC")
+    List<Signalement> findPageWithFiltersAvant(
+            @Param("statut") StatutSignalementEnum statut,
+            @Param("typeProbleme") TypeProblemeEnum typeProbleme,
+            @Param("dateCreation") LocalDateTime dateCreation,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query("SELECT s FROM Signalement s WHERE s.utilisateur.id = :utilisateurId " +
+            "ORDER BY s.dateCreation DESC, s.id DESC")
+    List<Signalement> findPageByUtilisateurId(
+            @Param("utilisateurId") Long utilisateurId,
+            Pageable pageable
+    );
+
+    @Query("SELECT s FROM Signalement s WHERE s.utilisateur.id = :utilisateurId " +
+            "AND (s.dateCreation < :dateCreation OR (s.dateCreation = :dateCreation AND s.id < :id)) " +
+            "ORDER BY s.dateCreation DESC, s.id DESC")
+    List<Signalement> findPageByUtilisateurIdAvant(
+            @Param("utilisateurId") Long utilisateurId,
+            @Param("dateCreation") LocalDateTime dateCreation,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+}
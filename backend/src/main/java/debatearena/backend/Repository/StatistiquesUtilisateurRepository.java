@@ -0,0 +1,63 @@
+package debatearena.backend.Repository;
+
+import debatearena.backend.Entity.StatistiquesUtilisateur;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface StatistiquesUtilisateurRepository extends JpaRepository<StatistiquesUtilisateur, Long> {
+
+    // Mises à jour incrémentales, en place (retournent 0 si la ligne n'existe pas encore)
+    @Modifying
+    @Transactional
+    @Query("UPDATE StatistiquesUtilisateur s SET s.totalDebats = s.totalDebats + :delta, " +
+            "s.dateMaj = CURRENT_TIMESTAMP WHERE s.utilisateurId = :userId")
+    int ajouterDebats(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StatistiquesUtilisateur s SET " +
+            "s.nombreNotes = s.nombreNotes + 1, " +
+            "s.sommeNotes = s.sommeNotes + :note, " +
+            "s.debatsGagnes = s.debatsGagnes + CASE WHEN :note >= 12 THEN 1 ELSE 0 END, " +
+            "s.meilleureNote = CASE WHEN s.meilleureNote IS NULL OR s.meilleureNote < :note " +
+            "THEN :note ELSE s.meilleureNote END, " +
+            "s.dateMaj = CURRENT_TIMESTAMP " +
+            "WHERE s.utilisateurId = :userId")
+    int ajouterNote(@Param("userId") Long userId, @Param("note") int note);
+
+    // Change la date de mise à jour sans toucher aux compteurs (ex. débat terminé)
+    @Modifying
+    @Transactional
+    @Query("UPDATE StatistiquesUtilisateur s SET s.dateMaj = CURRENT_TIMESTAMP WHERE s.utilisateurId = :userId")
+    int marquerModifie(@Param("userId") Long userId);
+
+    // Crée la ligne à zéro si elle n'existe pas ; sans erreur si un appel concurrent l'a déjà créée
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_stats (id_utilisateur, total_debats, debats_gagnes, nombre_notes, somme_notes, date_maj) " +
+            "VALUES (:userId, 0, 0, 0, 0, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int creerSiAbsente(@Param("userId") Long userId);
+
+    // Recalcule la ligne depuis debat/test en une seule requête : les valeurs sont lues
+    // au moment de l'UPDATE, jamais écrites depuis une copie lue plus tôt
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE user_stats SET " +
+            "total_debats = (SELECT COUNT(*) FROM debat d WHERE d.id_utilisateur = :userId), " +
+            "debats_gagnes = (SELECT COUNT(*) FROM test t JOIN debat d ON t.id_debat = d.id " +
+            "WHERE d.id_utilisateur = :userId AND t.note >= 12), " +
+            "nombre_notes = (SELECT COUNT(t.note) FROM test t JOIN debat d ON t.id_debat = d.id " +
+            "WHERE d.id_utilisateur = :userId), " +
+            "somme_notes = (SELECT COALESCE(SUM(t.note), 0) FROM test t JOIN debat d ON t.id_debat = d.id " +
+            "WHERE d.id_utilisateur = :userId), " +
+            "meilleure_note = (SELECT MAX(t.note) FROM test t JOIN debat d ON t.id_debat = d.id " +
+            "WHERE d.id_utilisateur = :userId), " +
+            "date_maj = CURRENT_TIMESTAMP " +
+            "WHERE id_utilisateur = :userId", nativeQuery = true)
+    int recalculerEnPlace(@Param("userId") Long userId);
+}
@@ -3,9 +3,12 @@ package debatearena.backend.Repository;
 import debatearena.backend.Entity.Sujet;
 import debatearena.backend.Entity.categorie_sujet_enum;
 import debatearena.backend.Entity.niveau_enum;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-
+import java.time.LocalDateTime;
 import java.util.List;
 public interface SujetRepository extends JpaRepository<Sujet, Long> {
 
@@ -17,4 +20,24 @@ public interface SujetRepository extends JpaRepository<Sujet, Long> {
     );
     List<Sujet> findByTitreContainingIgnoreCase(String titre);
 
+    // Sujets paginés par curseur (ID croissant)
+    List<Sujet> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Statistiques de tous les sujets (débats, activité récente, note moyenne) en une requête
+    @Query("SELECT s.id AS sujetId, s.titre AS titre, s.categorie AS categorie, s.difficulte AS difficulte, " +
+            "COUNT(d.id) AS nombreDebats, " +
+            "COALESCE(SUM(CASE WHEN d.id IS NOT NULL AND d.duree IS NULL THEN 1 ELSE 0 END), 0) AS debatsEnCours, " +
+            "COALESCE(SUM(CASE WHEN d.dateDebut >= :jour7 THEN 1 ELSE 0 END), 0) AS debats7j, " +
+            "COALESCE(SUM(CASE WHEN d.dateDebut >= :jour30 THEN 1 ELSE 0 END), 0) AS debats30j, " +
+            "AVG(t.note) AS noteMoyenne " +
+            "FROM Sujet s " +
+            "LEFT JOIN Debat d ON d.sujet = s " +
+            "LEFT JOIN Test t ON t.debat = d " +
+            "GROUP BY s.id, s.titre, s.categorie, s.difficulte " +
+            "ORDER BY s.id")
+    List<SujetStatsView> findAllWithStats(
+            @Param("jour7") LocalDateTime jour7,
+            @Param("jour30") LocalDateTime jour30
+    );
+
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package debatearena.backend.Repository;
+
+import debatearena.backend.Entity.categorie_sujet_enum;
+import debatearena.backend.Entity.niveau_enum;
+
+/**
+ * Projection des statistiques d'un sujet : compteurs de débats et note moyenne,
+ * agrégés en une seule requête pour tous les sujets.
+ */
+public interface SujetStatsView {
+
+    Long getSujetId();
+
+    String getTitre();
+
+    categorie_sujet_enum getCategorie();
+
+    niveau_enum getDifficulte();
+
+    Long getNombreDebats();
+
+    Long getDebatsEnCours();
+
+    Long getDebats7j();
+
+    Long getDebats30j();
+
+    // null si aucun test noté sur ce sujet
+    Double getNoteMoyenne();
+}
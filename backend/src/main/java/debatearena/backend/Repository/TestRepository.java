@@ -3,10 +3,13 @@ package debatearena.backend.Repository;
 import debatearena.backend.Entity.Debat;
 import debatearena.backend.Entity.Test;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,8 +18,16 @@ public interface TestRepository extends JpaRepository<Test, Long> {
 
     Optional<Test> findByDebat(Debat debat);
 
+    Optional<Test> findByDebatId(Long debatId);
+
     boolean existsByDebat(Debat debat);
 
+    // Note attribuée une seule fois : 0 ligne modifiée si le test est déjà noté (ou n'existe plus)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Test t SET t.note = :note WHERE t.debat.id = :debatId AND t.note IS NULL")
+    int attribuerNote(@Param("debatId") Long debatId, @Param("note") int note);
+
     // Compter les débats gagnés (note >= 12)
     @Query("SELECT COUNT(t) FROM Test t WHERE t.debat.utilisateur.id = :userId AND t.note >= 12")
     Integer countDebatsGagnesByUserId(@Param("userId") Long userId);
@@ -25,10 +36,31 @@ public interface TestRepository extends JpaRepository<Test, Long> {
     @Query("SELECT AVG(t.note) FROM Test t WHERE t.debat.utilisateur.id = :userId")
     Integer getMoyenneNotesByUserId(@Param("userId") Long userId);
 
+    // Nombre de tests notés et somme des notes (reconstruction de user_stats)
+    @Query("SELECT COUNT(t.note) FROM Test t WHERE t.debat.utilisateur.id = :userId")
+    Integer countNotesByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT SUM(t.note) FROM Test t WHERE t.debat.utilisateur.id = :userId")
+    Integer getSommeNotesByUserId(@Param("userId") Long userId);
+
     // Meilleure note
     @Query("SELECT MAX(t.note) FROM Test t WHERE t.debat.utilisateur.id = :userId")
     Integer getMeilleureNoteByUserId(@Param("userId") Long userId);
 
+    // Moyenne globale des tests notés (dashboard admin)
+    @Query("SELECT AVG(t.note) FROM Test t WHERE t.note IS NOT NULL")
+    Double getNoteMoyenneGlobale();
+
+    // Points de classement par catégorie : [id utilisateur, catégorie, somme des notes]
+    @Query("SELECT d.utilisateur.id, d.sujet.categorie, SUM(t.note) FROM Test t JOIN t.debat d " +
+            "WHERE t.note IS NOT NULL GROUP BY d.utilisateur.id, d.sujet.categorie")
+    List<Object[]> sumNotesParUtilisateurEtCategorie();
+
+    // Points de classement sur une période : [id utilisateur, somme des notes des débats commencés depuis la date]
+    @Query("SELECT d.utilisateur.id, SUM(t.note) FROM Test t JOIN t.debat d " +
+            "WHERE t.note IS NOT NULL AND d.dateDebut >= :depuis GROUP BY d.utilisateur.id")
+    List<Object[]> sumNotesParUtilisateurDepuis(@Param("depuis") LocalDateTime depuis);
+
     // Tests d'un utilisateur
     @Query("SELECT t FROM Test t WHERE t.debat.utilisateur.id = :userId")
     List<Test> findByUtilisateurId(@Param("userId") Long userId);
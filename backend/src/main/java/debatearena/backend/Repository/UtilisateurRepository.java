@@ -1,11 +1,15 @@
 package debatearena.backend.Repository;
 
+import debatearena.backend.Entity.Badge;
 import debatearena.backend.Entity.Utilisateur;
 import debatearena.backend.Entity.role_enum;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,25 +20,57 @@ public interface UtilisateurRepository extends JpaRepository<Utilisateur, Long>
     // Trouver par email (pour l'authentification)
     Optional<Utilisateur> findByEmail(String email);
 
+    // Même recherche avec le badge chargé (l'utilisateur est ensuite mis en cache, détaché)
+    @EntityGraph(attributePaths = "badge")
+    Optional<Utilisateur> findWithBadgeByEmail(String email);
+
     // Trouver par rôle (pour trouver le chatbot)
     Optional<Utilisateur> findByRole(role_enum role);
 
+    // Même recherche avec le badge chargé (le chatbot est gardé en mémoire, détaché)
+    @EntityGraph(attributePaths = "badge")
+    Optional<Utilisateur> findWithBadgeByRole(role_enum role);
+
     // Vérifier si un email existe déjà
     boolean existsByEmail(String email);
 
-    // Trouver les utilisateurs par score (classement)
-    @Query("SELECT u FROM Utilisateur u ORDER BY u.score DESC")
-    List<Utilisateur> findAllOrderByScoreDesc();
-
     // Trouver les utilisateurs avec un badge spécifique
     @Query("SELECT u FROM Utilisateur u WHERE u.badge.id = :badgeId")
     List<Utilisateur> findByBadgeId(@Param("badgeId") Long badgeId);
 
-    // Trouver le classement d'un utilisateur
-    @Query(value = "SELECT rank FROM (" +
-            "SELECT id, ROW_NUMBER() OVER (ORDER BY score DESC) as rank FROM utilisateur" +
-            ") ranked WHERE id = :userId", nativeQuery = true)
-    Optional<Integer> findRankByUserId(@Param("userId") Long userId);
+    // Ajout de points en une seule requête : pas de lecture-modification-écriture, pas de mise à jour perdue
+    @Modifying
+    @Transactional
+    @Query("UPDATE Utilisateur u SET u.score = u.score + :points WHERE u.id = :userId")
+    int ajouterScore(@Param("userId") Long userId, @Param("points") int points);
+
+    // Score relu après ajouterScore (projection : ne passe pas par le contexte de persistance)
+    @Query("SELECT u.email AS email, u.score AS score, b.categorie AS badgeCategorie " +
+            "FROM Utilisateur u LEFT JOIN u.badge b WHERE u.id = :userId")
+    Optional<ScoreUtilisateurView> findScoreById(@Param("userId") Long userId);
+
+    // Profil personnel : seuls nom, prénom et image sont écrits (l'utilisateur courant est une copie en cache)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Utilisateur u SET u.nom = :nom, u.prenom = :prenom, u.imagePath = :imagePath WHERE u.id = :userId")
+    int modifierProfil(@Param("userId") Long userId,
+                       @Param("nom") String nom,
+                       @Param("prenom") String prenom,
+                       @Param("imagePath") String imagePath);
+
+    // Attribution d'un badge sans recharger l'utilisateur
+    @Modifying
+    @Transactional
+    @Query("UPDATE Utilisateur u SET u.badge = :badge WHERE u.id = :userId")
+    int changerBadge(@Param("userId") Long userId, @Param("badge") Badge badge);
+
+    // Joueurs du classement : [id, prénom, nom, score]
+    @Query("SELECT u.id, u.prenom, u.nom, u.score FROM Utilisateur u WHERE u.role = 'UTILISATEUR'")
+    List<Object[]> findJoueursClassement();
+
+    // Identifiants de tous les utilisateurs (reconstruction des statistiques)
+    @Query("SELECT u.id FROM Utilisateur u ORDER BY u.id")
+    List<Long> findAllIds();
 
     // Statistiques pour l'admin
     @Query("SELECT COUNT(u) FROM Utilisateur u WHERE u.role = 'UTILISATEUR'")
@@ -0,0 +1,18 @@
+package debatearena.backend.Repository;
+
+/**
+ * Version des données agrégées par les statistiques des sujets :
+ * toute création, suppression ou fin de débat et toute note la fait changer.
+ */
+public interface VersionStatsSujetsView {
+
+    Long getNombreDebats();
+
+    Long getDernierDebatId();
+
+    Long getDebatsEnCours();
+
+    Long getNombreNotes();
+
+    Long getSommeNotes();
+}
@@ -0,0 +1,32 @@
+package debatearena.backend.Security;
+
+import java.util.Date;
+
+/**
+ * Contenu signé d'un JWT valide, extrait en une seule lecture du jeton.
+ */
+public class JetonVerifie {
+
+    private final String email;
+    private final String role;
+    private final Long userId;   // null pour les jetons émis avant l'ajout de la claim "uid"
+    private final String jti;    // null pour les jetons émis avant l'ajout de l'identifiant
+    private final Date emisLe;
+    private final Date expiration;
+
+    public JetonVerifie(String email, String role, Long userId, String jti, Date emisLe, Date expiration) {
+        this.email = email;
+        this.role = role;
+        this.userId = userId;
+        this.jti = jti;
+        this.emisLe = emisLe;
+        this.expiration = expiration;
+    }
+
+    public String getEmail() { return email; }
+    public String getRole() { return role; }
+    public Long getUserId() { return userId; }
+    public String getJti() { return jti; }
+    public Date getEmisLe() { return emisLe; }
+    public Date getExpiration() { return expiration; }
+}
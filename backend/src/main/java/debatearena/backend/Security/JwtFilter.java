@@ -1,5 +1,6 @@
 package debatearena.backend.Security;
 
+import debatearena.backend.Entity.role_enum;
 import debatearena.backend.Service.CustomUtilisateurService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -45,23 +46,38 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
-        String username = null;
-        String jwt = null;
+        if(authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Une seule lecture du jeton : signature, expiration et révocation
+            JetonVerifie jeton = jwtUtil.verifier(authHeader.substring(7));
 
-        if(authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
-        }
-
-        if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = customUtilisateurService.loadUserByUsername(username);
+            if(jeton != null) {
+                UserDetails userDetails = chargerUtilisateur(jeton);
 
-            if(jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                if(userDetails != null) {
+                    UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                }
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * En mode sans état, le principal est construit à partir des claims signées ;
+     * sinon (ou pour un ancien jeton sans id), l'utilisateur est relu via le service.
+     */
+    private UserDetails chargerUtilisateur(JetonVerifie jeton) {
+        if(jwtUtil.isModeSansEtat() && jeton.getUserId() != null && jeton.getRole() != null) {
+            try {
+                return new UtilisateurPrincipal(jeton.getUserId(), jeton.getEmail(), role_enum.valueOf(jeton.getRole()));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        UserDetails userDetails = customUtilisateurService.loadUserByUsername(jeton.getEmail());
+        return userDetails.getUsername().equals(jeton.getEmail()) ? userDetails : null;
+    }
 }
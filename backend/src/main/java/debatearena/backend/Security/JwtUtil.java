@@ -1,8 +1,11 @@
 package debatearena.backend.Security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -12,6 +15,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
@@ -23,9 +27,27 @@ public class JwtUtil {
     @Value("${jwt.expiration-ms}")
     private Long expirationTimeMs;
 
+    // Mode sans état : les claims signées (email, rôle, id) suffisent, sans lecture en base
+    @Value("${jwt.stateless:false}")
+    private boolean sansEtat;
+
+    @Autowired(required = false)
+    private RevocationJetons revocationJetons;
+
+    // Construits une seule fois à partir du secret
+    private volatile Key signKey;
+    private volatile JwtParser parser;
+
     public String generateToken(String email, String role) {
+        return generateToken(null, email, role);
+    }
+
+    public String generateToken(Long userId, String email, String role) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
+        if (userId != null) {
+            claims.put("uid", userId);
+        }
         return createToken(claims, email);
     }
 
@@ -33,6 +55,7 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expirationTimeMs))
                 .signWith(getSignKey(), SignatureAlgorithm.HS256)
@@ -40,25 +63,70 @@ public class JwtUtil {
     }
 
     private Key getSignKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return new SecretKeySpec(keyBytes, SignatureAlgorithm.HS256.getJcaName());
+        Key key = signKey;
+        if (key == null) {
+            byte[] keyBytes = secretKey.getBytes();
+            key = new SecretKeySpec(keyBytes, SignatureAlgorithm.HS256.getJcaName());
+            signKey = key;
+        }
+        return key;
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(getSignKey())
+                    .build();
+            parser = jwtParser;
+        }
+        return jwtParser;
+    }
+
+    public boolean isModeSansEtat() {
+        return sansEtat;
+    }
+
+    /**
+     * Vérifie le jeton en une seule lecture (signature, expiration, révocation).
+     * Retourne null si le jeton n'est pas utilisable.
+     */
+    public JetonVerifie verifier(String token) {
         try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            Claims claims = extractAllClaims(token);
+            Number uid = claims.get("uid", Number.class);
+
+            JetonVerifie jeton = new JetonVerifie(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    uid != null ? uid.longValue() : null,
+                    claims.getId(),
+                    claims.getIssuedAt(),
+                    claims.getExpiration()
+            );
+
+            if (jeton.getEmail() == null || (revocationJetons != null && revocationJetons.estRevoque(jeton))) {
+                return null;
+            }
+            return jeton;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpirationDate(token).before(new Date());
+    /**
+     * Révoque le jeton (déconnexion). Sans effet si le jeton est déjà invalide.
+     */
+    public void revoquer(String token) {
+        JetonVerifie jeton = verifier(token);
+        if (jeton != null && revocationJetons != null) {
+            revocationJetons.revoquerJeton(jeton.getJti(), jeton.getExpiration());
+        }
     }
 
-    private Date extractExpirationDate(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public Boolean validateToken(String token, UserDetails userDetails) {
+        JetonVerifie jeton = verifier(token);
+        return jeton != null && jeton.getEmail().equals(userDetails.getUsername());
     }
 
     public String extractUsername(String token) {
@@ -75,10 +143,8 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
+        return getParser()
                 .parseClaimsJws(token)
                 .getBody();
     }
-}
\ No newline at end of file
+}
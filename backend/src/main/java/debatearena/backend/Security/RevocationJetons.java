@@ -0,0 +1,73 @@
+package debatearena.backend.Security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Liste de révocation des JWT, en mémoire.
+ * Aucune entrée n'est évincée tant qu'elle peut encore servir : seule la purge la retire,
+ * une fois expirés tous les jetons qu'elle concerne. Les consultations ne prolongent rien.
+ * La liste est propre à l'instance : une révocation n'est pas vue par les autres instances.
+ */
+@Component
+public class RevocationJetons {
+
+    // Jetons révoqués un par un (déconnexion) : jti -> expiration du jeton (epoch en ms)
+    private final Map<String, Long> jetonsRevoques = new ConcurrentHashMap<>();
+
+    // Tous les jetons d'un utilisateur émis avant cette date (epoch en secondes) sont révoqués
+    private final Map<String, Long> revocationsUtilisateur = new ConcurrentHashMap<>();
+
+    private final long dureeVieJetonMs;
+
+    public RevocationJetons(@Value("${jwt.expiration-ms}") long dureeVieJetonMs) {
+        this.dureeVieJetonMs = Math.max(1, dureeVieJetonMs);
+    }
+
+    /**
+     * Révoque un jeton jusqu'à son expiration réelle (claim "exp").
+     */
+    public void revoquerJeton(String jti, Date expiration) {
+        if (jti != null) {
+            long expireLe = expiration != null
+                    ? expiration.getTime()
+                    : System.currentTimeMillis() + dureeVieJetonMs;
+            jetonsRevoques.merge(jti, expireLe, Math::max);
+        }
+    }
+
+    /**
+     * Révoque tous les jetons déjà émis pour cet utilisateur (ex. après un changement de mot de passe).
+     */
+    public void revoquerUtilisateur(String email) {
+        revocationsUtilisateur.merge(email, System.currentTimeMillis() / 1000, Math::max);
+    }
+
+    public boolean estRevoque(JetonVerifie jeton) {
+        if (jeton.getJti() != null && jetonsRevoques.containsKey(jeton.getJti())) {
+            return true;
+        }
+
+        Long revoqueDepuis = revocationsUtilisateur.get(jeton.getEmail());
+        Date emisLe = jeton.getEmisLe();
+        // "iat" est à la seconde : un jeton émis dans la seconde de la révocation reste valide
+        return revoqueDepuis != null && emisLe != null && emisLe.getTime() / 1000 < revoqueDepuis;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-intervalle-ms:60000}")
+    public void purgerEntreesExpirees() {
+        long maintenant = System.currentTimeMillis();
+        jetonsRevoques.values().removeIf(expireLe -> expireLe <= maintenant);
+        // Un jeton émis avant la révocation expire au plus tard une durée de vie après elle
+        revocationsUtilisateur.values().removeIf(depuis -> depuis * 1000 + dureeVieJetonMs <= maintenant);
+    }
+
+    int getNombreEntrees() {
+        return jetonsRevoques.size() + revocationsUtilisateur.size();
+    }
+}
@@ -0,0 +1,53 @@
+package debatearena.backend.Security;
+
+import debatearena.backend.Entity.Utilisateur;
+import debatearena.backend.Entity.role_enum;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collections;
+
+/**
+ * Principal posé par JwtFilter dans le contexte de sécurité de la requête :
+ * en plus des informations Spring Security, il porte l'id, le rôle et le score.
+ */
+public class UtilisateurPrincipal extends User {
+
+    private final Long id;
+    private final role_enum role;
+    private final Integer score;
+
+    public UtilisateurPrincipal(Utilisateur utilisateur) {
+        super(
+                utilisateur.getEmail(),
+                utilisateur.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority(utilisateur.getRole().name()))
+        );
+        this.id = utilisateur.getId();
+        this.role = utilisateur.getRole();
+        this.score = utilisateur.getScore();
+    }
+
+    /**
+     * Principal reconstruit à partir des claims signées du JWT (mode sans état) :
+     * ni mot de passe ni score, aucune lecture en base.
+     */
+    public UtilisateurPrincipal(Long id, String email, role_enum role) {
+        super(email, "", Collections.singletonList(new SimpleGrantedAuthority(role.name())));
+        this.id = id;
+        this.role = role;
+        this.score = null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public role_enum getRole() {
+        return role;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+}
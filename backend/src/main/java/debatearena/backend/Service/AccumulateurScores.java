@@ -0,0 +1,52 @@
+package debatearena.backend.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tampon d'écriture différée des scores (optionnel) : les points sont cumulés par utilisateur
+ * en mémoire, puis appliqués en une seule mise à jour par utilisateur par
+ * UtilisateurService.appliquerScoresEnAttente(). Un score n'est jamais en retard de plus
+ * d'un intervalle de vidage (plus la durée du vidage).
+ */
+@Service
+public class AccumulateurScores {
+
+    private final boolean actif;
+    private final ConcurrentHashMap<Long, Integer> enAttente = new ConcurrentHashMap<>();
+
+    public AccumulateurScores(@Value("${app.scores.ecriture-differee.actif:false}") boolean actif) {
+        this.actif = actif;
+    }
+
+    public boolean estActif() {
+        return actif;
+    }
+
+    public void ajouter(Long userId, int points) {
+        enAttente.merge(userId, points, Integer::sum);
+    }
+
+    /**
+     * Retire et renvoie les points en attente. Un ajout concurrent est soit inclus,
+     * soit gardé pour le vidage suivant, jamais perdu.
+     */
+    public Map<Long, Integer> vider() {
+        Map<Long, Integer> lot = new HashMap<>();
+        for (Long userId : enAttente.keySet()) {
+            Integer points = enAttente.remove(userId);
+            if (points != null && points != 0) {
+                lot.put(userId, points);
+            }
+        }
+        return lot;
+    }
+
+    public int getNombreEnAttente() {
+        return enAttente.size();
+    }
+}
@@ -6,40 +6,50 @@ import debatearena.backend.Exceptions.BadRequestException;
 import debatearena.backend.Exceptions.NotFoundException;
 import debatearena.backend.Exceptions.UnauthorizedException;
 import debatearena.backend.Repository.*;
+import debatearena.backend.Utils.CurseurPagination;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Administration. Lecture seule par défaut ; seules les écritures (sujets, traitement
+ * des signalements) ouvrent une transaction en écriture.
+ */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class AdminService {
 
     private final UtilisateurRepository utilisateurRepository;
     private final DebatRepository debatRepository;
     private final MessageRepository messageRepository;
-    private final TestRepository testRepository;
     private final SujetRepository sujetRepository;
     private final SignalementRepository signalementRepository;
     private final UtilisateurService utilisateurService;
+    private final DashboardAdminSnapshotService dashboardAdminSnapshotService;
+    private final CatalogueSujets catalogueSujets;
 
     public AdminService(UtilisateurRepository utilisateurRepository,
                         DebatRepository debatRepository,
                         MessageRepository messageRepository,
-                        TestRepository testRepository,
                         SujetRepository sujetRepository,
                         SignalementRepository signalementRepository,
-                        UtilisateurService utilisateurService) {
+                        UtilisateurService utilisateurService,
+                        DashboardAdminSnapshotService dashboardAdminSnapshotService,
+                        CatalogueSujets catalogueSujets) {
         this.utilisateurRepository = utilisateurRepository;
         this.debatRepository = debatRepository;
         this.messageRepository = messageRepository;
-        this.testRepository = testRepository;
         this.sujetRepository = sujetRepository;
         this.signalementRepository = signalementRepository;
         this.utilisateurService = utilisateurService;
+        this.dashboardAdminSnapshotService = dashboardAdminSnapshotService;
+        this.catalogueSujets = catalogueSujets;
     }
 
     // ========== PROFIL ADMIN ==========
@@ -64,54 +74,27 @@ public class AdminService {
 
     // ========== DASHBOARD ADMIN ==========
 
+    /**
+     * Instantané en mémoire : aucune connexion n'est prise tant qu'il est frais.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public DashboardAdminResponse getDashboardStats() {
         verifierAdminAccess();
+        return dashboardAdminSnapshotService.getSnapshot();
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime jour1 = now.minusDays(1);
-        LocalDateTime jour7 = now.minusDays(7);
-        LocalDateTime jour30 = now.minusDays(30);
-
-        // Statistiques globales
-        Integer totalUtilisateurs = utilisateurRepository.countTotalUtilisateurs();
-        Integer totalDebats = (int) debatRepository.count();
-        Integer debatsEnCours = debatRepository.countDebatsEnCours();
-        Integer totalTests = (int) testRepository.count();
-        Double noteMoyenneTests = calculerNoteMoyenneGlobale();
-
-        // Signalements - CORRIGÉ
-        Integer signalementsEnAttente = signalementRepository.countByStatut(
-                StatutSignalementEnum.EN_ATTENTE  // Utiliser l'enum séparé
-        );
-        Integer signalementsTraites30j = signalementRepository.countTraitesDepuis(jour30);
-
-        // Sujets
-        Integer totalSujets = (int) sujetRepository.count();
-        Integer sujetsTendance = compterSujetsTendance(jour7);
-
-        // Activité récente (sans nouveaux utilisateurs)
-        DashboardAdminResponse.ActivityStats activite24h = calculerActivite(jour1);
-        DashboardAdminResponse.ActivityStats activite7j = calculerActivite(jour7);
-        DashboardAdminResponse.ActivityStats activite30j = calculerActivite(jour30);
-
-        return new DashboardAdminResponse(
-                totalUtilisateurs,
-                totalDebats,
-                debatsEnCours,
-                totalTests,
-                noteMoyenneTests,
-                signalementsEnAttente,
-                signalementsTraites30j,
-                totalSujets,
-                sujetsTendance,
-                activite24h,
-                activite7j,
-                activite30j
-        );
+    /**
+     * Recalcule l'instantané du dashboard sans attendre le prochain rafraîchissement planifié.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public DashboardAdminResponse rafraichirDashboard() {
+        verifierAdminAccess();
+        return dashboardAdminSnapshotService.rafraichir();
     }
 
     // ========== GESTION DES SUJETS ==========
 
+    @Transactional
     public SujetResponse creerSujet(CreateSujetRequest request) {
         verifierAdminAccess();
 
@@ -131,6 +114,7 @@ public class AdminService {
         }
 
         Sujet saved = sujetRepository.save(sujet);
+        catalogueSujets.invalider();
 
         return new SujetResponse(
                 saved.getId(),
@@ -141,6 +125,7 @@ public class AdminService {
         );
     }
 
+    @Transactional
     public SujetResponse updateSujet(Long sujetId, UpdateSujetRequest request) {
         verifierAdminAccess();
 
@@ -168,6 +153,7 @@ public class AdminService {
         }
 
         Sujet updated = sujetRepository.save(sujet);
+        catalogueSujets.invalider();
 
         return new SujetResponse(
                 updated.getId(),
@@ -178,6 +164,7 @@ public class AdminService {
         );
     }
 
+    @Transactional
     public void deleteSujet(Long sujetId) {
         verifierAdminAccess();
 
@@ -194,68 +181,71 @@ public class AdminService {
         }
 
         sujetRepository.delete(sujet);
+        catalogueSujets.invalider();
     }
 
     public List<SujetStatsResponse> getSujetsWithStats() {
         verifierAdminAccess();
 
-        List<Sujet> sujets = sujetRepository.findAll();
-        LocalDateTime jour7 = LocalDateTime.now().minusDays(7);
-        LocalDateTime jour30 = LocalDateTime.now().minusDays(30);
+        // Fenêtres alignées sur l'heure : le résultat ne dépend que des données et de l'heure (ETag)
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
 
-        Map<Long, Long> debatsBySujet = debatRepository.countDebatsBySujet()
+        return sujetRepository.findAllWithStats(now.minusDays(7), now.minusDays(30))
                 .stream()
-                .collect(Collectors.toMap(
-                        arr -> ((Number) arr[0]).longValue(),
-                        arr -> ((Number) arr[1]).longValue()
-                ));
+                .map(this::convertirStatsSujet)
+                .collect(Collectors.toList());
+    }
 
-        Map<Long, Long> debats7j = debatRepository.countDebatsBySujetDepuis(jour7)
-                .stream()
-                .collect(Collectors.toMap(
-                        arr -> ((Number) arr[0]).longValue(),
-                        arr -> ((Number) arr[1]).longValue()
-                ));
+    /**
+     * ETag des statistiques par sujet : catalogue, version des débats et des notes, heure courante
+     */
+    public String getEtagSujetsStats() {
+        verifierAdminAccess();
 
-        Map<Long, Long> debats30j = debatRepository.countDebatsBySujetDepuis(jour30)
-                .stream()
-                .collect(Collectors.toMap(
-                        arr -> ((Number) arr[0]).longValue(),
-                        arr -> ((Number) arr[1]).longValue()
-                ));
-
-        return sujets.stream().map(sujet -> {
-            Long sujetId = sujet.getId();
-            int totalDebats = debatsBySujet.getOrDefault(sujetId, 0L).intValue();
-            int debats7derniersjours = debats7j.getOrDefault(sujetId, 0L).intValue();
-            int debats30derniersjours = debats30j.getOrDefault(sujetId, 0L).intValue();
-
-            // Calculer le taux de croissance
-            double tauxCroissance = 0.0;
-            int debats23a30j = debats30derniersjours - debats7derniersjours;
-            if (debats23a30j > 0) {
-                tauxCroissance = ((double) debats7derniersjours / debats23a30j - 1) * 100;
-            }
+        VersionStatsSujetsView version = debatRepository.findVersionStatsSujets();
+        long heure = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+                .atZone(ZoneId.systemDefault()).toEpochSecond() / 3600;
+
+        return "\"sujets-stats-" + catalogueSujets.getEmpreinte()
+                + "-" + version.getNombreDebats()
+                + "-" + version.getDernierDebatId()
+                + "-" + version.getDebatsEnCours()
+                + "-" + version.getNombreNotes()
+                + "-" + version.getSommeNotes()
+                + "-" + heure + "\"";
+    }
+
+    private SujetStatsResponse convertirStatsSujet(SujetStatsView stats) {
+        int totalDebats = stats.getNombreDebats().intValue();
+        int debatsEnCours = stats.getDebatsEnCours().intValue();
+        int debats7derniersjours = stats.getDebats7j().intValue();
+        int debats30derniersjours = stats.getDebats30j().intValue();
+
+        // Calculer le taux de croissance
+        double tauxCroissance = 0.0;
+        int debats23a30j = debats30derniersjours - debats7derniersjours;
+        if (debats23a30j > 0) {
+            tauxCroissance = ((double) debats7derniersjours / debats23a30j - 1) * 100;
+        }
 
-            // Tendance si plus de 5 débats dans les 7 derniers jours
-            boolean estTendance = debats7derniersjours >= 5;
-
-            return new SujetStatsResponse(
-                    sujetId,
-                    sujet.getTitre(),
-                    sujet.getCategorie().name(),
-                    sujet.getDifficulte().name(),
-                    totalDebats,
-                    0, // debatsEnCours
-                    totalDebats, // debatsTermines
-                    calculerNoteMoyenneParSujet(sujetId),
-                    0, // nombreVues
-                    debats7derniersjours,
-                    debats30derniersjours,
-                    tauxCroissance,
-                    estTendance
-            );
-        }).collect(Collectors.toList());
+        // Tendance si plus de 5 débats dans les 7 derniers jours
+        boolean estTendance = debats7derniersjours >= 5;
+
+        return new SujetStatsResponse(
+                stats.getSujetId(),
+                stats.getTitre(),
+                stats.getCategorie().name(),
+                stats.getDifficulte().name(),
+                totalDebats,
+                debatsEnCours,
+                totalDebats - debatsEnCours,
+                stats.getNoteMoyenne() != null ? stats.getNoteMoyenne() : 0.0,
+                0, // nombreVues
+                debats7derniersjours,
+                debats30derniersjours,
+                tauxCroissance,
+                estTendance
+        );
     }
 
     // ========== GESTION DES SIGNALEMENTS ==========
@@ -263,33 +253,67 @@ public class AdminService {
     public List<SignalementResponse> getAllSignalements(String statut, String typeProbleme) {
         verifierAdminAccess();
 
-        // CORRIGÉ : Utiliser StatutSignalementEnum (séparé)
-        StatutSignalementEnum statutEnum = null;
-        if (statut != null) {
-            try {
-                statutEnum = StatutSignalementEnum.valueOf(statut);
-            } catch (IllegalArgumentException e) {
-                throw new BadRequestException("Statut invalide");
-            }
-        }
-
-        // CORRIGÉ : Utiliser TypeProblemeEnum (séparé)
-        TypeProblemeEnum typeEnum = null;
-        if (typeProbleme != null) {
-            try {
-                typeEnum = TypeProblemeEnum.valueOf(typeProbleme);
-            } catch (IllegalArgumentException e) {
-                throw new BadRequestException("Type de problème invalide");
-            }
-        }
-
-        List<Signalement> signalements = signalementRepository.findWithFilters(statutEnum, typeEnum);
+        List<Signalement> signalements = signalementRepository.findWithFilters(
+                parserStatut(statut),
+                parserTypeProbleme(typeProbleme)
+        );
 
         return signalements.stream()
                 .map(this::convertirSignalementEnResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Signalements filtrés par pages, du plus récent au plus ancien.
+     */
+    public PageResponse<SignalementResponse> getSignalementsPage(String statut,
+                                                                 String typeProbleme,
+                                                                 String curseur,
+                                                                 Integer taille) {
+        verifierAdminAccess();
+
+        StatutSignalementEnum statutEnum = parserStatut(statut);
+        TypeProblemeEnum typeEnum = parserTypeProbleme(typeProbleme);
+        CurseurPagination.Curseur apres = CurseurPagination.decoder(curseur);
+        int tailleBornee = CurseurPagination.bornerTaille(taille);
+
+        List<Signalement> signalements = apres == null
+                ? signalementRepository.findPageWithFilters(
+                        statutEnum, typeEnum, CurseurPagination.pageSuivante(tailleBornee))
+                : signalementRepository.findPageWithFiltersAvant(
+                        statutEnum, typeEnum, apres.getDate(), apres.getId(), CurseurPagination.pageSuivante(tailleBornee));
+
+        return CurseurPagination.construirePage(
+                signalements,
+                tailleBornee,
+                this::convertirSignalementEnResponse,
+                signalement -> CurseurPagination.encoder(signalement.getDateCreation(), signalement.getId())
+        );
+    }
+
+    private StatutSignalementEnum parserStatut(String statut) {
+        if (statut == null) {
+            return null;
+        }
+        try {
+            return StatutSignalementEnum.valueOf(statut);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Statut invalide");
+        }
+    }
+
+    private TypeProblemeEnum parserTypeProbleme(String typeProbleme) {
+        if (typeProbleme == null) {
+            return null;
+        }
+        try {
+            return TypeProblemeEnum.valueOf(typeProbleme);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Type de problème invalide");
+        }
+    }
+
+    @Transactional
     public SignalementResponse traiterSignalement(Long signalementId, TraiterSignalementRequest request) {
         verifierAdminAccess();
 
@@ -329,60 +353,6 @@ public class AdminService {
         }
     }
 
-    private Double calculerNoteMoyenneGlobale() {
-        List<Test> tests = testRepository.findAll();
-        if (tests.isEmpty()) return 0.0;
-
-        return tests.stream()
-                .filter(t -> t.getNote() != null)
-                .mapToInt(Test::getNote)
-                .average()
-                .orElse(0.0);
-    }
-
-    private Double calculerNoteMoyenneParSujet(Long sujetId) {
-        List<Debat> debats = debatRepository.findAll().stream()
-                .filter(d -> d.getSujet().getId().equals(sujetId))
-                .collect(Collectors.toList());
-
-        double totalNotes = 0;
-        int count = 0;
-
-        for (Debat debat : debats) {
-            Test test = testRepository.findByDebat(debat).orElse(null);
-            if (test != null && test.getNote() != null) {
-                totalNotes += test.getNote();
-                count++;
-            }
-        }
-
-        return count > 0 ? totalNotes / count : 0.0;
-    }
-
-    private Integer compterSujetsTendance(LocalDateTime depuis) {
-        Map<Long, Long> debatsDepuis = debatRepository.countDebatsBySujetDepuis(depuis)
-                .stream()
-                .collect(Collectors.toMap(
-                        arr -> ((Number) arr[0]).longValue(),
-                        arr -> ((Number) arr[1]).longValue()
-                ));
-
-        return (int) debatsDepuis.values().stream()
-                .filter(count -> count >= 5)
-                .count();
-    }
-
-    private DashboardAdminResponse.ActivityStats calculerActivite(LocalDateTime depuis) {
-        Integer debatsCrees = debatRepository.countDebatsDepuis(depuis);
-        Integer messagesEnvoyes = messageRepository.countMessagesDepuis(depuis);
-
-        return new DashboardAdminResponse.ActivityStats(
-                0, // nouveauxUtilisateurs retiré
-                debatsCrees,
-                messagesEnvoyes
-        );
-    }
-
     private SignalementResponse convertirSignalementEnResponse(Signalement signalement) {
         return new SignalementResponse(
                 signalement.getId(),
@@ -118,10 +118,21 @@ public class AuthService {
 
         // 4. Générer le token
         String token = jwtUtil.generateToken(
+                user.getId(),
                 user.getEmail(),
                 user.getRole().name()
         );
 
         return new AuthResponse(token, user.getRole().name());
     }
+
+    /**
+     * Déconnexion : le jeton est ajouté à la liste de révocation jusqu'à son expiration.
+     */
+    public void logout(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            throw new BadRequestException("Token manquant");
+        }
+        jwtUtil.revoquer(authorizationHeader.substring(7));
+    }
 }
\ No newline at end of file
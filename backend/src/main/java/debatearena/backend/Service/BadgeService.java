@@ -6,18 +6,26 @@ import debatearena.backend.Repository.BadgeRepository;
 //import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 //@RequiredArgsConstructor
 public class BadgeService {
 
+    // Score à partir duquel le badge "Expert en argumentation" est décerné (niveau AVANCE)
+    private static final int SCORE_EXPERT = 500;
+
     private final BadgeRepository badgeRepository;
-    public BadgeService(BadgeRepository badgeRepository) {
+    private final DonneesReference donneesReference;
+
+    public BadgeService(BadgeRepository badgeRepository, DonneesReference donneesReference) {
         this.badgeRepository = badgeRepository;
+        this.donneesReference = donneesReference;
     }
 
     public Badge getDefaultBadge(){
         String nom_default = "Nouveau Débatteur";
-        return badgeRepository.findBadgeByNom(nom_default)
+        return donneesReference.getBadge(nom_default)
                 .orElseGet(this::createDefaultBadge);
     }
 
@@ -26,6 +34,25 @@ public class BadgeService {
         defaultbadge.setNom("Nouveau Débatteur");
         defaultbadge.setDescription("Badge attribué aux nouveaux utilisateurs");
         defaultbadge.setCategorie(categorie_badge_enum.BRONZE);
-        return badgeRepository.save(defaultbadge);
+        Badge saved = badgeRepository.save(defaultbadge);
+        donneesReference.invalider();
+        return saved;
+    }
+
+    /**
+     * Badge mérité pour un score, s'il y en a un au-delà du badge par défaut
+     */
+    public Optional<Badge> badgePourScore(int score) {
+        if (score >= SCORE_EXPERT) {
+            return donneesReference.getBadge("Expert en argumentation");
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Vrai si le badge proposé est d'une catégorie supérieure à l'actuelle (OR > ARGENT > BRONZE)
+     */
+    public boolean estMeilleur(Badge propose, categorie_badge_enum actuelle) {
+        return actuelle == null || propose.getCategorie().ordinal() < actuelle.ordinal();
     }
 }
@@ -0,0 +1,240 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Entity.Sujet;
+import debatearena.backend.Entity.categorie_sujet_enum;
+import debatearena.backend.Entity.niveau_enum;
+import debatearena.backend.Repository.SujetRepository;
+import debatearena.backend.Utils.IndexTexte;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Catalogue des sujets en mémoire : une version immuable, indexée par catégorie,
+ * par difficulté et par les mots du titre, reconstruite après chaque écriture admin sur les sujets.
+ * Les sujets exposés sont des copies détachées et ne doivent pas être modifiés.
+ */
+@Service
+public class CatalogueSujets {
+
+    private final SujetRepository sujetRepository;
+
+    private volatile Version version;
+    // Une seule reconstruction à la fois (pas de synchronized autour de la requête : compatible threads virtuels)
+    private final ReentrantLock verrou = new ReentrantLock();
+    private long compteurVersions = 0;
+
+    public CatalogueSujets(SujetRepository sujetRepository) {
+        this.sujetRepository = sujetRepository;
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Tous les sujets, triés par ID
+     */
+    public List<Sujet> tous() {
+        return getVersion().tous;
+    }
+
+    public Optional<Sujet> parId(Long id) {
+        return Optional.ofNullable(getVersion().parId.get(id));
+    }
+
+    /**
+     * Sujets d'une catégorie et/ou d'une difficulté (null = pas de filtre), triés par ID
+     */
+    public List<Sujet> filtrer(categorie_sujet_enum categorie, niveau_enum difficulte) {
+        Version courante = getVersion();
+
+        if (categorie != null && difficulte != null) {
+            return courante.parCategorie.getOrDefault(categorie, List.of()).stream()
+                    .filter(sujet -> sujet.getDifficulte() == difficulte)
+                    .toList();
+        }
+        if (categorie != null) {
+            return courante.parCategorie.getOrDefault(categorie, List.of());
+        }
+        if (difficulte != null) {
+            return courante.parDifficulte.getOrDefault(difficulte, List.of());
+        }
+        return courante.tous;
+    }
+
+    /**
+     * Au plus {@code limite} sujets d'ID strictement supérieur à {@code apresId}
+     */
+    public List<Sujet> apres(long apresId, int limite) {
+        List<Sujet> tous = getVersion().tous;
+
+        int debut = 0;
+        int fin = tous.size();
+        while (debut < fin) {
+            int milieu = (debut + fin) >>> 1;
+            if (tous.get(milieu).getId() <= apresId) debut = milieu + 1;
+            else fin = milieu;
+        }
+
+        return tous.subList(debut, Math.min(tous.size(), debut + limite));
+    }
+
+    /**
+     * Sujets dont le titre correspond à la requête, du plus pertinent au moins pertinent
+     * (sans accents, par préfixe, avec tolérance aux fautes de frappe)
+     */
+    public List<Sujet> rechercher(String requete) {
+        Version courante = getVersion();
+        return courante.index.rechercher(requete).stream()
+                .map(courante.parId::get)
+                .toList();
+    }
+
+    /**
+     * Requête corrigée proposée quand un terme ne correspond à aucun titre
+     */
+    public List<String> suggerer(String requete) {
+        return getVersion().index.suggerer(requete);
+    }
+
+    /**
+     * Numéro de version local, incrémenté à chaque changement de contenu
+     */
+    public long getNumeroVersion() {
+        return getVersion().numero;
+    }
+
+    /**
+     * Empreinte du contenu : identique d'une instance à l'autre pour un même catalogue
+     */
+    public String getEmpreinte() {
+        return getVersion().empreinte;
+    }
+
+    // ========== RECONSTRUCTION ==========
+
+    /**
+     * Reconstruit le catalogue après la validation de la transaction courante
+     * (immédiatement s'il n'y en a pas), pour ne jamais exposer une écriture annulée.
+     */
+    public void invalider() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reconstruire();
+                }
+            });
+        } else {
+            reconstruire();
+        }
+    }
+
+    /**
+     * Relecture périodique : rattrape les écritures faites par une autre instance
+     */
+    @Scheduled(
+            initialDelayString = "${app.sujets.catalogue.rafraichissement-ms:300000}",
+            fixedDelayString = "${app.sujets.catalogue.rafraichissement-ms:300000}"
+    )
+    public void rafraichir() {
+        if (version != null) {
+            reconstruire();
+        }
+    }
+
+    public void reconstruire() {
+        verrou.lock();
+        try {
+            List<Sujet> copies = sujetRepository.findAll().stream()
+                    .map(sujet -> new Sujet(sujet.getId(), sujet.getTitre(), sujet.getDifficulte(), sujet.getCategorie()))
+                    .sorted(Comparator.comparing(Sujet::getId))
+                    .toList();
+
+            String empreinte = calculerEmpreinte(copies);
+            Version courante = version;
+            if (courante != null && courante.empreinte.equals(empreinte)) {
+                return;
+            }
+
+            version = new Version(++compteurVersions, empreinte, copies);
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    private Version getVersion() {
+        Version courante = version;
+        if (courante == null) {
+            verrou.lock();
+            try {
+                if (version == null) {
+                    reconstruire();
+                }
+                courante = version;
+            } finally {
+                verrou.unlock();
+            }
+        }
+        return courante;
+    }
+
+    /**
+     * Empreinte stable d'une JVM à l'autre : les enums sont hachés par leur nom,
+     * Enum.hashCode() dépendant de l'identité de l'objet
+     */
+    private String calculerEmpreinte(List<Sujet> sujets) {
+        int hash = 1;
+        for (Sujet sujet : sujets) {
+            hash = 31 * hash + Objects.hash(sujet.getId(), sujet.getTitre(),
+                    nom(sujet.getCategorie()), nom(sujet.getDifficulte()));
+        }
+        return sujets.size() + "-" + Integer.toHexString(hash);
+    }
+
+    private static String nom(Enum<?> valeur) {
+        return valeur != null ? valeur.name() : null;
+    }
+
+    // ========== VERSION IMMUABLE ==========
+
+    private static final class Version {
+
+        private final long numero;
+        private final String empreinte;
+        private final List<Sujet> tous;
+        private final Map<Long, Sujet> parId;
+        private final Map<categorie_sujet_enum, List<Sujet>> parCategorie;
+        private final Map<niveau_enum, List<Sujet>> parDifficulte;
+        private final IndexTexte index;
+
+        private Version(long numero, String empreinte, List<Sujet> tous) {
+            this.numero = numero;
+            this.empreinte = empreinte;
+            this.tous = tous;
+
+            Map<Long, Sujet> ids = new HashMap<>();
+            Map<Long, String> titres = new HashMap<>();
+            Map<categorie_sujet_enum, List<Sujet>> categories = new EnumMap<>(categorie_sujet_enum.class);
+            Map<niveau_enum, List<Sujet>> difficultes = new EnumMap<>(niveau_enum.class);
+
+            for (Sujet sujet : tous) {
+                ids.put(sujet.getId(), sujet);
+                titres.put(sujet.getId(), sujet.getTitre());
+                categories.computeIfAbsent(sujet.getCategorie(), c -> new ArrayList<>()).add(sujet);
+                difficultes.computeIfAbsent(sujet.getDifficulte(), d -> new ArrayList<>()).add(sujet);
+            }
+
+            categories.replaceAll((c, liste) -> List.copyOf(liste));
+            difficultes.replaceAll((d, liste) -> List.copyOf(liste));
+
+            this.parId = Collections.unmodifiableMap(ids);
+            this.parCategorie = Collections.unmodifiableMap(categories);
+            this.parDifficulte = Collections.unmodifiableMap(difficultes);
+            this.index = new IndexTexte(titres);
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.DTO.EntreeClassement;
+import debatearena.backend.DTO.PositionClassementResponse;
+import debatearena.backend.Entity.Utilisateur;
+import debatearena.backend.Entity.categorie_sujet_enum;
+import debatearena.backend.Entity.role_enum;
+import debatearena.backend.Exceptions.BadRequestException;
+import debatearena.backend.Repository.TestRepository;
+import debatearena.backend.Repository.UtilisateurRepository;
+import debatearena.backend.Utils.Classement;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Classements en mémoire : général (score), par catégorie et par période (somme des notes de test).
+ * Construits depuis la base au premier accès, tenus à jour à chaque changement de score ou de note,
+ * et relus périodiquement pour rattraper les écritures d'une autre instance.
+ */
+@Service
+public class ClassementService {
+
+    private static final int LIMITE_PAR_DEFAUT = 10;
+    private static final int LIMITE_MAX = 100;
+    private static final int RAYON_PAR_DEFAUT = 2;
+    private static final int RAYON_MAX = 10;
+
+    private final UtilisateurRepository utilisateurRepository;
+    private final TestRepository testRepository;
+
+    private volatile Etat etat;
+    // Verrou explicite plutôt que synchronized : la reconstruction lit la base, et un thread virtuel
+    // bloqué dans un bloc synchronized immobiliserait son thread porteur
+    private final ReentrantLock verrou = new ReentrantLock();
+
+    // Mises à jour reçues pendant une reconstruction, rejouées sur le nouvel état avant sa publication
+    // (null hors reconstruction). Verrou court, jamais tenu pendant une lecture de la base.
+    private List<Consumer<Etat>> aRejouer;
+    private final ReentrantLock verrouMisesAJour = new ReentrantLock();
+
+    public ClassementService(UtilisateurRepository utilisateurRepository, TestRepository testRepository) {
+        this.utilisateurRepository = utilisateurRepository;
+        this.testRepository = testRepository;
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Premiers du classement demandé (catégorie ou période, sinon général)
+     */
+    public List<EntreeClassement> getMeilleurs(String categorie, String periode, Integer limite) {
+        Etat courant = getEtat();
+        Classement classement = choisir(courant, categorie, periode);
+
+        return classement.meilleurs(borner(limite, LIMITE_PAR_DEFAUT, 1, LIMITE_MAX)).stream()
+                .map(position -> convertir(courant, position))
+                .toList();
+    }
+
+    /**
+     * Rang de l'utilisateur et joueurs qui l'entourent
+     */
+    public PositionClassementResponse getPosition(Long userId, String categorie, String periode, Integer rayon) {
+        Etat courant = getEtat();
+        Classement classement = choisir(courant, categorie, periode);
+
+        Integer points = classement.getPoints(userId);
+        List<EntreeClassement> voisins = classement.voisins(userId, borner(rayon, RAYON_PAR_DEFAUT, 0, RAYON_MAX)).stream()
+                .map(position -> convertir(courant, position))
+                .toList();
+
+        return new PositionClassementResponse(
+                classement.rang(userId),
+                points != null ? points : 0,
+                classement.taille(),
+                voisins
+        );
+    }
+
+    // ========== MISES À JOUR ==========
+
+    /**
+     * Score ou nom modifié (ou nouvel inscrit) : pris en compte après la validation de la transaction
+     */
+    public void surJoueurModifie(Utilisateur utilisateur) {
+        if (utilisateur.getRole() != role_enum.UTILISATEUR) {
+            return;
+        }
+
+        long userId = utilisateur.getId();
+        Joueur joueur = new Joueur(utilisateur.getPrenom(), utilisateur.getNom());
+        int score = utilisateur.getScore() != null ? utilisateur.getScore() : 0;
+
+        apresCommit(() -> appliquer(courant -> {
+            courant.joueurs.put(userId, joueur);
+            courant.general.definir(userId, score);
+        }));
+    }
+
+    /**
+     * Nom modifié : le score classé n'est pas touché (celui de l'entité peut être ancien)
+     */
+    public void surJoueurRenomme(Utilisateur utilisateur) {
+        if (utilisateur.getRole() != role_enum.UTILISATEUR) {
+            return;
+        }
+
+        long userId = utilisateur.getId();
+        Joueur joueur = new Joueur(utilisateur.getPrenom(), utilisateur.getNom());
+
+        apresCommit(() -> appliquer(courant -> {
+            if (courant.joueurs.containsKey(userId)) {
+                courant.joueurs.put(userId, joueur);
+            }
+        }));
+    }
+
+    /**
+     * Nouveau score d'un joueur déjà classé (mise à jour atomique du score)
+     */
+    public void surScoreModifie(Long userId, int score) {
+        apresCommit(() -> appliquer(courant -> {
+            if (courant.joueurs.containsKey(userId)) {
+                courant.general.definir(userId, score);
+            }
+        }));
+    }
+
+    /**
+     * Note attribuée (ou corrigée) à un test : crédite la catégorie du sujet et les périodes
+     * qui contiennent le début du débat.
+     */
+    public void surTestNote(Long userId, categorie_sujet_enum categorie, LocalDateTime dateDebutDebat,
+                            Integer ancienneNote, int nouvelleNote) {
+        int delta = nouvelleNote - (ancienneNote != null ? ancienneNote : 0);
+        if (delta == 0) {
+            return;
+        }
+
+        apresCommit(() -> appliquer(courant -> {
+            if (!courant.joueurs.containsKey(userId)) {
+                return;
+            }
+            courant.parCategorie.get(categorie).ajouter(userId, delta);
+            if (!dateDebutDebat.isBefore(courant.debutSemaine)) {
+                courant.semaine.ajouter(userId, delta);
+            }
+            if (!dateDebutDebat.isBefore(courant.debutMois)) {
+                courant.mois.ajouter(userId, delta);
+            }
+        }));
+    }
+
+    // ========== RECONSTRUCTION ==========
+
+    @Scheduled(
+            initialDelayString = "${app.classement.rafraichissement-ms:600000}",
+            fixedDelayString = "${app.classement.rafraichissement-ms:600000}"
+    )
+    public void rafraichir() {
+        if (etat != null) {
+            reconstruire();
+        }
+    }
+
+    /**
+     * Relit la base dans un nouvel état. Les mises à jour reçues pendant la lecture sont
+     * appliquées à l'état encore publié et rejouées sur le nouveau, pour n'en perdre aucune.
+     * Une note validée juste avant la lecture peut y être comptée deux fois : la
+     * reconstruction suivante corrige cet écart.
+     */
+    public void reconstruire() {
+        verrou.lock();
+        try {
+            demarrerEnregistrement();
+            LocalDate aujourdhui = LocalDate.now();
+            LocalDateTime debutSemaine = aujourdhui.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            LocalDateTime debutMois = aujourdhui.withDayOfMonth(1).atStartOfDay();
+
+            Etat nouvel = new Etat(debutSemaine, debutMois);
+
+            for (Object[] ligne : utilisateurRepository.findJoueursClassement()) {
+                long userId = ((Number) ligne[0]).longValue();
+                nouvel.joueurs.put(userId, new Joueur((String) ligne[1], (String) ligne[2]));
+                nouvel.general.definir(userId, ligne[3] != null ? ((Number) ligne[3]).intValue() : 0);
+            }
+
+            for (Object[] ligne : testRepository.sumNotesParUtilisateurEtCategorie()) {
+                long userId = ((Number) ligne[0]).longValue();
+                if (nouvel.joueurs.containsKey(userId)) {
+                    nouvel.parCategorie.get((categorie_sujet_enum) ligne[1]).definir(userId, ((Number) ligne[2]).intValue());
+                }
+            }
+
+            remplirPeriode(nouvel, nouvel.semaine, debutSemaine);
+            remplirPeriode(nouvel, nouvel.mois, debutMois);
+
+            publier(nouvel);
+        } finally {
+            arreterEnregistrement();
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Applique une mise à jour à l'état publié ; pendant une reconstruction, la garde aussi pour la rejouer
+     */
+    private void appliquer(Consumer<Etat> miseAJour) {
+        verrouMisesAJour.lock();
+        try {
+            Etat courant = etat;
+            if (courant != null) {
+                miseAJour.accept(courant);
+            }
+            if (aRejouer != null) {
+                aRejouer.add(miseAJour);
+            }
+        } finally {
+            verrouMisesAJour.unlock();
+        }
+    }
+
+    private void demarrerEnregistrement() {
+        verrouMisesAJour.lock();
+        try {
+            aRejouer = new ArrayList<>();
+        } finally {
+            verrouMisesAJour.unlock();
+        }
+    }
+
+    private void publier(Etat nouvel) {
+        verrouMisesAJour.lock();
+        try {
+            for (Consumer<Etat> miseAJour : aRejouer) {
+                miseAJour.accept(nouvel);
+            }
+            etat = nouvel;
+            aRejouer = null;
+        } finally {
+            verrouMisesAJour.unlock();
+        }
+    }
+
+    private void arreterEnregistrement() {
+        verrouMisesAJour.lock();
+        try {
+            aRejouer = null;
+        } finally {
+            verrouMisesAJour.unlock();
+        }
+    }
+
+    private void remplirPeriode(Etat nouvel, Classement classement, LocalDateTime depuis) {
+        for (Object[] ligne : testRepository.sumNotesParUtilisateurDepuis(depuis)) {
+            long userId = ((Number) ligne[0]).longValue();
+            if (nouvel.joueurs.containsKey(userId)) {
+                classement.definir(userId, ((Number) ligne[1]).intValue());
+            }
+        }
+    }
+
+    /**
+     * Construit au premier accès ; reconstruit aussi quand une nouvelle semaine ou un nouveau mois commence
+     */
+    private Etat getEtat() {
+        Etat courant = etat;
+        LocalDate aujourdhui = LocalDate.now();
+        LocalDateTime debutSemaine = aujourdhui.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+
+        if (courant == null || !courant.debutSemaine.equals(debutSemaine)
+                || !courant.debutMois.equals(aujourdhui.withDayOfMonth(1).atStartOfDay())) {
+            verrou.lock();
+            try {
+                if (etat == courant) {
+                    reconstruire();
+                }
+                courant = etat;
+            } finally {
+                verrou.unlock();
+            }
+        }
+        return courant;
+    }
+
+    // ========== MÉTHODES UTILITAIRES PRIVÉES ==========
+
+    private Classement choisir(Etat courant, String categorie, String periode) {
+        if (categorie != null && periode != null) {
+            throw new BadRequestException("Choisir une catégorie ou une période, pas les deux");
+        }
+
+        if (categorie != null) {
+            try {
+                return courant.parCategorie.get(categorie_sujet_enum.valueOf(categorie));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Catégorie invalide");
+            }
+        }
+
+        if (periode != null) {
+            switch (periode) {
+                case "SEMAINE":
+                    return courant.semaine;
+                case "MOIS":
+                    return courant.mois;
+                default:
+                    throw new BadRequestException("Période invalide (SEMAINE ou MOIS)");
+            }
+        }
+
+        return courant.general;
+    }
+
+    private EntreeClassement convertir(Etat courant, Classement.Position position) {
+        Joueur joueur = courant.joueurs.get(position.getJoueurId());
+        return new EntreeClassement(
+                position.getRang(),
+                position.getJoueurId(),
+                joueur != null ? joueur.prenom : null,
+                joueur != null ? joueur.nom : null,
+                position.getPoints()
+        );
+    }
+
+    private int borner(Integer valeur, int parDefaut, int min, int max) {
+        if (valeur == null) {
+            return parDefaut;
+        }
+        return Math.max(min, Math.min(max, valeur));
+    }
+
+    /**
+     * Applique la mise à jour après la validation de la transaction courante
+     * (immédiatement s'il n'y en a pas), pour ne jamais classer une écriture annulée.
+     */
+    private void apresCommit(Runnable miseAJour) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    miseAJour.run();
+                }
+            });
+        } else {
+            miseAJour.run();
+        }
+    }
+
+    // ========== ÉTAT ==========
+
+    private static final class Etat {
+
+        private final LocalDateTime debutSemaine;
+        private final LocalDateTime debutMois;
+        private final Map<Long, Joueur> joueurs = new ConcurrentHashMap<>();
+        private final Classement general = new Classement();
+        private final Map<categorie_sujet_enum, Classement> parCategorie = new EnumMap<>(categorie_sujet_enum.class);
+        private final Classement semaine = new Classement();
+        private final Classement mois = new Classement();
+
+        private Etat(LocalDateTime debutSemaine, LocalDateTime debutMois) {
+            this.debutSemaine = debutSemaine;
+            this.debutMois = debutMois;
+            for (categorie_sujet_enum categorie : categorie_sujet_enum.values()) {
+                parCategorie.put(categorie, new Classement());
+            }
+        }
+    }
+
+    private static final class Joueur {
+
+        private final String prenom;
+        private final String nom;
+
+        private Joueur(String prenom, String nom) {
+            this.prenom = prenom;
+            this.nom = nom;
+        }
+    }
+}
@@ -1,34 +1,24 @@
 package debatearena.backend.Service;
 
-import debatearena.backend.Entity.Utilisateur;
-import debatearena.backend.Repository.UtilisateurRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
+import debatearena.backend.Security.UtilisateurPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-
 @Service
 //@RequiredArgsConstructor
 public class CustomUtilisateurService implements UserDetailsService {
 
-    private final UtilisateurRepository utilisateurRepository;
-    public CustomUtilisateurService(UtilisateurRepository utilisateurRepository) {
-        this.utilisateurRepository = utilisateurRepository;
+    private final UtilisateurCache utilisateurCache;
+    public CustomUtilisateurService(UtilisateurCache utilisateurCache) {
+        this.utilisateurCache = utilisateurCache;
     }
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
-        Utilisateur utilisateur = utilisateurRepository.findByEmail(email)
+        return utilisateurCache.getParEmail(email)
+                .map(UtilisateurPrincipal::new)
                 .orElseThrow(() -> new UsernameNotFoundException("L'utilisateur avec l'email " + email + " n'existe pas!"));
-
-        return new User(
-                utilisateur.getEmail(),
-                utilisateur.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority(utilisateur.getRole().name())));
     }
 }
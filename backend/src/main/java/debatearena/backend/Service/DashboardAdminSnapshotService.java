@@ -0,0 +1,114 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.DTO.DashboardAdminResponse;
+import debatearena.backend.Entity.StatutSignalementEnum;
+import debatearena.backend.Repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Instantané du dashboard admin : les agrégats sont recalculés périodiquement
+ * (ou à la demande) et servis depuis la mémoire, quelle que soit la taille des tables.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DashboardAdminSnapshotService {
+
+    // Un sujet est "tendance" à partir de ce nombre de débats sur 7 jours
+    private static final long SEUIL_TENDANCE = 5;
+
+    private final UtilisateurRepository utilisateurRepository;
+    private final DebatRepository debatRepository;
+    private final MessageRepository messageRepository;
+    private final TestRepository testRepository;
+    private final SujetRepository sujetRepository;
+    private final SignalementRepository signalementRepository;
+    private final Clock clock;
+
+    private volatile DashboardAdminResponse snapshot;
+
+    @Autowired
+    public DashboardAdminSnapshotService(UtilisateurRepository utilisateurRepository,
+                                         DebatRepository debatRepository,
+                                         MessageRepository messageRepository,
+                                         TestRepository testRepository,
+                                         SujetRepository sujetRepository,
+                                         SignalementRepository signalementRepository) {
+        this(utilisateurRepository, debatRepository, messageRepository, testRepository,
+                sujetRepository, signalementRepository, Clock.systemDefaultZone());
+    }
+
+    DashboardAdminSnapshotService(UtilisateurRepository utilisateurRepository,
+                                  DebatRepository debatRepository,
+                                  MessageRepository messageRepository,
+                                  TestRepository testRepository,
+                                  SujetRepository sujetRepository,
+                                  SignalementRepository signalementRepository,
+                                  Clock clock) {
+        this.utilisateurRepository = utilisateurRepository;
+        this.debatRepository = debatRepository;
+        this.messageRepository = messageRepository;
+        this.testRepository = testRepository;
+        this.sujetRepository = sujetRepository;
+        this.signalementRepository = signalementRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Dernier instantané calculé (calculé au premier appel s'il n'existe pas encore).
+     */
+    public DashboardAdminResponse getSnapshot() {
+        DashboardAdminResponse courant = snapshot;
+        return courant != null ? courant : rafraichir();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.admin.dashboard.delai-initial-ms:5000}",
+            fixedDelayString = "${app.admin.dashboard.rafraichissement-ms:60000}"
+    )
+    public DashboardAdminResponse rafraichir() {
+        DashboardAdminResponse calcule = calculer();
+        snapshot = calcule;
+        return calcule;
+    }
+
+    private DashboardAdminResponse calculer() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime jour1 = now.minusDays(1);
+        LocalDateTime jour7 = now.minusDays(7);
+        LocalDateTime jour30 = now.minusDays(30);
+
+        // Statistiques globales (moyenne calculée par la base)
+        Double noteMoyenneTests = testRepository.getNoteMoyenneGlobale();
+
+        DashboardAdminResponse response = new DashboardAdminResponse(
+                utilisateurRepository.countTotalUtilisateurs(),
+                (int) debatRepository.count(),
+                debatRepository.countDebatsEnCours(),
+                (int) testRepository.count(),
+                noteMoyenneTests != null ? noteMoyenneTests : 0.0,
+                signalementRepository.countByStatut(StatutSignalementEnum.EN_ATTENTE),
+                signalementRepository.countTraitesDepuis(jour30),
+                (int) sujetRepository.count(),
+                debatRepository.countSujetsTendanceDepuis(jour7, SEUIL_TENDANCE),
+                calculerActivite(jour1),
+                calculerActivite(jour7),
+                calculerActivite(jour30)
+        );
+        response.setDateCalcul(now);
+        return response;
+    }
+
+    private DashboardAdminResponse.ActivityStats calculerActivite(LocalDateTime depuis) {
+        return new DashboardAdminResponse.ActivityStats(
+                0, // nouveauxUtilisateurs retiré
+                debatRepository.countDebatsDepuis(depuis),
+                messageRepository.countMessagesDepuis(depuis)
+        );
+    }
+}
@@ -6,50 +6,85 @@ import debatearena.backend.Exceptions.BadRequestException;
 import debatearena.backend.Exceptions.NotFoundException;
 import debatearena.backend.Exceptions.UnauthorizedException;
 import debatearena.backend.Repository.DebatRepository;
+import debatearena.backend.Repository.DebatResumeView;
 import debatearena.backend.Repository.MessageRepository;
-import debatearena.backend.Repository.SujetRepository;
 import debatearena.backend.Repository.TestRepository;
 import debatearena.backend.Service.UtilisateurService;
 import debatearena.backend.Client.ChatbotClient;
+import debatearena.backend.Client.ChatbotHealthMonitor;
 import debatearena.backend.Exceptions.ChatbotServiceException;
+import debatearena.backend.Utils.ContexteDebat;
+import debatearena.backend.Utils.CurseurPagination;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+/**
+ * Débats et messages. Les lectures s'exécutent en transaction en lecture seule (pas de flush,
+ * pas de suivi des modifications) ; les écritures déclarent leur propre transaction, et les appels
+ * au chatbot se font hors transaction pour ne pas garder de connexion JDBC pendant l'attente.
+ */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class DebatService {
 
     private final DebatRepository debatRepository;
     private final MessageRepository messageRepository;
     private final TestRepository testRepository;
-    private final SujetRepository sujetRepository;
+    private final CatalogueSujets catalogueSujets;
     private final UtilisateurService utilisateurService;
     private final ChatbotClient chatbotClient;
-
-    private final Map<Long, String> debatSessions = new ConcurrentHashMap<>();
+    private final ChatbotHealthMonitor chatbotHealthMonitor;
+    private final ReponseChatbotService reponseChatbotService;
+    private final SessionChatbotRegistry sessionChatbotRegistry;
+    private final StatistiquesUtilisateurService statistiquesUtilisateurService;
+    private final EvaluationTestService evaluationTestService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate transactionLecture;
 
     public DebatService(DebatRepository debatRepository,
                         MessageRepository messageRepository,
                         TestRepository testRepository,
-                        SujetRepository sujetRepository,
+                        CatalogueSujets catalogueSujets,
                         UtilisateurService utilisateurService,
-                        ChatbotClient chatbotClient) {
+                        ChatbotClient chatbotClient,
+                        ChatbotHealthMonitor chatbotHealthMonitor,
+                        ReponseChatbotService reponseChatbotService,
+                        SessionChatbotRegistry sessionChatbotRegistry,
+                        StatistiquesUtilisateurService statistiquesUtilisateurService,
+                        EvaluationTestService evaluationTestService,
+                        PlatformTransactionManager transactionManager) {
         this.debatRepository = debatRepository;
         this.messageRepository = messageRepository;
         this.testRepository = testRepository;
-        this.sujetRepository = sujetRepository;
+        this.catalogueSujets = catalogueSujets;
         this.utilisateurService = utilisateurService;
         this.chatbotClient = chatbotClient;
+        this.chatbotHealthMonitor = chatbotHealthMonitor;
+        this.reponseChatbotService = reponseChatbotService;
+        this.sessionChatbotRegistry = sessionChatbotRegistry;
+        this.statistiquesUtilisateurService = statistiquesUtilisateurService;
+        this.evaluationTestService = evaluationTestService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionLecture = new TransactionTemplate(transactionManager);
+        this.transactionLecture.setReadOnly(true);
     }
 
     // ========== CRÉATION DE DÉBAT ==========
 
+    @Transactional
     public DebatResponse creerDebat(CreerDebatRequest request) {
         // Validation
         if (!request.isValid()) {
@@ -58,8 +93,8 @@ public class DebatService {
 
         Utilisateur utilisateur = utilisateurService.getCurrentUser();
 
-        // Récupérer le sujet
-        Sujet sujet = sujetRepository.findById(request.getSujetId())
+        // Récupérer le sujet (catalogue en mémoire : copie détachée, suffisante pour la clé étrangère)
+        Sujet sujet = catalogueSujets.parId(request.getSujetId())
                 .orElseThrow(() -> new NotFoundException("Sujet non trouvé"));
 
         // Vérifier l'accès au sujet (utilise la logique de niveau)
@@ -80,6 +115,8 @@ public class DebatService {
         debat.setChoixUtilisateur(request.getChoix());
         debat.setDuree(null);
 
+        // ID réservé par la séquence, sans aller-retour. Les INSERT du débat et du test sont
+        // toutefois envoyés dès la mise à jour de user_stats puis l'INSERT (IDENTITY) du message d'intro
         Debat savedDebat = debatRepository.save(debat);
 
         // Si c'est un TEST, créer l'entrée dans Test
@@ -90,6 +127,8 @@ public class DebatService {
             testRepository.save(test);
         }
 
+        statistiquesUtilisateurService.surDebatCree(utilisateur.getId());
+
         // Premier message du chatbot
         Utilisateur chatbot = utilisateurService.getChatbotUser();
         String messageIntro = genererMessageIntroduction(sujet, request.getChoix(), request.getType());
@@ -101,6 +140,11 @@ public class DebatService {
 
     // ========== ENVOYER MESSAGE ==========
 
+    /**
+     * Tour de débat synchrone : lecture du débat, appel au chatbot hors transaction,
+     * puis enregistrement des deux messages dans une courte transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MessageResponse envoyerMessage(Long debatId, MessageRequest request) {
         // Validation
         if (request.getContenu() == null || request.getContenu().trim().isEmpty()) {
@@ -109,7 +153,93 @@ public class DebatService {
 
         Utilisateur utilisateur = utilisateurService.getCurrentUser();
 
-        // Récupérer le débat
+        // Récupérer le débat et construire le contexte (lecture seule)
+        String messageAvecContexte = transactionLecture.execute(status -> {
+            Debat debat = debatRepository.findByIdAndUtilisateur(debatId, utilisateur)
+                    .orElseThrow(() -> new NotFoundException("Débat non trouvé"));
+
+            if (debat.getDuree() != null) {
+                throw new BadRequestException("Débat déjà terminé");
+            }
+            return construireMessageAvecContexte(request.getContenu(), debat);
+        });
+        LocalDateTime envoi = LocalDateTime.now();
+
+        // Appeler le chatbot (aucune connexion JDBC tenue pendant l'attente)
+        String reponseChatbot = appelerChatbotApi(messageAvecContexte, debatId);
+
+        // Les deux messages du tour, dans une seule transaction courte. Chaque INSERT (IDENTITY)
+        // est un aller-retour : la réponse a besoin de l'ID du message utilisateur
+        return transactionTemplate.execute(status -> {
+            Debat debat = debatRepository.getReferenceById(debatId);
+
+            Message messageUtilisateur = new Message(request.getContenu(), debat, utilisateur);
+            messageUtilisateur.setTimestamp(envoi);
+            messageRepository.save(messageUtilisateur);
+
+            Message messageChatbot = new Message(reponseChatbot, debat, utilisateurService.getChatbotUser());
+            messageChatbot.setIdMessageSource(messageUtilisateur.getId());
+            messageRepository.save(messageChatbot);
+
+            return convertirMessageEnResponse(messageChatbot);
+        });
+    }
+
+    // ========== ENVOYER MESSAGE (ASYNCHRONE) ==========
+
+    /**
+     * Enregistre le message utilisateur et rend la main immédiatement.
+     * La réponse du chatbot est générée en arrière-plan, hors transaction,
+     * puis récupérée via {@link #attendreReponseChatbot(Long, Long)}.
+     */
+    @Transactional
+    public MessageResponse envoyerMessageAsync(Long debatId, MessageRequest request) {
+        Message messageUtilisateur = enregistrerMessageUtilisateur(debatId, request);
+
+        // Le contexte est construit ici, tant que le débat est attaché à la session
+        String messageAvecContexte = construireMessageAvecContexte(request.getContenu(), messageUtilisateur.getDebat());
+
+        reponseChatbotService.planifierReponse(
+                debatId,
+                messageUtilisateur.getId(),
+                messageAvecContexte,
+                sessionChatbotRegistry.getSession(debatId),
+                sessionId -> sessionChatbotRegistry.enregistrer(debatId, sessionId)
+        );
+
+        return convertirMessageEnResponse(messageUtilisateur);
+    }
+
+    /**
+     * Enregistre le message utilisateur et diffuse la réponse du chatbot morceau par morceau.
+     * Le futur se complète avec le message chatbot une fois celui-ci enregistré.
+     */
+    @Transactional
+    public CompletableFuture<MessageResponse> envoyerMessageEnFlux(Long debatId,
+                                                                   MessageRequest request,
+                                                                   Consumer<String> surFragment) {
+        Message messageUtilisateur = enregistrerMessageUtilisateur(debatId, request);
+
+        String messageAvecContexte = construireMessageAvecContexte(request.getContenu(), messageUtilisateur.getDebat());
+
+        return reponseChatbotService.planifierReponseEnFlux(
+                debatId,
+                messageUtilisateur.getId(),
+                messageAvecContexte,
+                sessionChatbotRegistry.getSession(debatId),
+                sessionId -> sessionChatbotRegistry.enregistrer(debatId, sessionId),
+                surFragment
+        );
+    }
+
+    private Message enregistrerMessageUtilisateur(Long debatId, MessageRequest request) {
+        // Validation
+        if (request.getContenu() == null || request.getContenu().trim().isEmpty()) {
+            throw new BadRequestException("Message vide");
+        }
+
+        Utilisateur utilisateur = utilisateurService.getCurrentUser();
+
         Debat debat = debatRepository.findByIdAndUtilisateur(debatId, utilisateur)
                 .orElseThrow(() -> new NotFoundException("Débat non trouvé"));
 
@@ -119,66 +249,73 @@ public class DebatService {
 
         // Sauvegarder message utilisateur
         Message messageUtilisateur = new Message(request.getContenu(), debat, utilisateur);
-        messageRepository.save(messageUtilisateur);
+        return messageRepository.save(messageUtilisateur);
+    }
 
-        // Appeler le chatbot
-        String reponseChatbot = appelerChatbotApi(
-                request.getContenu(),
-                debat
-        );
+    /**
+     * Réponse du chatbot à un message utilisateur.
+     * Le futur se complète dès que la génération en cours se termine, ou tout de suite
+     * avec la réponse en base ; avec null si aucune réponse n'est connue ici (génération
+     * sur un autre nœud, ou perdue) : le client réessaie plus tard.
+     */
+    public CompletableFuture<MessageResponse> attendreReponseChatbot(Long debatId, Long messageId) {
+        Utilisateur utilisateur = utilisateurService.getCurrentUser();
 
-        // Sauvegarder réponse chatbot
-        Utilisateur chatbot = utilisateurService.getChatbotUser();
-        Message messageChatbot = new Message(reponseChatbot, debat, chatbot);
-        messageRepository.save(messageChatbot);
+        Debat debat = debatRepository.findByIdAndUtilisateur(debatId, utilisateur)
+                .orElseThrow(() -> new NotFoundException("Débat non trouvé"));
 
-        return convertirMessageEnResponse(messageChatbot);
+        if (!messageRepository.existsByIdAndDebatId(messageId, debatId)) {
+            throw new NotFoundException("Message non trouvé");
+        }
+
+        // La génération en cours d'abord : la réponse est enregistrée avant d'être retirée
+        // des réponses en attente, donc si elle n'y est plus, elle se lit en base
+        CompletableFuture<MessageResponse> enAttente = reponseChatbotService.getReponseEnAttente(messageId);
+        if (enAttente != null) {
+            return enAttente;
+        }
+
+        return CompletableFuture.completedFuture(messageRepository.findReponseChatbotA(debat, messageId)
+                .map(this::convertirMessageEnResponse)
+                .orElse(null));
     }
 
     // ========== NOUVELLE MÉTHODE appelerChatbotApi ==========
 
-    private String appelerChatbotApi(String messageUtilisateur, Debat debat) {
-        // Vérifier si le chatbot est disponible
-        if (!chatbotClient.isHealthy()) {
+    private String appelerChatbotApi(String messageAvecContexte, Long debatId) {
+        // Vérifier si le chatbot est disponible (état en cache, sans appel réseau)
+        if (!chatbotHealthMonitor.isDisponible()) {
             // Réponse par défaut si le chatbot est down
             return "Je suis actuellement indisponible. Veuillez réessayer plus tard.";
         }
 
-        // Construire le message avec contexte
-        String messageAvecContexte = construireMessageAvecContexte(messageUtilisateur, debat);
-
         // Récupérer la session pour ce débat (ou null pour nouvelle session)
-        String sessionId = debatSessions.get(debat.getId());
+        String sessionId = sessionChatbotRegistry.getSession(debatId);
 
         // Appeler le chatbot
-        ChatbotResponse chatbotResponse = chatbotClient.sendMessage(messageAvecContexte, sessionId);
+        ChatbotResponse chatbotResponse = chatbotHealthMonitor.executer(
+                () -> chatbotClient.sendMessage(messageAvecContexte, sessionId)
+        );
 
         // Stocker la nouvelle session ID
-        if (chatbotResponse.getSession_id() != null) {
-            debatSessions.put(debat.getId(), chatbotResponse.getSession_id());
-        }
+        sessionChatbotRegistry.enregistrer(debatId, chatbotResponse.getSession_id());
 
         return chatbotResponse.getResponse();
     }
 
     private String construireMessageAvecContexte(String messageUtilisateur, Debat debat) {
-        StringBuilder contexte = new StringBuilder();
-        contexte.append("CONTEXTE DU DÉBAT:\n");
-        contexte.append("- Sujet: ").append(debat.getSujet().getTitre()).append("\n");
-        contexte.append("- Utilisateur est: ").append(debat.getChoixUtilisateur()).append("\n");
-        contexte.append("- Chatbot doit être: ");
-        contexte.append(debat.getChoixUtilisateur().equals("POUR") ? "CONTRE" : "POUR").append("\n");
-        contexte.append("- Type: ");
-        contexte.append(testRepository.existsByDebat(debat) ? "TEST" : "ENTRAINEMENT").append("\n");
-        contexte.append("- Difficulté: ").append(debat.getSujet().getDifficulte().name()).append("\n\n");
-        contexte.append("MESSAGE DE L'UTILISATEUR:\n");
-        contexte.append(messageUtilisateur);
-
-        return contexte.toString();
+        return ContexteDebat.construire(
+                messageUtilisateur,
+                debat.getSujet().getTitre(),
+                debat.getChoixUtilisateur(),
+                testRepository.existsByDebat(debat),
+                debat.getSujet().getDifficulte().name()
+        );
     }
 
     // ========== TERMINER DÉBAT ==========
 
+    @Transactional
     public DebatResponse terminerDebat(Long debatId) {
         Utilisateur utilisateur = utilisateurService.getCurrentUser();
 
@@ -193,11 +330,12 @@ public class DebatService {
         long dureeSeconds = Duration.between(debat.getDateDebut(), LocalDateTime.now()).getSeconds();
         debat.setDuree((int) dureeSeconds);
         debatRepository.save(debat);
+        statistiquesUtilisateurService.surDebatTermine(utilisateur.getId());
 
         // Nettoyer la session chatbot
         nettoyerSessionDebat(debatId);
 
-        // Si c'est un TEST, message d'attente
+        // Si c'est un TEST, message d'attente et mise en file de l'évaluation
         if (testRepository.existsByDebat(debat)) {
             Utilisateur chatbot = utilisateurService.getChatbotUser();
             Message message = new Message(
@@ -206,6 +344,7 @@ public class DebatService {
                     chatbot
             );
             messageRepository.save(message);
+            evaluationTestService.planifier(debatId);
         }
 
         String type = testRepository.existsByDebat(debat) ? "TEST" : "ENTRAINEMENT";
@@ -214,8 +353,12 @@ public class DebatService {
 
     // ========== ÉVALUER TEST ==========
 
+    /**
+     * L'évaluation est automatique à la fin d'un TEST : relance une évaluation abandonnée
+     * (ou jamais planifiée), sinon retourne le dernier message du chatbot (attente ou résultat).
+     */
+    @Transactional
     public MessageResponse evaluerTest(Long debatId) {
-        // Pour l'instant, retourne un message indiquant que c'est en développement
         Utilisateur utilisateur = utilisateurService.getCurrentUser();
 
         Debat debat = debatRepository.findByIdAndUtilisateur(debatId, utilisateur)
@@ -225,15 +368,23 @@ public class DebatService {
             throw new BadRequestException("Ce débat n'est pas un TEST");
         }
 
-        // Message temporaire
-        Utilisateur chatbot = utilisateurService.getChatbotUser();
-        String messageEvaluation = "L'évaluation automatique des tests est en cours de développement.\n" +
-                "Pour l'instant, votre performance sera évaluée manuellement par nos équipes.";
+        if (debat.getDuree() == null) {
+            throw new BadRequestException("Le débat doit être terminé avant d'être évalué");
+        }
 
-        Message message = new Message(messageEvaluation, debat, chatbot);
-        messageRepository.save(message);
+        if (evaluationTestService.relancer(debatId)) {
+            Message message = new Message(
+                    "Nouvelle tentative d'évaluation en cours...",
+                    debat,
+                    utilisateurService.getChatbotUser()
+            );
+            messageRepository.save(message);
+            return convertirMessageEnResponse(message);
+        }
 
-        return convertirMessageEnResponse(message);
+        Message dernier = messageRepository.findLastMessageByDebat(debat)
+                .orElseThrow(() -> new NotFoundException("Aucun message pour ce débat"));
+        return convertirMessageEnResponse(dernier);
     }
 
     // ========== RÉCUPÉRER MESSAGES ==========
@@ -250,6 +401,41 @@ public class DebatService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * ETag des messages d'un débat : les messages ne sont qu'ajoutés, le dernier ID suffit.
+     * Retourne null pour un débat sans message ou qui n'appartient pas à l'utilisateur.
+     */
+    public String getEtagMessages(Long debatId) {
+        Long dernierId = messageRepository.findDernierMessageId(debatId, utilisateurService.getCurrentUserId());
+        return dernierId != null ? "\"messages-" + debatId + "-" + dernierId + "\"" : null;
+    }
+
+    /**
+     * Messages d'un débat par pages, dans l'ordre d'envoi.
+     */
+    public PageResponse<MessageResponse> getMessagesDebatPage(Long debatId, String curseur, Integer taille) {
+        Utilisateur utilisateur = utilisateurService.getCurrentUser();
+
+        Debat debat = debatRepository.findByIdAndUtilisateur(debatId, utilisateur)
+                .orElseThrow(() -> new NotFoundException("Débat non trouvé"));
+
+        Long apresId = CurseurPagination.decoderId(curseur);
+        int tailleBornee = CurseurPagination.bornerTaille(taille);
+
+        List<Message> messages = messageRepository.findByDebatAndIdGreaterThanOrderByIdAsc(
+                debat,
+                apresId != null ? apresId : 0L,
+                CurseurPagination.pageSuivante(tailleBornee)
+        );
+
+        return CurseurPagination.construirePage(
+                messages,
+                tailleBornee,
+                this::convertirMessageEnResponse,
+                message -> CurseurPagination.encoder(message.getId())
+        );
+    }
+
     // ========== RÉCUPÉRER DÉBAT ==========
 
     public DebatResponse getDebat(Long debatId) {
@@ -267,26 +453,42 @@ public class DebatService {
     public List<DebatResponse> getMesDebats() {
         Utilisateur utilisateur = utilisateurService.getCurrentUser();
 
-        return debatRepository.findByUtilisateurOrderByDateDebutDesc(utilisateur)
+        return debatRepository.findResumesByUtilisateur(utilisateur)
                 .stream()
-                .map(debat -> {
-                    String type = testRepository.existsByDebat(debat) ? "TEST" : "ENTRAINEMENT";
-                    return convertirDebatEnResponse(debat, type);
-                })
+                .map(this::convertirResumeEnResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Débats de l'utilisateur par pages, du plus récent au plus ancien.
+     */
+    public PageResponse<DebatResponse> getMesDebatsPage(String curseur, Integer taille) {
+        Utilisateur utilisateur = utilisateurService.getCurrentUser();
+
+        CurseurPagination.Curseur apres = CurseurPagination.decoder(curseur);
+        int tailleBornee = CurseurPagination.bornerTaille(taille);
+
+        List<DebatResumeView> resumes = apres == null
+                ? debatRepository.findPageResumesByUtilisateur(utilisateur, CurseurPagination.pageSuivante(tailleBornee))
+                : debatRepository.findPageResumesByUtilisateurAvant(
+                        utilisateur, apres.getDate(), apres.getId(), CurseurPagination.pageSuivante(tailleBornee));
+
+        return CurseurPagination.construirePage(
+                resumes,
+                tailleBornee,
+                this::convertirResumeEnResponse,
+                resume -> CurseurPagination.encoder(resume.getDateDebut(), resume.getId())
+        );
+    }
+
     // ========== DÉBATS EN COURS ==========
 
     public List<DebatResponse> getDebatsEnCours() {
         Utilisateur utilisateur = utilisateurService.getCurrentUser();
 
-        return debatRepository.findDebatsEnCoursByUtilisateur(utilisateur)
+        return debatRepository.findResumesEnCoursByUtilisateur(utilisateur)
                 .stream()
-                .map(debat -> {
-                    String type = testRepository.existsByDebat(debat) ? "TEST" : "ENTRAINEMENT";
-                    return convertirDebatEnResponse(debat, type);
-                })
+                .map(this::convertirResumeEnResponse)
                 .collect(Collectors.toList());
     }
 
@@ -295,17 +497,15 @@ public class DebatService {
     public List<DebatResponse> getDebatsTermines() {
         Utilisateur utilisateur = utilisateurService.getCurrentUser();
 
-        return debatRepository.findDebatsTerminesByUtilisateur(utilisateur)
+        return debatRepository.findResumesTerminesByUtilisateur(utilisateur)
                 .stream()
-                .map(debat -> {
-                    String type = testRepository.existsByDebat(debat) ? "TEST" : "ENTRAINEMENT";
-                    return convertirDebatEnResponse(debat, type);
-                })
+                .map(this::convertirResumeEnResponse)
                 .collect(Collectors.toList());
     }
 
     // ========== ANNULER DÉBAT ==========
 
+    @Transactional
     public void annulerDebat(Long debatId) {
         Utilisateur utilisateur = utilisateurService.getCurrentUser();
 
@@ -326,11 +526,28 @@ public class DebatService {
 
         messageRepository.deleteByDebat(debat);
         debatRepository.delete(debat);
+
+        statistiquesUtilisateurService.surDebatSupprime(utilisateur.getId());
     }
 
+    /**
+     * Oublie la session chatbot du débat ; l'appel HTTP de nettoyage part après le commit,
+     * une fois la connexion JDBC rendue.
+     */
     private void nettoyerSessionDebat(Long debatId) {
-        String sessionId = debatSessions.remove(debatId);
-        if (sessionId != null) {
+        String sessionId = sessionChatbotRegistry.retirer(debatId);
+        if (sessionId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    chatbotClient.clearSession(sessionId);
+                }
+            });
+        } else {
             chatbotClient.clearSession(sessionId);
         }
     }
@@ -343,14 +560,13 @@ public class DebatService {
 
         Map<String, Object> stats = new HashMap<>();
 
-        // Statistiques de base
-        Integer totalDebats = debatRepository.countByUtilisateurId(userId);
-        Integer debatsGagnes = testRepository.countDebatsGagnesByUserId(userId);
-        Integer moyenneNotes = testRepository.getMoyenneNotesByUserId(userId);
-        Integer meilleureNote = testRepository.getMeilleureNoteByUserId(userId);
+        // Statistiques de base (ligne user_stats)
+        StatistiquesUtilisateur statistiques = statistiquesUtilisateurService.getStatistiques(userId);
+        Integer moyenneNotes = statistiques.getMoyenneNotes();
+        Integer meilleureNote = statistiques.getMeilleureNote();
 
-        stats.put("totalDebats", totalDebats != null ? totalDebats : 0);
-        stats.put("debatsGagnes", debatsGagnes != null ? debatsGagnes : 0);
+        stats.put("totalDebats", statistiques.getTotalDebats());
+        stats.put("debatsGagnes", statistiques.getDebatsGagnes());
         stats.put("moyenneNotes", moyenneNotes != null ? moyenneNotes : 0);
         stats.put("meilleureNote", meilleureNote != null ? meilleureNote : 0);
         stats.put("scoreTotal", utilisateur.getScore());
@@ -362,39 +578,41 @@ public class DebatService {
     // ========== HISTORIQUE ==========
 
     public List<DebatRecap> getHistoriqueDebats(int limit) {
-        Utilisateur utilisateur = utilisateurService.getCurrentUser();
-        Long userId = utilisateur.getId();
-
-        List<Object[]> results = debatRepository.findRecentDebatsByUtilisateurId(userId);
+        Long userId = utilisateurService.getCurrentUserId();
 
-        return results.stream()
-                .limit(limit)
-                .map(this::mapToDebatRecap)
-                .collect(Collectors.toList());
+        return debatRepository.findRecentDebatsByUtilisateurId(
+                userId, PageRequest.of(0, Math.max(1, limit))
+        );
     }
 
     // ========== CHATBOT STATUS ==========
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> getChatbotStatus() {
         Map<String, Object> status = new HashMap<>();
-        boolean isHealthy = chatbotClient.isHealthy();
+        boolean isHealthy = chatbotHealthMonitor.isDisponible();
 
         status.put("status", isHealthy ? "healthy" : "unhealthy");
         status.put("service", "chatbot");
-        status.put("active_sessions", debatSessions.size());
+        status.put("circuit", chatbotHealthMonitor.getEtatCircuit().name());
+        status.put("last_check", chatbotHealthMonitor.getDerniereVerification());
+        status.put("active_sessions", sessionChatbotRegistry.getNombreSessions());
+        status.put("pending_replies", reponseChatbotService.getNombreReponsesEnAttente());
+        status.put("pool", chatbotClient.getStatistiquesPool());
 
         return status;
     }
 
     // ========== TESTER CHATBOT ==========
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String testerChatbot(String message) {
         try {
-            if (!chatbotClient.isHealthy()) {
+            if (!chatbotHealthMonitor.isDisponible()) {
                 return "❌ Chatbot indisponible";
             }
 
-            ChatbotResponse response = chatbotClient.sendMessage(message, null);
+            ChatbotResponse response = chatbotHealthMonitor.executer(() -> chatbotClient.sendMessage(message, null));
 
             return "✅ Test réussi!\nSession: " + response.getSession_id() + "\n" +
                     "Réponse: " + response.getResponse();
@@ -442,6 +660,33 @@ public class DebatService {
         return response;
     }
 
+    private DebatResponse convertirResumeEnResponse(DebatResumeView resume) {
+        String type = resume.getTestId() != null ? "TEST" : "ENTRAINEMENT";
+
+        // Même règle que convertirDebatEnResponse : note seulement pour un TEST terminé
+        Integer note = ("TEST".equals(type) && resume.getDuree() != null) ? resume.getNote() : null;
+
+        SujetResponse sujetResponse = new SujetResponse(
+                resume.getSujetId(),
+                resume.getSujetTitre(),
+                resume.getSujetCategorie().name(),
+                resume.getSujetDifficulte().name(),
+                true  // accessible par défaut
+        );
+
+        DebatResponse response = new DebatResponse();
+        response.setId(resume.getId());
+        response.setSujet(sujetResponse);
+        response.setType(type);
+        response.setStatus(resume.getDuree() == null ? "EN_COURS" : "TERMINE");
+        response.setChoixUtilisateur(resume.getChoixUtilisateur());
+        response.setDateDebut(resume.getDateDebut());
+        response.setDuree(resume.getDuree());
+        response.setNote(note);
+
+        return response;
+    }
+
     private MessageResponse convertirMessageEnResponse(Message message) {
         // Déterminer l'auteur
         String auteur;
@@ -461,36 +706,6 @@ public class DebatService {
         return response;
     }
 
-    private DebatRecap mapToDebatRecap(Object[] result) {
-        // Récupérer l'ID du débat
-        Long debatId = ((Number) result[0]).longValue();
-
-        // Récupérer le débat complet
-        Debat debat = debatRepository.findById(debatId).orElseThrow(
-                () -> new NotFoundException("Débat non trouvé")
-        );
-
-        return new DebatRecap(
-                debatId,                                    // id
-                (String) result[1],                         // titre
-                ((Enum<?>) result[2]).name(),               // categorie
-                ((Enum<?>) result[3]).name(),               // difficulte
-                testRepository.existsByDebat(debat) ? "TEST" : "ENTRAINEMENT", // type
-                debat.getChoixUtilisateur(),                // choix utilisateur
-                result[4] != null ? ((Number) result[4]).intValue() : null, // note
-                (LocalDateTime) result[5],                  // date
-                formatDuree(result[6] != null ? ((Number) result[6]).intValue() : null) // duree
-        );
-    }
-
-    private String formatDuree(Integer dureeSeconds) {
-        if (dureeSeconds == null) return "N/A";
-
-        int minutes = dureeSeconds / 60;
-        int seconds = dureeSeconds % 60;
-        return minutes + "min " + seconds + "s";
-    }
-
     private String genererMessageIntroduction(Sujet sujet, String choixUtilisateur, String type) {
         String choixChatbot = choixUtilisateur.equals("POUR") ? "CONTRE" : "POUR";
 
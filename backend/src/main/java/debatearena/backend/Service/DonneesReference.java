@@ -0,0 +1,147 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Entity.Badge;
+import debatearena.backend.Entity.Utilisateur;
+import debatearena.backend.Entity.role_enum;
+import debatearena.backend.Exceptions.NotFoundException;
+import debatearena.backend.Repository.BadgeRepository;
+import debatearena.backend.Repository.UtilisateurRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Données de référence en mémoire : l'utilisateur CHATBOT et le catalogue des badges.
+ * Chargées au démarrage, rechargées après chaque écriture qui les concerne et relues
+ * périodiquement. Les entités exposées sont détachées et ne doivent pas être modifiées.
+ */
+@Service
+public class DonneesReference {
+
+    private final UtilisateurRepository utilisateurRepository;
+    private final BadgeRepository badgeRepository;
+
+    private volatile Version version;
+    // Sérialise les rechargements
+    private final ReentrantLock verrou = new ReentrantLock();
+
+    public DonneesReference(UtilisateurRepository utilisateurRepository, BadgeRepository badgeRepository) {
+        this.utilisateurRepository = utilisateurRepository;
+        this.badgeRepository = badgeRepository;
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Utilisateur CHATBOT, auteur des réponses du chatbot
+     */
+    public Utilisateur getChatbot() {
+        Utilisateur chatbot = getVersion().chatbot;
+        if (chatbot == null) {
+            // Compte absent au dernier chargement : relu seulement dans ce cas d'erreur
+            reconstruire();
+            chatbot = version.chatbot;
+        }
+        if (chatbot == null) {
+            throw new NotFoundException("Utilisateur CHATBOT non trouvé");
+        }
+        return chatbot;
+    }
+
+    public Optional<Badge> getBadge(String nom) {
+        return Optional.ofNullable(getVersion().badgesParNom.get(nom));
+    }
+
+    // ========== RECHARGEMENT ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void charger() {
+        try {
+            reconstruire();
+        } catch (RuntimeException e) {
+            // Base pas encore prête : chargement au premier accès
+        }
+    }
+
+    /**
+     * Recharge après la validation de la transaction courante (immédiatement s'il n'y en a pas)
+     */
+    public void invalider() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reconstruire();
+                }
+            });
+        } else {
+            reconstruire();
+        }
+    }
+
+    /**
+     * Relecture périodique : rattrape les écritures faites par une autre instance
+     */
+    @Scheduled(
+            initialDelayString = "${app.reference.rafraichissement-ms:600000}",
+            fixedDelayString = "${app.reference.rafraichissement-ms:600000}"
+    )
+    public void rafraichir() {
+        if (version != null) {
+            reconstruire();
+        }
+    }
+
+    public void reconstruire() {
+        verrou.lock();
+        try {
+            Map<String, Badge> badges = new HashMap<>();
+            for (Badge badge : badgeRepository.findAll()) {
+                badges.put(badge.getNom(), badge);
+            }
+
+            Utilisateur chatbot = utilisateurRepository.findWithBadgeByRole(role_enum.CHATBOT).orElse(null);
+
+            version = new Version(chatbot, Map.copyOf(badges));
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    private Version getVersion() {
+        Version courante = version;
+        if (courante == null) {
+            verrou.lock();
+            try {
+                if (version == null) {
+                    reconstruire();
+                }
+                courante = version;
+            } finally {
+                verrou.unlock();
+            }
+        }
+        return courante;
+    }
+
+    // ========== VERSION IMMUABLE ==========
+
+    private static final class Version {
+
+        private final Utilisateur chatbot;
+        private final Map<String, Badge> badgesParNom;
+
+        private Version(Utilisateur chatbot, Map<String, Badge> badgesParNom) {
+            this.chatbot = chatbot;
+            this.badgesParNom = badgesParNom;
+        }
+    }
+}
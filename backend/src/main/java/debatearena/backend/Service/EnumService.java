@@ -9,45 +9,61 @@ import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
+/**
+ * Listes des énumérations exposées à l'API. Les énumérations ne changent qu'avec une nouvelle
+ * version de l'application : les listes (immuables) et leur ETag sont calculés une seule fois.
+ */
 @Service
 public class EnumService {
 
+    private final List<EnumDTO> categoriesSujet = construire(categorie_sujet_enum.values());
+    private final List<EnumDTO> niveaux = construire(niveau_enum.values());
+    private final List<EnumDTO> roles = construire(role_enum.values());
+    private final List<EnumDTO> categoriesBadge = construire(categorie_badge_enum.values());
+    private final String etag = calculerEtag();
+
+    /**
+     * ETag commun aux listes d'énumérations, calculé à partir de leur contenu
+     */
+    public String getEtag() {
+        return etag;
+    }
+
     public List<EnumDTO> getCategoriesSujet() {
-        return Arrays.stream(categorie_sujet_enum.values())
-                .map(enumValue -> new EnumDTO(
-                        enumValue.name(),
-                        formatLabel(enumValue.name())
-                ))
-                .collect(Collectors.toList());
+        return categoriesSujet;
     }
 
     public List<EnumDTO> getNiveaux() {
-        return Arrays.stream(niveau_enum.values())
-                .map(enumValue -> new EnumDTO(
-                        enumValue.name(),
-                        formatLabel(enumValue.name())
-                ))
-                .collect(Collectors.toList());
+        return niveaux;
     }
 
     public List<EnumDTO> getRoles() {
-        return Arrays.stream(role_enum.values())
-                .map(enumValue -> new EnumDTO(
-                        enumValue.name(),
-                        formatLabel(enumValue.name())
-                ))
-                .collect(Collectors.toList());
+        return roles;
     }
 
     public List<EnumDTO> getCategoriesBadge() {
-        return Arrays.stream(categorie_badge_enum.values())
+        return categoriesBadge;
+    }
+
+    private List<EnumDTO> construire(Enum<?>[] valeurs) {
+        return Arrays.stream(valeurs)
                 .map(enumValue -> new EnumDTO(
                         enumValue.name(),
                         formatLabel(enumValue.name())
                 ))
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    private String calculerEtag() {
+        int hash = 1;
+        for (List<EnumDTO> liste : List.of(categoriesSujet, niveaux, roles, categoriesBadge)) {
+            for (EnumDTO dto : liste) {
+                hash = 31 * hash + Objects.hash(dto.getValue(), dto.getLabel());
+            }
+        }
+        return "\"enums-" + Integer.toHexString(hash) + "\"";
     }
 
     private String formatLabel(String enumName) {
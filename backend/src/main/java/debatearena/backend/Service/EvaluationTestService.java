@@ -0,0 +1,387 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Client.ChatbotClient;
+import debatearena.backend.Client.ChatbotHealthMonitor;
+import debatearena.backend.Entity.Debat;
+import debatearena.backend.Entity.EvaluationTest;
+import debatearena.backend.Entity.Message;
+import debatearena.backend.Entity.StatutEvaluationEnum;
+import debatearena.backend.Exceptions.ChatbotServiceException;
+import debatearena.backend.Repository.DebatRepository;
+import debatearena.backend.Repository.EvaluationTestRepository;
+import debatearena.backend.Repository.MessageRepository;
+import debatearena.backend.Repository.TestRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Évaluation automatique des débats TEST.
+ * La file est la table evaluation_test : un débat terminé y est inscrit dans la même transaction,
+ * puis un pool borné envoie ses arguments au chatbot (mode "score") et enregistre la note.
+ * Une tâche n'est traitée que par le worker qui l'a réservée ; en cas d'échec elle est
+ * reprogrammée avec un délai croissant, et une tâche refusée par le pool plein reste en base
+ * jusqu'au passage suivant du planificateur.
+ */
+@Service
+public class EvaluationTestService {
+
+    static final String MODE_SCORE = "score";
+    static final String MESSAGE_FIN = "fin du débat";
+    static final String MESSAGE_ECHEC = "L'évaluation automatique de ce test a échoué. Vous pouvez la relancer plus tard.";
+    static final String RAPPORT_VIDE = "Aucun argument n'a été proposé pendant ce débat.";
+
+    // Points de score gagnés par point de note (20/20 -> 100 points)
+    static final int POINTS_PAR_NOTE = 5;
+
+    // Messages que le chatbot interprète comme une demande de score final
+    private static final Set<String> MOTS_FIN = Set.of("fin du débat", "fin", "score");
+
+    private static final Pattern NOTE_SUR_100 = Pattern.compile("(\\d+(?:[.,]\\d+)?)\\s*/\\s*100");
+    private static final Pattern NOTE_SUR_20 = Pattern.compile("(\\d+(?:[.,]\\d+)?)\\s*/\\s*20(?!\\d)");
+
+    private static final int LONGUEUR_ERREUR_MAX = 500;
+
+    private final EvaluationTestRepository evaluationTestRepository;
+    private final TestRepository testRepository;
+    private final MessageRepository messageRepository;
+    private final DebatRepository debatRepository;
+    private final UtilisateurService utilisateurService;
+    private final StatistiquesUtilisateurService statistiquesUtilisateurService;
+    private final ClassementService classementService;
+    private final ChatbotClient chatbotClient;
+    private final ChatbotHealthMonitor chatbotHealthMonitor;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final int tentativesMax;
+    private final long delaiRetentativeSecondes;
+    private final long blocageMinutes;
+
+    // Débats déjà confiés au pool sur ce nœud : évite de remplir la file de doublons
+    private final Set<Long> enFile = ConcurrentHashMap.newKeySet();
+
+    public EvaluationTestService(EvaluationTestRepository evaluationTestRepository,
+                                 TestRepository testRepository,
+                                 MessageRepository messageRepository,
+                                 DebatRepository debatRepository,
+                                 UtilisateurService utilisateurService,
+                                 StatistiquesUtilisateurService statistiquesUtilisateurService,
+                                 ClassementService classementService,
+                                 ChatbotClient chatbotClient,
+                                 ChatbotHealthMonitor chatbotHealthMonitor,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.evaluation.workers:2}") int workers,
+                                 @Value("${app.evaluation.file-max:50}") int fileMax,
+                                 @Value("${app.evaluation.tentatives-max:3}") int tentativesMax,
+                                 @Value("${app.evaluation.delai-retentative-secondes:30}") long delaiRetentativeSecondes,
+                                 @Value("${app.evaluation.blocage-minutes:10}") long blocageMinutes) {
+        this.evaluationTestRepository = evaluationTestRepository;
+        this.testRepository = testRepository;
+        this.messageRepository = messageRepository;
+        this.debatRepository = debatRepository;
+        this.utilisateurService = utilisateurService;
+        this.statistiquesUtilisateurService = statistiquesUtilisateurService;
+        this.classementService = classementService;
+        this.chatbotClient = chatbotClient;
+        this.chatbotHealthMonitor = chatbotHealthMonitor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tentativesMax = tentativesMax;
+        this.delaiRetentativeSecondes = delaiRetentativeSecondes;
+        this.blocageMinutes = blocageMinutes;
+
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(workers);
+        this.executor.setMaxPoolSize(workers);
+        this.executor.setQueueCapacity(fileMax);
+        this.executor.setThreadNamePrefix("evaluation-");
+        this.executor.initialize();
+    }
+
+    // ========== PLANIFICATION ==========
+
+    /**
+     * Inscrit le débat dans la file (sans effet s'il y est déjà).
+     * Le traitement démarre après la validation de la transaction appelante.
+     */
+    public void planifier(Long debatId) {
+        if (!evaluationTestRepository.existsById(debatId)) {
+            evaluationTestRepository.save(new EvaluationTest(debatId));
+        }
+        apresCommit(() -> lancer(debatId));
+    }
+
+    /**
+     * Nouvelle tentative pour une évaluation abandonnée (ou jamais planifiée).
+     * Retourne false si l'évaluation est déjà en file, en cours ou terminée.
+     */
+    public boolean relancer(Long debatId) {
+        EvaluationTest tache = evaluationTestRepository.findById(debatId).orElse(null);
+
+        if (tache == null) {
+            planifier(debatId);
+            return true;
+        }
+        if (tache.getStatut() != StatutEvaluationEnum.ECHEC) {
+            return false;
+        }
+
+        tache.setStatut(StatutEvaluationEnum.EN_ATTENTE);
+        tache.setTentatives(0);
+        tache.setProchaineTentative(LocalDateTime.now());
+        tache.setDateMaj(LocalDateTime.now());
+        evaluationTestRepository.save(tache);
+
+        apresCommit(() -> lancer(debatId));
+        return true;
+    }
+
+    /**
+     * Passage périodique : remet en file les tâches bloquées, puis soumet les tâches dues
+     * dans la limite des places libres du pool.
+     */
+    @Scheduled(
+            initialDelayString = "${app.evaluation.intervalle-ms:10000}",
+            fixedDelayString = "${app.evaluation.intervalle-ms:10000}"
+    )
+    public void traiterEnAttente() {
+        evaluationTestRepository.libererBloquees(LocalDateTime.now().minusMinutes(blocageMinutes));
+
+        if (!chatbotHealthMonitor.isDisponible()) {
+            return;
+        }
+
+        int places = executor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (places <= 0) {
+            return;
+        }
+
+        for (Long debatId : evaluationTestRepository.findDebatsAEvaluer(LocalDateTime.now(), PageRequest.of(0, places))) {
+            lancer(debatId);
+        }
+    }
+
+    public int getNombreEnFile() {
+        return enFile.size();
+    }
+
+    // ========== EXÉCUTION ==========
+
+    void lancer(Long debatId) {
+        if (!enFile.add(debatId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> traiter(debatId));
+        } catch (TaskRejectedException e) {
+            // Pool saturé : la tâche reste EN_ATTENTE en base, le planificateur la reprendra
+            enFile.remove(debatId);
+        }
+    }
+
+    /**
+     * Évalue un débat : réservation, appel au chatbot hors transaction, puis enregistrement.
+     */
+    void traiter(Long debatId) {
+        try {
+            // Chatbot indisponible : on ne consomme pas de tentative
+            if (!chatbotHealthMonitor.isDisponible()) {
+                return;
+            }
+            if (evaluationTestRepository.reserver(debatId, LocalDateTime.now()) == 0) {
+                return;
+            }
+
+            try {
+                List<String> arguments = transactionTemplate.execute(status -> lireArguments(debatId));
+
+                int note;
+                String rapport;
+                if (arguments == null || arguments.isEmpty()) {
+                    note = 0;
+                    rapport = RAPPORT_VIDE;
+                } else {
+                    rapport = demanderRapport(debatId, arguments);
+                    Integer extraite = extraireNote(rapport);
+                    if (extraite == null) {
+                        throw new ChatbotServiceException("Note introuvable dans le rapport du chatbot");
+                    }
+                    note = extraite;
+                }
+
+                transactionTemplate.executeWithoutResult(status -> enregistrer(debatId, note, rapport));
+            } catch (RuntimeException e) {
+                echouer(debatId, e.getMessage());
+            }
+        } finally {
+            enFile.remove(debatId);
+        }
+    }
+
+    private List<String> lireArguments(Long debatId) {
+        return messageRepository.findUtilisateurMessagesByDebat(debatRepository.getReferenceById(debatId))
+                .stream()
+                .map(Message::getContenu)
+                .filter(contenu -> contenu != null && !contenu.isBlank())
+                .filter(contenu -> !MOTS_FIN.contains(contenu.trim().toLowerCase(Locale.ROOT)))
+                .toList();
+    }
+
+    /**
+     * Rejoue les arguments dans une session de notation dédiée, puis demande le rapport final.
+     * Chaque réponse du chatbot prolonge la réservation : une évaluation longue (un appel par
+     * argument) n'est pas libérée puis reprise par un autre worker alors qu'elle progresse.
+     */
+    private String demanderRapport(Long debatId, List<String> arguments) {
+        String sessionId = "evaluation-" + debatId + "-" + UUID.randomUUID();
+        try {
+            for (String argument : arguments) {
+                chatbotHealthMonitor.executer(() -> chatbotClient.sendMessage(argument, sessionId, MODE_SCORE));
+                evaluationTestRepository.prolonger(debatId, LocalDateTime.now());
+            }
+            String rapport = chatbotHealthMonitor
+                    .executer(() -> chatbotClient.sendMessage(MESSAGE_FIN, sessionId, MODE_SCORE))
+                    .getResponse();
+            if (rapport == null) {
+                throw new ChatbotServiceException("Rapport vide du chatbot");
+            }
+            return rapport;
+        } finally {
+            chatbotClient.clearSession(sessionId);
+        }
+    }
+
+    /**
+     * Écrit la note et ses effets (statistiques, score, classement, message) une seule fois :
+     * la note est réservée par une mise à jour conditionnelle, et seul l'appel qui la pose
+     * applique les effets. Un test déjà noté termine simplement la tâche.
+     */
+    private void enregistrer(Long debatId, int note, String rapport) {
+        EvaluationTest tache = evaluationTestRepository.findById(debatId).orElse(null);
+        if (tache == null) {
+            // Débat supprimé entre-temps
+            return;
+        }
+
+        if (testRepository.attribuerNote(debatId, note) == 1) {
+            Debat debat = debatRepository.getReferenceById(debatId);
+            Long userId = debat.getUtilisateur().getId();
+
+            statistiquesUtilisateurService.surTestNote(userId, null, note);
+            utilisateurService.updateScore(userId, note * POINTS_PAR_NOTE);
+            classementService.surTestNote(userId, debat.getSujet().getCategorie(), debat.getDateDebut(), null, note);
+
+            String contenu = "Évaluation terminée : " + note + "/20\n\n" + rapport.trim();
+            messageRepository.save(new Message(contenu, debat, utilisateurService.getChatbotUser()));
+        }
+
+        tache.setStatut(StatutEvaluationEnum.TERMINEE);
+        tache.setDerniereErreur(null);
+        tache.setDateMaj(LocalDateTime.now());
+        evaluationTestRepository.save(tache);
+    }
+
+    /**
+     * Reprogramme la tâche avec un délai doublé à chaque tentative, ou l'abandonne
+     * (et prévient l'utilisateur) une fois le nombre maximal de tentatives atteint.
+     */
+    private void echouer(Long debatId, String erreur) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    evaluationTestRepository.findById(debatId).ifPresent(tache -> {
+                        LocalDateTime maintenant = LocalDateTime.now();
+                        tache.setDerniereErreur(tronquer(erreur));
+                        tache.setDateMaj(maintenant);
+
+                        if (tache.getTentatives() >= tentativesMax) {
+                            tache.setStatut(StatutEvaluationEnum.ECHEC);
+                            messageRepository.save(new Message(
+                                    MESSAGE_ECHEC,
+                                    debatRepository.getReferenceById(debatId),
+                                    utilisateurService.getChatbotUser()
+                            ));
+                        } else {
+                            int rang = Math.max(1, tache.getTentatives());
+                            tache.setStatut(StatutEvaluationEnum.EN_ATTENTE);
+                            tache.setProchaineTentative(maintenant.plusSeconds(delaiRetentativeSecondes << (rang - 1)));
+                        }
+                        evaluationTestRepository.save(tache);
+                    }));
+        } catch (RuntimeException e) {
+            // Base indisponible : la tâche reste EN_COURS et sera libérée par libererBloquees
+        }
+    }
+
+    // ========== MÉTHODES UTILITAIRES ==========
+
+    /**
+     * Note sur 20 extraite du rapport du chatbot ("Score final du débat : 76.5/100" -> 15),
+     * ou null si le rapport n'en contient pas.
+     */
+    static Integer extraireNote(String rapport) {
+        if (rapport == null) {
+            return null;
+        }
+
+        Matcher sur100 = NOTE_SUR_100.matcher(rapport);
+        if (sur100.find()) {
+            return borner((int) Math.round(lireNombre(sur100.group(1)) / 5));
+        }
+
+        Matcher sur20 = NOTE_SUR_20.matcher(rapport);
+        if (sur20.find()) {
+            return borner((int) Math.round(lireNombre(sur20.group(1))));
+        }
+        return null;
+    }
+
+    private static double lireNombre(String valeur) {
+        return Double.parseDouble(valeur.replace(',', '.'));
+    }
+
+    private static int borner(int note) {
+        return Math.max(0, Math.min(20, note));
+    }
+
+    private static String tronquer(String erreur) {
+        if (erreur == null) {
+            return null;
+        }
+        return erreur.length() > LONGUEUR_ERREUR_MAX ? erreur.substring(0, LONGUEUR_ERREUR_MAX) : erreur;
+    }
+
+    private void apresCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @PreDestroy
+    public void arreter() {
+        executor.shutdown();
+    }
+}
@@ -6,6 +6,7 @@ import debatearena.backend.Exceptions.BadRequestException;
 import debatearena.backend.Exceptions.NotFoundException;
 import debatearena.backend.Exceptions.UnauthorizedException;
 import debatearena.backend.Repository.PasswordResetTokenRepository;
+import debatearena.backend.Security.RevocationJetons;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -20,11 +21,13 @@ public class PasswordResetService {
     private final PasswordResetTokenRepository tokenRepo;
     private final UtilisateurService utilisateurService;
     private final PasswordEncoder passwordEncoder;
+    private final RevocationJetons revocationJetons;
 
-    public PasswordResetService(PasswordResetTokenRepository tokenRepo, UtilisateurService utilisateurService, PasswordEncoder passwordEncoder) {
+    public PasswordResetService(PasswordResetTokenRepository tokenRepo, UtilisateurService utilisateurService, PasswordEncoder passwordEncoder, RevocationJetons revocationJetons) {
         this.tokenRepo = tokenRepo;
         this.utilisateurService = utilisateurService;
         this.passwordEncoder = passwordEncoder;
+        this.revocationJetons = revocationJetons;
     }
 
     public void createPasswordResetToken(String email) {
@@ -69,6 +72,9 @@ public class PasswordResetService {
         user.setPassword(passwordEncoder.encode(newPassword));
         utilisateurService.save(user);
 
+        // Les JWT émis avec l'ancien mot de passe ne sont plus acceptés
+        revocationJetons.revoquerUtilisateur(user.getEmail());
+
         // Supprimer le token après usage
         tokenRepo.delete(resetToken);
     }
@@ -0,0 +1,218 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Entity.Sujet;
+import debatearena.backend.Entity.categorie_sujet_enum;
+import debatearena.backend.Entity.niveau_enum;
+import debatearena.backend.Repository.DebatRepository;
+import debatearena.backend.Utils.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Recommandations de sujets par utilisateur : score calculé à partir de l'historique
+ * (affinité par catégorie pondérée par les notes), de la progression de difficulté
+ * et des tendances globales. Les listes sont précalculées en tâche de fond pour
+ * les utilisateurs actifs et servies depuis un cache.
+ */
+@Service
+public class RecommandationService {
+
+    // Pondération des critères
+    private static final double POIDS_AFFINITE = 0.4;
+    private static final double POIDS_DIFFICULTE = 0.3;
+    private static final double POIDS_TENDANCE = 0.3;
+    // Un sujet déjà débattu reste proposé, mais plus bas
+    private static final double FACTEUR_DEJA_DEBATTU = 0.5;
+
+    private static final int JOURS_TENDANCE = 7;
+
+    private final CatalogueSujets catalogueSujets;
+    private final DebatRepository debatRepository;
+    private final int nombreRecommandations;
+    private final int joursActivite;
+    private final TtlCache<Long, Recommandations> cache;
+
+    // Sujet -> débats des 7 derniers jours, recalculé avec le précalcul
+    private volatile Map<Long, Long> tendances;
+
+    public RecommandationService(CatalogueSujets catalogueSujets,
+                                 DebatRepository debatRepository,
+                                 @Value("${app.recommandations.taille:10}") int nombreRecommandations,
+                                 @Value("${app.recommandations.jours-activite:30}") int joursActivite,
+                                 @Value("${app.recommandations.cache.taille-max:10000}") int tailleMax,
+                                 @Value("${app.recommandations.cache.ttl-minutes:60}") long ttlMinutes) {
+        this.catalogueSujets = catalogueSujets;
+        this.debatRepository = debatRepository;
+        this.nombreRecommandations = nombreRecommandations;
+        this.joursActivite = joursActivite;
+        this.cache = new TtlCache<>(tailleMax, Duration.ofMinutes(ttlMinutes));
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Meilleurs sujets accessibles pour l'utilisateur. La liste en cache est recalculée
+     * si le niveau de l'utilisateur ou la version du catalogue a changé.
+     */
+    public List<Sujet> getRecommandations(Long userId, Integer score) {
+        niveau_enum niveau = niveau_enum.pourScore(score);
+        long versionCatalogue = catalogueSujets.getNumeroVersion();
+
+        Recommandations recommandations = cache.get(userId);
+        if (recommandations == null
+                || recommandations.niveau != niveau
+                || recommandations.versionCatalogue != versionCatalogue) {
+            recommandations = calculer(userId, niveau, versionCatalogue);
+            cache.put(userId, recommandations);
+        }
+        return recommandations.sujets;
+    }
+
+    // ========== PRÉCALCUL ==========
+
+    /**
+     * Recalcule les tendances puis les recommandations des utilisateurs actifs récemment
+     */
+    @Scheduled(
+            initialDelayString = "${app.recommandations.delai-initial-ms:30000}",
+            fixedDelayString = "${app.recommandations.rafraichissement-ms:600000}"
+    )
+    public void precalculer() {
+        rafraichirTendances();
+
+        long versionCatalogue = catalogueSujets.getNumeroVersion();
+        LocalDateTime depuis = LocalDateTime.now().minusDays(joursActivite);
+
+        for (Object[] ligne : debatRepository.findUtilisateursActifsDepuis(depuis)) {
+            Long userId = ((Number) ligne[0]).longValue();
+            Integer score = ligne[1] != null ? ((Number) ligne[1]).intValue() : 0;
+
+            niveau_enum niveau = niveau_enum.pourScore(score);
+            cache.put(userId, calculer(userId, niveau, versionCatalogue));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.recommandations.cache.purge-intervalle-ms:300000}")
+    public void purgerCache() {
+        cache.purgerExpirees();
+    }
+
+    // ========== CALCUL ==========
+
+    Recommandations calculer(Long userId, niveau_enum niveau, long versionCatalogue) {
+        Map<Long, Long> tendancesCourantes = getTendances();
+        long tendanceMax = tendancesCourantes.values().stream().mapToLong(Long::longValue).max().orElse(0);
+
+        // Historique : sujet -> [nombre de débats, note moyenne ou null]
+        Map<Long, Object[]> historique = new HashMap<>();
+        for (Object[] ligne : debatRepository.findHistoriqueParSujet(userId)) {
+            historique.put(((Number) ligne[0]).longValue(), ligne);
+        }
+        Map<categorie_sujet_enum, Double> affinites = calculerAffinites(historique);
+
+        List<Sujet> accessibles = catalogueSujets.tous().stream()
+                .filter(sujet -> sujet.getDifficulte().ordinal() <= niveau.ordinal())
+                .toList();
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (Sujet sujet : accessibles) {
+            double affinite = affinites.getOrDefault(sujet.getCategorie(), 0.0);
+            double difficulte = scoreDifficulte(sujet.getDifficulte(), niveau);
+            long recents = tendancesCourantes.getOrDefault(sujet.getId(), 0L);
+            double tendance = tendanceMax > 0 ? Math.log1p(recents) / Math.log1p(tendanceMax) : 0.0;
+
+            double score = POIDS_AFFINITE * affinite + POIDS_DIFFICULTE * difficulte + POIDS_TENDANCE * tendance;
+            if (historique.containsKey(sujet.getId())) {
+                score *= FACTEUR_DEJA_DEBATTU;
+            }
+            scores.put(sujet.getId(), score);
+        }
+
+        List<Sujet> meilleurs = accessibles.stream()
+                .sorted(Comparator.<Sujet>comparingDouble(sujet -> scores.get(sujet.getId())).reversed()
+                        .thenComparing(Sujet::getId))
+                .limit(nombreRecommandations)
+                .toList();
+
+        return new Recommandations(niveau, versionCatalogue, meilleurs);
+    }
+
+    /**
+     * Part des débats de l'utilisateur dans chaque catégorie, pondérée par ses notes
+     * (sans note, la catégorie compte à moitié de son poids maximal)
+     */
+    private Map<categorie_sujet_enum, Double> calculerAffinites(Map<Long, Object[]> historique) {
+        Map<categorie_sujet_enum, long[]> debats = new EnumMap<>(categorie_sujet_enum.class);
+        Map<categorie_sujet_enum, double[]> notes = new EnumMap<>(categorie_sujet_enum.class);
+        long total = 0;
+
+        for (Object[] ligne : historique.values()) {
+            Optional<Sujet> sujet = catalogueSujets.parId(((Number) ligne[0]).longValue());
+            if (sujet.isEmpty()) {
+                continue;
+            }
+
+            categorie_sujet_enum categorie = sujet.get().getCategorie();
+            long nombre = ((Number) ligne[1]).longValue();
+            debats.computeIfAbsent(categorie, c -> new long[1])[0] += nombre;
+            total += nombre;
+
+            if (ligne[2] != null) {
+                double[] somme = notes.computeIfAbsent(categorie, c -> new double[2]);
+                somme[0] += ((Number) ligne[2]).doubleValue();
+                somme[1]++;
+            }
+        }
+
+        Map<categorie_sujet_enum, Double> affinites = new EnumMap<>(categorie_sujet_enum.class);
+        for (Map.Entry<categorie_sujet_enum, long[]> entree : debats.entrySet()) {
+            double part = (double) entree.getValue()[0] / total;
+            double[] somme = notes.get(entree.getKey());
+            double reussite = somme != null ? (somme[0] / somme[1]) / 20.0 : 0.5;
+            affinites.put(entree.getKey(), part * (0.5 + 0.5 * reussite));
+        }
+        return affinites;
+    }
+
+    /**
+     * Les sujets du niveau courant font progresser vers le niveau suivant
+     */
+    private double scoreDifficulte(niveau_enum difficulte, niveau_enum niveau) {
+        int ecart = niveau.ordinal() - difficulte.ordinal();
+        if (ecart == 0) return 1.0;
+        if (ecart == 1) return 0.5;
+        return 0.2;
+    }
+
+    private Map<Long, Long> getTendances() {
+        Map<Long, Long> courantes = tendances;
+        return courantes != null ? courantes : rafraichirTendances();
+    }
+
+    private Map<Long, Long> rafraichirTendances() {
+        Map<Long, Long> calculees = new HashMap<>();
+        for (Object[] ligne : debatRepository.countDebatsBySujetDepuis(LocalDateTime.now().minusDays(JOURS_TENDANCE))) {
+            calculees.put(((Number) ligne[0]).longValue(), ((Number) ligne[1]).longValue());
+        }
+        tendances = Map.copyOf(calculees);
+        return tendances;
+    }
+
+    static final class Recommandations {
+
+        private final niveau_enum niveau;
+        private final long versionCatalogue;
+        private final List<Sujet> sujets;
+
+        Recommandations(niveau_enum niveau, long versionCatalogue, List<Sujet> sujets) {
+            this.niveau = niveau;
+            this.versionCatalogue = versionCatalogue;
+            this.sujets = sujets;
+        }
+    }
+}
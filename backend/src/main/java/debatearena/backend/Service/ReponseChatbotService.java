@@ -0,0 +1,229 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Client.ChatbotClient;
+import debatearena.backend.Client.ChatbotHealthMonitor;
+import debatearena.backend.DTO.ChatbotResponse;
+import debatearena.backend.DTO.MessageResponse;
+import debatearena.backend.Entity.Message;
+import debatearena.backend.Exceptions.ChatbotServiceException;
+import debatearena.backend.Repository.DebatRepository;
+import debatearena.backend.Repository.MessageRepository;
+import debatearena.backend.Utils.ExecuteurVirtuel;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Génère les réponses du chatbot en arrière-plan.
+ * L'appel au chatbot se fait hors transaction, sur un pool borné (ou un thread virtuel par réponse
+ * en mode threads virtuels), pour ne pas bloquer les threads HTTP ni les connexions JDBC.
+ */
+@Service
+public class ReponseChatbotService {
+
+    static final String REPONSE_INDISPONIBLE = "Je suis actuellement indisponible. Veuillez réessayer plus tard.";
+    static final String REPONSE_SURCHARGE = "Je reçois trop de messages en ce moment. Veuillez réessayer dans quelques instants.";
+
+    private final ChatbotClient chatbotClient;
+    private final ChatbotHealthMonitor chatbotHealthMonitor;
+    private final MessageRepository messageRepository;
+    private final DebatRepository debatRepository;
+    private final UtilisateurService utilisateurService;
+    private final TransactionTemplate nouvelleTransaction;
+    private final TaskExecutor executor;
+
+    // Réponses en cours de génération, indexées par l'ID du message utilisateur
+    private final Map<Long, CompletableFuture<MessageResponse>> reponsesEnAttente = new ConcurrentHashMap<>();
+
+    public ReponseChatbotService(ChatbotClient chatbotClient,
+                                 ChatbotHealthMonitor chatbotHealthMonitor,
+                                 MessageRepository messageRepository,
+                                 DebatRepository debatRepository,
+                                 UtilisateurService utilisateurService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.chatbot.async.core-pool-size:4}") int corePoolSize,
+                                 @Value("${app.chatbot.async.max-pool-size:16}") int maxPoolSize,
+                                 @Value("${app.chatbot.async.queue-capacity:200}") int queueCapacity,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuels,
+                                 @Value("${app.chatbot.async.max-virtuels:2000}") int maxVirtuels) {
+        this.chatbotClient = chatbotClient;
+        this.chatbotHealthMonitor = chatbotHealthMonitor;
+        this.messageRepository = messageRepository;
+        this.debatRepository = debatRepository;
+        this.utilisateurService = utilisateurService;
+        // Toujours une transaction à soi : terminer() peut être appelé depuis la synchronisation
+        // de fin d'une transaction appelante, déjà validée, à laquelle un save se joindrait sans être commité
+        this.nouvelleTransaction = new TransactionTemplate(transactionManager);
+        this.nouvelleTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        if (threadsVirtuels && ExecuteurVirtuel.estSupporte()) {
+            // L'attente du chatbot ne coûte plus un thread plateforme : seul le plafond limite
+            this.executor = new ExecuteurVirtuel("chatbot-", maxVirtuels);
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setCorePoolSize(corePoolSize);
+            pool.setMaxPoolSize(maxPoolSize);
+            pool.setQueueCapacity(queueCapacity);
+            pool.setThreadNamePrefix("chatbot-");
+            pool.initialize();
+            this.executor = pool;
+        }
+    }
+
+    // ========== PLANIFICATION ==========
+
+    /**
+     * Planifie la génération de la réponse au message utilisateur.
+     * Si une transaction est active, l'appel n'est lancé qu'après son commit.
+     */
+    public CompletableFuture<MessageResponse> planifierReponse(Long debatId,
+                                                               Long messageId,
+                                                               String messageAvecContexte,
+                                                               String sessionId,
+                                                               Consumer<String> majSession) {
+        return planifier(debatId, messageId, messageAvecContexte, sessionId, majSession, null);
+    }
+
+    /**
+     * Comme planifierReponse, mais relaie chaque morceau de la réponse à surFragment
+     * au fil de sa génération. Le message final est enregistré une fois le flux terminé.
+     */
+    public CompletableFuture<MessageResponse> planifierReponseEnFlux(Long debatId,
+                                                                     Long messageId,
+                                                                     String messageAvecContexte,
+                                                                     String sessionId,
+                                                                     Consumer<String> majSession,
+                                                                     Consumer<String> surFragment) {
+        return planifier(debatId, messageId, messageAvecContexte, sessionId, majSession, surFragment);
+    }
+
+    private CompletableFuture<MessageResponse> planifier(Long debatId,
+                                                         Long messageId,
+                                                         String messageAvecContexte,
+                                                         String sessionId,
+                                                         Consumer<String> majSession,
+                                                         Consumer<String> surFragment) {
+        CompletableFuture<MessageResponse> future = new CompletableFuture<>();
+        reponsesEnAttente.put(messageId, future);
+
+        Runnable tache = () -> soumettre(debatId, messageId, messageAvecContexte, sessionId, majSession, surFragment, future);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        tache.run();
+                    } else {
+                        reponsesEnAttente.remove(messageId);
+                    }
+                }
+            });
+        } else {
+            tache.run();
+        }
+
+        return future;
+    }
+
+    /**
+     * Réponse en cours de génération pour un message, ou null si aucune n'est connue sur ce nœud.
+     */
+    public CompletableFuture<MessageResponse> getReponseEnAttente(Long messageId) {
+        return reponsesEnAttente.get(messageId);
+    }
+
+    public int getNombreReponsesEnAttente() {
+        return reponsesEnAttente.size();
+    }
+
+    // ========== EXÉCUTION ==========
+
+    private void soumettre(Long debatId,
+                           Long messageId,
+                           String messageAvecContexte,
+                           String sessionId,
+                           Consumer<String> majSession,
+                           Consumer<String> surFragment,
+                           CompletableFuture<MessageResponse> future) {
+        try {
+            executor.execute(() -> genererReponse(debatId, messageId, messageAvecContexte, sessionId, majSession, surFragment, future));
+        } catch (TaskRejectedException e) {
+            // Pool (ou plafond de threads virtuels) saturé : on répond tout de suite plutôt que de bloquer le thread appelant
+            terminer(debatId, messageId, REPONSE_SURCHARGE, future);
+        }
+    }
+
+    private void genererReponse(Long debatId,
+                                Long messageId,
+                                String messageAvecContexte,
+                                String sessionId,
+                                Consumer<String> majSession,
+                                Consumer<String> surFragment,
+                                CompletableFuture<MessageResponse> future) {
+        String contenu;
+        try {
+            if (!chatbotHealthMonitor.isDisponible()) {
+                contenu = REPONSE_INDISPONIBLE;
+            } else {
+                ChatbotResponse chatbotResponse = chatbotHealthMonitor.executer(() -> surFragment == null
+                        ? chatbotClient.sendMessage(messageAvecContexte, sessionId)
+                        : chatbotClient.streamMessage(messageAvecContexte, sessionId, surFragment));
+                if (chatbotResponse.getSession_id() != null) {
+                    majSession.accept(chatbotResponse.getSession_id());
+                }
+                contenu = chatbotResponse.getResponse();
+            }
+        } catch (ChatbotServiceException e) {
+            contenu = REPONSE_INDISPONIBLE;
+        }
+
+        terminer(debatId, messageId, contenu, future);
+    }
+
+    private void terminer(Long debatId, Long messageId, String contenu, CompletableFuture<MessageResponse> future) {
+        MessageResponse resultat = null;
+        RuntimeException erreur = null;
+        try {
+            // Transaction courte et indépendante (REQUIRES_NEW)
+            resultat = nouvelleTransaction.execute(status -> {
+                Message reponse = new Message(contenu, debatRepository.getReferenceById(debatId), utilisateurService.getChatbotUser());
+                reponse.setIdMessageSource(messageId);
+                messageRepository.save(reponse);
+                return new MessageResponse(reponse.getId(), reponse.getContenu(), "CHATBOT", reponse.getTimestamp());
+            });
+        } catch (RuntimeException e) {
+            erreur = e;
+        }
+
+        // Retirer avant de compléter : une fois complétée, la réponse se lit en base
+        reponsesEnAttente.remove(messageId);
+        if (erreur != null) {
+            future.completeExceptionally(erreur);
+        } else {
+            future.complete(resultat);
+        }
+    }
+
+    @PreDestroy
+    public void arreter() {
+        if (executor instanceof ExecuteurVirtuel virtuel) {
+            virtuel.close();
+        } else if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+}
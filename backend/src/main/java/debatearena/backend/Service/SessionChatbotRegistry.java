@@ -0,0 +1,78 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Repository.DebatRepository;
+import debatearena.backend.Utils.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Association débat → session chatbot.
+ * La colonne debat.chatbot_session_id fait référence ; le cache local,
+ * borné et expirant, évite une requête à chaque message.
+ */
+@Service
+public class SessionChatbotRegistry {
+
+    private final DebatRepository debatRepository;
+    private final TtlCache<Long, String> sessions;
+
+    public SessionChatbotRegistry(DebatRepository debatRepository,
+                                  @Value("${app.chatbot.sessions.taille-max:10000}") int tailleMax,
+                                  @Value("${app.chatbot.sessions.ttl-minutes:60}") long ttlMinutes) {
+        this.debatRepository = debatRepository;
+        this.sessions = new TtlCache<>(tailleMax, Duration.ofMinutes(ttlMinutes));
+    }
+
+    /**
+     * Session du débat, ou null si aucune conversation n'a encore été ouverte.
+     */
+    public String getSession(Long debatId) {
+        String sessionId = sessions.get(debatId);
+        if (sessionId != null) {
+            return sessionId;
+        }
+
+        // Absente du cache : expirée, évincée, ou enregistrée par une autre instance
+        sessionId = debatRepository.findChatbotSessionIdById(debatId).orElse(null);
+        if (sessionId != null) {
+            sessions.put(debatId, sessionId);
+        }
+        return sessionId;
+    }
+
+    public void enregistrer(Long debatId, String sessionId) {
+        if (sessionId == null || sessionId.equals(sessions.get(debatId))) {
+            return;
+        }
+
+        sessions.put(debatId, sessionId);
+        debatRepository.updateChatbotSessionId(debatId, sessionId);
+    }
+
+    /**
+     * Dissocie la session du débat et la retourne, pour pouvoir la fermer côté chatbot.
+     */
+    public String retirer(Long debatId) {
+        String sessionId = sessions.remove(debatId);
+        if (sessionId == null) {
+            sessionId = debatRepository.findChatbotSessionIdById(debatId).orElse(null);
+        }
+
+        if (sessionId != null) {
+            debatRepository.updateChatbotSessionId(debatId, null);
+        }
+        return sessionId;
+    }
+
+    public int getNombreSessions() {
+        return sessions.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.chatbot.sessions.purge-intervalle-ms:60000}")
+    public void purgerSessionsExpirees() {
+        sessions.purgerExpirees();
+    }
+}
@@ -1,6 +1,7 @@
 package debatearena.backend.Service;
 
 import debatearena.backend.DTO.CreateSignalementRequest;
+import debatearena.backend.DTO.PageResponse;
 import debatearena.backend.DTO.SignalementResponse;
 import debatearena.backend.Entity.Debat;
 import debatearena.backend.Entity.Signalement;
@@ -10,6 +11,7 @@ import debatearena.backend.Exceptions.BadRequestException;
 import debatearena.backend.Exceptions.NotFoundException;
 import debatearena.backend.Repository.DebatRepository;
 import debatearena.backend.Repository.SignalementRepository;
+import debatearena.backend.Utils.CurseurPagination;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,7 +19,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class SignalementService {
 
     private final SignalementRepository signalementRepository;
@@ -34,6 +36,7 @@ public class SignalementService {
 
     // ========== CRÉER UN SIGNALEMENT ==========
 
+    @Transactional
     public SignalementResponse creerSignalement(CreateSignalementRequest request) {
         if (!request.isValid()) {
             throw new BadRequestException("Données invalides");
@@ -75,6 +78,29 @@ public class SignalementService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Signalements de l'utilisateur par pages, du plus récent au plus ancien.
+     */
+    public PageResponse<SignalementResponse> getMesSignalementsPage(String curseur, Integer taille) {
+        Utilisateur utilisateur = utilisateurService.getCurrentUser();
+
+        CurseurPagination.Curseur apres = CurseurPagination.decoder(curseur);
+        int tailleBornee = CurseurPagination.bornerTaille(taille);
+
+        List<Signalement> signalements = apres == null
+                ? signalementRepository.findPageByUtilisateurId(
+                        utilisateur.getId(), CurseurPagination.pageSuivante(tailleBornee))
+                : signalementRepository.findPageByUtilisateurIdAvant(
+                        utilisateur.getId(), apres.getDate(), apres.getId(), CurseurPagination.pageSuivante(tailleBornee));
+
+        return CurseurPagination.construirePage(
+                signalements,
+                tailleBornee,
+                this::convertirEnResponse,
+                signalement -> CurseurPagination.encoder(signalement.getDateCreation(), signalement.getId())
+        );
+    }
+
     // ========== DÉTAIL D'UN SIGNALEMENT ==========
 
     public SignalementResponse getSignalement(Long signalementId) {
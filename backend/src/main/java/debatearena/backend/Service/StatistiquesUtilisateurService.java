@@ -0,0 +1,165 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Entity.StatistiquesUtilisateur;
+import debatearena.backend.Repository.DebatRepository;
+import debatearena.backend.Repository.StatistiquesUtilisateurRepository;
+import debatearena.backend.Repository.TestRepository;
+import debatearena.backend.Repository.UtilisateurRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Modèle de lecture user_stats : mis à jour de façon incrémentale par les
+ * opérations sur les débats, et recalculable depuis debat/test.
+ */
+@Service
+public class StatistiquesUtilisateurService {
+
+    private final StatistiquesUtilisateurRepository statistiquesRepository;
+    private final DebatRepository debatRepository;
+    private final TestRepository testRepository;
+    private final UtilisateurRepository utilisateurRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public StatistiquesUtilisateurService(StatistiquesUtilisateurRepository statistiquesRepository,
+                                          DebatRepository debatRepository,
+                                          TestRepository testRepository,
+                                          UtilisateurRepository utilisateurRepository,
+                                          PlatformTransactionManager transactionManager) {
+        this.statistiquesRepository = statistiquesRepository;
+        this.debatRepository = debatRepository;
+        this.testRepository = testRepository;
+        this.utilisateurRepository = utilisateurRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Statistiques de l'utilisateur (une ligne lue par clé primaire).
+     * Une ligne absente (compte sans activité depuis la création de la table) est calculée
+     * sans être enregistrée : la lecture n'écrit rien, la première mise à jour créera la ligne.
+     */
+    @Transactional(readOnly = true)
+    public StatistiquesUtilisateur getStatistiques(Long userId) {
+        return statistiquesRepository.findById(userId)
+                .orElseGet(() -> calculer(userId));
+    }
+
+    // ========== MISES À JOUR INCRÉMENTALES ==========
+
+    @Transactional
+    public void surDebatCree(Long userId) {
+        if (statistiquesRepository.ajouterDebats(userId, 1) == 0) {
+            // Le recalcul compte déjà le débat qui vient d'être enregistré
+            recalculer(userId);
+        }
+    }
+
+    /**
+     * Débat annulé (toujours en cours, donc jamais noté).
+     */
+    @Transactional
+    public void surDebatSupprime(Long userId) {
+        if (statistiquesRepository.ajouterDebats(userId, -1) == 0) {
+            recalculer(userId);
+        }
+    }
+
+    /**
+     * Débat terminé : les compteurs ne changent pas, mais la date de mise à jour
+     * sert de version au dashboard (ETag), qui affiche la durée des débats récents.
+     */
+    @Transactional
+    public void surDebatTermine(Long userId) {
+        if (statistiquesRepository.marquerModifie(userId) == 0) {
+            recalculer(userId);
+        }
+    }
+
+    /**
+     * Note attribuée à un test. Une première note s'ajoute en place ;
+     * une correction de note (moyenne et maximum à revoir) passe par un recalcul.
+     */
+    @Transactional
+    public void surTestNote(Long userId, Integer ancienneNote, int nouvelleNote) {
+        if (ancienneNote != null || statistiquesRepository.ajouterNote(userId, nouvelleNote) == 0) {
+            recalculer(userId);
+        }
+    }
+
+    // ========== RECONSTRUCTION ==========
+
+    /**
+     * Recalcule la ligne d'un utilisateur à partir des tables debat et test.
+     * La ligne est créée si besoin (sans conflit entre appels concurrents), puis
+     * recalculée par un seul UPDATE : rien n'est réécrit depuis une copie en mémoire.
+     */
+    @Transactional
+    public void recalculer(Long userId) {
+        statistiquesRepository.creerSiAbsente(userId);
+        statistiquesRepository.recalculerEnPlace(userId);
+    }
+
+    /**
+     * Recalcule toutes les lignes et retourne le nombre de lignes qui avaient dérivé.
+     * Chaque utilisateur est traité dans sa propre transaction courte, pour ne pas
+     * garder de verrous ni de copies périmées pendant tout le parcours.
+     */
+    public int reconstruire() {
+        int corrigees = 0;
+
+        for (Long userId : utilisateurRepository.findAllIds()) {
+            Boolean corrigee = transactionTemplate.execute(status -> {
+                StatistiquesUtilisateur actuel = statistiquesRepository.findById(userId).orElse(null);
+                if (actuel != null && memesValeurs(actuel, calculer(userId))) {
+                    return false;
+                }
+                statistiquesRepository.creerSiAbsente(userId);
+                statistiquesRepository.recalculerEnPlace(userId);
+                return true;
+            });
+            if (Boolean.TRUE.equals(corrigee)) {
+                corrigees++;
+            }
+        }
+        return corrigees;
+    }
+
+    @Scheduled(cron = "${app.stats.reconstruction.cron:0 30 3 * * *}")
+    public void reconstruirePeriodiquement() {
+        reconstruire();
+    }
+
+    private StatistiquesUtilisateur calculer(Long userId) {
+        Integer totalDebats = debatRepository.countByUtilisateurId(userId);
+        Integer debatsGagnes = testRepository.countDebatsGagnesByUserId(userId);
+        Integer nombreNotes = testRepository.countNotesByUserId(userId);
+        Integer sommeNotes = testRepository.getSommeNotesByUserId(userId);
+        Integer meilleureNote = testRepository.getMeilleureNoteByUserId(userId);
+
+        return new StatistiquesUtilisateur(
+                userId,
+                totalDebats != null ? totalDebats : 0,
+                debatsGagnes != null ? debatsGagnes : 0,
+                nombreNotes != null ? nombreNotes : 0,
+                sommeNotes != null ? sommeNotes : 0,
+                meilleureNote,
+                LocalDateTime.now()
+        );
+    }
+
+    private boolean memesValeurs(StatistiquesUtilisateur a, StatistiquesUtilisateur b) {
+        return Objects.equals(a.getTotalDebats(), b.getTotalDebats())
+                && Objects.equals(a.getDebatsGagnes(), b.getDebatsGagnes())
+                && Objects.equals(a.getNombreNotes(), b.getNombreNotes())
+                && Objects.equals(a.getSommeNotes(), b.getSommeNotes())
+                && Objects.equals(a.getMeilleureNote(), b.getMeilleureNote());
+    }
+}
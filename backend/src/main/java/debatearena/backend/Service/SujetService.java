@@ -1,11 +1,14 @@
 package debatearena.backend.Service;
 
+import debatearena.backend.DTO.PageResponse;
+import debatearena.backend.DTO.RechercheSujetsResponse;
 import debatearena.backend.DTO.SujetResponse;
 import debatearena.backend.Entity.Sujet;
 import debatearena.backend.Entity.Utilisateur;
 import debatearena.backend.Entity.categorie_sujet_enum;
 import debatearena.backend.Entity.niveau_enum;
-import debatearena.backend.Repository.SujetRepository;
+import debatearena.backend.Exceptions.BadRequestException;
+import debatearena.backend.Utils.CurseurPagination;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
@@ -15,12 +18,16 @@ import java.util.stream.Collectors;
 @Service
 public class SujetService {
 
-    private final SujetRepository sujetRepository;
+    private final CatalogueSujets catalogueSujets;
     private final UtilisateurService utilisateurService;
+    private final RecommandationService recommandationService;
 
-    public SujetService(SujetRepository sujetRepository, UtilisateurService utilisateurService) {
-        this.sujetRepository = sujetRepository;
+    public SujetService(CatalogueSujets catalogueSujets,
+                        UtilisateurService utilisateurService,
+                        RecommandationService recommandationService) {
+        this.catalogueSujets = catalogueSujets;
         this.utilisateurService = utilisateurService;
+        this.recommandationService = recommandationService;
     }
 
     // ========== MÉTHODES PUBLIQUES ==========
@@ -32,16 +39,39 @@ public class SujetService {
         Utilisateur user = utilisateurService.getCurrentUser();
         String niveauUser = calculerNiveau(user.getScore());
 
-        return sujetRepository.findAll().stream()
+        return catalogueSujets.tous().stream()
                 .map(sujet -> convertirEnResponse(sujet, niveauUser))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Sujets par pages, dans l'ordre des IDs
+     */
+    public PageResponse<SujetResponse> getSujetsPage(String curseur, Integer taille) {
+        Utilisateur user = utilisateurService.getCurrentUser();
+        String niveauUser = calculerNiveau(user.getScore());
+
+        Long apresId = CurseurPagination.decoderId(curseur);
+        int tailleBornee = CurseurPagination.bornerTaille(taille);
+
+        List<Sujet> sujets = catalogueSujets.apres(
+                apresId != null ? apresId : 0L,
+                tailleBornee + 1
+        );
+
+        return CurseurPagination.construirePage(
+                sujets,
+                tailleBornee,
+                sujet -> convertirEnResponse(sujet, niveauUser),
+                sujet -> CurseurPagination.encoder(sujet.getId())
+        );
+    }
+
     /**
      * Récupère un sujet par ID
      */
     public SujetResponse getSujetById(Long id) {
-        Sujet sujet = sujetRepository.findById(id)
+        Sujet sujet = catalogueSujets.parId(id)
                 .orElseThrow(() -> new RuntimeException("Sujet non trouvé"));
 
         Utilisateur user = utilisateurService.getCurrentUser();
@@ -57,24 +87,10 @@ public class SujetService {
         Utilisateur user = utilisateurService.getCurrentUser();
         String niveauUser = calculerNiveau(user.getScore());
 
-        List<Sujet> sujets;
-
-        if (categorie != null && difficulte != null) {
-            sujets = sujetRepository.findByCategorieAndDifficulte(
-                    categorie_sujet_enum.valueOf(categorie),
-                    niveau_enum.valueOf(difficulte)
-            );
-        } else if (categorie != null) {
-            sujets = sujetRepository.findByCategorie(
-                    categorie_sujet_enum.valueOf(categorie)
-            );
-        } else if (difficulte != null) {
-            sujets = sujetRepository.findByDifficulte(
-                    niveau_enum.valueOf(difficulte)
-            );
-        } else {
-            sujets = sujetRepository.findAll();
-        }
+        List<Sujet> sujets = catalogueSujets.filtrer(
+                categorie != null ? categorie_sujet_enum.valueOf(categorie) : null,
+                difficulte != null ? niveau_enum.valueOf(difficulte) : null
+        );
 
         // Filtre l'accessibilité dans le service
         return sujets.stream()
@@ -84,31 +100,57 @@ public class SujetService {
     }
 
     /**
-     * Recherche des sujets par titre
+     * Recherche des sujets par titre, classés par pertinence (tous les sujets si la requête est vide)
      */
     public List<SujetResponse> searchSujets(String query) {
         Utilisateur user = utilisateurService.getCurrentUser();
         String niveauUser = calculerNiveau(user.getScore());
 
-        return sujetRepository.findByTitreContainingIgnoreCase(query).stream()
+        return resultatsRecherche(query).stream()
                 .map(sujet -> convertirEnResponse(sujet, niveauUser))
                 .collect(Collectors.toList());
     }
 
     /**
-     * Sujets recommandés (accessibles)
-     * Logique dans le service, pas dans la requête
+     * Recherche paginée avec suggestions de correction.
+     * Le curseur encode la position dans le classement, stable tant que le catalogue ne change pas.
      */
-    public List<SujetResponse> getSujetsRecommandes() {
+    public RechercheSujetsResponse rechercherSujetsPage(String query, String curseur, Integer taille) {
         Utilisateur user = utilisateurService.getCurrentUser();
         String niveauUser = calculerNiveau(user.getScore());
 
-        // Récupère tous les sujets
-        List<Sujet> tousLesSujets = sujetRepository.findAll();
+        Long position = CurseurPagination.decoderId(curseur);
+        if (position != null && (position < 0 || position > Integer.MAX_VALUE)) {
+            throw new BadRequestException("Curseur invalide");
+        }
+        int debut = position != null ? position.intValue() : 0;
+        int tailleBornee = CurseurPagination.bornerTaille(taille);
 
-        // Filtre dans le service
-        return tousLesSujets.stream()
-                .filter(sujet -> estAccessible(niveauUser, sujet.getDifficulte().name()))
+        List<Sujet> resultats = resultatsRecherche(query);
+        List<Sujet> lignes = resultats.subList(
+                Math.min(debut, resultats.size()),
+                (int) Math.min((long) debut + tailleBornee + 1, resultats.size())
+        );
+
+        PageResponse<SujetResponse> page = CurseurPagination.construirePage(
+                lignes,
+                tailleBornee,
+                sujet -> convertirEnResponse(sujet, niveauUser),
+                sujet -> CurseurPagination.encoder((long) debut + tailleBornee)
+        );
+
+        return new RechercheSujetsResponse(page, catalogueSujets.suggerer(query));
+    }
+
+    /**
+     * Sujets recommandés : les mieux classés parmi les sujets accessibles
+     * (historique, notes, progression de difficulté et tendances), précalculés par RecommandationService
+     */
+    public List<SujetResponse> getSujetsRecommandes() {
+        Utilisateur user = utilisateurService.getCurrentUser();
+        String niveauUser = calculerNiveau(user.getScore());
+
+        return recommandationService.getRecommandations(user.getId(), user.getScore()).stream()
                 .map(sujet -> convertirEnResponse(sujet, niveauUser))
                 .collect(Collectors.toList());
     }
@@ -131,6 +173,27 @@ public class SujetService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * ETag des listes de sujets : version du catalogue + niveau de l'utilisateur
+     * (le niveau détermine le champ "accessible" des réponses)
+     */
+    public String getEtagCatalogue() {
+        Utilisateur user = utilisateurService.getCurrentUser();
+        return "\"" + catalogueSujets.getEmpreinte() + "-" + calculerNiveau(user.getScore()) + "\"";
+    }
+
+    /**
+     * ETag des recommandations : elles évoluent aussi avec l'historique et les tendances,
+     * l'empreinte porte donc sur la liste recommandée elle-même
+     */
+    public String getEtagRecommandes() {
+        Utilisateur user = utilisateurService.getCurrentUser();
+        List<Long> ids = recommandationService.getRecommandations(user.getId(), user.getScore()).stream()
+                .map(Sujet::getId)
+                .toList();
+        return "\"" + catalogueSujets.getEmpreinte() + "-" + Integer.toHexString(ids.hashCode()) + "\"";
+    }
+
     // ========== MÉTHODES PUBLIQUES POUR DÉBAT ==========
 
     /**
@@ -140,7 +203,7 @@ public class SujetService {
         Utilisateur user = utilisateurService.getCurrentUser();
         String niveauUser = calculerNiveau(user.getScore());
 
-        Sujet sujet = sujetRepository.findById(sujetId)
+        Sujet sujet = catalogueSujets.parId(sujetId)
                 .orElseThrow(() -> new RuntimeException("Sujet non trouvé"));
 
         return estAccessible(niveauUser, sujet.getDifficulte().name());
@@ -148,6 +211,13 @@ public class SujetService {
 
     // ========== MÉTHODES PRIVÉES ==========
 
+    private List<Sujet> resultatsRecherche(String query) {
+        if (query == null || query.isBlank()) {
+            return catalogueSujets.tous();
+        }
+        return catalogueSujets.rechercher(query);
+    }
+
     /**
      * Vérifie si un utilisateur a accès à un sujet
      * Règle: Accès aux sujets de niveau INFÉRIEUR ou ÉGAL
@@ -179,10 +249,7 @@ public class SujetService {
      * Calcule le niveau de l'utilisateur basé sur son score
      */
     private String calculerNiveau(Integer score) {
-        if (score >= 1000) return "EXPERT";
-        else if (score >= 500) return "AVANCE";
-        else if (score >= 200) return "INTERMEDIAIRE";
-        else return "DEBUTANT";
+        return niveau_enum.pourScore(score).name();
     }
 
     /**
@@ -0,0 +1,74 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Entity.Utilisateur;
+import debatearena.backend.Repository.UtilisateurRepository;
+import debatearena.backend.Utils.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache court (quelques secondes) des utilisateurs authentifiés, par email.
+ * Chaque lecture renvoie une copie détachée : une modification locale ne touche
+ * pas l'entrée partagée, et toute écriture sur l'utilisateur doit appeler invalider().
+ */
+@Service
+public class UtilisateurCache {
+
+    private final UtilisateurRepository utilisateurRepository;
+    private final TtlCache<String, Utilisateur> utilisateurs; // null si le cache est désactivé
+
+    public UtilisateurCache(UtilisateurRepository utilisateurRepository,
+                            @Value("${app.utilisateurs.cache.actif:true}") boolean actif,
+                            @Value("${app.utilisateurs.cache.taille-max:10000}") int tailleMax,
+                            @Value("${app.utilisateurs.cache.ttl-secondes:30}") long ttlSecondes) {
+        this.utilisateurRepository = utilisateurRepository;
+        this.utilisateurs = actif ? new TtlCache<>(tailleMax, Duration.ofSeconds(ttlSecondes)) : null;
+    }
+
+    public Optional<Utilisateur> getParEmail(String email) {
+        if (utilisateurs != null) {
+            Utilisateur enCache = utilisateurs.get(email);
+            if (enCache != null) {
+                return Optional.of(copier(enCache));
+            }
+        }
+
+        return utilisateurRepository.findWithBadgeByEmail(email).map(utilisateur -> {
+            if (utilisateurs != null) {
+                utilisateurs.put(email, copier(utilisateur));
+            }
+            return copier(utilisateur);
+        });
+    }
+
+    public void invalider(String email) {
+        if (utilisateurs != null && email != null) {
+            utilisateurs.remove(email);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.utilisateurs.cache.purge-intervalle-ms:60000}")
+    public void purgerEntreesExpirees() {
+        if (utilisateurs != null) {
+            utilisateurs.purgerExpirees();
+        }
+    }
+
+    private Utilisateur copier(Utilisateur utilisateur) {
+        return new Utilisateur(
+                utilisateur.getId(),
+                utilisateur.getNom(),
+                utilisateur.getPrenom(),
+                utilisateur.getEmail(),
+                utilisateur.getPassword(),
+                utilisateur.getRole(),
+                utilisateur.getScore(),
+                utilisateur.getBadge(),
+                utilisateur.getImagePath()
+        );
+    }
+}
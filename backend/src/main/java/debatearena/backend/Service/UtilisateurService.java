@@ -1,34 +1,52 @@
 package debatearena.backend.Service;
 
 import debatearena.backend.DTO.*;
-import debatearena.backend.Entity.Debat;
+import debatearena.backend.Entity.StatistiquesUtilisateur;
 import debatearena.backend.Entity.Utilisateur;
+import debatearena.backend.Entity.niveau_enum;
 import debatearena.backend.Entity.role_enum;
 import debatearena.backend.Exceptions.UnauthorizedException;
 import debatearena.backend.Exceptions.NotFoundException;
 import debatearena.backend.Repository.*;
+import debatearena.backend.Security.UtilisateurPrincipal;
 import debatearena.backend.Utils.ImageStorageService;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UtilisateurService {
 
+    // Attribut de requête : utilisateur courant déjà résolu pendant cette requête
+    private static final String ATTRIBUT_UTILISATEUR_COURANT = UtilisateurService.class.getName() + ".utilisateurCourant";
+
     private final UtilisateurRepository utilisateurRepository;
     private final ImageStorageService imageStorageService;
     private final DebatRepository debatRepository;
-    private final TestRepository testRepository;
+    private final StatistiquesUtilisateurService statistiquesUtilisateurService;
+    private final UtilisateurCache utilisateurCache;
+    private final ClassementService classementService;
+    private final AccumulateurScores accumulateurScores;
+    private final BadgeService badgeService;
+    private final DonneesReference donneesReference;
 
     // ========== MÉTHODES EXISTANTES ==========
 
@@ -41,33 +59,109 @@ public class UtilisateurService {
     }
 
     public Utilisateur save(Utilisateur utilisateur) {
-        return utilisateurRepository.save(utilisateur);
+        Utilisateur saved = utilisateurRepository.save(utilisateur);
+        utilisateurCache.invalider(saved.getEmail());
+        classementService.surJoueurModifie(saved);
+        if (saved.getRole() == role_enum.CHATBOT) {
+            donneesReference.invalider();
+        }
+        return saved;
     }
 
+    /**
+     * Utilisateur authentifié : résolu une fois par requête, via le cache utilisateurs.
+     */
     public Utilisateur getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
-        return utilisateurRepository.findByEmail(email)
+
+        RequestAttributes requete = RequestContextHolder.getRequestAttributes();
+        if (requete != null
+                && requete.getAttribute(ATTRIBUT_UTILISATEUR_COURANT, RequestAttributes.SCOPE_REQUEST) instanceof Utilisateur courant
+                && email.equals(courant.getEmail())) {
+            return courant;
+        }
+
+        Utilisateur utilisateur = utilisateurCache.getParEmail(email)
                 .orElseThrow(() -> new UnauthorizedException("Utilisateur non trouvé"));
+
+        if (requete != null) {
+            requete.setAttribute(ATTRIBUT_UTILISATEUR_COURANT, utilisateur, RequestAttributes.SCOPE_REQUEST);
+        }
+        return utilisateur;
+    }
+
+    /**
+     * Id de l'utilisateur authentifié, lu dans le principal sans aucune requête.
+     */
+    public Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UtilisateurPrincipal principal) {
+            return principal.getId();
+        }
+        return getCurrentUser().getId();
     }
 
+    /**
+     * Ajoute des points au score : une mise à jour atomique en base, ou un cumul en mémoire
+     * appliqué au prochain vidage si l'écriture différée est activée.
+     * Le cumul n'est fait qu'après le commit : une transaction annulée ne crédite aucun point.
+     */
     @Transactional
     public void updateScore(Long userId, Integer points) {
-        Utilisateur user = utilisateurRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Utilisateur non trouvé"));
-        user.setScore(user.getScore() + points);
-        utilisateurRepository.save(user);
+        if (accumulateurScores.estActif()) {
+            apresCommit(() -> accumulateurScores.ajouter(userId, points));
+            return;
+        }
+        appliquerScore(userId, points);
+    }
+
+    /**
+     * Vidage de l'écriture différée : une mise à jour par utilisateur pour tous ses points cumulés
+     */
+    @Scheduled(fixedDelayString = "${app.scores.ecriture-differee.intervalle-ms:2000}")
+    @PreDestroy
+    public void appliquerScoresEnAttente() {
+        Map<Long, Integer> lot = accumulateurScores.vider();
+        Iterator<Map.Entry<Long, Integer>> entrees = lot.entrySet().iterator();
+
+        while (entrees.hasNext()) {
+            Map.Entry<Long, Integer> entree = entrees.next();
+            try {
+                appliquerScore(entree.getKey(), entree.getValue());
+            } catch (NotFoundException e) {
+                // Utilisateur supprimé entre-temps : ses points sont abandonnés
+            } catch (RuntimeException e) {
+                // Base indisponible : ce point et les suivants attendent le prochain vidage
+                accumulateurScores.ajouter(entree.getKey(), entree.getValue());
+                entrees.forEachRemaining(reste -> accumulateurScores.ajouter(reste.getKey(), reste.getValue()));
+                return;
+            }
+        }
     }
 
     // ========== MÉTHODES POUR DÉBATS ==========
 
     /**
-     * Met à jour le score d'un utilisateur
+     * Met à jour le score d'un utilisateur.
+     * L'entité passée n'est pas modifiée : elle ne doit pas réécrire un score devenu ancien.
      */
     @Transactional
     public void updateScore(Utilisateur utilisateur, Integer points) {
-        utilisateur.setScore(utilisateur.getScore() + points);
-        utilisateurRepository.save(utilisateur);
+        updateScore(utilisateur.getId(), points);
+    }
+
+    private void apresCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     /**
@@ -86,11 +180,10 @@ public class UtilisateurService {
     }
 
     /**
-     * Récupère l'utilisateur CHATBOT
+     * Récupère l'utilisateur CHATBOT (données de référence en mémoire, sans requête)
      */
     public Utilisateur getChatbotUser() {
-        return utilisateurRepository.findByRole(role_enum.CHATBOT)
-                .orElseThrow(() -> new NotFoundException("Utilisateur CHATBOT non trouvé"));
+        return donneesReference.getChatbot();
     }
 
     // ========== PROFIL PERSONNEL (/me) ==========
@@ -130,7 +223,10 @@ public class UtilisateurService {
             user.setImagePath(imagePath);
         }
 
-        utilisateurRepository.save(user);
+        // Mise à jour ciblée : jamais de save() de la copie en cache, dont le score peut être ancien
+        utilisateurRepository.modifierProfil(user.getId(), user.getNom(), user.getPrenom(), user.getImagePath());
+        utilisateurCache.invalider(user.getEmail());
+        classementService.surJoueurRenomme(user);
         return getMyProfile();
     }
 
@@ -152,15 +248,16 @@ public class UtilisateurService {
         Utilisateur user = getCurrentUser();
         Long userId = user.getId();
 
-        // 1. Statistiques de base
-        Integer totalDebats = debatRepository.countByUtilisateurId(userId);
-        Integer debatsGagnes = testRepository.countDebatsGagnesByUserId(userId);
+        // 1. Statistiques de base (une ligne user_stats lue par clé primaire)
+        StatistiquesUtilisateur statistiques = statistiquesUtilisateurService.getStatistiques(userId);
+        Integer totalDebats = statistiques.getTotalDebats();
+        Integer debatsGagnes = statistiques.getDebatsGagnes();
         Double tauxReussite = totalDebats > 0 ?
                 (debatsGagnes * 100.0) / totalDebats : 0.0;
 
         // 2. Notes (note sur 20 dans ta base)
-        Integer moyenneNotes = testRepository.getMoyenneNotesByUserId(userId);
-        Integer meilleureNote = testRepository.getMeilleureNoteByUserId(userId);
+        Integer moyenneNotes = statistiques.getMoyenneNotes();
+        Integer meilleureNote = statistiques.getMeilleureNote();
 
         // 3. Niveau et progression
         String niveau = calculerNiveau(user.getScore());
@@ -185,16 +282,51 @@ public class UtilisateurService {
         );
     }
 
+    /**
+     * ETag du dashboard : score, badge et version de la ligne user_stats.
+     * Toute modification des débats ou des notes de l'utilisateur met à jour user_stats.
+     */
+    public String getEtagDashboard() {
+        Utilisateur user = getCurrentUser();
+        StatistiquesUtilisateur statistiques = statistiquesUtilisateurService.getStatistiques(user.getId());
+
+        return "\"dashboard-" + user.getId()
+                + "-" + user.getScore()
+                + "-" + (user.getBadge() != null ? user.getBadge().getId() : 0)
+                + "-" + statistiques.getTotalDebats()
+                + "-" + statistiques.getNombreNotes()
+                + "-" + statistiques.getSommeNotes()
+                + "-" + (statistiques.getDateMaj() != null
+                        ? statistiques.getDateMaj().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0)
+                + "\"";
+    }
+
     // ========== MÉTHODES UTILITAIRES PRIVÉES ==========
 
+    /**
+     * score = score + points en une requête, puis relecture du score pour le cache et le classement
+     */
+    private void appliquerScore(Long userId, int points) {
+        if (utilisateurRepository.ajouterScore(userId, points) == 0) {
+            throw new NotFoundException("Utilisateur non trouvé");
+        }
+
+        utilisateurRepository.findScoreById(userId).ifPresent(score -> {
+            // Badge : on ne fait que monter, une perte de points ne retire rien
+            badgeService.badgePourScore(score.getScore())
+                    .filter(badge -> badgeService.estMeilleur(badge, score.getBadgeCategorie()))
+                    .ifPresent(badge -> utilisateurRepository.changerBadge(userId, badge));
+
+            utilisateurCache.invalider(score.getEmail());
+            classementService.surScoreModifie(userId, score.getScore());
+        });
+    }
+
     /**
      * Calcule le niveau basé sur le score (selon ton schéma)
      */
     private String calculerNiveau(Integer score) {
-        if (score >= 1000) return "EXPERT";
-        else if (score >= 500) return "AVANCE";
-        else if (score >= 200) return "INTERMEDIAIRE";
-        else return "DEBUTANT";
+        return niveau_enum.pourScore(score).name();
     }
 
     /**
@@ -254,48 +386,7 @@ public class UtilisateurService {
      * Récupère les débats récents formatés
      */
     private List<DebatRecap> getDebatsRecents(Long userId, int limit) {
-        List<Object[]> results = debatRepository.findRecentDebatsByUtilisateurId(userId);
-
-        // Limiter manuellement car LIMIT n'est pas supporté dans JPQL avec ORDER BY
-        return results.stream()
-                .limit(limit)
-                .map(this::mapToDebatRecap)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Mappe un résultat SQL à un DebatRecap
-     */
-    private DebatRecap mapToDebatRecap(Object[] result) {
-        // Récupérer l'ID du débat
-        Long debatId = ((Number) result[0]).longValue();
-
-        // Récupérer le débat complet (nécessite une requête supplémentaire)
-        Debat debat = debatRepository.findById(debatId).orElseThrow(
-                () -> new NotFoundException("Débat non trouvé")
-        );
-
-        return new DebatRecap(
-                debatId,                                    // id
-                (String) result[1],                         // titre
-                ((Enum<?>) result[2]).name(),               // categorie
-                ((Enum<?>) result[3]).name(),               // difficulte
-                testRepository.existsByDebat(debat) ? "TEST" : "ENTRAINEMENT", // type
-                debat.getChoixUtilisateur(),                // choix utilisateur
-                result[4] != null ? ((Number) result[4]).intValue() : null, // note
-                (LocalDateTime) result[5],                  // date
-                formatDuree(result[6] != null ? ((Number) result[6]).intValue() : null) // duree
-        );
-    }
-
-    /**
-     * Formate la durée en minutes/secondes
-     */
-    private String formatDuree(Integer dureeSeconds) {
-        if (dureeSeconds == null) return "N/A";
-
-        int minutes = dureeSeconds / 60;
-        int seconds = dureeSeconds % 60;
-        return minutes + "min " + seconds + "s";
+        // Projection directe en DebatRecap, limite appliquée par la base
+        return debatRepository.findRecentDebatsByUtilisateurId(userId, PageRequest.of(0, limit));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,221 @@
+package debatearena.backend.Utils;
+
+import java.util.*;
+
+/**
+ * Classement en mémoire : points par joueur, tri par points décroissants puis par ID.
+ * Un arbre de Fenwick compte les joueurs par nombre de points, ce qui donne le rang
+ * en O(log n) ; une TreeMap points -> joueurs sert au parcours (meilleurs, voisins).
+ * Les ex aequo partagent le même rang (1, 2, 2, 4). Les points négatifs comptent pour 0.
+ */
+public final class Classement {
+
+    private static final int CAPACITE_INITIALE = 1024;
+
+    // Joueur -> points
+    private final Map<Long, Integer> points = new HashMap<>();
+    // Points -> joueurs, du plus grand nombre de points au plus petit
+    private final NavigableMap<Integer, NavigableSet<Long>> parPoints = new TreeMap<>(Comparator.reverseOrder());
+    // Fenwick : arbre[i] cumule le nombre de joueurs ayant (i - 1) points
+    private long[] arbre = new long[CAPACITE_INITIALE + 1];
+
+    // ========== MISES À JOUR ==========
+
+    /**
+     * Fixe les points d'un joueur (ajouté s'il est absent)
+     */
+    public synchronized void definir(long joueurId, int nouveauxPoints) {
+        int valeur = Math.max(0, nouveauxPoints);
+        Integer anciens = points.put(joueurId, valeur);
+        if (anciens != null) {
+            if (anciens == valeur) {
+                return;
+            }
+            retirerDuCompte(joueurId, anciens);
+        }
+
+        parPoints.computeIfAbsent(valeur, p -> new TreeSet<>()).add(joueurId);
+        modifierCompte(valeur, 1);
+    }
+
+    /**
+     * Ajoute (ou retire) des points à un joueur, qui part de 0 s'il est absent
+     */
+    public synchronized void ajouter(long joueurId, int delta) {
+        definir(joueurId, points.getOrDefault(joueurId, 0) + delta);
+    }
+
+    public synchronized void retirer(long joueurId) {
+        Integer anciens = points.remove(joueurId);
+        if (anciens != null) {
+            retirerDuCompte(joueurId, anciens);
+        }
+    }
+
+    // ========== LECTURE ==========
+
+    public synchronized int taille() {
+        return points.size();
+    }
+
+    public synchronized Integer getPoints(long joueurId) {
+        return points.get(joueurId);
+    }
+
+    /**
+     * Rang du joueur (1 = premier), null s'il n'est pas classé
+     */
+    public synchronized Integer rang(long joueurId) {
+        Integer valeur = points.get(joueurId);
+        return valeur != null ? rangPour(valeur) : null;
+    }
+
+    /**
+     * Les {@code limite} premiers du classement
+     */
+    public synchronized List<Position> meilleurs(int limite) {
+        List<Position> resultat = new ArrayList<>(Math.min(limite, points.size()));
+        int rang = 1;
+
+        for (Map.Entry<Integer, NavigableSet<Long>> entree : parPoints.entrySet()) {
+            for (Long joueurId : entree.getValue()) {
+                if (resultat.size() >= limite) {
+                    return resultat;
+                }
+                resultat.add(new Position(rang, joueurId, entree.getKey()));
+            }
+            rang += entree.getValue().size();
+        }
+        return resultat;
+    }
+
+    /**
+     * Le joueur entouré d'au plus {@code rayon} joueurs de chaque côté, dans l'ordre du classement.
+     * Liste vide si le joueur n'est pas classé.
+     */
+    public synchronized List<Position> voisins(long joueurId, int rayon) {
+        Integer valeur = points.get(joueurId);
+        if (valeur == null) {
+            return List.of();
+        }
+
+        // Au-dessus : d'abord les ex aequo d'ID inférieur, puis les paliers supérieurs
+        Deque<Position> dessus = new ArrayDeque<>();
+        Iterator<Long> memesPoints = parPoints.get(valeur).headSet(joueurId, false).descendingIterator();
+        int rangPalier = rangPour(valeur);
+        while (dessus.size() < rayon && memesPoints.hasNext()) {
+            dessus.addFirst(new Position(rangPalier, memesPoints.next(), valeur));
+        }
+        for (Map.Entry<Integer, NavigableSet<Long>> palier : parPoints.headMap(valeur, false).descendingMap().entrySet()) {
+            if (dessus.size() >= rayon) break;
+            int rang = rangPour(palier.getKey());
+            Iterator<Long> ids = palier.getValue().descendingIterator();
+            while (dessus.size() < rayon && ids.hasNext()) {
+                dessus.addFirst(new Position(rang, ids.next(), palier.getKey()));
+            }
+        }
+
+        List<Position> resultat = new ArrayList<>(dessus);
+        resultat.add(new Position(rangPalier, joueurId, valeur));
+
+        // En dessous : les ex aequo d'ID supérieur, puis les paliers inférieurs
+        int dessous = 0;
+        for (Long id : parPoints.get(valeur).tailSet(joueurId, false)) {
+            if (dessous >= rayon) break;
+            resultat.add(new Position(rangPalier, id, valeur));
+            dessous++;
+        }
+        for (Map.Entry<Integer, NavigableSet<Long>> palier : parPoints.tailMap(valeur, false).entrySet()) {
+            if (dessous >= rayon) break;
+            int rang = rangPour(palier.getKey());
+            for (Long id : palier.getValue()) {
+                if (dessous >= rayon) break;
+                resultat.add(new Position(rang, id, palier.getKey()));
+                dessous++;
+            }
+        }
+        return resultat;
+    }
+
+    // ========== FENWICK ==========
+
+    /**
+     * 1 + nombre de joueurs ayant strictement plus de points
+     */
+    private int rangPour(int valeur) {
+        return (int) (points.size() - cumul(valeur)) + 1;
+    }
+
+    private void retirerDuCompte(long joueurId, int valeur) {
+        NavigableSet<Long> ids = parPoints.get(valeur);
+        ids.remove(joueurId);
+        if (ids.isEmpty()) {
+            parPoints.remove(valeur);
+        }
+        modifierCompte(valeur, -1);
+    }
+
+    private void modifierCompte(int valeur, int delta) {
+        if (valeur + 1 >= arbre.length) {
+            // L'arbre reconstruit depuis les paliers compte déjà ce changement
+            agrandir(valeur + 1);
+            return;
+        }
+        for (int i = valeur + 1; i < arbre.length; i += i & -i) {
+            arbre[i] += delta;
+        }
+    }
+
+    /**
+     * Nombre de joueurs ayant au plus {@code valeur} points
+     */
+    private long cumul(int valeur) {
+        long total = 0;
+        for (int i = Math.min(valeur + 1, arbre.length - 1); i > 0; i -= i & -i) {
+            total += arbre[i];
+        }
+        return total;
+    }
+
+    /**
+     * Double la capacité jusqu'à couvrir {@code index}, puis reconstruit l'arbre depuis les paliers
+     */
+    private void agrandir(int index) {
+        int capacite = arbre.length - 1;
+        while (capacite < index) {
+            capacite *= 2;
+        }
+
+        long[] nouvel = new long[capacite + 1];
+        for (Map.Entry<Integer, NavigableSet<Long>> palier : parPoints.entrySet()) {
+            nouvel[palier.getKey() + 1] += palier.getValue().size();
+        }
+        for (int i = 1; i <= capacite; i++) {
+            int parent = i + (i & -i);
+            if (parent <= capacite) {
+                nouvel[parent] += nouvel[i];
+            }
+        }
+        arbre = nouvel;
+    }
+
+    /**
+     * Une ligne du classement
+     */
+    public static final class Position {
+
+        private final int rang;
+        private final long joueurId;
+        private final int points;
+
+        public Position(int rang, long joueurId, int points) {
+            this.rang = rang;
+            this.joueurId = joueurId;
+            this.points = points;
+        }
+
+        public int getRang() { return rang; }
+        public long getJoueurId() { return joueurId; }
+        public int getPoints() { return points; }
+    }
+}
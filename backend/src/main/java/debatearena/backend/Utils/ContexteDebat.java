@@ -0,0 +1,29 @@
+package debatearena.backend.Utils;
+
+/**
+ * Message envoyé au chatbot pour un tour de débat : le contexte (sujet, positions, type,
+ * difficulté) suivi du message de l'utilisateur. Partagé par les piles servlet et réactive
+ * pour que le chatbot reçoive exactement le même format.
+ */
+public final class ContexteDebat {
+
+    private ContexteDebat() {
+    }
+
+    public static String construire(String messageUtilisateur, String titreSujet, String choixUtilisateur,
+                                    boolean test, String difficulte) {
+        StringBuilder contexte = new StringBuilder();
+        contexte.append("CONTEXTE DU DÉBAT:\n");
+        contexte.append("- Sujet: ").append(titreSujet).append("\n");
+        contexte.append("- Utilisateur est: ").append(choixUtilisateur).append("\n");
+        contexte.append("- Chatbot doit être: ");
+        contexte.append(choixUtilisateur.equals("POUR") ? "CONTRE" : "POUR").append("\n");
+        contexte.append("- Type: ");
+        contexte.append(test ? "TEST" : "ENTRAINEMENT").append("\n");
+        contexte.append("- Difficulté: ").append(difficulte).append("\n\n");
+        contexte.append("MESSAGE DE L'UTILISATEUR:\n");
+        contexte.append(messageUtilisateur);
+
+        return contexte.toString();
+    }
+}
@@ -0,0 +1,139 @@
+package debatearena.backend.Utils;
+
+import debatearena.backend.DTO.PageResponse;
+import debatearena.backend.Exceptions.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pagination par curseur (keyset) : le curseur encode la clé de tri
+ * du dernier élément renvoyé, date et/ou ID, sous forme opaque.
+ */
+public final class CurseurPagination {
+
+    public static final int TAILLE_DEFAUT = 20;
+    public static final int TAILLE_MAX = 100;
+
+    private static final String SEPARATEUR = "|";
+
+    private CurseurPagination() {
+    }
+
+    // ========== TAILLE DE PAGE ==========
+
+    public static int bornerTaille(Integer taille) {
+        if (taille == null) {
+            return TAILLE_DEFAUT;
+        }
+        return Math.max(1, Math.min(taille, TAILLE_MAX));
+    }
+
+    /**
+     * Demande un élément de plus que la taille de page pour savoir s'il existe une page suivante.
+     */
+    public static Pageable pageSuivante(int taille) {
+        return PageRequest.of(0, taille + 1);
+    }
+
+    // ========== ENCODAGE ==========
+
+    public static String encoder(LocalDateTime date, Long id) {
+        return encoderTexte(date + SEPARATEUR + id);
+    }
+
+    public static String encoder(Long id) {
+        return encoderTexte(String.valueOf(id));
+    }
+
+    /**
+     * Décode un curseur (date, ID). Retourne null pour la première page.
+     */
+    public static Curseur decoder(String curseur) {
+        if (curseur == null || curseur.isBlank()) {
+            return null;
+        }
+
+        String texte = decoderTexte(curseur);
+        int separateur = texte.lastIndexOf(SEPARATEUR);
+        if (separateur < 0) {
+            throw new BadRequestException("Curseur invalide");
+        }
+
+        try {
+            return new Curseur(
+                    LocalDateTime.parse(texte.substring(0, separateur)),
+                    Long.parseLong(texte.substring(separateur + 1))
+            );
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BadRequestException("Curseur invalide");
+        }
+    }
+
+    /**
+     * Décode un curseur réduit à un ID. Retourne null pour la première page.
+     */
+    public static Long decoderId(String curseur) {
+        if (curseur == null || curseur.isBlank()) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong(decoderTexte(curseur));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Curseur invalide");
+        }
+    }
+
+    // ========== CONSTRUCTION DE PAGE ==========
+
+    /**
+     * Construit la page à partir des lignes lues (au plus taille + 1).
+     */
+    public static <E, R> PageResponse<R> construirePage(List<E> lignes,
+                                                        int taille,
+                                                        Function<E, R> conversion,
+                                                        Function<E, String> curseurDe) {
+        boolean hasNext = lignes.size() > taille;
+        List<E> page = hasNext ? lignes.subList(0, taille) : lignes;
+
+        List<R> items = page.stream()
+                .map(conversion)
+                .collect(Collectors.toList());
+        String curseurSuivant = hasNext ? curseurDe.apply(page.get(page.size() - 1)) : null;
+
+        return new PageResponse<>(items, curseurSuivant, hasNext);
+    }
+
+    private static String encoderTexte(String texte) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texte.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decoderTexte(String curseur) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(curseur), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Curseur invalide");
+        }
+    }
+
+    public static class Curseur {
+        private final LocalDateTime date;
+        private final Long id;
+
+        public Curseur(LocalDateTime date, Long id) {
+            this.date = date;
+            this.id = id;
+        }
+
+        public LocalDateTime getDate() { return date; }
+        public Long getId() { return id; }
+    }
+}
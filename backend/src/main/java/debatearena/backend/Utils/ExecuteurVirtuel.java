@@ -0,0 +1,63 @@
+package debatearena.backend.Utils;
+
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Exécuteur à threads virtuels (Java 21) : un thread par tâche, sans pool ni file.
+ * Le nombre de tâches simultanées reste plafonné ; au-delà, la tâche est refusée
+ * par une TaskRejectedException, comme le ferait un pool saturé.
+ */
+public class ExecuteurVirtuel implements TaskExecutor, AutoCloseable {
+
+    private final SimpleAsyncTaskExecutor delegue;
+    private final Semaphore places;
+
+    public ExecuteurVirtuel(String prefixe, int tachesMax) {
+        this.delegue = new SimpleAsyncTaskExecutor(prefixe);
+        this.delegue.setVirtualThreads(true);
+        this.places = new Semaphore(Math.max(1, tachesMax));
+    }
+
+    /**
+     * Vrai si la JVM courante sait créer des threads virtuels
+     */
+    public static boolean estSupporte() {
+        return JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+    }
+
+    @Override
+    public void execute(Runnable tache) {
+        if (!places.tryAcquire()) {
+            throw new TaskRejectedException("Nombre maximal de tâches simultanées atteint");
+        }
+        try {
+            delegue.execute(() -> {
+                try {
+                    tache.run();
+                } finally {
+                    places.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            places.release();
+            throw e;
+        }
+    }
+
+    public int getPlacesLibres() {
+        return places.availablePermits();
+    }
+
+    /**
+     * Refuse les nouvelles tâches ; celles en cours se terminent normalement
+     */
+    @Override
+    public void close() {
+        delegue.close();
+    }
+}
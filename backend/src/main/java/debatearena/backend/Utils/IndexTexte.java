@@ -0,0 +1,266 @@
+package debatearena.backend.Utils;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé immuable pour la recherche plein texte en mémoire :
+ * normalisation sans accents, préfixes, tolérance aux fautes de frappe et classement par pertinence.
+ */
+public final class IndexTexte {
+
+    // Poids d'un terme de la requête selon la façon dont il correspond au document
+    private static final double POIDS_EXACT = 1.0;
+    private static final double POIDS_PREFIXE = 0.7;
+    private static final double POIDS_UNE_FAUTE = 0.4;
+    private static final double POIDS_DEUX_FAUTES = 0.25;
+    private static final double BONUS_TOUS_LES_TERMES = 0.5;
+
+    private static final int LONGUEUR_MIN_PREFIXE = 2;
+
+    private static final Pattern SEPARATEURS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITIQUES = Pattern.compile("\\p{M}+");
+
+    private static final Set<String> MOTS_VIDES = Set.of(
+            "a", "au", "aux", "c", "ce", "ces", "d", "dans", "de", "des", "du", "elle", "en", "est",
+            "et", "il", "j", "l", "la", "le", "les", "m", "n", "ne", "ou", "par", "pas", "pour",
+            "qu", "que", "qui", "s", "sa", "se", "son", "sur", "t", "un", "une", "y"
+    );
+
+    // Terme -> IDs des documents qui le contiennent (triés pour les préfixes)
+    private final NavigableMap<String, long[]> postings;
+    // ID -> nombre de termes du document (les documents courts passent devant à score égal)
+    private final Map<Long, Integer> longueurs;
+
+    public IndexTexte(Map<Long, String> documents) {
+        Map<String, Set<Long>> termes = new TreeMap<>();
+        Map<Long, Integer> tailles = new HashMap<>();
+
+        documents.forEach((id, texte) -> {
+            List<String> tokens = tokeniser(texte);
+            tailles.put(id, tokens.size());
+            for (String token : tokens) {
+                termes.computeIfAbsent(token, t -> new TreeSet<>()).add(id);
+            }
+        });
+
+        TreeMap<String, long[]> index = new TreeMap<>();
+        termes.forEach((terme, ids) -> index.put(terme, ids.stream().mapToLong(Long::longValue).toArray()));
+
+        this.postings = Collections.unmodifiableNavigableMap(index);
+        this.longueurs = Map.copyOf(tailles);
+    }
+
+    // ========== RECHERCHE ==========
+
+    /**
+     * IDs des documents correspondant à au moins un terme, du plus pertinent au moins pertinent
+     */
+    public List<Long> rechercher(String requete) {
+        List<String> termesRequete = termesRequete(requete);
+        if (termesRequete.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, double[]> scoresParTerme = new HashMap<>();
+        for (int i = 0; i < termesRequete.size(); i++) {
+            final int rang = i;
+            correspondances(termesRequete.get(i)).forEach((id, poids) -> {
+                double[] scores = scoresParTerme.computeIfAbsent(id, k -> new double[termesRequete.size()]);
+                scores[rang] = Math.max(scores[rang], poids);
+            });
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        scoresParTerme.forEach((id, parTerme) -> {
+            double total = 0;
+            boolean tousLesTermes = true;
+            for (double score : parTerme) {
+                total += score;
+                tousLesTermes &= score > 0;
+            }
+            scores.put(id, tousLesTermes ? total + BONUS_TOUS_LES_TERMES : total);
+        });
+
+        List<Long> ids = new ArrayList<>(scores.keySet());
+        ids.sort(Comparator.<Long>comparingDouble(scores::get).reversed()
+                .thenComparing(id -> longueurs.getOrDefault(id, 0))
+                .thenComparing(Comparator.naturalOrder()));
+        return ids;
+    }
+
+    /**
+     * Requête corrigée quand un terme est inconnu de l'index mais proche d'un terme connu
+     * (ex. "inteligence" -> "intelligence"). Liste vide si rien n'est à corriger.
+     */
+    public List<String> suggerer(String requete) {
+        List<String> termesRequete = termesRequete(requete);
+        List<String> corriges = new ArrayList<>(termesRequete.size());
+        boolean corrige = false;
+
+        for (String terme : termesRequete) {
+            if (postings.containsKey(terme) || aDesPrefixes(terme)) {
+                corriges.add(terme);
+                continue;
+            }
+
+            String meilleur = null;
+            int meilleureDistance = Integer.MAX_VALUE;
+            int meilleureFrequence = 0;
+            int distanceMax = Math.max(1, distanceMax(terme));
+
+            for (Map.Entry<String, long[]> entree : postings.entrySet()) {
+                int distance = distance(terme, entree.getKey(), distanceMax);
+                int frequence = entree.getValue().length;
+                if (distance <= distanceMax && (distance < meilleureDistance
+                        || (distance == meilleureDistance && frequence > meilleureFrequence))) {
+                    meilleur = entree.getKey();
+                    meilleureDistance = distance;
+                    meilleureFrequence = frequence;
+                }
+            }
+
+            corriges.add(meilleur != null ? meilleur : terme);
+            corrige |= meilleur != null;
+        }
+
+        return corrige ? List.of(String.join(" ", corriges)) : List.of();
+    }
+
+    // ========== NORMALISATION ==========
+
+    /**
+     * Découpe un texte en termes : minuscules, sans accents, sans mots vides, pluriel simple retiré
+     */
+    public static List<String> tokeniser(String texte) {
+        return tokeniser(texte, true);
+    }
+
+    private static List<String> tokeniser(String texte, boolean sansMotsVides) {
+        if (texte == null || texte.isBlank()) {
+            return List.of();
+        }
+
+        String normalise = Normalizer.normalize(texte.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        normalise = DIACRITIQUES.matcher(normalise).replaceAll("")
+                .replace("œ", "oe")
+                .replace("æ", "ae");
+
+        List<String> tokens = new ArrayList<>();
+        for (String mot : SEPARATEURS.split(normalise)) {
+            if (mot.isEmpty() || (sansMotsVides && MOTS_VIDES.contains(mot))) {
+                continue;
+            }
+            tokens.add(singulier(mot));
+        }
+        return tokens;
+    }
+
+    private static String singulier(String mot) {
+        if (mot.length() > 3 && (mot.endsWith("s") || mot.endsWith("x"))) {
+            return mot.substring(0, mot.length() - 1);
+        }
+        return mot;
+    }
+
+    /**
+     * Termes de la requête ; si elle ne contient que des mots vides, on les garde
+     */
+    private List<String> termesRequete(String requete) {
+        List<String> termes = tokeniser(requete, true);
+        if (termes.isEmpty()) {
+            termes = tokeniser(requete, false);
+        }
+        return termes.stream().distinct().toList();
+    }
+
+    // ========== CORRESPONDANCES ==========
+
+    /**
+     * Documents correspondant à un terme de la requête, avec le meilleur poids trouvé
+     */
+    private Map<Long, Double> correspondances(String terme) {
+        Map<Long, Double> resultat = new HashMap<>();
+
+        long[] exacts = postings.get(terme);
+        if (exacts != null) {
+            ajouter(resultat, exacts, POIDS_EXACT);
+        }
+
+        if (terme.length() >= LONGUEUR_MIN_PREFIXE) {
+            for (long[] ids : prefixes(terme).values()) {
+                ajouter(resultat, ids, POIDS_PREFIXE);
+            }
+        }
+
+        int distanceMax = distanceMax(terme);
+        if (distanceMax > 0) {
+            for (Map.Entry<String, long[]> entree : postings.entrySet()) {
+                int distance = distance(terme, entree.getKey(), distanceMax);
+                if (distance > 0 && distance <= distanceMax) {
+                    ajouter(resultat, entree.getValue(), distance == 1 ? POIDS_UNE_FAUTE : POIDS_DEUX_FAUTES);
+                }
+            }
+        }
+
+        return resultat;
+    }
+
+    private SortedMap<String, long[]> prefixes(String terme) {
+        // Termes strictement plus longs commençant par "terme"
+        return postings.subMap(terme, false, terme + Character.MAX_VALUE, false);
+    }
+
+    private boolean aDesPrefixes(String terme) {
+        return terme.length() >= LONGUEUR_MIN_PREFIXE && !prefixes(terme).isEmpty();
+    }
+
+    private static void ajouter(Map<Long, Double> resultat, long[] ids, double poids) {
+        for (long id : ids) {
+            resultat.merge(id, poids, Math::max);
+        }
+    }
+
+    /**
+     * Fautes tolérées selon la longueur du terme
+     */
+    private static int distanceMax(String terme) {
+        if (terme.length() >= 8) return 2;
+        if (terme.length() >= 4) return 1;
+        return 0;
+    }
+
+    /**
+     * Distance de Levenshtein, arrêtée dès qu'elle dépasse {@code max} (retourne alors max + 1)
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+
+        int[] precedente = new int[b.length() + 1];
+        int[] courante = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            precedente[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            courante[0] = i;
+            int minLigne = courante[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cout = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                courante[j] = Math.min(Math.min(courante[j - 1] + 1, precedente[j] + 1), precedente[j - 1] + cout);
+                minLigne = Math.min(minLigne, courante[j]);
+            }
+            if (minLigne > max) {
+                return max + 1;
+            }
+            int[] echange = precedente;
+            precedente = courante;
+            courante = echange;
+        }
+
+        return precedente[b.length()];
+    }
+}
@@ -0,0 +1,101 @@
+package debatearena.backend.Utils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache borné en mémoire : chaque entrée expire après une durée d'inactivité,
+ * et l'entrée la moins récemment utilisée est évincée quand la taille maximale est atteinte.
+ */
+public class TtlCache<K, V> {
+
+    private final int tailleMax;
+    private final Duration ttl;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entree<V>> entrees;
+
+    public TtlCache(int tailleMax, Duration ttl) {
+        this(tailleMax, ttl, Clock.systemUTC());
+    }
+
+    public TtlCache(int tailleMax, Duration ttl, Clock clock) {
+        this.tailleMax = Math.max(1, tailleMax);
+        this.ttl = ttl;
+        this.clock = clock;
+        // Ordre d'accès : l'entrée la plus ancienne est la moins récemment utilisée
+        this.entrees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entree<V>> eldest) {
+                return size() > TtlCache.this.tailleMax;
+            }
+        };
+    }
+
+    public synchronized V get(K cle) {
+        Entree<V> entree = entrees.get(cle);
+        if (entree == null) {
+            return null;
+        }
+
+        Instant maintenant = clock.instant();
+        if (entree.estExpiree(maintenant)) {
+            entrees.remove(cle);
+            return null;
+        }
+
+        entree.expiration = maintenant.plus(ttl);
+        return entree.valeur;
+    }
+
+    public synchronized void put(K cle, V valeur) {
+        entrees.put(cle, new Entree<>(valeur, clock.instant().plus(ttl)));
+    }
+
+    public synchronized V remove(K cle) {
+        Entree<V> entree = entrees.remove(cle);
+        return entree != null ? entree.valeur : null;
+    }
+
+    public synchronized void clear() {
+        entrees.clear();
+    }
+
+    public synchronized int size() {
+        return entrees.size();
+    }
+
+    /**
+     * Supprime les entrées expirées et retourne leur nombre.
+     */
+    public synchronized int purgerExpirees() {
+        Instant maintenant = clock.instant();
+        int supprimees = 0;
+
+        Iterator<Entree<V>> it = entrees.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().estExpiree(maintenant)) {
+                it.remove();
+                supprimees++;
+            }
+        }
+        return supprimees;
+    }
+
+    private static class Entree<V> {
+        private final V valeur;
+        private Instant expiration;
+
+        Entree(V valeur, Instant expiration) {
+            this.valeur = valeur;
+            this.expiration = expiration;
+        }
+
+        boolean estExpiree(Instant maintenant) {
+            return !maintenant.isBefore(expiration);
+        }
+    }
+}
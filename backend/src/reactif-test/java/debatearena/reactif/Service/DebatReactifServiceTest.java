@@ -0,0 +1,147 @@
+package debatearena.reactif.Service;
+
+import debatearena.backend.DTO.ChatbotResponse;
+import debatearena.backend.DTO.MessageRequest;
+import debatearena.backend.Exceptions.BadRequestException;
+import debatearena.backend.Exceptions.ChatbotServiceException;
+import debatearena.backend.Exceptions.NotFoundException;
+import debatearena.reactif.Client.ChatbotClientReactif;
+import debatearena.reactif.Client.ChatbotSatureException;
+import debatearena.reactif.Repository.DebatLigne;
+import debatearena.reactif.Repository.DebatReactifRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DebatReactifServiceTest {
+
+    @Mock private DebatReactifRepository debatRepository;
+    @Mock private ChatbotClientReactif chatbotClient;
+    @Mock private TransactionalOperator transactionalOperator;
+
+    @InjectMocks
+    private DebatReactifService debatService;
+
+    private DebatLigne debatEnCours;
+
+    @BeforeEach
+    void setUp() {
+        debatEnCours = new DebatLigne(100L, LocalDateTime.now().minusMinutes(5), null, "POUR", "session-1",
+                10L, "Java vs Python", "INFORMATIQUE", "DEBUTANT", false, null);
+
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(debatRepository.findChatbotId()).thenReturn(Mono.just(999L));
+        lenient().when(debatRepository.insererMessage(any(), any(), eq(100L), eq(1L))).thenReturn(Mono.just(501L));
+        lenient().when(debatRepository.insererReponse(any(), any(), eq(100L), eq(999L), eq(501L))).thenReturn(Mono.just(502L));
+    }
+
+    // ==========================================
+    // TESTS : Envoyer Message
+    // ==========================================
+
+    @Test
+    void envoyerMessage_ShouldSaveBothMessages_AndReturnChatbotReply() {
+        when(debatRepository.findByIdAndUtilisateur(100L, 1L)).thenReturn(Mono.just(debatEnCours));
+        when(chatbotClient.envoyer(contains("Java vs Python"), eq("session-1")))
+                .thenReturn(Mono.just(new ChatbotResponse("Ma contre-attaque", "session-1")));
+
+        StepVerifier.create(debatService.envoyerMessage(1L, 100L, new MessageRequest("Mon argument")))
+                .assertNext(response -> {
+                    assertThat(response.getId()).isEqualTo(502L);
+                    assertThat(response.getContenu()).isEqualTo("Ma contre-attaque");
+                    assertThat(response.getAuteur()).isEqualTo("CHATBOT");
+                })
+                .verifyComplete();
+
+        verify(debatRepository).insererMessage(eq("Mon argument"), any(), eq(100L), eq(1L));
+        verify(debatRepository).insererReponse(eq("Ma contre-attaque"), any(), eq(100L), eq(999L), eq(501L));
+        // Session inchangée : pas de mise à jour du débat
+        verify(debatRepository, never()).updateChatbotSessionId(any(), any());
+    }
+
+    @Test
+    void envoyerMessage_ShouldStoreNewSession() {
+        when(debatRepository.findByIdAndUtilisateur(100L, 1L)).thenReturn(Mono.just(debatEnCours));
+        when(chatbotClient.envoyer(any(), any())).thenReturn(Mono.just(new ChatbotResponse("Réponse", "session-2")));
+        when(debatRepository.updateChatbotSessionId(100L, "session-2")).thenReturn(Mono.empty());
+
+        StepVerifier.create(debatService.envoyerMessage(1L, 100L, new MessageRequest("Mon argument")))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(debatRepository).updateChatbotSessionId(100L, "session-2");
+    }
+
+    @Test
+    void envoyerMessage_ShouldReturnFallback_WhenChatbotFailsOrIsSaturated() {
+        when(debatRepository.findByIdAndUtilisateur(100L, 1L)).thenReturn(Mono.just(debatEnCours));
+        when(chatbotClient.envoyer(any(), any()))
+                .thenReturn(Mono.error(new ChatbotServiceException("timeout")))
+                .thenReturn(Mono.error(new ChatbotSatureException("file pleine", null)));
+
+        StepVerifier.create(debatService.envoyerMessage(1L, 100L, new MessageRequest("Premier")))
+                .assertNext(response -> assertThat(response.getContenu()).isEqualTo(DebatReactifService.REPONSE_INDISPONIBLE))
+                .verifyComplete();
+        StepVerifier.create(debatService.envoyerMessage(1L, 100L, new MessageRequest("Second")))
+                .assertNext(response -> assertThat(response.getContenu()).isEqualTo(DebatReactifService.REPONSE_SURCHARGE))
+                .verifyComplete();
+    }
+
+    @Test
+    void envoyerMessage_ShouldFail_WhenDebatFinishedOrUnknown() {
+        DebatLigne termine = new DebatLigne(100L, LocalDateTime.now().minusMinutes(5), 300, "POUR", null,
+                10L, "Java vs Python", "INFORMATIQUE", "DEBUTANT", false, null);
+        when(debatRepository.findByIdAndUtilisateur(100L, 1L)).thenReturn(Mono.just(termine));
+        when(debatRepository.findByIdAndUtilisateur(200L, 1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(debatService.envoyerMessage(1L, 100L, new MessageRequest("Test")))
+                .verifyError(BadRequestException.class);
+        StepVerifier.create(debatService.envoyerMessage(1L, 200L, new MessageRequest("Test")))
+                .verifyError(NotFoundException.class);
+
+        verifyNoInteractions(chatbotClient);
+    }
+
+    @Test
+    void envoyerMessage_ShouldRejectEmptyMessage() {
+        StepVerifier.create(debatService.envoyerMessage(1L, 100L, new MessageRequest("  ")))
+                .verifyError(BadRequestException.class);
+
+        verifyNoInteractions(debatRepository, chatbotClient);
+    }
+
+    // ==========================================
+    // TESTS : Récupérer Débat
+    // ==========================================
+
+    @Test
+    void getDebat_ShouldExposeNote_OnlyForFinishedTest() {
+        DebatLigne testTermine = new DebatLigne(100L, LocalDateTime.now().minusMinutes(10), 600, "CONTRE", null,
+                10L, "Java vs Python", "INFORMATIQUE", "DEBUTANT", true, 15);
+        when(debatRepository.findByIdAndUtilisateur(100L, 1L)).thenReturn(Mono.just(testTermine));
+
+        StepVerifier.create(debatService.getDebat(1L, 100L))
+                .assertNext(response -> {
+                    assertThat(response.getType()).isEqualTo("TEST");
+                    assertThat(response.getStatus()).isEqualTo("TERMINE");
+                    assertThat(response.getNote()).isEqualTo(15);
+                    assertThat(response.getSujet().getCategorie()).isEqualTo("INFORMATIQUE");
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,50 @@
+package debatearena.reactif.Client;
+
+import debatearena.backend.DTO.ChatbotRequest;
+import debatearena.backend.DTO.ChatbotResponse;
+import debatearena.backend.Exceptions.ChatbotServiceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+
+import java.time.Duration;
+
+/**
+ * Version non bloquante de ChatbotClient.sendMessage : même contrat HTTP (/chat, mode "train"),
+ * aucune thread n'est retenue pendant l'attente de la réponse.
+ */
+@Component
+public class ChatbotClientReactif {
+
+    private final WebClient chatbotWebClient;
+    private final Duration chatTimeout;
+
+    public ChatbotClientReactif(WebClient chatbotWebClient,
+                                @Value("${app.reactif.chatbot.chat-timeout-ms:30000}") long chatTimeoutMs) {
+        this.chatbotWebClient = chatbotWebClient;
+        this.chatTimeout = Duration.ofMillis(chatTimeoutMs);
+    }
+
+    public Mono<ChatbotResponse> envoyer(String message, String sessionId) {
+        ChatbotRequest request = new ChatbotRequest();
+        request.setMessage(message);
+        request.setSession_id(sessionId);
+        request.setMode("train");
+
+        return chatbotWebClient.post()
+                .uri("/chat")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(ChatbotResponse.class)
+                .timeout(chatTimeout)
+                .switchIfEmpty(Mono.error(() -> new ChatbotServiceException("Réponse vide du chatbot")))
+                .onErrorMap(PoolAcquirePendingLimitException.class,
+                        e -> new ChatbotSatureException("Trop d'appels au chatbot en attente", e))
+                .onErrorMap(e -> !(e instanceof ChatbotServiceException),
+                        e -> new ChatbotServiceException("Erreur lors de l'appel au chatbot: " + e.getMessage(), e));
+    }
+}
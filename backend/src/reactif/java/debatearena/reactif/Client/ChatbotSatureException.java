@@ -0,0 +1,12 @@
+package debatearena.reactif.Client;
+
+import debatearena.backend.Exceptions.ChatbotServiceException;
+
+/**
+ * Trop d'appels au chatbot déjà en attente d'une connexion
+ */
+public class ChatbotSatureException extends ChatbotServiceException {
+    public ChatbotSatureException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,68 @@
+package debatearena.reactif.Config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Serveur Netty et client du chatbot sur les mêmes boucles d'événements : un petit nombre de threads
+ * porte toutes les requêtes en cours, y compris celles qui attendent le chatbot.
+ */
+@Configuration
+public class ReactifConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources bouclesReactif(@Value("${app.reactif.threads-boucle:4}") int threads) {
+        return LoopResources.create("reactif", Math.max(1, threads), true);
+    }
+
+    /**
+     * Netty explicitement : Tomcat est aussi sur le classpath (dépendances de l'application servlet)
+     */
+    @Bean
+    public NettyReactiveWebServerFactory serveurReactif(LoopResources bouclesReactif) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.addServerCustomizers(serveur -> serveur.runOn(bouclesReactif));
+        return factory;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider chatbotConnexionsReactif(
+            @Value("${app.reactif.chatbot.max-connexions:2000}") int maxConnexions,
+            @Value("${app.reactif.chatbot.attentes-max:20000}") int attentesMax,
+            @Value("${app.reactif.chatbot.inactivite-max-secondes:30}") long inactiviteMaxSecondes) {
+        return ConnectionProvider.builder("chatbot")
+                .maxConnections(maxConnexions)
+                // File d'attente bornée : au-delà, l'acquisition échoue tout de suite au lieu d'accumuler
+                .pendingAcquireMaxCount(attentesMax)
+                .maxIdleTime(Duration.ofSeconds(inactiviteMaxSecondes))
+                .evictInBackground(Duration.ofSeconds(inactiviteMaxSecondes))
+                .build();
+    }
+
+    @Bean
+    public WebClient chatbotWebClient(ConnectionProvider chatbotConnexionsReactif,
+                                      LoopResources bouclesReactif,
+                                      @Value("${app.chatbot.base-url:http://chatbot:5005}") String baseUrl,
+                                      @Value("${app.reactif.chatbot.connect-timeout-ms:2000}") int connectTimeoutMs) {
+        HttpClient httpClient = HttpClient.create(chatbotConnexionsReactif)
+                .runOn(bouclesReactif)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .keepAlive(true);
+
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
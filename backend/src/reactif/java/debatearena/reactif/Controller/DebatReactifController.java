@@ -0,0 +1,48 @@
+package debatearena.reactif.Controller;
+
+import debatearena.backend.DTO.DebatResponse;
+import debatearena.backend.DTO.MessageRequest;
+import debatearena.backend.DTO.MessageResponse;
+import debatearena.reactif.Security.UtilisateurReactif;
+import debatearena.reactif.Service.DebatReactifService;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Endpoints de conversation des débats, mêmes chemins et mêmes DTO que DebatController.
+ * La création, la fin et l'évaluation des débats restent servies par l'application servlet.
+ */
+@RestController
+@RequestMapping("/api/debats")
+public class DebatReactifController {
+
+    private final DebatReactifService debatService;
+
+    public DebatReactifController(DebatReactifService debatService) {
+        this.debatService = debatService;
+    }
+
+    /**
+     * Envoie un message et retourne la réponse du chatbot
+     */
+    @PostMapping("/{debatId}/messages")
+    public Mono<MessageResponse> envoyerMessage(@AuthenticationPrincipal UtilisateurReactif utilisateur,
+                                                @PathVariable Long debatId,
+                                                @RequestBody MessageRequest request) {
+        return debatService.envoyerMessage(utilisateur.getId(), debatId, request);
+    }
+
+    @GetMapping("/{debatId}/messages")
+    public Flux<MessageResponse> getMessagesDebat(@AuthenticationPrincipal UtilisateurReactif utilisateur,
+                                                  @PathVariable Long debatId) {
+        return debatService.getMessagesDebat(utilisateur.getId(), debatId);
+    }
+
+    @GetMapping("/{debatId}")
+    public Mono<DebatResponse> getDebat(@AuthenticationPrincipal UtilisateurReactif utilisateur,
+                                        @PathVariable Long debatId) {
+        return debatService.getDebat(utilisateur.getId(), debatId);
+    }
+}
@@ -0,0 +1,38 @@
+package debatearena.reactif;
+
+import debatearena.backend.Security.JwtUtil;
+import debatearena.backend.Security.RevocationJetons;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Application réactive de conversation des débats (build -Preactif).
+ * Sert les endpoints de messages sur WebFlux, appelle le chatbot avec WebClient et persiste
+ * via R2DBC, sur quelques threads de boucle d'événements partagés par le serveur et le client.
+ * Réutilise les DTO et la vérification des JWT de l'application servlet, sans scanner ses beans.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class
+})
+@EnableScheduling
+@Import({JwtUtil.class, RevocationJetons.class})
+public class DebatReactifApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(DebatReactifApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                // reactif.properties plutôt que la configuration JDBC/JPA de l'application servlet
+                .properties("spring.config.name=reactif")
+                .run(args);
+    }
+}
@@ -0,0 +1,49 @@
+package debatearena.reactif.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Débat lu en une requête avec son sujet et son éventuel test
+ */
+public class DebatLigne {
+
+    private final Long id;
+    private final LocalDateTime dateDebut;
+    private final Integer duree;
+    private final String choixUtilisateur;
+    private final String chatbotSessionId;
+    private final Long sujetId;
+    private final String sujetTitre;
+    private final String sujetCategorie;
+    private final String sujetDifficulte;
+    private final boolean test;
+    private final Integer note;
+
+    public DebatLigne(Long id, LocalDateTime dateDebut, Integer duree, String choixUtilisateur, String chatbotSessionId,
+                      Long sujetId, String sujetTitre, String sujetCategorie, String sujetDifficulte,
+                      boolean test, Integer note) {
+        this.id = id;
+        this.dateDebut = dateDebut;
+        this.duree = duree;
+        this.choixUtilisateur = choixUtilisateur;
+        this.chatbotSessionId = chatbotSessionId;
+        this.sujetId = sujetId;
+        this.sujetTitre = sujetTitre;
+        this.sujetCategorie = sujetCategorie;
+        this.sujetDifficulte = sujetDifficulte;
+        this.test = test;
+        this.note = note;
+    }
+
+    public Long getId() { return id; }
+    public LocalDateTime getDateDebut() { return dateDebut; }
+    public Integer getDuree() { return duree; }
+    public String getChoixUtilisateur() { return choixUtilisateur; }
+    public String getChatbotSessionId() { return chatbotSessionId; }
+    public Long getSujetId() { return sujetId; }
+    public String getSujetTitre() { return sujetTitre; }
+    public String getSujetCategorie() { return sujetCategorie; }
+    public String getSujetDifficulte() { return sujetDifficulte; }
+    public boolean isTest() { return test; }
+    public Integer getNote() { return note; }
+}
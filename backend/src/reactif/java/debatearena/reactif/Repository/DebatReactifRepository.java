@@ -0,0 +1,140 @@
+package debatearena.reactif.Repository;
+
+import debatearena.backend.DTO.MessageResponse;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Accès R2DBC aux tables debat et message, en SQL explicite (les entités JPA
+ * restent propres à l'application servlet).
+ */
+@Repository
+public class DebatReactifRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public DebatReactifRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // ========== DÉBATS ==========
+
+    public Mono<DebatLigne> findByIdAndUtilisateur(Long debatId, Long userId) {
+        return databaseClient.sql("""
+                        SELECT d.id, d.date_debut, d.duree, d.choix_utilisateur, d.chatbot_session_id,
+                               s.id AS sujet_id, s.titre AS sujet_titre,
+                               s.categorie::text AS sujet_categorie, s.difficulte::text AS sujet_difficulte,
+                               t.id AS test_id, t.note
+                        FROM debat d
+                        JOIN sujet s ON s.id = d.id_sujet
+                        LEFT JOIN test t ON t.id_debat = d.id
+                        WHERE d.id = :debatId AND d.id_utilisateur = :userId
+                        """)
+                .bind("debatId", debatId)
+                .bind("userId", userId)
+                .map((row, metadata) -> new DebatLigne(
+                        row.get("id", Long.class),
+                        row.get("date_debut", LocalDateTime.class),
+                        row.get("duree", Integer.class),
+                        row.get("choix_utilisateur", String.class),
+                        row.get("chatbot_session_id", String.class),
+                        row.get("sujet_id", Long.class),
+                        row.get("sujet_titre", String.class),
+                        row.get("sujet_categorie", String.class),
+                        row.get("sujet_difficulte", String.class),
+                        row.get("test_id", Long.class) != null,
+                        row.get("note", Integer.class)
+                ))
+                .one();
+    }
+
+    public Mono<Void> updateChatbotSessionId(Long debatId, String sessionId) {
+        return databaseClient.sql("UPDATE debat SET chatbot_session_id = :sessionId WHERE id = :debatId")
+                .bind("sessionId", sessionId)
+                .bind("debatId", debatId)
+                .then();
+    }
+
+    // ========== MESSAGES ==========
+
+    public Flux<MessageResponse> findMessagesByDebat(Long debatId) {
+        return databaseClient.sql("""
+                        SELECT m.id, m.contenu, m.timestamp, u.role::text AS role
+                        FROM message m
+                        JOIN utilisateur u ON u.id = m.id_utilisateur
+                        WHERE m.id_debat = :debatId
+                        ORDER BY m.timestamp, m.id
+                        """)
+                .bind("debatId", debatId)
+                .map((row, metadata) -> convertirMessage(row))
+                .all();
+    }
+
+    /**
+     * Insère un message et retourne son ID. L'ID vient de la valeur par défaut de la colonne
+     * (nextval de message_id_seq), comme pour l'application servlet : les deux piles partagent
+     * la même suite d'IDs, croissante dans l'ordre d'insertion.
+     */
+    public Mono<Long> insererMessage(String contenu, LocalDateTime timestamp, Long debatId, Long userId) {
+        return databaseClient.sql("""
+                        INSERT INTO message (contenu, timestamp, id_debat, id_utilisateur)
+                        VALUES (:contenu, :timestamp, :debatId, :userId)
+                        RETURNING id
+                        """)
+                .bind("contenu", contenu)
+                .bind("timestamp", timestamp)
+                .bind("debatId", debatId)
+                .bind("userId", userId)
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one();
+    }
+
+    /**
+     * Insère la réponse du chatbot au message idMessageSource et retourne son ID
+     */
+    public Mono<Long> insererReponse(String contenu, LocalDateTime timestamp, Long debatId, Long chatbotId,
+                                     Long idMessageSource) {
+        return databaseClient.sql("""
+                        INSERT INTO message (contenu, timestamp, id_debat, id_utilisateur, id_message_source)
+                        VALUES (:contenu, :timestamp, :debatId, :userId, :source)
+                        RETURNING id
+                        """)
+                .bind("contenu", contenu)
+                .bind("timestamp", timestamp)
+                .bind("debatId", debatId)
+                .bind("userId", chatbotId)
+                .bind("source", idMessageSource)
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one();
+    }
+
+    // ========== UTILISATEURS ==========
+
+    public Mono<Long> findUtilisateurIdByEmail(String email) {
+        return databaseClient.sql("SELECT id FROM utilisateur WHERE email = :email")
+                .bind("email", email)
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one();
+    }
+
+    public Mono<Long> findChatbotId() {
+        return databaseClient.sql("SELECT id FROM utilisateur WHERE role = 'CHATBOT' ORDER BY id LIMIT 1")
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one();
+    }
+
+    private MessageResponse convertirMessage(Row row) {
+        String role = row.get("role", String.class);
+        return new MessageResponse(
+                row.get("id", Long.class),
+                row.get("contenu", String.class),
+                "CHATBOT".equals(role) ? "CHATBOT" : "UTILISATEUR",
+                row.get("timestamp", LocalDateTime.class)
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package debatearena.reactif.Security;
+
+import debatearena.backend.Security.JetonVerifie;
+import debatearena.backend.Security.JwtUtil;
+import debatearena.reactif.Repository.DebatReactifRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Authentification par JWT (mêmes jetons que l'application servlet). L'ID utilisateur vient
+ * de la claim "uid" ; seuls les jetons plus anciens, sans cette claim, coûtent une lecture en base.
+ */
+@Component
+public class AuthentificationJwtReactif implements ReactiveAuthenticationManager {
+
+    private static final String PREFIXE = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final DebatReactifRepository debatRepository;
+
+    public AuthentificationJwtReactif(JwtUtil jwtUtil, DebatReactifRepository debatRepository) {
+        this.jwtUtil = jwtUtil;
+        this.debatRepository = debatRepository;
+    }
+
+    /**
+     * Jeton brut de l'en-tête Authorization (vide sans en-tête Bearer)
+     */
+    public Mono<Authentication> extraireJeton(ServerWebExchange exchange) {
+        String entete = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (entete == null || !entete.startsWith(PREFIXE)) {
+            return Mono.empty();
+        }
+        String jeton = entete.substring(PREFIXE.length());
+        return Mono.just(new UsernamePasswordAuthenticationToken(jeton, jeton));
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String jeton = (String) authentication.getCredentials();
+        JetonVerifie verifie = jwtUtil.verifier(jeton);
+        if (verifie == null) {
+            return Mono.error(new BadCredentialsException("Jeton invalide"));
+        }
+
+        Mono<Long> userId = verifie.getUserId() != null
+                ? Mono.just(verifie.getUserId())
+                : debatRepository.findUtilisateurIdByEmail(verifie.getEmail());
+
+        return userId
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Utilisateur inconnu")))
+                .map(id -> UsernamePasswordAuthenticationToken.authenticated(
+                        new UtilisateurReactif(id, verifie.getEmail()),
+                        jeton,
+                        List.of(new SimpleGrantedAuthority(verifie.getRole()))
+                ));
+    }
+}
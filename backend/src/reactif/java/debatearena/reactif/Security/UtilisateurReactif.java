@@ -0,0 +1,18 @@
+package debatearena.reactif.Security;
+
+/**
+ * Utilisateur authentifié par son JWT, sans chargement de l'entité
+ */
+public class UtilisateurReactif {
+
+    private final Long id;
+    private final String email;
+
+    public UtilisateurReactif(Long id, String email) {
+        this.id = id;
+        this.email = email;
+    }
+
+    public Long getId() { return id; }
+    public String getEmail() { return email; }
+}
@@ -0,0 +1,164 @@
+package debatearena.reactif.Service;
+
+import debatearena.backend.DTO.ChatbotResponse;
+import debatearena.backend.DTO.DebatResponse;
+import debatearena.backend.DTO.MessageRequest;
+import debatearena.backend.DTO.MessageResponse;
+import debatearena.backend.DTO.SujetResponse;
+import debatearena.backend.Exceptions.BadRequestException;
+import debatearena.backend.Exceptions.ChatbotServiceException;
+import debatearena.backend.Exceptions.NotFoundException;
+import debatearena.backend.Utils.ContexteDebat;
+import debatearena.reactif.Client.ChatbotClientReactif;
+import debatearena.reactif.Client.ChatbotSatureException;
+import debatearena.reactif.Repository.DebatLigne;
+import debatearena.reactif.Repository.DebatReactifRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Conversation d'un débat, de bout en bout non bloquante : lecture du débat, appel au chatbot,
+ * puis enregistrement des deux messages du tour dans une courte transaction R2DBC.
+ * Mêmes règles et mêmes réponses que DebatService côté servlet.
+ */
+@Service
+public class DebatReactifService {
+
+    static final String REPONSE_INDISPONIBLE = "Je suis actuellement indisponible. Veuillez réessayer plus tard.";
+    static final String REPONSE_SURCHARGE = "Je reçois trop de messages en ce moment. Veuillez réessayer dans quelques instants.";
+
+    private final DebatReactifRepository debatRepository;
+    private final ChatbotClientReactif chatbotClient;
+    private final TransactionalOperator transactionalOperator;
+
+    // L'utilisateur CHATBOT ne change pas : lu une fois
+    private final AtomicReference<Long> chatbotId = new AtomicReference<>();
+
+    public DebatReactifService(DebatReactifRepository debatRepository,
+                               ChatbotClientReactif chatbotClient,
+                               TransactionalOperator transactionalOperator) {
+        this.debatRepository = debatRepository;
+        this.chatbotClient = chatbotClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    // ========== ENVOYER MESSAGE ==========
+
+    public Mono<MessageResponse> envoyerMessage(Long userId, Long debatId, MessageRequest request) {
+        // Validation
+        if (request.getContenu() == null || request.getContenu().trim().isEmpty()) {
+            return Mono.error(new BadRequestException("Message vide"));
+        }
+
+        return getDebatEnCours(userId, debatId).flatMap(debat -> {
+            LocalDateTime envoi = LocalDateTime.now();
+            String messageAvecContexte = ContexteDebat.construire(
+                    request.getContenu(),
+                    debat.getSujetTitre(),
+                    debat.getChoixUtilisateur(),
+                    debat.isTest(),
+                    debat.getSujetDifficulte()
+            );
+
+            return appelerChatbot(messageAvecContexte, debat.getChatbotSessionId())
+                    .flatMap(reponse -> enregistrerTour(debat, userId, request.getContenu(), envoi, reponse));
+        });
+    }
+
+    private Mono<DebatLigne> getDebatEnCours(Long userId, Long debatId) {
+        return getDebatLigne(userId, debatId).flatMap(debat -> debat.getDuree() != null
+                ? Mono.error(new BadRequestException("Débat déjà terminé"))
+                : Mono.just(debat));
+    }
+
+    /**
+     * Réponse du chatbot, ou message de repli s'il est saturé ou indisponible
+     */
+    private Mono<ChatbotResponse> appelerChatbot(String messageAvecContexte, String sessionId) {
+        return chatbotClient.envoyer(messageAvecContexte, sessionId)
+                .onErrorResume(ChatbotSatureException.class,
+                        e -> Mono.just(new ChatbotResponse(REPONSE_SURCHARGE, null)))
+                .onErrorResume(ChatbotServiceException.class,
+                        e -> Mono.just(new ChatbotResponse(REPONSE_INDISPONIBLE, null)));
+    }
+
+    private Mono<MessageResponse> enregistrerTour(DebatLigne debat, Long userId, String contenu,
+                                                  LocalDateTime envoi, ChatbotResponse reponse) {
+        return getChatbotId().flatMap(chatbot -> {
+            LocalDateTime horodatageReponse = LocalDateTime.now();
+
+            Mono<Void> session = reponse.getSession_id() != null
+                    && !reponse.getSession_id().equals(debat.getChatbotSessionId())
+                    ? debatRepository.updateChatbotSessionId(debat.getId(), reponse.getSession_id())
+                    : Mono.empty();
+
+            Mono<MessageResponse> tour = debatRepository.insererMessage(contenu, envoi, debat.getId(), userId)
+                    .flatMap(source -> debatRepository.insererReponse(
+                            reponse.getResponse(), horodatageReponse, debat.getId(), chatbot, source))
+                    .flatMap(id -> session.thenReturn(
+                            new MessageResponse(id, reponse.getResponse(), "CHATBOT", horodatageReponse)));
+
+            return transactionalOperator.transactional(tour);
+        });
+    }
+
+    // ========== LECTURE ==========
+
+    public Flux<MessageResponse> getMessagesDebat(Long userId, Long debatId) {
+        return getDebatLigne(userId, debatId)
+                .thenMany(debatRepository.findMessagesByDebat(debatId));
+    }
+
+    public Mono<DebatResponse> getDebat(Long userId, Long debatId) {
+        return getDebatLigne(userId, debatId).map(this::convertirDebatEnResponse);
+    }
+
+    // ========== MÉTHODES UTILITAIRES PRIVÉES ==========
+
+    private Mono<DebatLigne> getDebatLigne(Long userId, Long debatId) {
+        return debatRepository.findByIdAndUtilisateur(debatId, userId)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Débat non trouvé")));
+    }
+
+    private Mono<Long> getChatbotId() {
+        Long connu = chatbotId.get();
+        if (connu != null) {
+            return Mono.just(connu);
+        }
+        return debatRepository.findChatbotId()
+                .doOnNext(chatbotId::set)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Utilisateur CHATBOT non trouvé")));
+    }
+
+    private DebatResponse convertirDebatEnResponse(DebatLigne debat) {
+        String type = debat.isTest() ? "TEST" : "ENTRAINEMENT";
+
+        // Même règle que DebatService : note seulement pour un TEST terminé
+        Integer note = (debat.isTest() && debat.getDuree() != null) ? debat.getNote() : null;
+
+        SujetResponse sujetResponse = new SujetResponse(
+                debat.getSujetId(),
+                debat.getSujetTitre(),
+                debat.getSujetCategorie(),
+                debat.getSujetDifficulte(),
+                true  // accessible par défaut
+        );
+
+        DebatResponse response = new DebatResponse();
+        response.setId(debat.getId());
+        response.setSujet(sujetResponse);
+        response.setType(type);
+        response.setStatus(debat.getDuree() == null ? "EN_COURS" : "TERMINE");
+        response.setChoixUtilisateur(debat.getChoixUtilisateur());
+        response.setDateDebut(debat.getDateDebut());
+        response.setDuree(debat.getDuree());
+        response.setNote(note);
+
+        return response;
+    }
+}
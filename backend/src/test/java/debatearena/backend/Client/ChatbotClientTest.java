@@ -4,6 +4,9 @@ import debatearena.backend.DTO.ChatbotHealthResponse;
 import debatearena.backend.DTO.ChatbotRequest;
 import debatearena.backend.DTO.ChatbotResponse;
 import debatearena.backend.Exceptions.ChatbotServiceException;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,12 +15,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -35,20 +45,28 @@ class ChatbotClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private CloseableHttpClient httpClient;
+
+    @Mock
+    private PoolingHttpClientConnectionManager connectionManager;
+
     private ChatbotClient chatbotClient;
     private final String BASE_URL = "http://localhost:5005";
 
     @BeforeEach
     void setUp() {
         // Configuration du Mock du Builder
-        // Le constructeur de ChatbotClient chaîne les méthodes (.setTimeout...),
+        // Le constructeur de ChatbotClient chaîne les méthodes (.requestFactory...),
         // il faut donc que le mock se retourne lui-même.
-        when(restTemplateBuilder.setConnectTimeout(any(Duration.class))).thenReturn(restTemplateBuilder);
-        when(restTemplateBuilder.setReadTimeout(any(Duration.class))).thenReturn(restTemplateBuilder);
+        // Les RestTemplate /chat et /health sont tous deux le même mock.
+        when(restTemplateBuilder.requestFactory(any(Supplier.class))).thenReturn(restTemplateBuilder);
         when(restTemplateBuilder.build()).thenReturn(restTemplate);
 
         // Initialisation manuelle du client avec les mocks
-        chatbotClient = new ChatbotClient(restTemplateBuilder, BASE_URL);
+        chatbotClient = new ChatbotClient(
+                restTemplateBuilder, httpClient, connectionManager, BASE_URL, 30000, 2000, 2000, false, 25000
+        );
     }
 
     // ==========================================
@@ -166,6 +184,81 @@ class ChatbotClientTest {
         assertThat(ex.getMessage()).contains("Réponse vide du chatbot");
     }
 
+    // ==========================================
+    // TESTS : streamMessage
+    // ==========================================
+
+    @Test
+    void streamMessage_ShouldRelayChunksAndReturnFullResponse() {
+        // ARRANGE
+        MockClientHttpResponse clientResponse = new MockClientHttpResponse(
+                "Une réponse en flux".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        clientResponse.getHeaders().add("X-Session-Id", "session-123");
+
+        when(restTemplate.execute(eq(BASE_URL + "/chat/stream"), eq(HttpMethod.POST), any(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<ChatbotResponse> extractor = invocation.getArgument(3);
+                    return extractor.extractData(clientResponse);
+                });
+        List<String> fragments = new ArrayList<>();
+
+        // ACT
+        ChatbotResponse result = chatbotClient.streamMessage("Bonjour", null, fragments::add);
+
+        // ASSERT
+        assertThat(result.getResponse()).isEqualTo("Une réponse en flux");
+        assertThat(result.getSession_id()).isEqualTo("session-123");
+        assertThat(String.join("", fragments)).isEqualTo("Une réponse en flux");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamMessage_ShouldSendRequestedMode() {
+        // ARRANGE
+        when(restTemplate.execute(eq(BASE_URL + "/chat/stream"), eq(HttpMethod.POST), any(), any(ResponseExtractor.class)))
+                .thenReturn(new ChatbotResponse("Rapport", "session-123"));
+
+        // ACT
+        chatbotClient.streamMessage("fin du débat", "session-123", "score", fragment -> { });
+
+        // ASSERT : même mode que sendMessage
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(restTemplate).httpEntityCallback(captor.capture());
+        ChatbotRequest request = ((HttpEntity<ChatbotRequest>) captor.getValue()).getBody();
+        assertThat(request.getMode()).isEqualTo("score");
+        assertThat(request.getSession_id()).isEqualTo("session-123");
+    }
+
+    @Test
+    void streamMessage_ShouldThrowException_WhenApiFails() {
+        // ARRANGE
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any(ResponseExtractor.class)))
+                .thenThrow(new RestClientException("Connexion refusée"));
+
+        // ACT & ASSERT
+        assertThrows(ChatbotServiceException.class,
+                () -> chatbotClient.streamMessage("Bonjour", null, fragment -> { }));
+    }
+
+    // ==========================================
+    // TESTS : getStatistiquesPool
+    // ==========================================
+
+    @Test
+    void getStatistiquesPool_ShouldExposeConnectionManagerTotals() {
+        // ARRANGE
+        when(connectionManager.getTotalStats()).thenReturn(new PoolStats(3, 1, 7, 50));
+
+        // ACT
+        Map<String, Object> pool = chatbotClient.getStatistiquesPool();
+
+        // ASSERT
+        assertThat(pool).containsEntry("max", 50)
+                .containsEntry("leased", 3)
+                .containsEntry("pending", 1)
+                .containsEntry("available", 7);
+    }
+
     // ==========================================
     // TESTS : clearSession
     // ==========================================
@@ -176,7 +269,7 @@ class ChatbotClientTest {
         chatbotClient.clearSession("session-123");
 
         // ASSERT
-        verify(restTemplate).delete(BASE_URL + "/chat/session-123");
+        verify(restTemplate).delete(BASE_URL + "/session/session-123");
     }
 
     @Test
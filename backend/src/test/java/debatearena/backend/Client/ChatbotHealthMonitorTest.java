@@ -0,0 +1,87 @@
+package debatearena.backend.Client;
+
+import debatearena.backend.DTO.ChatbotResponse;
+import debatearena.backend.Exceptions.ChatbotServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatbotHealthMonitorTest {
+
+    @Mock
+    private ChatbotClient chatbotClient;
+
+    private ChatbotHealthMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new ChatbotHealthMonitor(chatbotClient, 2, 30);
+    }
+
+    @Test
+    void rafraichir_ShouldCacheProbeResult() {
+        // ARRANGE
+        when(chatbotClient.isHealthy()).thenReturn(false);
+
+        // ACT
+        monitor.rafraichir();
+
+        // ASSERT
+        assertThat(monitor.isDisponible()).isFalse();
+        assertThat(monitor.getDerniereVerification()).isNotNull();
+        // La lecture de l'état ne déclenche pas de nouvelle sonde
+        verify(chatbotClient, times(1)).isHealthy();
+    }
+
+    @Test
+    void executer_ShouldNotCallChatbot_WhenProbeFailed() {
+        // ARRANGE
+        when(chatbotClient.isHealthy()).thenReturn(false);
+        monitor.rafraichir();
+
+        // ACT & ASSERT
+        assertThrows(ChatbotServiceException.class,
+                () -> monitor.executer(() -> chatbotClient.sendMessage("Bonjour", null)));
+        verify(chatbotClient, never()).sendMessage(any(), any());
+    }
+
+    @Test
+    void executer_ShouldOpenCircuit_AfterRepeatedFailures() {
+        // ARRANGE
+        when(chatbotClient.sendMessage(any(), any())).thenThrow(new ChatbotServiceException("timeout"));
+
+        // ACT
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ChatbotServiceException.class,
+                    () -> monitor.executer(() -> chatbotClient.sendMessage("Bonjour", null)));
+        }
+
+        // ASSERT
+        assertThat(monitor.getEtatCircuit()).isEqualTo(CircuitBreaker.Etat.OUVERT);
+        assertThat(monitor.isDisponible()).isFalse();
+        assertThrows(ChatbotServiceException.class,
+                () -> monitor.executer(() -> chatbotClient.sendMessage("Bonjour", null)));
+        verify(chatbotClient, times(2)).sendMessage(any(), any());
+    }
+
+    @Test
+    void executer_ShouldReturnResult_WhenChatbotResponds() {
+        // ARRANGE
+        when(chatbotClient.sendMessage("Bonjour", null)).thenReturn(new ChatbotResponse("Salut", "session-1"));
+
+        // ACT
+        ChatbotResponse response = monitor.executer(() -> chatbotClient.sendMessage("Bonjour", null));
+
+        // ASSERT
+        assertThat(response.getResponse()).isEqualTo("Salut");
+        assertThat(monitor.getEtatCircuit()).isEqualTo(CircuitBreaker.Etat.FERME);
+    }
+}
@@ -0,0 +1,106 @@
+package debatearena.backend.Client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private HorlogeManuelle horloge;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        horloge = new HorlogeManuelle();
+        circuitBreaker = new CircuitBreaker(3, Duration.ofSeconds(30), horloge);
+    }
+
+    @Test
+    void shouldStayClosed_BelowFailureThreshold() {
+        circuitBreaker.enregistrerEchec();
+        circuitBreaker.enregistrerEchec();
+
+        assertThat(circuitBreaker.getEtat()).isEqualTo(CircuitBreaker.Etat.FERME);
+        assertThat(circuitBreaker.autoriserAppel()).isTrue();
+    }
+
+    @Test
+    void shouldOpen_AfterConsecutiveFailures() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.enregistrerEchec();
+        }
+
+        assertThat(circuitBreaker.getEtat()).isEqualTo(CircuitBreaker.Etat.OUVERT);
+        assertThat(circuitBreaker.autoriserAppel()).isFalse();
+    }
+
+    @Test
+    void shouldResetFailureCount_OnSuccess() {
+        circuitBreaker.enregistrerEchec();
+        circuitBreaker.enregistrerEchec();
+        circuitBreaker.enregistrerSucces();
+        circuitBreaker.enregistrerEchec();
+
+        assertThat(circuitBreaker.getEtat()).isEqualTo(CircuitBreaker.Etat.FERME);
+    }
+
+    @Test
+    void shouldAllowSingleTrial_WhenHalfOpen() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.enregistrerEchec();
+        }
+        horloge.avancer(Duration.ofSeconds(31));
+
+        assertThat(circuitBreaker.getEtat()).isEqualTo(CircuitBreaker.Etat.SEMI_OUVERT);
+        assertThat(circuitBreaker.autoriserAppel()).isTrue();
+        assertThat(circuitBreaker.autoriserAppel()).isFalse();
+
+        circuitBreaker.enregistrerSucces();
+        assertThat(circuitBreaker.getEtat()).isEqualTo(CircuitBreaker.Etat.FERME);
+    }
+
+    @Test
+    void shouldReopen_WhenTrialFails() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.enregistrerEchec();
+        }
+        horloge.avancer(Duration.ofSeconds(31));
+        circuitBreaker.autoriserAppel();
+
+        circuitBreaker.enregistrerEchec();
+
+        assertThat(circuitBreaker.getEtat()).isEqualTo(CircuitBreaker.Etat.OUVERT);
+        assertThat(circuitBreaker.autoriserAppel()).isFalse();
+    }
+
+    private static class HorlogeManuelle extends Clock {
+
+        private Instant maintenant = Instant.parse("2025-01-15T10:00:00Z");
+
+        void avancer(Duration duree) {
+            maintenant = maintenant.plus(duree);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return maintenant;
+        }
+    }
+}
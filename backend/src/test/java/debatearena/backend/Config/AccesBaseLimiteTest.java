@@ -0,0 +1,54 @@
+package debatearena.backend.Config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class AccesBaseLimiteTest {
+
+    private DataSource cible;
+    private AccesBaseLimite dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        cible = mock(DataSource.class);
+        when(cible.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new AccesBaseLimite(cible, 2, 50);
+    }
+
+    @Test
+    void getConnection_ShouldWait_ThenFail_WhenCeilingReached() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        verify(cible, times(2)).getConnection();
+    }
+
+    @Test
+    void close_ShouldReleaseSlotOnce() throws SQLException {
+        Connection connexion = dataSource.getConnection();
+        assertThat(dataSource.getPlacesLibres()).isEqualTo(1);
+
+        connexion.close();
+        connexion.close();
+
+        assertThat(dataSource.getPlacesLibres()).isEqualTo(2);
+    }
+
+    @Test
+    void getConnection_ShouldReleaseSlot_WhenPoolFails() throws SQLException {
+        when(cible.getConnection()).thenThrow(new SQLException("pool épuisé"));
+
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+        assertThat(dataSource.getPlacesLibres()).isEqualTo(2);
+    }
+}
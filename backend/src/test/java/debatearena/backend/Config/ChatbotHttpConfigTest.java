@@ -0,0 +1,30 @@
+package debatearena.backend.Config;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatbotHttpConfigTest {
+
+    private final ChatbotHttpConfig config = new ChatbotHttpConfig();
+
+    @Test
+    void chatbotConnectionManager_ShouldKeepConfiguredPool_WithPlatformThreads() {
+        try (PoolingHttpClientConnectionManager pool = config.chatbotConnectionManager(50, 50, 2000, 2000, false, 2000)) {
+            assertThat(pool.getMaxTotal()).isEqualTo(50);
+            assertThat(pool.getDefaultMaxPerRoute()).isEqualTo(50);
+        }
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void chatbotConnectionManager_ShouldSizePoolOnVirtualCeiling_WithVirtualThreads() {
+        try (PoolingHttpClientConnectionManager pool = config.chatbotConnectionManager(50, 50, 2000, 2000, true, 2000)) {
+            assertThat(pool.getMaxTotal()).isEqualTo(2000);
+            assertThat(pool.getDefaultMaxPerRoute()).isEqualTo(2000);
+        }
+    }
+}
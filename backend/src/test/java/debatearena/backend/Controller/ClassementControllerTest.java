@@ -0,0 +1,75 @@
+package debatearena.backend.Controller;
+
+import debatearena.backend.DTO.EntreeClassement;
+import debatearena.backend.DTO.PositionClassementResponse;
+import debatearena.backend.Exceptions.BadRequestException;
+import debatearena.backend.Security.JwtUtil;
+import debatearena.backend.Service.ClassementService;
+import debatearena.backend.Service.CustomUtilisateurService;
+import debatearena.backend.Service.UtilisateurService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ClassementController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ClassementControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ClassementService classementService;
+    @MockBean
+    private UtilisateurService utilisateurService;
+
+    // Mocks de sécurité nécessaires pour éviter l'erreur ApplicationContext
+    @MockBean
+    private CustomUtilisateurService customUtilisateurService;
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @Test
+    void getMeilleurs_ShouldReturnTopPlayers() throws Exception {
+        when(classementService.getMeilleurs("SANTE", null, 5))
+                .thenReturn(List.of(new EntreeClassement(1, 7L, "Amina", "Benali", 54)));
+
+        mockMvc.perform(get("/api/classement").param("categorie", "SANTE").param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rang").value(1))
+                .andExpect(jsonPath("$[0].utilisateurId").value(7))
+                .andExpect(jsonPath("$[0].points").value(54));
+    }
+
+    @Test
+    void getMaPosition_ShouldUseCurrentUser() throws Exception {
+        when(utilisateurService.getCurrentUserId()).thenReturn(7L);
+        when(classementService.getPosition(7L, null, "SEMAINE", null))
+                .thenReturn(new PositionClassementResponse(3, 40, 12,
+                        List.of(new EntreeClassement(3, 7L, "Amina", "Benali", 40))));
+
+        mockMvc.perform(get("/api/classement/moi").param("periode", "SEMAINE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rang").value(3))
+                .andExpect(jsonPath("$.totalJoueurs").value(12))
+                .andExpect(jsonPath("$.voisins[0].prenom").value("Amina"));
+    }
+
+    @Test
+    void getMeilleurs_ShouldReturn400_WhenParametersConflict() throws Exception {
+        when(classementService.getMeilleurs("SANTE", "MOIS", null))
+                .thenThrow(new BadRequestException("Choisir une catégorie ou une période, pas les deux"));
+
+        mockMvc.perform(get("/api/classement").param("categorie", "SANTE").param("periode", "MOIS"))
+                .andExpect(status().isBadRequest());
+    }
+}
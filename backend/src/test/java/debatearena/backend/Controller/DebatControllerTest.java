@@ -13,14 +13,20 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -125,6 +131,34 @@ class DebatControllerTest {
                 .andExpect(jsonPath("$.contenu").value("Ceci est un argument."));
     }
 
+    // --- TEST 3 bis : Envoyer un message avec réponse en flux (SSE) ---
+    @Test
+    void envoyerMessageEnFlux_ShouldStreamFragmentsThenMessage() throws Exception {
+        MessageRequest request = new MessageRequest();
+        request.setContenu("Ceci est un argument.");
+
+        when(debatService.envoyerMessageEnFlux(eq(1L), any(MessageRequest.class), any())).thenAnswer(invocation -> {
+            Consumer<String> surFragment = invocation.getArgument(2);
+            surFragment.accept("Ceci est ");
+            surFragment.accept("un argument.");
+            return CompletableFuture.completedFuture(messageResponse);
+        });
+
+        MvcResult result = mockMvc.perform(post("/api/debats/{debatId}/messages/stream", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corps = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(corps).contains("event:fragment\ndata:Ceci est \n");
+        assertThat(corps).contains("event:fragment\ndata:un argument.\n");
+        assertThat(corps).contains("event:message\ndata:{\"id\":10");
+    }
+
     // --- TEST 4 : Récupérer une liste de débats ---
     @Test
     void getDebatsEnCours_ShouldReturnList() throws Exception {
@@ -145,4 +179,14 @@ class DebatControllerTest {
         mockMvc.perform(delete("/api/debats/{debatId}", 1L))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getMessagesDebat_ShouldReturn304_WhenNoNewMessage() throws Exception {
+        when(debatService.getEtagMessages(1L)).thenReturn("\"messages-1-42\"");
+
+        mockMvc.perform(get("/api/debats/1/messages").header("If-None-Match", "\"messages-1-42\""))
+                .andExpect(status().isNotModified());
+
+        verify(debatService, never()).getMessagesDebat(1L);
+    }
+}
@@ -18,6 +18,8 @@ import java.util.List;
 
 // --- CORRECTION 1 : Ajout de l'import Hamcrest pour containsString ---
 import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -128,4 +130,25 @@ class SujetControllerTest {
                 .andExpect(jsonPath("$[1]").value("INTERMEDIAIRE"))
                 .andExpect(jsonPath("$.length()").value(3));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllSujets_ShouldReturnEtag() throws Exception {
+        when(sujetService.getEtagCatalogue()).thenReturn("\"3-abc-DEBUTANT\"");
+        when(sujetService.getAllSujets()).thenReturn(Arrays.asList(sujetResponse));
+
+        mockMvc.perform(get("/api/sujets"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-abc-DEBUTANT\""));
+    }
+
+    @Test
+    void getAllSujets_ShouldReturn304_WhenEtagMatches() throws Exception {
+        when(sujetService.getEtagCatalogue()).thenReturn("\"3-abc-DEBUTANT\"");
+
+        mockMvc.perform(get("/api/sujets").header("If-None-Match", "\"3-abc-DEBUTANT\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(sujetService, never()).getAllSujets();
+    }
+}
@@ -19,6 +19,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.ArrayList;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -140,4 +142,14 @@ class UtilisateurControllerTest {
                 .andExpect(jsonPath("$.debatsGagnes").value(5))
                 .andExpect(jsonPath("$.niveau").value("Debutant"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getDashboard_ShouldReturn304_WhenEtagMatches() throws Exception {
+        when(utilisateurService.getEtagDashboard()).thenReturn("\"dashboard-1-150\"");
+
+        mockMvc.perform(get("/api/dashboard").header("If-None-Match", "\"dashboard-1-150\""))
+                .andExpect(status().isNotModified());
+
+        verify(utilisateurService, never()).getDashboard();
+    }
+}
@@ -92,7 +92,8 @@ class DebatEvaluationIntegrationTest {
         debatTest.setUtilisateur(user);
         debatTest.setSujet(sujet);
         debatTest.setChoixUtilisateur("POUR");
-        debatTest.setDateDebut(LocalDateTime.now());
+        debatTest.setDateDebut(LocalDateTime.now().minusMinutes(5));
+        debatTest.setDuree(300); // Seul un débat terminé peut être évalué
         debatTest = debatRepository.save(debatTest);
 
         // 5. AJOUT CRUCIAL : Création de l'entité "Test" liée au débat
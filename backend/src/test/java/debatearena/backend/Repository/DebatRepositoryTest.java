@@ -1,5 +1,6 @@
 package debatearena.backend.Repository;
 
+import debatearena.backend.DTO.DebatRecap;
 import debatearena.backend.Entity.Debat;
 import debatearena.backend.Entity.Sujet;
 import debatearena.backend.Entity.Utilisateur;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -89,6 +91,43 @@ class DebatRepositoryTest {
         assertThat(result.get(0)).isEqualTo(debatEnCours);
     }
 
+    @Test
+    void findResumesByUtilisateur_ShouldProjectSujetAndTestInOneQuery() {
+        // ARRANGE
+        Utilisateur user = creerUtilisateurValide("resume@test.com");
+        entityManager.persist(user);
+
+        Sujet sujet = creerSujetValide();
+        entityManager.persist(sujet);
+
+        Debat entrainement = new Debat(sujet, user, "POUR");
+        entityManager.persist(entrainement);
+
+        Debat test = new Debat(sujet, user, "CONTRE");
+        test.setDateDebut(LocalDateTime.now().minusDays(1));
+        test.setDuree(300);
+        entityManager.persist(test);
+        entityManager.persist(new debatearena.backend.Entity.Test(null, test, 15));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // ACT
+        List<DebatResumeView> tous = debatRepository.findResumesByUtilisateur(user);
+        List<DebatResumeView> termines = debatRepository.findResumesTerminesByUtilisateur(user);
+
+        // ASSERT
+        assertThat(tous).hasSize(2);
+        assertThat(tous.get(0).getId()).isEqualTo(entrainement.getId());
+        assertThat(tous.get(0).getTestId()).isNull();
+        assertThat(tous.get(0).getSujetTitre()).isEqualTo("Sujet Test");
+        assertThat(tous.get(0).getSujetCategorie()).isEqualTo(categorie_sujet_enum.INFORMATIQUE);
+
+        assertThat(termines).hasSize(1);
+        assertThat(termines.get(0).getTestId()).isNotNull();
+        assertThat(termines.get(0).getNote()).isEqualTo(15);
+    }
+
     @Test
     void hasDebatEnCoursSurSujet_ShouldReturnTrue_WhenExists() {
         // ARRANGE
@@ -140,4 +179,212 @@ class DebatRepositoryTest {
         assertThat(found).isPresent();
         assertThat(found.get().getId()).isEqualTo(debat.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findPageResumesByUtilisateurAvant_ShouldContinueAfterCursor() {
+        // ARRANGE : trois débats, dont deux à la même date (départage par id)
+        Utilisateur user = creerUtilisateurValide("page@test.com");
+        entityManager.persist(user);
+
+        Sujet sujet = creerSujetValide();
+        entityManager.persist(sujet);
+
+        LocalDateTime date = LocalDateTime.of(2025, 1, 15, 10, 0);
+        Debat d1 = new Debat();
+        d1.setUtilisateur(user);
+        d1.setSujet(sujet);
+        d1.setDateDebut(date.minusDays(1));
+        d1.setChoixUtilisateur("POUR");
+        entityManager.persist(d1);
+
+        Debat d2 = new Debat();
+        d2.setUtilisateur(user);
+        d2.setSujet(sujet);
+        d2.setDateDebut(date);
+        d2.setChoixUtilisateur("POUR");
+        entityManager.persist(d2);
+
+        Debat d3 = new Debat();
+        d3.setUtilisateur(user);
+        d3.setSujet(sujet);
+        d3.setDateDebut(date);
+        d3.setChoixUtilisateur("CONTRE");
+        entityManager.persist(d3);
+        entityManager.flush();
+
+        // ACT
+        List<DebatResumeView> premiere = debatRepository.findPageResumesByUtilisateur(user, PageRequest.of(0, 2));
+        DebatResumeView dernier = premiere.get(premiere.size() - 1);
+        List<DebatResumeView> suivante = debatRepository.findPageResumesByUtilisateurAvant(
+                user, dernier.getDateDebut(), dernier.getId(), PageRequest.of(0, 2));
+
+        // ASSERT
+        assertThat(premiere).extracting(DebatResumeView::getId).containsExactly(d3.getId(), d2.getId());
+        assertThat(suivante).extracting(DebatResumeView::getId).containsExactly(d1.getId());
+    }
+
+    @Test
+    void findRecentDebatsByUtilisateurId_ShouldBuildRecapsInQuery() {
+        // ARRANGE : un entraînement ancien et un test récent
+        Utilisateur user = creerUtilisateurValide("recap@test.com");
+        entityManager.persist(user);
+
+        Sujet sujet = creerSujetValide();
+        entityManager.persist(sujet);
+
+        Debat entrainement = new Debat(sujet, user, "CONTRE");
+        entrainement.setDateDebut(LocalDateTime.now().minusDays(2));
+        entityManager.persist(entrainement);
+
+        Debat debatTest = new Debat(sujet, user, "POUR");
+        debatTest.setDateDebut(LocalDateTime.now().minusDays(1));
+        debatTest.setDuree(750);
+        entityManager.persist(debatTest);
+        entityManager.persist(new debatearena.backend.Entity.Test(null, debatTest, 16));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // ACT
+        List<DebatRecap> recaps = debatRepository.findRecentDebatsByUtilisateurId(user.getId(), PageRequest.of(0, 1));
+
+        // ASSERT : seul le plus récent, déjà mis en forme
+        assertThat(recaps).hasSize(1);
+        DebatRecap recap = recaps.get(0);
+        assertThat(recap.getId()).isEqualTo(debatTest.getId());
+        assertThat(recap.getType()).isEqualTo("TEST");
+        assertThat(recap.getChoixUtilisateur()).isEqualTo("POUR");
+        assertThat(recap.getNote()).isEqualTo(16);
+        assertThat(recap.getDuree()).isEqualTo("12min 30s");
+    }
+
+    @Test
+    void countSujetsTendanceDepuis_ShouldCountSubjectsAboveThreshold() {
+        // ARRANGE : sujet A avec 3 débats récents, sujet B avec 1 récent et 2 anciens
+        Utilisateur user = creerUtilisateurValide("tendance@test.com");
+        entityManager.persist(user);
+
+        Sujet sujetA = creerSujetValide();
+        entityManager.persist(sujetA);
+        Sujet sujetB = creerSujetValide();
+        entityManager.persist(sujetB);
+
+        LocalDateTime maintenant = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            Debat debat = new Debat(sujetA, user, "POUR");
+            debat.setDateDebut(maintenant.minusDays(1));
+            entityManager.persist(debat);
+        }
+        for (int i = 0; i < 3; i++) {
+            Debat debat = new Debat(sujetB, user, "CONTRE");
+            debat.setDateDebut(i == 0 ? maintenant.minusDays(1) : maintenant.minusDays(20));
+            entityManager.persist(debat);
+        }
+        entityManager.flush();
+
+        // ACT
+        Integer tendance = debatRepository.countSujetsTendanceDepuis(maintenant.minusDays(7), 3);
+
+        // ASSERT
+        assertThat(tendance).isEqualTo(1);
+    }
+
+    @Test
+    void findVersionStatsSujets_ShouldChange_WhenDebateEndsOrIsGraded() {
+        Utilisateur user = creerUtilisateurValide("version@test.com");
+        entityManager.persist(user);
+        Sujet sujet = creerSujetValide();
+        entityManager.persist(sujet);
+
+        Debat termine = new Debat(sujet, user, "POUR");
+        termine.setDuree(300);
+        entityManager.persist(termine);
+        entityManager.persist(new debatearena.backend.Entity.Test(null, termine, 14));
+
+        Debat enCours = new Debat(sujet, user, "CONTRE");
+        entityManager.persist(enCours);
+        entityManager.flush();
+
+        // ACT
+        VersionStatsSujetsView version = debatRepository.findVersionStatsSujets();
+
+        // ASSERT
+        assertThat(version.getNombreDebats()).isEqualTo(2L);
+        assertThat(version.getDernierDebatId()).isEqualTo(enCours.getId());
+        assertThat(version.getDebatsEnCours()).isEqualTo(1L);
+        assertThat(version.getNombreNotes()).isEqualTo(1L);
+        assertThat(version.getSommeNotes()).isEqualTo(14L);
+    }
+
+    @Test
+    void findHistoriqueParSujet_ShouldCountDebatesAndAverageNotesPerSubject() {
+        Utilisateur user = creerUtilisateurValide("historique@test.com");
+        entityManager.persist(user);
+        Utilisateur autre = creerUtilisateurValide("autre@test.com");
+        entityManager.persist(autre);
+        Sujet sujetA = creerSujetValide();
+        entityManager.persist(sujetA);
+        Sujet sujetB = creerSujetValide();
+        entityManager.persist(sujetB);
+
+        Debat noteA1 = new Debat(sujetA, user, "POUR");
+        entityManager.persist(noteA1);
+        entityManager.persist(new debatearena.backend.Entity.Test(null, noteA1, 12));
+        Debat noteA2 = new Debat(sujetA, user, "CONTRE");
+        entityManager.persist(noteA2);
+        entityManager.persist(new debatearena.backend.Entity.Test(null, noteA2, 16));
+        entityManager.persist(new Debat(sujetB, user, "POUR"));
+        entityManager.persist(new Debat(sujetB, autre, "POUR"));
+        entityManager.flush();
+
+        // ACT
+        List<Object[]> historique = debatRepository.findHistoriqueParSujet(user.getId());
+
+        // ASSERT
+        assertThat(historique).hasSize(2);
+        for (Object[] ligne : historique) {
+            if (ligne[0].equals(sujetA.getId())) {
+                assertThat(((Number) ligne[1]).longValue()).isEqualTo(2L);
+                assertThat(((Number) ligne[2]).doubleValue()).isEqualTo(14.0);
+            } else {
+                assertThat(ligne[0]).isEqualTo(sujetB.getId());
+                assertThat(((Number) ligne[1]).longValue()).isEqualTo(1L);
+                assertThat(ligne[2]).isNull();
+            }
+        }
+    }
+
+    @Test
+    void countDebatsBySujetDepuis_AndUtilisateursActifs_ShouldIgnoreOldDebates() {
+        Utilisateur actif = creerUtilisateurValide("actif@test.com");
+        actif.setScore(250);
+        entityManager.persist(actif);
+        Utilisateur inactif = creerUtilisateurValide("inactif@test.com");
+        entityManager.persist(inactif);
+        Sujet sujet = creerSujetValide();
+        entityManager.persist(sujet);
+
+        LocalDateTime maintenant = LocalDateTime.now();
+        for (int i = 0; i < 2; i++) {
+            Debat recent = new Debat(sujet, actif, "POUR");
+            recent.setDateDebut(maintenant.minusDays(1));
+            entityManager.persist(recent);
+        }
+        Debat ancien = new Debat(sujet, inactif, "CONTRE");
+        ancien.setDateDebut(maintenant.minusDays(40));
+        entityManager.persist(ancien);
+        entityManager.flush();
+
+        // ACT
+        List<Object[]> tendances = debatRepository.countDebatsBySujetDepuis(maintenant.minusDays(7));
+        List<Object[]> actifs = debatRepository.findUtilisateursActifsDepuis(maintenant.minusDays(30));
+
+        // ASSERT
+        assertThat(tendances).hasSize(1);
+        assertThat(tendances.get(0)[0]).isEqualTo(sujet.getId());
+        assertThat(((Number) tendances.get(0)[1]).longValue()).isEqualTo(2L);
+        assertThat(actifs).hasSize(1);
+        assertThat(actifs.get(0)[0]).isEqualTo(actif.getId());
+        assertThat(actifs.get(0)[1]).isEqualTo(250);
+    }
+}
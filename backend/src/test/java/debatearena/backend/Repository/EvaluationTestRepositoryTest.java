@@ -0,0 +1,97 @@
+package debatearena.backend.Repository;
+
+import debatearena.backend.Entity.EvaluationTest;
+import debatearena.backend.Entity.StatutEvaluationEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class EvaluationTestRepositoryTest {
+
+    @Autowired
+    private EvaluationTestRepository evaluationTestRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void reserver_ShouldSucceedOnlyOnce() {
+        // GIVEN : une tâche due
+        entityManager.persist(new EvaluationTest(1L));
+        entityManager.flush();
+
+        // WHEN : deux réservations concurrentes
+        LocalDateTime maintenant = LocalDateTime.now().plusSeconds(1);
+        int premiere = evaluationTestRepository.reserver(1L, maintenant);
+        int seconde = evaluationTestRepository.reserver(1L, maintenant);
+        entityManager.clear();
+
+        // THEN
+        assertThat(premiere).isEqualTo(1);
+        assertThat(seconde).isZero();
+        EvaluationTest tache = evaluationTestRepository.findById(1L).orElseThrow();
+        assertThat(tache.getStatut()).isEqualTo(StatutEvaluationEnum.EN_COURS);
+        assertThat(tache.getTentatives()).isEqualTo(1);
+    }
+
+    @Test
+    void findDebatsAEvaluer_ShouldSkipJobsNotYetDue() {
+        // GIVEN : une tâche due et une tâche reprogrammée plus tard
+        entityManager.persist(new EvaluationTest(1L));
+        EvaluationTest plusTard = new EvaluationTest(2L);
+        plusTard.setProchaineTentative(LocalDateTime.now().plusMinutes(5));
+        entityManager.persist(plusTard);
+        entityManager.flush();
+
+        // WHEN / THEN
+        assertThat(evaluationTestRepository.findDebatsAEvaluer(LocalDateTime.now().plusSeconds(1), PageRequest.of(0, 10)))
+                .containsExactly(1L);
+    }
+
+    @Test
+    void libererBloquees_ShouldRequeueStaleJobs() {
+        // GIVEN : une tâche EN_COURS depuis longtemps
+        EvaluationTest bloquee = new EvaluationTest(1L);
+        bloquee.setStatut(StatutEvaluationEnum.EN_COURS);
+        bloquee.setDateMaj(LocalDateTime.now().minusHours(1));
+        entityManager.persist(bloquee);
+        entityManager.flush();
+
+        // WHEN
+        int liberees = evaluationTestRepository.libererBloquees(LocalDateTime.now().minusMinutes(10));
+        entityManager.clear();
+
+        // THEN
+        assertThat(liberees).isEqualTo(1);
+        assertThat(evaluationTestRepository.findById(1L).orElseThrow().getStatut())
+                .isEqualTo(StatutEvaluationEnum.EN_ATTENTE);
+    }
+
+    @Test
+    void prolonger_ShouldKeepLongRunningJobReserved() {
+        // GIVEN : une tâche EN_COURS réservée il y a longtemps, mais qui progresse encore
+        EvaluationTest longue = new EvaluationTest(1L);
+        longue.setStatut(StatutEvaluationEnum.EN_COURS);
+        longue.setDateMaj(LocalDateTime.now().minusHours(1));
+        entityManager.persist(longue);
+        entityManager.flush();
+
+        // WHEN : signe de vie après un appel au chatbot
+        int prolongees = evaluationTestRepository.prolonger(1L, LocalDateTime.now());
+        int liberees = evaluationTestRepository.libererBloquees(LocalDateTime.now().minusMinutes(10));
+        entityManager.clear();
+
+        // THEN
+        assertThat(prolongees).isEqualTo(1);
+        assertThat(liberees).isZero();
+        assertThat(evaluationTestRepository.findById(1L).orElseThrow().getStatut())
+                .isEqualTo(StatutEvaluationEnum.EN_COURS);
+    }
+}
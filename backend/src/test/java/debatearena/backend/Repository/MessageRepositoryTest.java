@@ -180,4 +180,67 @@ class MessageRepositoryTest {
         assertThat(userMessages.get(0).getUtilisateur().getRole()).isNotEqualTo(role_enum.CHATBOT);
         assertThat(userMessages.get(0).getContenu()).isEqualTo("Parole humain");
     }
-}
\ No newline at end of file
+
+    @Test
+    void findReponseChatbotA_ShouldMatchTheAnsweredMessage_NotTheNextOne() {
+        // ARRANGE : deux messages, réponses enregistrées dans l'ordre inverse
+        Utilisateur user = creerUtilisateur("source@test.com", role_enum.UTILISATEUR);
+        Utilisateur bot = creerUtilisateur("source-bot@test.com", role_enum.CHATBOT);
+        Debat debat = creerDebat(user, creerSujet());
+
+        Message premier = creerMessage(debat, user, "Premier", LocalDateTime.now().minusSeconds(2));
+        Message second = creerMessage(debat, user, "Second", LocalDateTime.now().minusSeconds(1));
+        Message reponseSecond = new Message("Réponse au second", debat, bot);
+        reponseSecond.setIdMessageSource(second.getId());
+        entityManager.persist(reponseSecond);
+        Message reponsePremier = new Message("Réponse au premier", debat, bot);
+        reponsePremier.setIdMessageSource(premier.getId());
+        entityManager.persist(reponsePremier);
+        entityManager.flush();
+
+        // ACT & ASSERT
+        assertThat(messageRepository.findReponseChatbotA(debat, premier.getId()))
+                .get().extracting(Message::getContenu).isEqualTo("Réponse au premier");
+        assertThat(messageRepository.findReponseChatbotA(debat, second.getId()))
+                .get().extracting(Message::getContenu).isEqualTo("Réponse au second");
+    }
+
+    @Test
+    void findDernierMessageId_ShouldOnlyAnswerForOwner() {
+        // ARRANGE
+        Utilisateur user = creerUtilisateur("dernier@test.com", role_enum.UTILISATEUR);
+        Utilisateur autre = creerUtilisateur("autre@test.com", role_enum.UTILISATEUR);
+        Debat debat = creerDebat(user, creerSujet());
+
+        creerMessage(debat, user, "Premier", LocalDateTime.now().minusMinutes(1));
+        Message dernier = creerMessage(debat, user, "Second", LocalDateTime.now());
+        entityManager.flush();
+
+        // ACT & ASSERT
+        assertThat(messageRepository.findDernierMessageId(debat.getId(), user.getId())).isEqualTo(dernier.getId());
+        assertThat(messageRepository.findDernierMessageId(debat.getId(), autre.getId())).isNull();
+    }
+
+    @Test
+    void saveAll_ShouldAssignIdsInInsertionOrder() {
+        // ARRANGE
+        Utilisateur user = creerUtilisateur("seq@test.com", role_enum.UTILISATEUR);
+        Utilisateur bot = creerUtilisateur("seq-bot@test.com", role_enum.CHATBOT);
+        Debat debat = creerDebat(user, creerSujet());
+        entityManager.flush();
+
+        Message question = new Message("Mon argument", debat, user);
+        Message reponse = new Message("Ma réponse", debat, bot);
+
+        // ACT
+        messageRepository.saveAll(List.of(question, reponse));
+
+        // ASSERT : IDs croissants dans l'ordre d'insertion (curseur et ETag des messages)
+        assertThat(question.getId()).isNotNull();
+        assertThat(reponse.getId()).isGreaterThan(question.getId());
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(messageRepository.findByDebatOrderByTimestampAsc(debat)).hasSize(2);
+    }
+}
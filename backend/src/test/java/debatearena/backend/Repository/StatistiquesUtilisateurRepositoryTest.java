@@ -0,0 +1,136 @@
+package debatearena.backend.Repository;
+
+import debatearena.backend.Entity.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// H2 en mode PostgreSQL : creerSiAbsente utilise INSERT ... ON CONFLICT DO NOTHING
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stats;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StatistiquesUtilisateurRepositoryTest {
+
+    @Autowired
+    private StatistiquesUtilisateurRepository statistiquesRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Utilisateur creerUtilisateur() {
+        Utilisateur user = new Utilisateur();
+        user.setEmail("stats@test.com");
+        user.setNom("Nom");
+        user.setPrenom("Prenom");
+        user.setPassword("pass");
+        user.setRole(role_enum.UTILISATEUR);
+        user.setScore(0);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void creerDebatNote(Utilisateur user, Integer note) {
+        Sujet sujet = new Sujet();
+        sujet.setTitre("Sujet");
+        sujet.setCategorie(categorie_sujet_enum.INFORMATIQUE);
+        sujet.setDifficulte(niveau_enum.DEBUTANT);
+        entityManager.persist(sujet);
+
+        Debat debat = new Debat();
+        debat.setUtilisateur(user);
+        debat.setSujet(sujet);
+        debat.setDateDebut(LocalDateTime.now());
+        debat.setChoixUtilisateur("POUR");
+        entityManager.persist(debat);
+
+        if (note != null) {
+            debatearena.backend.Entity.Test test = new debatearena.backend.Entity.Test();
+            test.setDebat(debat);
+            test.setNote(note);
+            entityManager.persist(test);
+        }
+    }
+
+    private Long creerLigneStats() {
+        Utilisateur user = creerUtilisateur();
+
+        entityManager.persist(new StatistiquesUtilisateur(user.getId()));
+        entityManager.flush();
+        entityManager.clear();
+        return user.getId();
+    }
+
+    @Test
+    void ajouterNote_ShouldUpdateCountersAndBestGradeInPlace() {
+        // ARRANGE
+        Long userId = creerLigneStats();
+
+        // ACT
+        statistiquesRepository.ajouterDebats(userId, 2);
+        statistiquesRepository.ajouterNote(userId, 14);
+        statistiquesRepository.ajouterNote(userId, 9);
+        entityManager.clear();
+
+        // ASSERT
+        StatistiquesUtilisateur stats = statistiquesRepository.findById(userId).orElseThrow();
+        assertThat(stats.getTotalDebats()).isEqualTo(2);
+        assertThat(stats.getNombreNotes()).isEqualTo(2);
+        assertThat(stats.getSommeNotes()).isEqualTo(23);
+        assertThat(stats.getDebatsGagnes()).isEqualTo(1);
+        assertThat(stats.getMeilleureNote()).isEqualTo(14);
+        assertThat(stats.getMoyenneNotes()).isEqualTo(11);
+    }
+
+    @Test
+    void ajouterDebats_ShouldReturnZero_WhenRowMissing() {
+        assertThat(statistiquesRepository.ajouterDebats(404L, 1)).isZero();
+    }
+
+    @Test
+    void creerSiAbsente_ShouldNotFail_WhenRowAlreadyExists() {
+        // ARRANGE
+        Long userId = creerLigneStats();
+        statistiquesRepository.ajouterDebats(userId, 3);
+
+        // ACT : deuxième création (ex. premiers accès concurrents)
+        int creees = statistiquesRepository.creerSiAbsente(userId);
+        entityManager.clear();
+
+        // ASSERT : ni erreur de clé dupliquée, ni remise à zéro
+        assertThat(creees).isZero();
+        assertThat(statistiquesRepository.findById(userId).orElseThrow().getTotalDebats()).isEqualTo(3);
+    }
+
+    @Test
+    void recalculerEnPlace_ShouldComputeCountersFromDebatAndTest() {
+        // ARRANGE : ligne créée à zéro, puis deux débats notés et un débat sans note
+        Utilisateur user = creerUtilisateur();
+        creerDebatNote(user, 14);
+        creerDebatNote(user, 9);
+        creerDebatNote(user, null);
+        entityManager.flush();
+        statistiquesRepository.creerSiAbsente(user.getId());
+
+        // ACT
+        int modifiees = statistiquesRepository.recalculerEnPlace(user.getId());
+        entityManager.clear();
+
+        // ASSERT
+        assertThat(modifiees).isEqualTo(1);
+        StatistiquesUtilisateur stats = statistiquesRepository.findById(user.getId()).orElseThrow();
+        assertThat(stats.getTotalDebats()).isEqualTo(3);
+        assertThat(stats.getDebatsGagnes()).isEqualTo(1);
+        assertThat(stats.getNombreNotes()).isEqualTo(2);
+        assertThat(stats.getSommeNotes()).isEqualTo(23);
+        assertThat(stats.getMeilleureNote()).isEqualTo(14);
+    }
+}
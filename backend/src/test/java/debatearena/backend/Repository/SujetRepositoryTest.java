@@ -1,13 +1,17 @@
 package debatearena.backend.Repository;
 
+import debatearena.backend.Entity.Debat;
 import debatearena.backend.Entity.Sujet;
+import debatearena.backend.Entity.Utilisateur;
 import debatearena.backend.Entity.categorie_sujet_enum;
 import debatearena.backend.Entity.niveau_enum;
+import debatearena.backend.Entity.role_enum;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -107,4 +111,63 @@ class SujetRepositoryTest {
         // ASSERT
         assertThat(result).hasSize(2);
     }
+
+    @Test
+    void findAllWithStats_ShouldAggregateEverySubjectInOneQuery() {
+        // ARRANGE
+        Utilisateur user = new Utilisateur();
+        user.setEmail("stats-sujet@test.com");
+        user.setNom("Nom");
+        user.setPrenom("Prenom");
+        user.setPassword("pass");
+        user.setRole(role_enum.UTILISATEUR);
+        user.setScore(0);
+        entityManager.persist(user);
+
+        Sujet actif = persistSujet("Java Basics", categorie_sujet_enum.INFORMATIQUE, niveau_enum.DEBUTANT);
+        Sujet vide = persistSujet("L'Art Abstrait", categorie_sujet_enum.ART, niveau_enum.DEBUTANT);
+
+        LocalDateTime maintenant = LocalDateTime.now();
+
+        // Débat récent en cours
+        Debat enCours = new Debat(actif, user, "POUR");
+        enCours.setDateDebut(maintenant.minusDays(2));
+        entityManager.persist(enCours);
+
+        // Test terminé il y a 20 jours, noté 14
+        Debat test1 = new Debat(actif, user, "CONTRE");
+        test1.setDateDebut(maintenant.minusDays(20));
+        test1.setDuree(600);
+        entityManager.persist(test1);
+        entityManager.persist(new debatearena.backend.Entity.Test(null, test1, 14));
+
+        // Test terminé il y a 60 jours, noté 10
+        Debat test2 = new Debat(actif, user, "POUR");
+        test2.setDateDebut(maintenant.minusDays(60));
+        test2.setDuree(300);
+        entityManager.persist(test2);
+        entityManager.persist(new debatearena.backend.Entity.Test(null, test2, 10));
+
+        entityManager.flush();
+
+        // ACT
+        List<SujetStatsView> stats = sujetRepository.findAllWithStats(maintenant.minusDays(7), maintenant.minusDays(30));
+
+        // ASSERT
+        assertThat(stats).hasSize(2);
+
+        SujetStatsView statsActif = stats.get(0);
+        assertThat(statsActif.getSujetId()).isEqualTo(actif.getId());
+        assertThat(statsActif.getNombreDebats()).isEqualTo(3L);
+        assertThat(statsActif.getDebatsEnCours()).isEqualTo(1L);
+        assertThat(statsActif.getDebats7j()).isEqualTo(1L);
+        assertThat(statsActif.getDebats30j()).isEqualTo(2L);
+        assertThat(statsActif.getNoteMoyenne()).isEqualTo(12.0);
+
+        SujetStatsView statsVide = stats.get(1);
+        assertThat(statsVide.getSujetId()).isEqualTo(vide.getId());
+        assertThat(statsVide.getNombreDebats()).isZero();
+        assertThat(statsVide.getDebatsEnCours()).isZero();
+        assertThat(statsVide.getNoteMoyenne()).isNull();
+    }
 }
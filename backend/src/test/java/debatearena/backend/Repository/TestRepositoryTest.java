@@ -160,6 +160,46 @@ class TestRepositoryTest {
         assertThat(moyenne).isEqualTo(15);
     }
 
+    @org.junit.jupiter.api.Test
+    void getNoteMoyenneGlobale_ShouldIgnoreUngradedTests() {
+        // ARRANGE : deux utilisateurs, un test pas encore noté
+        Sujet sujet = creerSujet();
+        creerTestEntity(creerDebat(creerUtilisateur("g1@test.com"), sujet), 12);
+        creerTestEntity(creerDebat(creerUtilisateur("g2@test.com"), sujet), 15);
+
+        Test nonNote = new Test();
+        nonNote.setDebat(creerDebat(creerUtilisateur("g3@test.com"), sujet));
+        entityManager.persist(nonNote);
+
+        entityManager.flush();
+
+        // ACT
+        Double moyenne = testRepository.getNoteMoyenneGlobale();
+
+        // ASSERT
+        assertThat(moyenne).isEqualTo(13.5);
+    }
+
+    @org.junit.jupiter.api.Test
+    void attribuerNote_ShouldGradeOnlyOnce() {
+        // ARRANGE : un test pas encore noté
+        Debat debat = creerDebat(creerUtilisateur("note@test.com"), creerSujet());
+        Test nonNote = new Test();
+        nonNote.setDebat(debat);
+        entityManager.persist(nonNote);
+        entityManager.flush();
+
+        // ACT
+        int premier = testRepository.attribuerNote(debat.getId(), 14);
+        int second = testRepository.attribuerNote(debat.getId(), 9);
+        entityManager.clear();
+
+        // ASSERT : seule la première attribution pose la note
+        assertThat(premier).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(testRepository.findByDebatId(debat.getId())).get().extracting(Test::getNote).isEqualTo(14);
+    }
+
     @org.junit.jupiter.api.Test
     void getMeilleureNoteByUserId_ShouldReturnMax() {
         // ARRANGE
@@ -201,4 +241,37 @@ class TestRepositoryTest {
         assertThat(results).hasSize(2);
         assertThat(results).extracting(Test::getNote).containsExactlyInAnyOrder(10, 15);
     }
-}
\ No newline at end of file
+
+    @org.junit.jupiter.api.Test
+    void sumNotesParUtilisateurEtCategorie_AndDepuis_ShouldAggregateGradedTests() {
+        // ARRANGE : deux tests notés récents, un ancien, un non noté
+        Utilisateur user = creerUtilisateur("classement@test.com");
+        Sujet sujet = creerSujet();
+
+        creerTestEntity(creerDebat(user, sujet), 12);
+        creerTestEntity(creerDebat(user, sujet), 15);
+
+        Debat ancien = creerDebat(user, sujet);
+        ancien.setDateDebut(LocalDateTime.now().minusDays(60));
+        creerTestEntity(ancien, 10);
+
+        Test nonNote = new Test();
+        nonNote.setDebat(creerDebat(user, sujet));
+        entityManager.persist(nonNote);
+
+        entityManager.flush();
+
+        // ACT
+        List<Object[]> parCategorie = testRepository.sumNotesParUtilisateurEtCategorie();
+        List<Object[]> depuis = testRepository.sumNotesParUtilisateurDepuis(LocalDateTime.now().minusDays(7));
+
+        // ASSERT
+        assertThat(parCategorie).hasSize(1);
+        assertThat(parCategorie.get(0)[0]).isEqualTo(user.getId());
+        assertThat(parCategorie.get(0)[1]).isEqualTo(categorie_sujet_enum.INFORMATIQUE);
+        assertThat(((Number) parCategorie.get(0)[2]).intValue()).isEqualTo(37);
+
+        assertThat(depuis).hasSize(1);
+        assertThat(((Number) depuis.get(0)[1]).intValue()).isEqualTo(27);
+    }
+}
@@ -1,11 +1,16 @@
 package debatearena.backend.Repository;
 
+import debatearena.backend.Entity.Badge;
 import debatearena.backend.Entity.Utilisateur;
+import debatearena.backend.Entity.categorie_badge_enum;
 import debatearena.backend.Entity.role_enum;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -16,6 +21,9 @@ class UtilisateurRepositoryTest {
     @Autowired
     private UtilisateurRepository utilisateurRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     void testFindByEmail() {
         // GIVEN : un utilisateur enregistré en base
@@ -65,4 +73,142 @@ class UtilisateurRepositoryTest {
         // THEN
         assertThat(exists).isFalse();
     }
+
+    @Test
+    void testFindWithBadgeByEmail() {
+        // GIVEN : un utilisateur avec un badge
+        Badge badge = new Badge();
+        badge.setNom("Bronze");
+        badge.setCategorie(categorie_badge_enum.BRONZE);
+        entityManager.persist(badge);
+
+        Utilisateur utilisateur = new Utilisateur();
+        utilisateur.setNom("Badge");
+        utilisateur.setPrenom("Test");
+        utilisateur.setEmail("badge@test.com");
+        utilisateur.setPassword("password123");
+        utilisateur.setRole(role_enum.UTILISATEUR);
+        utilisateur.setBadge(badge);
+        entityManager.persist(utilisateur);
+        entityManager.flush();
+        entityManager.clear();
+
+        // WHEN
+        Optional<Utilisateur> result = utilisateurRepository.findWithBadgeByEmail("badge@test.com");
+
+        // THEN : le badge est chargé dans la même requête (utilisable une fois détaché)
+        assertThat(result).isPresent();
+        assertThat(Hibernate.isInitialized(result.get().getBadge())).isTrue();
+        assertThat(result.get().getBadge().getNom()).isEqualTo("Bronze");
+    }
+
+    @Test
+    void findJoueursClassement_ShouldOnlyReturnPlayers() {
+        // GIVEN : un joueur et un admin
+        Utilisateur joueur = new Utilisateur();
+        joueur.setNom("Joueur");
+        joueur.setPrenom("Un");
+        joueur.setEmail("joueur@test.com");
+        joueur.setPassword("password");
+        joueur.setRole(role_enum.UTILISATEUR);
+        joueur.setScore(320);
+        utilisateurRepository.save(joueur);
+
+        Utilisateur admin = new Utilisateur();
+        admin.setNom("Admin");
+        admin.setPrenom("Un");
+        admin.setEmail("admin-classement@test.com");
+        admin.setPassword("password");
+        admin.setRole(role_enum.ADMIN);
+        utilisateurRepository.save(admin);
+
+        // WHEN
+        List<Object[]> joueurs = utilisateurRepository.findJoueursClassement();
+
+        // THEN : [id, prénom, nom, score] du seul joueur
+        assertThat(joueurs).hasSize(1);
+        assertThat(joueurs.get(0)).containsExactly(joueur.getId(), "Un", "Joueur", 320);
+    }
+
+    @Test
+    void ajouterScore_ShouldIncrementInPlace() {
+        // GIVEN
+        Utilisateur utilisateur = new Utilisateur();
+        utilisateur.setNom("Score");
+        utilisateur.setPrenom("Test");
+        utilisateur.setEmail("score@test.com");
+        utilisateur.setPassword("password");
+        utilisateur.setRole(role_enum.UTILISATEUR);
+        utilisateur.setScore(100);
+        utilisateurRepository.save(utilisateur);
+        entityManager.flush();
+
+        // WHEN : deux ajouts successifs sans relire l'entité
+        int modifies = utilisateurRepository.ajouterScore(utilisateur.getId(), 30);
+        utilisateurRepository.ajouterScore(utilisateur.getId(), 12);
+
+        // THEN
+        assertThat(modifies).isEqualTo(1);
+        assertThat(utilisateurRepository.ajouterScore(-1L, 5)).isZero();
+        ScoreUtilisateurView score = utilisateurRepository.findScoreById(utilisateur.getId()).orElseThrow();
+        assertThat(score.getScore()).isEqualTo(142);
+        assertThat(score.getEmail()).isEqualTo("score@test.com");
+    }
+
+    @Test
+    void modifierProfil_AndStaleSave_ShouldNeverOverwriteScore() {
+        // GIVEN : une copie détachée lue avant un ajout de points
+        Utilisateur utilisateur = new Utilisateur();
+        utilisateur.setNom("Profil");
+        utilisateur.setPrenom("Test");
+        utilisateur.setEmail("profil@test.com");
+        utilisateur.setPassword("password");
+        utilisateur.setRole(role_enum.UTILISATEUR);
+        utilisateur.setScore(100);
+        utilisateurRepository.save(utilisateur);
+        entityManager.flush();
+        entityManager.clear();
+        utilisateurRepository.ajouterScore(utilisateur.getId(), 50);
+
+        // WHEN
+        utilisateurRepository.modifierProfil(utilisateur.getId(), "Nouveau", "Nom", "uploads/p.png");
+        utilisateur.setPassword("autre");
+        utilisateurRepository.save(utilisateur);
+        entityManager.flush();
+        entityManager.clear();
+
+        // THEN : nom changé par la requête ciblée, score intact malgré le save() de la copie (score = 100)
+        Utilisateur relu = utilisateurRepository.findById(utilisateur.getId()).orElseThrow();
+        assertThat(relu.getScore()).isEqualTo(150);
+    }
+
+    @Test
+    void changerBadge_ShouldUpdateBadge_AndExposeItsCategory() {
+        // GIVEN : un utilisateur sans badge et le badge "Expert en argumentation"
+        Badge expert = new Badge();
+        expert.setNom("Expert en argumentation");
+        expert.setDescription("Badge décerné aux utilisateurs avancés");
+        expert.setCategorie(categorie_badge_enum.ARGENT);
+        entityManager.persist(expert);
+
+        Utilisateur utilisateur = new Utilisateur();
+        utilisateur.setNom("Badge");
+        utilisateur.setPrenom("Test");
+        utilisateur.setEmail("badge@test.com");
+        utilisateur.setPassword("password");
+        utilisateur.setRole(role_enum.UTILISATEUR);
+        utilisateur.setScore(500);
+        utilisateurRepository.save(utilisateur);
+        entityManager.flush();
+
+        assertThat(utilisateurRepository.findScoreById(utilisateur.getId()).orElseThrow().getBadgeCategorie()).isNull();
+
+        // WHEN
+        int modifies = utilisateurRepository.changerBadge(utilisateur.getId(), expert);
+
+        // THEN
+        assertThat(modifies).isEqualTo(1);
+        assertThat(utilisateurRepository.findScoreById(utilisateur.getId()).orElseThrow().getBadgeCategorie())
+                .isEqualTo(categorie_badge_enum.ARGENT);
+    }
 }
@@ -1,5 +1,6 @@
 package debatearena.backend.Security;
 
+import debatearena.backend.Entity.role_enum;
 import debatearena.backend.Service.CustomUtilisateurService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,6 +14,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Date;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -68,7 +71,7 @@ class JwtFilterTest {
         String username = "user@test.com";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
+        when(jwtUtil.verifier(token)).thenReturn(jeton(username, null));
 
         UserDetails userDetails = User.withUsername(username)
                 .password("password")
@@ -76,7 +79,6 @@ class JwtFilterTest {
                 .build();
 
         when(customUtilisateurService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(token, userDetails)).thenReturn(true);
 
         jwtFilter.doFilter(request, response, filterChain);
 
@@ -92,15 +94,54 @@ class JwtFilterTest {
         String username = "user@test.com";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
-
-        UserDetails userDetails = mock(UserDetails.class);
-        when(customUtilisateurService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(token, userDetails)).thenReturn(false);
+        when(jwtUtil.verifier(token)).thenReturn(null);
 
         jwtFilter.doFilter(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(customUtilisateurService, never()).loadUserByUsername(username);
         verify(filterChain).doFilter(request, response);
     }
+
+    @Test
+    void shouldAuthenticateFromClaims_WithoutLoadingUser_WhenStateless() throws Exception {
+        String token = "valid-token";
+        String username = "user@test.com";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.verifier(token)).thenReturn(jeton(username, 42L));
+        when(jwtUtil.isModeSansEtat()).thenReturn(true);
+
+        jwtFilter.doFilter(request, response, filterChain);
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(auth);
+        UtilisateurPrincipal principal = (UtilisateurPrincipal) auth.getPrincipal();
+        assertEquals(42L, principal.getId());
+        assertEquals(username, principal.getUsername());
+        assertEquals(role_enum.UTILISATEUR, principal.getRole());
+        verifyNoInteractions(customUtilisateurService);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void shouldLoadUser_WhenStatelessButTokenHasNoUserId() throws Exception {
+        String token = "old-token";
+        String username = "user@test.com";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.verifier(token)).thenReturn(jeton(username, null));
+        when(jwtUtil.isModeSansEtat()).thenReturn(true);
+        when(customUtilisateurService.loadUserByUsername(username)).thenReturn(
+                User.withUsername(username).password("password").authorities("UTILISATEUR").build());
+
+        jwtFilter.doFilter(request, response, filterChain);
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(customUtilisateurService).loadUserByUsername(username);
+    }
+
+    private JetonVerifie jeton(String email, Long userId) {
+        return new JetonVerifie(email, "UTILISATEUR", userId, "jti", new Date(), new Date(System.currentTimeMillis() + 60000));
+    }
 }
\ No newline at end of file
@@ -66,4 +66,41 @@ class JwtUtilTest {
         assertFalse(jwtUtil.validateToken(token, userDetails),
                 "Le token doit être expiré");
     }
+
+    @Test
+    void verifier_shouldReturnSignedClaims_InOneParse() {
+        String token = jwtUtil.generateToken(42L, "user@test.com", "ADMIN");
+
+        JetonVerifie jeton = jwtUtil.verifier(token);
+
+        assertNotNull(jeton);
+        assertEquals("user@test.com", jeton.getEmail());
+        assertEquals("ADMIN", jeton.getRole());
+        assertEquals(42L, jeton.getUserId());
+        assertNotNull(jeton.getJti());
+    }
+
+    @Test
+    void verifier_shouldReturnNull_WhenTokenTamperedOrMalformed() {
+        String token = jwtUtil.generateToken(42L, "user@test.com", "UTILISATEUR");
+
+        assertNull(jwtUtil.verifier(token.substring(0, token.length() - 2) + "xx"));
+        assertNull(jwtUtil.verifier("pas-un-jwt"));
+        assertNull(jwtUtil.verifier(""));
+    }
+
+    @Test
+    void revoquer_shouldRejectRevokedTokenOnly() throws Exception {
+        Field revocationField = JwtUtil.class.getDeclaredField("revocationJetons");
+        revocationField.setAccessible(true);
+        revocationField.set(jwtUtil, new RevocationJetons(60_000L));
+
+        String revoque = jwtUtil.generateToken(42L, "user@test.com", "UTILISATEUR");
+        String autre = jwtUtil.generateToken(42L, "user@test.com", "UTILISATEUR");
+
+        jwtUtil.revoquer(revoque);
+
+        assertNull(jwtUtil.verifier(revoque));
+        assertNotNull(jwtUtil.verifier(autre));
+    }
 }
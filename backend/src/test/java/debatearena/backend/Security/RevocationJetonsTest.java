@@ -0,0 +1,82 @@
+package debatearena.backend.Security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationJetonsTest {
+
+    private RevocationJetons revocationJetons;
+
+    @BeforeEach
+    void setUp() {
+        revocationJetons = new RevocationJetons(60_000L);
+    }
+
+    @Test
+    void revoquerJeton_shouldOnlyRevokeThatJti() {
+        revocationJetons.revoquerJeton("jti-1", new Date(System.currentTimeMillis() + 60_000));
+
+        assertTrue(revocationJetons.estRevoque(jeton("user@test.com", "jti-1", new Date())));
+        assertFalse(revocationJetons.estRevoque(jeton("user@test.com", "jti-2", new Date())));
+    }
+
+    @Test
+    void revoquerUtilisateur_shouldRevokeTokensIssuedBefore() {
+        Date avant = new Date(System.currentTimeMillis() - 5_000);
+
+        revocationJetons.revoquerUtilisateur("user@test.com");
+
+        assertTrue(revocationJetons.estRevoque(jeton("user@test.com", "jti-1", avant)));
+        assertFalse(revocationJetons.estRevoque(jeton("autre@test.com", "jti-2", avant)));
+    }
+
+    @Test
+    void revoquerUtilisateur_shouldKeepTokensIssuedAfter() {
+        revocationJetons.revoquerUtilisateur("user@test.com");
+
+        Date apres = new Date(System.currentTimeMillis() + 5_000);
+        assertFalse(revocationJetons.estRevoque(jeton("user@test.com", "jti-1", apres)));
+    }
+
+    @Test
+    void revoquerJeton_shouldNeverEvict_BeforeExpiration() {
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        for (int i = 0; i < 1_000; i++) {
+            revocationJetons.revoquerJeton("jti-" + i, expiration);
+        }
+
+        revocationJetons.purgerEntreesExpirees();
+
+        assertTrue(revocationJetons.estRevoque(jeton("user@test.com", "jti-0", new Date())));
+        assertEquals(1_000, revocationJetons.getNombreEntrees());
+    }
+
+    @Test
+    void purgerEntreesExpirees_shouldDropOnlyExpiredTokens() {
+        revocationJetons.revoquerJeton("expire", new Date(System.currentTimeMillis() - 1_000));
+        revocationJetons.revoquerJeton("valide", new Date(System.currentTimeMillis() + 60_000));
+
+        revocationJetons.purgerEntreesExpirees();
+
+        assertFalse(revocationJetons.estRevoque(jeton("user@test.com", "expire", new Date())));
+        assertTrue(revocationJetons.estRevoque(jeton("user@test.com", "valide", new Date())));
+    }
+
+    @Test
+    void purgerEntreesExpirees_shouldKeepUserRevocation_WhileOlderTokensMayBeValid() {
+        revocationJetons.revoquerUtilisateur("user@test.com");
+
+        revocationJetons.purgerEntreesExpirees();
+
+        Date avant = new Date(System.currentTimeMillis() - 5_000);
+        assertTrue(revocationJetons.estRevoque(jeton("user@test.com", "jti-1", avant)));
+    }
+
+    private JetonVerifie jeton(String email, String jti, Date emisLe) {
+        return new JetonVerifie(email, "UTILISATEUR", 1L, jti, emisLe, new Date(emisLe.getTime() + 60_000));
+    }
+}
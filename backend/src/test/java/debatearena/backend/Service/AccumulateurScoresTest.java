@@ -0,0 +1,48 @@
+package debatearena.backend.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccumulateurScoresTest {
+
+    @Test
+    void vider_ShouldSumPointsPerUser_AndEmptyTheBuffer() {
+        AccumulateurScores accumulateur = new AccumulateurScores(true);
+        accumulateur.ajouter(1L, 10);
+        accumulateur.ajouter(1L, 5);
+        accumulateur.ajouter(2L, 3);
+        accumulateur.ajouter(3L, 4);
+        accumulateur.ajouter(3L, -4);
+
+        Map<Long, Integer> lot = accumulateur.vider();
+
+        assertThat(lot).containsOnly(Map.entry(1L, 15), Map.entry(2L, 3));
+        assertThat(accumulateur.getNombreEnAttente()).isZero();
+        assertThat(accumulateur.vider()).isEmpty();
+    }
+
+    @Test
+    void ajouter_ShouldNotLosePoints_UnderConcurrentWritesAndFlushes() throws InterruptedException {
+        AccumulateurScores accumulateur = new AccumulateurScores(true);
+        ExecutorService executeur = Executors.newFixedThreadPool(8);
+        long[] total = new long[1];
+
+        for (int i = 0; i < 10_000; i++) {
+            executeur.submit(() -> accumulateur.ajouter(1L, 1));
+            if (i % 1000 == 0) {
+                total[0] += accumulateur.vider().getOrDefault(1L, 0);
+            }
+        }
+        executeur.shutdown();
+        assertThat(executeur.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        total[0] += accumulateur.vider().getOrDefault(1L, 0);
+
+        assertThat(total[0]).isEqualTo(10_000);
+    }
+}
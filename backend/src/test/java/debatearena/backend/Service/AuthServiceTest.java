@@ -28,6 +28,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -138,7 +139,7 @@ class AuthServiceTest {
 
         when(utilisateurService.findUtilisateurByEmail(loginRequest.getEmail())).thenReturn(Optional.of(utilisateur));
         when(passwordEncoder.matches(loginRequest.getPassword(), utilisateur.getPassword())).thenReturn(true);
-        when(jwtUtil.generateToken(utilisateur.getEmail(), "UTILISATEUR")).thenReturn("fake-jwt-token");
+        when(jwtUtil.generateToken(utilisateur.getId(), utilisateur.getEmail(), "UTILISATEUR")).thenReturn("fake-jwt-token");
 
         AuthResponse response = authService.signin(loginRequest);
 
@@ -170,4 +171,19 @@ class AuthServiceTest {
         UnauthorizedException ex = assertThrows(UnauthorizedException.class, () -> authService.signin(loginRequest));
         assertThat(ex.getMessage()).isEqualTo("Email ou mot de passe incorrect");
     }
-}
\ No newline at end of file
+
+    // --- TESTS LOGOUT ---
+
+    @Test
+    void logout_ShouldRevokeBearerToken() {
+        authService.logout("Bearer abc.def.ghi");
+
+        verify(jwtUtil).revoquer("abc.def.ghi");
+    }
+
+    @Test
+    void logout_ShouldThrowBadRequest_WhenHeaderMissing() {
+        assertThrows(BadRequestException.class, () -> authService.logout(null));
+        verify(jwtUtil, never()).revoquer(anyString());
+    }
+}
@@ -23,6 +23,9 @@ class BadgeServiceTest {
     @Mock
     private BadgeRepository badgeRepository;
 
+    @Mock
+    private DonneesReference donneesReference;
+
     @InjectMocks
     private BadgeService badgeService;
 
@@ -32,7 +35,7 @@ class BadgeServiceTest {
         Badge badge = new Badge();
         badge.setNom("Nouveau Débatteur");
 
-        when(badgeRepository.findBadgeByNom("Nouveau Débatteur"))
+        when(donneesReference.getBadge("Nouveau Débatteur"))
                 .thenReturn(Optional.of(badge));
 
         // Act
@@ -48,7 +51,7 @@ class BadgeServiceTest {
     @Test
     void shouldCreateAndReturnDefaultBadgeWhenNotExists() {
         // Arrange
-        when(badgeRepository.findBadgeByNom("Nouveau Débatteur"))
+        when(donneesReference.getBadge("Nouveau Débatteur"))
                 .thenReturn(Optional.empty());
 
         when(badgeRepository.save(any(Badge.class)))
@@ -63,5 +66,6 @@ class BadgeServiceTest {
         assertEquals(categorie_badge_enum.BRONZE, result.getCategorie());
 
         verify(badgeRepository, times(1)).save(any(Badge.class));
+        verify(donneesReference).invalider();
     }
 }
@@ -0,0 +1,111 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Entity.Sujet;
+import debatearena.backend.Entity.categorie_sujet_enum;
+import debatearena.backend.Entity.niveau_enum;
+import debatearena.backend.Repository.SujetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogueSujetsTest {
+
+    @Mock
+    private SujetRepository sujetRepository;
+
+    private CatalogueSujets catalogue;
+
+    private Sujet informatiqueDebutant;
+    private Sujet informatiqueExpert;
+    private Sujet santeDebutant;
+
+    @BeforeEach
+    void setUp() {
+        catalogue = new CatalogueSujets(sujetRepository);
+
+        informatiqueDebutant = new Sujet(3L, "HTML", niveau_enum.DEBUTANT, categorie_sujet_enum.INFORMATIQUE);
+        informatiqueExpert = new Sujet(1L, "Compilateurs", niveau_enum.EXPERT, categorie_sujet_enum.INFORMATIQUE);
+        santeDebutant = new Sujet(2L, "Sommeil", niveau_enum.DEBUTANT, categorie_sujet_enum.SANTE);
+    }
+
+    @Test
+    void tous_ShouldBeSortedById_AndLoadedOnce() {
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(informatiqueDebutant, informatiqueExpert, santeDebutant));
+
+        assertThat(catalogue.tous()).extracting(Sujet::getId).containsExactly(1L, 2L, 3L);
+        assertThat(catalogue.parId(2L)).get().extracting(Sujet::getTitre).isEqualTo("Sommeil");
+        assertThat(catalogue.parId(99L)).isEmpty();
+
+        verify(sujetRepository, times(1)).findAll();
+    }
+
+    @Test
+    void filtrer_ShouldUseCategoryAndDifficultyIndexes() {
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(informatiqueDebutant, informatiqueExpert, santeDebutant));
+
+        assertThat(catalogue.filtrer(categorie_sujet_enum.INFORMATIQUE, null))
+                .extracting(Sujet::getId).containsExactly(1L, 3L);
+        assertThat(catalogue.filtrer(null, niveau_enum.DEBUTANT))
+                .extracting(Sujet::getId).containsExactly(2L, 3L);
+        assertThat(catalogue.filtrer(categorie_sujet_enum.INFORMATIQUE, niveau_enum.EXPERT))
+                .extracting(Sujet::getId).containsExactly(1L);
+        assertThat(catalogue.filtrer(categorie_sujet_enum.POLITIQUE, null)).isEmpty();
+        assertThat(catalogue.filtrer(null, null)).hasSize(3);
+    }
+
+    @Test
+    void apres_ShouldReturnSubjectsAfterId() {
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(informatiqueDebutant, informatiqueExpert, santeDebutant));
+
+        assertThat(catalogue.apres(0L, 2)).extracting(Sujet::getId).containsExactly(1L, 2L);
+        assertThat(catalogue.apres(2L, 10)).extracting(Sujet::getId).containsExactly(3L);
+        assertThat(catalogue.apres(3L, 10)).isEmpty();
+    }
+
+    @Test
+    void invalider_ShouldBumpVersion_OnlyWhenContentChanges() {
+        when(sujetRepository.findAll())
+                .thenReturn(List.of(informatiqueDebutant))
+                .thenReturn(List.of(informatiqueDebutant))
+                .thenReturn(List.of(informatiqueDebutant, santeDebutant));
+
+        long v1 = catalogue.getNumeroVersion();
+        String empreinte1 = catalogue.getEmpreinte();
+
+        catalogue.invalider();
+        assertThat(catalogue.getNumeroVersion()).isEqualTo(v1);
+        assertThat(catalogue.getEmpreinte()).isEqualTo(empreinte1);
+
+        catalogue.invalider();
+        assertThat(catalogue.getNumeroVersion()).isEqualTo(v1 + 1);
+        assertThat(catalogue.getEmpreinte()).isNotEqualTo(empreinte1);
+        assertThat(catalogue.tous()).hasSize(2);
+    }
+
+    @Test
+    void getEmpreinte_ShouldBeStableAcrossJvms() {
+        when(sujetRepository.findAll()).thenReturn(List.of(informatiqueDebutant));
+
+        // Valeur figée : ne dépend que du contenu (enums hachés par leur nom)
+        assertThat(catalogue.getEmpreinte()).isEqualTo("1-24fee9b");
+    }
+
+    @Test
+    void tous_ShouldHoldCopies_NotManagedEntities() {
+        when(sujetRepository.findAll()).thenReturn(List.of(informatiqueDebutant));
+
+        catalogue.tous();
+        informatiqueDebutant.setTitre("Modifié hors catalogue");
+
+        assertThat(catalogue.tous().get(0).getTitre()).isEqualTo("HTML");
+    }
+}
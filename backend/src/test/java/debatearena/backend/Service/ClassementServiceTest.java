@@ -0,0 +1,198 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.DTO.EntreeClassement;
+import debatearena.backend.DTO.PositionClassementResponse;
+import debatearena.backend.Entity.Utilisateur;
+import debatearena.backend.Entity.categorie_sujet_enum;
+import debatearena.backend.Entity.role_enum;
+import debatearena.backend.Exceptions.BadRequestException;
+import debatearena.backend.Repository.TestRepository;
+import debatearena.backend.Repository.UtilisateurRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClassementServiceTest {
+
+    @Mock
+    private UtilisateurRepository utilisateurRepository;
+
+    @Mock
+    private TestRepository testRepository;
+
+    private ClassementService classementService;
+
+    @BeforeEach
+    void setUp() {
+        classementService = new ClassementService(utilisateurRepository, testRepository);
+
+        lenient().when(utilisateurRepository.findJoueursClassement()).thenReturn(List.of(
+                new Object[]{1L, "Amina", "Benali", 300},
+                new Object[]{2L, "Yanis", "Haddad", 900},
+                new Object[]{3L, "Sara", "Idrissi", 50}
+        ));
+        lenient().when(testRepository.sumNotesParUtilisateurEtCategorie()).thenReturn(List.<Object[]>of(
+                new Object[]{3L, categorie_sujet_enum.SANTE, 34L},
+                new Object[]{1L, categorie_sujet_enum.SANTE, 12L},
+                // Utilisateur hors classement (admin, chatbot) : ignoré
+                new Object[]{99L, categorie_sujet_enum.SANTE, 40L}
+        ));
+        lenient().when(testRepository.sumNotesParUtilisateurDepuis(any())).thenReturn(List.<Object[]>of(
+                new Object[]{3L, 15L}
+        ));
+    }
+
+    // ==========================================
+    // TESTS : lecture
+    // ==========================================
+
+    @Test
+    void getMeilleurs_ShouldRankByScore_AndLoadOnce() {
+        List<EntreeClassement> top = classementService.getMeilleurs(null, null, 2);
+        classementService.getMeilleurs(null, null, null);
+
+        assertThat(top).extracting(EntreeClassement::getUtilisateurId).containsExactly(2L, 1L);
+        assertThat(top.get(0).getPrenom()).isEqualTo("Yanis");
+        assertThat(top.get(0).getPoints()).isEqualTo(900);
+        verify(utilisateurRepository, times(1)).findJoueursClassement();
+    }
+
+    @Test
+    void getMeilleurs_ShouldUseCategoryAndPeriodBoards() {
+        assertThat(classementService.getMeilleurs("SANTE", null, 10))
+                .extracting(EntreeClassement::getUtilisateurId).containsExactly(3L, 1L);
+        assertThat(classementService.getMeilleurs(null, "SEMAINE", 10))
+                .extracting(EntreeClassement::getPoints).containsExactly(15);
+        assertThat(classementService.getMeilleurs("ART", null, 10)).isEmpty();
+    }
+
+    @Test
+    void getMeilleurs_ShouldRejectInvalidParameters() {
+        assertThrows(BadRequestException.class, () -> classementService.getMeilleurs("SANTE", "MOIS", 10));
+        assertThrows(BadRequestException.class, () -> classementService.getMeilleurs("INCONNUE", null, 10));
+        assertThrows(BadRequestException.class, () -> classementService.getMeilleurs(null, "ANNEE", 10));
+    }
+
+    @Test
+    void getPosition_ShouldReturnRankAndNeighbors() {
+        PositionClassementResponse position = classementService.getPosition(1L, null, null, 1);
+
+        assertThat(position.getRang()).isEqualTo(2);
+        assertThat(position.getPoints()).isEqualTo(300);
+        assertThat(position.getTotalJoueurs()).isEqualTo(3);
+        assertThat(position.getVoisins()).extracting(EntreeClassement::getUtilisateurId).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void getPosition_ShouldReturnNoRank_WhenNotClassified() {
+        PositionClassementResponse position = classementService.getPosition(2L, "SANTE", null, 2);
+
+        assertThat(position.getRang()).isNull();
+        assertThat(position.getPoints()).isZero();
+        assertThat(position.getVoisins()).isEmpty();
+    }
+
+    // ==========================================
+    // TESTS : mises à jour
+    // ==========================================
+
+    @Test
+    void surJoueurModifie_ShouldMovePlayerWithoutReloading() {
+        classementService.getMeilleurs(null, null, 10);
+
+        Utilisateur sara = new Utilisateur();
+        sara.setId(3L);
+        sara.setPrenom("Sara");
+        sara.setNom("Idrissi");
+        sara.setRole(role_enum.UTILISATEUR);
+        sara.setScore(1500);
+        classementService.surJoueurModifie(sara);
+
+        assertThat(classementService.getPosition(3L, null, null, 0).getRang()).isEqualTo(1);
+        verify(utilisateurRepository, times(1)).findJoueursClassement();
+    }
+
+    @Test
+    void surJoueurRenomme_ShouldRenameWithoutTouchingScore() {
+        classementService.getMeilleurs(null, null, 10);
+
+        // Copie ancienne : son score ne doit pas remplacer celui du classement
+        Utilisateur yanis = new Utilisateur();
+        yanis.setId(2L);
+        yanis.setPrenom("Yannis");
+        yanis.setNom("Haddad");
+        yanis.setRole(role_enum.UTILISATEUR);
+        yanis.setScore(10);
+        classementService.surJoueurRenomme(yanis);
+
+        List<EntreeClassement> top = classementService.getMeilleurs(null, null, 1);
+        assertThat(top.get(0).getPrenom()).isEqualTo("Yannis");
+        assertThat(top.get(0).getPoints()).isEqualTo(900);
+    }
+
+    @Test
+    void surJoueurModifie_ShouldIgnoreNonPlayers() {
+        classementService.getMeilleurs(null, null, 10);
+
+        Utilisateur admin = new Utilisateur();
+        admin.setId(50L);
+        admin.setRole(role_enum.ADMIN);
+        admin.setScore(5000);
+        classementService.surJoueurModifie(admin);
+
+        assertThat(classementService.getPosition(50L, null, null, 0).getRang()).isNull();
+    }
+
+    @Test
+    void surTestNote_ShouldCreditCategoryAndCurrentPeriods() {
+        classementService.getMeilleurs(null, null, 10);
+
+        classementService.surTestNote(1L, categorie_sujet_enum.SANTE, LocalDateTime.now(), null, 18);
+        classementService.surTestNote(1L, categorie_sujet_enum.SANTE, LocalDateTime.now(), 18, 20);
+        classementService.surTestNote(2L, categorie_sujet_enum.ART, LocalDateTime.now().minusYears(1), null, 10);
+
+        assertThat(classementService.getPosition(1L, "SANTE", null, 0).getPoints()).isEqualTo(32);
+        assertThat(classementService.getPosition(1L, null, "SEMAINE", 0).getRang()).isEqualTo(1);
+        assertThat(classementService.getPosition(2L, "ART", null, 0).getPoints()).isEqualTo(10);
+        assertThat(classementService.getPosition(2L, null, "MOIS", 0).getRang()).isNull();
+    }
+
+    @Test
+    void reconstruire_ShouldReplayUpdatesReceivedWhileReading() {
+        classementService.getMeilleurs(null, null, 10);
+
+        // Mises à jour validées pendant la lecture de la base (absentes des lignes relues)
+        when(utilisateurRepository.findJoueursClassement()).thenAnswer(invocation -> {
+            classementService.surScoreModifie(3L, 2000);
+            classementService.surTestNote(1L, categorie_sujet_enum.ART, LocalDateTime.now(), null, 14);
+            return List.of(
+                    new Object[]{1L, "Amina", "Benali", 300},
+                    new Object[]{2L, "Yanis", "Haddad", 900},
+                    new Object[]{3L, "Sara", "Idrissi", 50}
+            );
+        });
+
+        classementService.reconstruire();
+
+        assertThat(classementService.getPosition(3L, null, null, 0).getPoints()).isEqualTo(2000);
+        assertThat(classementService.getPosition(1L, "ART", null, 0).getPoints()).isEqualTo(14);
+
+        // Hors reconstruction, plus rien n'est enregistré pour être rejoué
+        when(utilisateurRepository.findJoueursClassement()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, "Amina", "Benali", 300}
+        ));
+        classementService.reconstruire();
+        assertThat(classementService.getPosition(1L, "ART", null, 0).getRang()).isNull();
+    }
+}
@@ -2,7 +2,7 @@ package debatearena.backend.Service;
 
 import debatearena.backend.Entity.role_enum;
 import debatearena.backend.Entity.Utilisateur;
-import debatearena.backend.Repository.UtilisateurRepository;
+import debatearena.backend.Security.UtilisateurPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,7 +21,7 @@ import static org.mockito.Mockito.when;
 class CustomUtilisateurServiceTest {
 
     @Mock
-    private UtilisateurRepository utilisateurRepository;
+    private UtilisateurCache utilisateurCache;
 
     @InjectMocks
     private CustomUtilisateurService customUtilisateurService;
@@ -31,6 +31,7 @@ class CustomUtilisateurServiceTest {
     @BeforeEach
     void setUp() {
         utilisateur = new Utilisateur();
+        utilisateur.setId(7L);
         utilisateur.setEmail("test@example.com");
         utilisateur.setPassword("password123");
         utilisateur.setRole(role_enum.UTILISATEUR); // ici c'est correct
@@ -39,8 +40,8 @@ class CustomUtilisateurServiceTest {
 
     @Test
     void shouldLoadUserByUsername_WhenUserExists() {
-        // Mock du repository
-        when(utilisateurRepository.findByEmail("test@example.com")).thenReturn(Optional.of(utilisateur));
+        // Mock du cache utilisateurs
+        when(utilisateurCache.getParEmail("test@example.com")).thenReturn(Optional.of(utilisateur));
 
         // Appel de la méthode
         UserDetails userDetails = customUtilisateurService.loadUserByUsername("test@example.com");
@@ -50,12 +51,17 @@ class CustomUtilisateurServiceTest {
         assertEquals(utilisateur.getPassword(), userDetails.getPassword());
         assertTrue(userDetails.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("UTILISATEUR")));
+
+        // Le principal porte aussi l'id et le rôle, pour éviter une nouvelle recherche
+        UtilisateurPrincipal principal = assertInstanceOf(UtilisateurPrincipal.class, userDetails);
+        assertEquals(7L, principal.getId());
+        assertEquals(role_enum.UTILISATEUR, principal.getRole());
     }
 
     @Test
     void shouldThrowException_WhenUserDoesNotExist() {
-        // Mock du repository
-        when(utilisateurRepository.findByEmail("unknown@example.com")).thenReturn(Optional.empty());
+        // Mock du cache utilisateurs
+        when(utilisateurCache.getParEmail("unknown@example.com")).thenReturn(Optional.empty());
 
         // Vérification que l’exception est levée
         assertThrows(UsernameNotFoundException.class, () -> {
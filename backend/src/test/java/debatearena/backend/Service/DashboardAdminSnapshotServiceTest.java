@@ -0,0 +1,83 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.DTO.DashboardAdminResponse;
+import debatearena.backend.Entity.StatutSignalementEnum;
+import debatearena.backend.Repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardAdminSnapshotServiceTest {
+
+    @Mock private UtilisateurRepository utilisateurRepository;
+    @Mock private DebatRepository debatRepository;
+    @Mock private MessageRepository messageRepository;
+    @Mock private TestRepository testRepository;
+    @Mock private SujetRepository sujetRepository;
+    @Mock private SignalementRepository signalementRepository;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-01-15T10:00:00Z"), ZoneId.of("UTC"));
+    private DashboardAdminSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new DashboardAdminSnapshotService(utilisateurRepository, debatRepository,
+                messageRepository, testRepository, sujetRepository, signalementRepository, clock);
+
+        when(utilisateurRepository.countTotalUtilisateurs()).thenReturn(42);
+        when(debatRepository.count()).thenReturn(100L);
+        when(debatRepository.countDebatsEnCours()).thenReturn(7);
+        when(testRepository.count()).thenReturn(30L);
+        when(signalementRepository.countByStatut(StatutSignalementEnum.EN_ATTENTE)).thenReturn(3);
+        when(signalementRepository.countTraitesDepuis(any())).thenReturn(5);
+        when(sujetRepository.count()).thenReturn(12L);
+        when(debatRepository.countSujetsTendanceDepuis(any(), anyLong())).thenReturn(2);
+        when(debatRepository.countDebatsDepuis(any())).thenReturn(10);
+        when(messageRepository.countMessagesDepuis(any())).thenReturn(80);
+    }
+
+    @Test
+    void getSnapshot_ShouldComputeOnceThenServeFromMemory() {
+        when(testRepository.getNoteMoyenneGlobale()).thenReturn(13.5);
+
+        DashboardAdminResponse premier = snapshotService.getSnapshot();
+        DashboardAdminResponse second = snapshotService.getSnapshot();
+
+        assertThat(second).isSameAs(premier);
+        assertThat(premier.getTotalUtilisateurs()).isEqualTo(42);
+        assertThat(premier.getTotalDebats()).isEqualTo(100);
+        assertThat(premier.getNoteMoyenneTests()).isEqualTo(13.5);
+        assertThat(premier.getSujetsTendance()).isEqualTo(2);
+        assertThat(premier.getActivite7j().getMessagesEnvoyes()).isEqualTo(80);
+        assertThat(premier.getDateCalcul()).isEqualTo(LocalDateTime.of(2025, 1, 15, 10, 0));
+        verify(utilisateurRepository, times(1)).countTotalUtilisateurs();
+        verify(testRepository, never()).findAll();
+    }
+
+    @Test
+    void rafraichir_ShouldReplaceSnapshot() {
+        when(testRepository.getNoteMoyenneGlobale()).thenReturn(null);
+
+        DashboardAdminResponse avant = snapshotService.getSnapshot();
+        when(utilisateurRepository.countTotalUtilisateurs()).thenReturn(43);
+        snapshotService.rafraichir();
+
+        DashboardAdminResponse apres = snapshotService.getSnapshot();
+        assertThat(apres).isNotSameAs(avant);
+        assertThat(apres.getTotalUtilisateurs()).isEqualTo(43);
+        assertThat(apres.getNoteMoyenneTests()).isEqualTo(0.0); // aucune note
+    }
+}
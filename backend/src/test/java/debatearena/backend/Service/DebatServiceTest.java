@@ -1,24 +1,32 @@
 package debatearena.backend.Service;
 
 import debatearena.backend.Client.ChatbotClient;
+import debatearena.backend.Client.ChatbotHealthMonitor;
 import debatearena.backend.DTO.*;
 import debatearena.backend.Entity.*;
 import debatearena.backend.Exceptions.BadRequestException;
 import debatearena.backend.Exceptions.NotFoundException;
 import debatearena.backend.Exceptions.UnauthorizedException;
 import debatearena.backend.Repository.DebatRepository;
+import debatearena.backend.Repository.DebatResumeView;
 import debatearena.backend.Repository.MessageRepository;
-import debatearena.backend.Repository.SujetRepository;
 import debatearena.backend.Repository.TestRepository;
+import debatearena.backend.Utils.CurseurPagination;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -32,9 +40,15 @@ class DebatServiceTest {
     @Mock private DebatRepository debatRepository;
     @Mock private MessageRepository messageRepository;
     @Mock private TestRepository testRepository;
-    @Mock private SujetRepository sujetRepository;
+    @Mock private CatalogueSujets catalogueSujets;
     @Mock private UtilisateurService utilisateurService;
     @Mock private ChatbotClient chatbotClient;
+    @Mock private ChatbotHealthMonitor chatbotHealthMonitor;
+    @Mock private ReponseChatbotService reponseChatbotService;
+    @Mock private SessionChatbotRegistry sessionChatbotRegistry;
+    @Mock private StatistiquesUtilisateurService statistiquesUtilisateurService;
+    @Mock private EvaluationTestService evaluationTestService;
+    @Mock private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private DebatService debatService;
@@ -86,7 +100,7 @@ class DebatServiceTest {
         CreerDebatRequest request = new CreerDebatRequest(10L, "ENTRAINEMENT", "POUR");
 
         when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
-        when(sujetRepository.findById(10L)).thenReturn(Optional.of(sujet));
+        when(catalogueSujets.parId(10L)).thenReturn(Optional.of(sujet));
         when(utilisateurService.peutAccederAuSujet(any(), any())).thenReturn(true);
         when(debatRepository.hasDebatEnCoursSurSujet(any(), any())).thenReturn(false);
         when(utilisateurService.getChatbotUser()).thenReturn(chatbotUser);
@@ -109,6 +123,7 @@ class DebatServiceTest {
         // Vérifie qu'on a bien sauvegardé le débat et le premier message
         verify(debatRepository).save(any(Debat.class));
         verify(messageRepository).save(any(Message.class));
+        verify(statistiquesUtilisateurService).surDebatCree(1L);
     }
 
     @Test
@@ -117,7 +132,7 @@ class DebatServiceTest {
         CreerDebatRequest request = new CreerDebatRequest(10L, "ENTRAINEMENT", "POUR");
 
         when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
-        when(sujetRepository.findById(10L)).thenReturn(Optional.of(sujet));
+        when(catalogueSujets.parId(10L)).thenReturn(Optional.of(sujet));
         // L'utilisateur n'a pas le niveau
         when(utilisateurService.peutAccederAuSujet(any(), any())).thenReturn(false);
 
@@ -132,7 +147,7 @@ class DebatServiceTest {
         CreerDebatRequest request = new CreerDebatRequest(10L, "ENTRAINEMENT", "POUR");
 
         when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
-        when(sujetRepository.findById(10L)).thenReturn(Optional.of(sujet));
+        when(catalogueSujets.parId(10L)).thenReturn(Optional.of(sujet));
         when(utilisateurService.peutAccederAuSujet(any(), any())).thenReturn(true);
         // Débat déjà en cours
         when(debatRepository.hasDebatEnCoursSurSujet(any(), any())).thenReturn(true);
@@ -157,9 +172,16 @@ class DebatServiceTest {
 
         when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
         when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
-        when(chatbotClient.isHealthy()).thenReturn(true);
+        when(chatbotHealthMonitor.isDisponible()).thenReturn(true);
+        when(chatbotHealthMonitor.executer(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
         when(chatbotClient.sendMessage(anyString(), any())).thenReturn(botResponse);
+        when(debatRepository.getReferenceById(100L)).thenReturn(debatEnCours);
         when(utilisateurService.getChatbotUser()).thenReturn(chatbotUser);
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> {
+            Message message = invocation.getArgument(0);
+            message.setId(message.getUtilisateur() == chatbotUser ? 501L : 500L);
+            return message;
+        });
 
         // ACT
         MessageResponse response = debatService.envoyerMessage(100L, request);
@@ -168,8 +190,11 @@ class DebatServiceTest {
         assertThat(response.getContenu()).isEqualTo("Ma contre-attaque");
         assertThat(response.getAuteur()).isEqualTo("CHATBOT");
 
-        // Vérifie qu'on a sauvegardé 2 messages (1 user, 1 bot)
-        verify(messageRepository, times(2)).save(any(Message.class));
+        // Vérifie qu'on a sauvegardé 2 messages (1 user, 1 bot), la réponse rattachée au message
+        ArgumentCaptor<Message> sauvegardes = ArgumentCaptor.forClass(Message.class);
+        verify(messageRepository, times(2)).save(sauvegardes.capture());
+        assertThat(sauvegardes.getAllValues().get(0).getIdMessageSource()).isNull();
+        assertThat(sauvegardes.getAllValues().get(1).getIdMessageSource()).isEqualTo(500L);
     }
 
     @Test
@@ -180,7 +205,8 @@ class DebatServiceTest {
         when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
         when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
         // Chatbot indisponible
-        when(chatbotClient.isHealthy()).thenReturn(false);
+        when(chatbotHealthMonitor.isDisponible()).thenReturn(false);
+        when(debatRepository.getReferenceById(100L)).thenReturn(debatEnCours);
         when(utilisateurService.getChatbotUser()).thenReturn(chatbotUser);
 
         // ACT
@@ -191,6 +217,132 @@ class DebatServiceTest {
         verify(chatbotClient, never()).sendMessage(any(), any());
     }
 
+    @Test
+    void envoyerMessage_ShouldCallChatbotOutsideTransactions() {
+        // ARRANGE
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+        when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
+        when(chatbotHealthMonitor.isDisponible()).thenReturn(true);
+        when(chatbotHealthMonitor.executer(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+        when(chatbotClient.sendMessage(anyString(), any())).thenReturn(new ChatbotResponse("Réponse", "session-123"));
+        when(debatRepository.getReferenceById(100L)).thenReturn(debatEnCours);
+        when(utilisateurService.getChatbotUser()).thenReturn(chatbotUser);
+
+        // ACT
+        debatService.envoyerMessage(100L, new MessageRequest("Mon argument"));
+
+        // ASSERT : lecture validée avant l'appel, écriture ouverte après
+        InOrder ordre = inOrder(transactionManager, chatbotClient, messageRepository);
+        ordre.verify(transactionManager).getTransaction(any());
+        ordre.verify(transactionManager).commit(any());
+        ordre.verify(chatbotClient).sendMessage(anyString(), any());
+        ordre.verify(transactionManager).getTransaction(any());
+        ordre.verify(messageRepository, times(2)).save(any(Message.class));
+        ordre.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void envoyerMessageAsync_ShouldSaveUserMessageAndScheduleReply() {
+        // ARRANGE
+        MessageRequest request = new MessageRequest("Mon argument");
+
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+        when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> {
+            Message m = invocation.getArgument(0);
+            m.setId(500L);
+            return m;
+        });
+
+        // ACT
+        MessageResponse response = debatService.envoyerMessageAsync(100L, request);
+
+        // ASSERT
+        assertThat(response.getId()).isEqualTo(500L);
+        assertThat(response.getAuteur()).isEqualTo("UTILISATEUR");
+
+        // Le chatbot n'est pas appelé dans le thread de la requête
+        verify(chatbotClient, never()).sendMessage(any(), any());
+        verify(reponseChatbotService).planifierReponse(eq(100L), eq(500L), anyString(), any(), any());
+        verify(messageRepository, times(1)).save(any(Message.class));
+    }
+
+    @Test
+    void envoyerMessageEnFlux_ShouldThrowBadRequest_WhenDebatTermine() {
+        // ARRANGE
+        debatEnCours.setDuree(120);
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+        when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
+
+        // ACT & ASSERT
+        assertThrows(BadRequestException.class,
+                () -> debatService.envoyerMessageEnFlux(100L, new MessageRequest("Mon argument"), fragment -> { }));
+        verify(reponseChatbotService, never()).planifierReponseEnFlux(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void attendreReponseChatbot_ShouldReturnCompletedFuture_WhenReplyAlreadySaved() {
+        // ARRANGE : plus en attente (enregistrée puis retirée), lisible en base
+        Message reponse = new Message("Ma contre-attaque", debatEnCours, chatbotUser);
+        reponse.setId(501L);
+        reponse.setIdMessageSource(500L);
+
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+        when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
+        when(messageRepository.existsByIdAndDebatId(500L, 100L)).thenReturn(true);
+        when(reponseChatbotService.getReponseEnAttente(500L)).thenReturn(null);
+        when(messageRepository.findReponseChatbotA(debatEnCours, 500L)).thenReturn(Optional.of(reponse));
+
+        // ACT
+        CompletableFuture<MessageResponse> future = debatService.attendreReponseChatbot(100L, 500L);
+
+        // ASSERT
+        assertThat(future).isCompleted();
+        assertThat(future.join().getContenu()).isEqualTo("Ma contre-attaque");
+    }
+
+    @Test
+    void attendreReponseChatbot_ShouldReturnPendingFuture_BeforeReadingDatabase() {
+        // ARRANGE
+        CompletableFuture<MessageResponse> enAttente = new CompletableFuture<>();
+
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+        when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
+        when(messageRepository.existsByIdAndDebatId(500L, 100L)).thenReturn(true);
+        when(reponseChatbotService.getReponseEnAttente(500L)).thenReturn(enAttente);
+
+        // ACT & ASSERT
+        assertThat(debatService.attendreReponseChatbot(100L, 500L)).isSameAs(enAttente);
+        verify(messageRepository, never()).findReponseChatbotA(any(), any());
+    }
+
+    @Test
+    void attendreReponseChatbot_ShouldCompleteWithNull_WhenNoReplyKnown() {
+        // ARRANGE : ni en attente sur ce nœud, ni en base
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+        when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
+        when(messageRepository.existsByIdAndDebatId(500L, 100L)).thenReturn(true);
+        when(messageRepository.findReponseChatbotA(debatEnCours, 500L)).thenReturn(Optional.empty());
+
+        // ACT
+        CompletableFuture<MessageResponse> future = debatService.attendreReponseChatbot(100L, 500L);
+
+        // ASSERT : le contrôleur répond 202 sans attendre, le client réessaie
+        assertThat(future).isCompleted();
+        assertThat(future.join()).isNull();
+    }
+
+    @Test
+    void attendreReponseChatbot_ShouldThrowNotFound_WhenMessageNotInDebat() {
+        // ARRANGE
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+        when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
+        when(messageRepository.existsByIdAndDebatId(999L, 100L)).thenReturn(false);
+
+        // ACT & ASSERT
+        assertThrows(NotFoundException.class, () -> debatService.attendreReponseChatbot(100L, 999L));
+    }
+
     @Test
     void envoyerMessage_ShouldThrowException_WhenDebatFinished() {
         // ARRANGE
@@ -215,6 +367,7 @@ class DebatServiceTest {
         when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
         when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
         when(testRepository.existsByDebat(debatEnCours)).thenReturn(false); // Entrainement
+        when(sessionChatbotRegistry.retirer(100L)).thenReturn("session-123");
 
         // ACT
         DebatResponse response = debatService.terminerDebat(100L);
@@ -223,6 +376,26 @@ class DebatServiceTest {
         assertThat(response.getStatus()).isEqualTo("TERMINE");
         assertThat(response.getDuree()).isNotNull();
         verify(debatRepository).save(debatEnCours);
+        // La version du dashboard (user_stats) change
+        verify(statistiquesUtilisateurService).surDebatTermine(utilisateur.getId());
+        // La session chatbot est libérée
+        verify(chatbotClient).clearSession("session-123");
+    }
+
+    @Test
+    void getEtagMessages_ShouldUseLastMessageId() {
+        when(utilisateurService.getCurrentUserId()).thenReturn(1L);
+        when(messageRepository.findDernierMessageId(100L, 1L)).thenReturn(42L);
+
+        assertThat(debatService.getEtagMessages(100L)).isEqualTo("\"messages-100-42\"");
+    }
+
+    @Test
+    void getEtagMessages_ShouldReturnNull_WhenNoMessageOrNotOwner() {
+        when(utilisateurService.getCurrentUserId()).thenReturn(1L);
+        when(messageRepository.findDernierMessageId(100L, 1L)).thenReturn(null);
+
+        assertThat(debatService.getEtagMessages(100L)).isNull();
     }
 
     @Test
@@ -237,8 +410,115 @@ class DebatServiceTest {
         debatService.terminerDebat(100L);
 
         // ASSERT
-        // Vérifie qu'un message système "Débat terminé..." est créé
+        // Vérifie qu'un message système "Débat terminé..." est créé et l'évaluation mise en file
         verify(messageRepository).save(any(Message.class));
+        verify(evaluationTestService).planifier(100L);
+    }
+
+    // ==========================================
+    // TESTS : Évaluer Test
+    // ==========================================
+
+    @Test
+    void evaluerTest_ShouldReject_WhenDebateNotFinished() {
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+        when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
+        when(testRepository.existsByDebat(debatEnCours)).thenReturn(true);
+
+        assertThrows(BadRequestException.class, () -> debatService.evaluerTest(100L));
+        verifyNoInteractions(evaluationTestService);
+    }
+
+    @Test
+    void evaluerTest_ShouldReturnLatestMessage_WhenEvaluationAlreadyScheduled() {
+        debatEnCours.setDuree(300);
+        Message resultat = new Message("Évaluation terminée : 15/20", debatEnCours, chatbotUser);
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+        when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
+        when(testRepository.existsByDebat(debatEnCours)).thenReturn(true);
+        when(evaluationTestService.relancer(100L)).thenReturn(false);
+        when(messageRepository.findLastMessageByDebat(debatEnCours)).thenReturn(Optional.of(resultat));
+
+        MessageResponse response = debatService.evaluerTest(100L);
+
+        assertThat(response.getContenu()).isEqualTo("Évaluation terminée : 15/20");
+        verify(messageRepository, never()).save(any());
+    }
+
+    @Test
+    void evaluerTest_ShouldPostMessage_WhenFailedEvaluationIsRetried() {
+        debatEnCours.setDuree(300);
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+        when(debatRepository.findByIdAndUtilisateur(100L, utilisateur)).thenReturn(Optional.of(debatEnCours));
+        when(testRepository.existsByDebat(debatEnCours)).thenReturn(true);
+        when(evaluationTestService.relancer(100L)).thenReturn(true);
+        when(utilisateurService.getChatbotUser()).thenReturn(chatbotUser);
+
+        MessageResponse response = debatService.evaluerTest(100L);
+
+        assertThat(response.getAuteur()).isEqualTo("CHATBOT");
+        verify(messageRepository).save(any(Message.class));
+    }
+
+    // ==========================================
+    // TESTS : Listes de débats
+    // ==========================================
+
+    @Test
+    void getMesDebats_ShouldMapProjection_WithoutPerRowQueries() {
+        // ARRANGE
+        DebatResumeView resume = mock(DebatResumeView.class);
+        when(resume.getId()).thenReturn(100L);
+        when(resume.getDuree()).thenReturn(300);
+        when(resume.getChoixUtilisateur()).thenReturn("POUR");
+        when(resume.getSujetId()).thenReturn(10L);
+        when(resume.getSujetTitre()).thenReturn("Java vs Python");
+        when(resume.getSujetCategorie()).thenReturn(categorie_sujet_enum.INFORMATIQUE);
+        when(resume.getSujetDifficulte()).thenReturn(niveau_enum.DEBUTANT);
+        when(resume.getTestId()).thenReturn(7L);
+        when(resume.getNote()).thenReturn(15);
+
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+        when(debatRepository.findResumesByUtilisateur(utilisateur)).thenReturn(List.of(resume));
+
+        // ACT
+        List<DebatResponse> debats = debatService.getMesDebats();
+
+        // ASSERT
+        assertThat(debats).hasSize(1);
+        DebatResponse debat = debats.get(0);
+        assertThat(debat.getType()).isEqualTo("TEST");
+        assertThat(debat.getStatus()).isEqualTo("TERMINE");
+        assertThat(debat.getNote()).isEqualTo(15);
+        assertThat(debat.getSujet().getTitre()).isEqualTo("Java vs Python");
+
+        verifyNoInteractions(testRepository);
+    }
+
+    @Test
+    void getMesDebatsPage_ShouldUseKeysetQuery_WhenCursorGiven() {
+        // ARRANGE
+        LocalDateTime date = LocalDateTime.of(2025, 1, 15, 10, 30);
+        String curseur = CurseurPagination.encoder(date, 100L);
+
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+        when(debatRepository.findPageResumesByUtilisateurAvant(eq(utilisateur), eq(date), eq(100L), any()))
+                .thenReturn(List.of());
+
+        // ACT
+        PageResponse<DebatResponse> page = debatService.getMesDebatsPage(curseur, 10);
+
+        // ASSERT
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.isHasNext()).isFalse();
+        verify(debatRepository, never()).findPageResumesByUtilisateur(any(), any());
+    }
+
+    @Test
+    void getMesDebatsPage_ShouldRejectInvalidCursor() {
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateur);
+
+        assertThrows(BadRequestException.class, () -> debatService.getMesDebatsPage("pas-un-curseur", 10));
     }
 
     // ==========================================
@@ -257,6 +537,7 @@ class DebatServiceTest {
         // ASSERT
         verify(messageRepository).deleteByDebat(debatEnCours);
         verify(debatRepository).delete(debatEnCours);
+        verify(statistiquesUtilisateurService).surDebatSupprime(1L);
     }
 
     @Test
@@ -0,0 +1,83 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Entity.Badge;
+import debatearena.backend.Entity.Utilisateur;
+import debatearena.backend.Entity.categorie_badge_enum;
+import debatearena.backend.Entity.role_enum;
+import debatearena.backend.Exceptions.NotFoundException;
+import debatearena.backend.Repository.BadgeRepository;
+import debatearena.backend.Repository.UtilisateurRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DonneesReferenceTest {
+
+    @Mock
+    private UtilisateurRepository utilisateurRepository;
+
+    @Mock
+    private BadgeRepository badgeRepository;
+
+    @InjectMocks
+    private DonneesReference donneesReference;
+
+    private Utilisateur chatbot;
+    private Badge bronze;
+
+    @BeforeEach
+    void setUp() {
+        chatbot = new Utilisateur();
+        chatbot.setId(999L);
+        chatbot.setRole(role_enum.CHATBOT);
+
+        bronze = new Badge();
+        bronze.setNom("Nouveau Débatteur");
+        bronze.setCategorie(categorie_badge_enum.BRONZE);
+    }
+
+    @Test
+    void getChatbot_ShouldLoadOnce_ThenServeFromMemory() {
+        when(utilisateurRepository.findWithBadgeByRole(role_enum.CHATBOT)).thenReturn(Optional.of(chatbot));
+        when(badgeRepository.findAll()).thenReturn(List.of(bronze));
+
+        donneesReference.getChatbot();
+        donneesReference.getChatbot();
+        Optional<Badge> badge = donneesReference.getBadge("Nouveau Débatteur");
+
+        assertThat(donneesReference.getChatbot()).isSameAs(chatbot);
+        assertThat(badge).containsSame(bronze);
+        verify(utilisateurRepository, times(1)).findWithBadgeByRole(role_enum.CHATBOT);
+        verify(badgeRepository, times(1)).findAll();
+    }
+
+    @Test
+    void invalider_ShouldReload() {
+        when(utilisateurRepository.findWithBadgeByRole(role_enum.CHATBOT)).thenReturn(Optional.of(chatbot));
+        when(badgeRepository.findAll()).thenReturn(List.of()).thenReturn(List.of(bronze));
+
+        assertThat(donneesReference.getBadge("Nouveau Débatteur")).isEmpty();
+
+        donneesReference.invalider();
+
+        assertThat(donneesReference.getBadge("Nouveau Débatteur")).containsSame(bronze);
+    }
+
+    @Test
+    void getChatbot_ShouldThrow_WhenChatbotAccountIsMissing() {
+        when(utilisateurRepository.findWithBadgeByRole(role_enum.CHATBOT)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> donneesReference.getChatbot());
+    }
+}
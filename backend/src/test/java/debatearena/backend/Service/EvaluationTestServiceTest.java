@@ -0,0 +1,235 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Client.ChatbotClient;
+import debatearena.backend.Client.ChatbotHealthMonitor;
+import debatearena.backend.DTO.ChatbotResponse;
+import debatearena.backend.Entity.*;
+import debatearena.backend.Exceptions.ChatbotServiceException;
+import debatearena.backend.Repository.DebatRepository;
+import debatearena.backend.Repository.EvaluationTestRepository;
+import debatearena.backend.Repository.MessageRepository;
+import debatearena.backend.Repository.TestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EvaluationTestServiceTest {
+
+    @Mock private EvaluationTestRepository evaluationTestRepository;
+    @Mock private TestRepository testRepository;
+    @Mock private MessageRepository messageRepository;
+    @Mock private DebatRepository debatRepository;
+    @Mock private UtilisateurService utilisateurService;
+    @Mock private StatistiquesUtilisateurService statistiquesUtilisateurService;
+    @Mock private ClassementService classementService;
+    @Mock private ChatbotClient chatbotClient;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private EvaluationTestService evaluationTestService;
+    private Debat debat;
+    private debatearena.backend.Entity.Test test;
+    private EvaluationTest tache;
+
+    @BeforeEach
+    void setUp() {
+        evaluationTestService = new EvaluationTestService(
+                evaluationTestRepository, testRepository, messageRepository, debatRepository,
+                utilisateurService, statistiquesUtilisateurService, classementService, chatbotClient,
+                new ChatbotHealthMonitor(chatbotClient, 3, 30), transactionManager,
+                1, 10, 3, 30, 10
+        );
+
+        Utilisateur joueur = new Utilisateur();
+        joueur.setId(1L);
+        joueur.setRole(role_enum.UTILISATEUR);
+
+        Utilisateur chatbotUser = new Utilisateur();
+        chatbotUser.setId(999L);
+        chatbotUser.setRole(role_enum.CHATBOT);
+
+        Sujet sujet = new Sujet(10L, "Java vs Python", niveau_enum.DEBUTANT, categorie_sujet_enum.INFORMATIQUE);
+
+        debat = new Debat();
+        debat.setId(100L);
+        debat.setUtilisateur(joueur);
+        debat.setSujet(sujet);
+        debat.setDateDebut(LocalDateTime.now().minusMinutes(10));
+        debat.setDuree(600);
+
+        test = new debatearena.backend.Entity.Test();
+        test.setDebat(debat);
+
+        tache = new EvaluationTest(100L);
+        tache.setStatut(StatutEvaluationEnum.EN_COURS);
+        tache.setTentatives(1);
+
+        lenient().when(debatRepository.getReferenceById(100L)).thenReturn(debat);
+        lenient().when(utilisateurService.getChatbotUser()).thenReturn(chatbotUser);
+        lenient().when(evaluationTestRepository.reserver(eq(100L), any())).thenReturn(1);
+        lenient().when(evaluationTestRepository.findById(100L)).thenReturn(Optional.of(tache));
+        lenient().when(testRepository.findByDebatId(100L)).thenReturn(Optional.of(test));
+        lenient().when(testRepository.attribuerNote(eq(100L), anyInt())).thenAnswer(invocation -> {
+            if (test.getNote() != null) {
+                return 0;
+            }
+            test.setNote(invocation.getArgument(1));
+            return 1;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        evaluationTestService.arreter();
+    }
+
+    // ==========================================
+    // TESTS : lecture de la note
+    // ==========================================
+
+    @Test
+    void extraireNote_ShouldConvertScoreOutOf100() {
+        assertThat(EvaluationTestService.extraireNote("🎯 **Score final du débat : 76.5/100**")).isEqualTo(15);
+        assertThat(EvaluationTestService.extraireNote("Score : 100/100")).isEqualTo(20);
+    }
+
+    @Test
+    void extraireNote_ShouldReadScoreOutOf20_AndReturnNullWithoutScore() {
+        assertThat(EvaluationTestService.extraireNote("Note : 13,5 / 20")).isEqualTo(14);
+        assertThat(EvaluationTestService.extraireNote("⚠️ Aucun argument n’a été fourni.")).isNull();
+    }
+
+    // ==========================================
+    // TESTS : traitement
+    // ==========================================
+
+    @Test
+    void traiter_ShouldGradeTest_AndApplyEffectsOnce() {
+        when(messageRepository.findUtilisateurMessagesByDebat(debat)).thenReturn(List.of(
+                new Message("Premier argument", debat, debat.getUtilisateur()),
+                new Message("Second argument", debat, debat.getUtilisateur())
+        ));
+        when(chatbotClient.sendMessage(anyString(), anyString(), eq("score")))
+                .thenReturn(new ChatbotResponse("Argument enregistré", "s"));
+        when(chatbotClient.sendMessage(eq(EvaluationTestService.MESSAGE_FIN), anyString(), eq("score")))
+                .thenReturn(new ChatbotResponse("Score final du débat : 76/100", "s"));
+
+        evaluationTestService.traiter(100L);
+
+        assertThat(test.getNote()).isEqualTo(15);
+        assertThat(tache.getStatut()).isEqualTo(StatutEvaluationEnum.TERMINEE);
+        verify(statistiquesUtilisateurService).surTestNote(1L, null, 15);
+        verify(utilisateurService).updateScore(1L, 15 * EvaluationTestService.POINTS_PAR_NOTE);
+        verify(classementService).surTestNote(eq(1L), eq(categorie_sujet_enum.INFORMATIQUE), any(), eq(null), eq(15));
+        verify(chatbotClient).clearSession(anyString());
+        // Réservation prolongée après chaque argument rejoué
+        verify(evaluationTestRepository, times(2)).prolonger(eq(100L), any());
+
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(messageRepository).save(message.capture());
+        assertThat(message.getValue().getContenu()).startsWith("Évaluation terminée : 15/20");
+    }
+
+    @Test
+    void traiter_ShouldNotApplyEffectsTwice_WhenTestAlreadyGraded() {
+        test.setNote(12);
+        when(messageRepository.findUtilisateurMessagesByDebat(debat)).thenReturn(List.of());
+
+        evaluationTestService.traiter(100L);
+
+        assertThat(test.getNote()).isEqualTo(12);
+        assertThat(tache.getStatut()).isEqualTo(StatutEvaluationEnum.TERMINEE);
+        verifyNoInteractions(statistiquesUtilisateurService, classementService);
+        verify(utilisateurService, never()).updateScore(anyLong(), anyInt());
+    }
+
+    @Test
+    void traiter_ShouldSkip_WhenJobAlreadyReserved() {
+        when(evaluationTestRepository.reserver(eq(100L), any())).thenReturn(0);
+
+        evaluationTestService.traiter(100L);
+
+        verifyNoInteractions(chatbotClient, testRepository);
+    }
+
+    @Test
+    void traiter_ShouldRescheduleWithBackoff_WhenChatbotFails() {
+        tache.setTentatives(2);
+        when(messageRepository.findUtilisateurMessagesByDebat(debat)).thenReturn(List.of(
+                new Message("Un argument", debat, debat.getUtilisateur())
+        ));
+        when(chatbotClient.sendMessage(anyString(), anyString(), eq("score")))
+                .thenThrow(new ChatbotServiceException("timeout"));
+
+        evaluationTestService.traiter(100L);
+
+        // Deuxième échec : 30 s x 2
+        assertThat(tache.getStatut()).isEqualTo(StatutEvaluationEnum.EN_ATTENTE);
+        assertThat(tache.getProchaineTentative()).isAfter(LocalDateTime.now().plusSeconds(50));
+        assertThat(tache.getDerniereErreur()).isEqualTo("timeout");
+        assertThat(test.getNote()).isNull();
+        verify(messageRepository, never()).save(any());
+    }
+
+    @Test
+    void traiter_ShouldGiveUp_AfterMaxAttempts() {
+        tache.setTentatives(3);
+        when(messageRepository.findUtilisateurMessagesByDebat(debat)).thenReturn(List.of(
+                new Message("Un argument", debat, debat.getUtilisateur())
+        ));
+        when(chatbotClient.sendMessage(anyString(), anyString(), eq("score")))
+                .thenReturn(new ChatbotResponse("⚠️ Arguments inexploitables", "s"));
+
+        evaluationTestService.traiter(100L);
+
+        assertThat(tache.getStatut()).isEqualTo(StatutEvaluationEnum.ECHEC);
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(messageRepository).save(message.capture());
+        assertThat(message.getValue().getContenu()).isEqualTo(EvaluationTestService.MESSAGE_ECHEC);
+    }
+
+    // ==========================================
+    // TESTS : planification
+    // ==========================================
+
+    @Test
+    void relancer_ShouldResetFailedJob_AndIgnoreJobsInProgress() {
+        tache.setStatut(StatutEvaluationEnum.ECHEC);
+        tache.setTentatives(3);
+        // La tâche relancée est traitée par le pool : on la laisse réservée ailleurs
+        lenient().when(evaluationTestRepository.reserver(eq(100L), any())).thenReturn(0);
+
+        assertThat(evaluationTestService.relancer(100L)).isTrue();
+        assertThat(tache.getStatut()).isEqualTo(StatutEvaluationEnum.EN_ATTENTE);
+        assertThat(tache.getTentatives()).isZero();
+
+        tache.setStatut(StatutEvaluationEnum.EN_COURS);
+        assertThat(evaluationTestService.relancer(100L)).isFalse();
+    }
+
+    @Test
+    void planifier_ShouldNotInsertTwice() {
+        when(evaluationTestRepository.existsById(100L)).thenReturn(true);
+        lenient().when(evaluationTestRepository.reserver(eq(100L), any())).thenReturn(0);
+
+        evaluationTestService.planifier(100L);
+
+        verify(evaluationTestRepository, never()).save(any());
+    }
+}
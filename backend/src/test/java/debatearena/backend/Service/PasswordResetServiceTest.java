@@ -6,6 +6,7 @@ import debatearena.backend.Exceptions.BadRequestException;
 import debatearena.backend.Exceptions.NotFoundException;
 import debatearena.backend.Exceptions.UnauthorizedException;
 import debatearena.backend.Repository.PasswordResetTokenRepository;
+import debatearena.backend.Security.RevocationJetons;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,6 +36,9 @@ class PasswordResetServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private RevocationJetons revocationJetons;
+
     @InjectMocks
     private PasswordResetService passwordResetService;
 
@@ -110,6 +114,7 @@ class PasswordResetServiceTest {
         assertThat(user.getPassword()).isEqualTo(newEncoded); // Le mot de passe de l'objet user a changé
         verify(utilisateurService).save(user); // L'utilisateur a été sauvegardé
         verify(tokenRepo).delete(validToken); // Le token a été supprimé
+        verify(revocationJetons).revoquerUtilisateur("test@test.com"); // Les anciens JWT sont révoqués
     }
 
     @Test
@@ -0,0 +1,115 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Entity.Sujet;
+import debatearena.backend.Entity.categorie_sujet_enum;
+import debatearena.backend.Entity.niveau_enum;
+import debatearena.backend.Repository.DebatRepository;
+import debatearena.backend.Repository.SujetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecommandationServiceTest {
+
+    @Mock
+    private SujetRepository sujetRepository;
+
+    @Mock
+    private DebatRepository debatRepository;
+
+    private RecommandationService recommandationService;
+
+    @BeforeEach
+    void setUp() {
+        recommandationService = new RecommandationService(new CatalogueSujets(sujetRepository), debatRepository, 10, 30, 100, 60);
+
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(
+                new Sujet(1L, "Sommeil", niveau_enum.DEBUTANT, categorie_sujet_enum.SANTE),
+                new Sujet(2L, "Vaccins", niveau_enum.DEBUTANT, categorie_sujet_enum.SANTE),
+                new Sujet(3L, "Street art", niveau_enum.DEBUTANT, categorie_sujet_enum.ART),
+                new Sujet(4L, "Compilateurs", niveau_enum.INTERMEDIAIRE, categorie_sujet_enum.INFORMATIQUE),
+                new Sujet(5L, "Éthique de l'IA", niveau_enum.EXPERT, categorie_sujet_enum.PHILOSOPHIE)
+        ));
+    }
+
+    // ==========================================
+    // TESTS : classement
+    // ==========================================
+
+    @Test
+    void getRecommandations_ShouldOnlyReturnAccessibleSubjects() {
+        List<Sujet> result = recommandationService.getRecommandations(1L, 100);
+
+        assertThat(result).extracting(Sujet::getId).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void getRecommandations_ShouldFavorWellGradedCategory_AndDemoteDebatedSubjects() {
+        // Un débat noté 18/20 sur "Sommeil" (SANTE)
+        when(debatRepository.findHistoriqueParSujet(1L))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 1L, 18.0}));
+
+        List<Sujet> result = recommandationService.getRecommandations(1L, 300);
+
+        // Vaccins (même catégorie) > Compilateurs (niveau courant) > Sommeil (déjà débattu) > Street art
+        assertThat(result).extracting(Sujet::getId).containsExactly(2L, 4L, 1L, 3L);
+    }
+
+    @Test
+    void getRecommandations_ShouldUseTrendsWithoutHistory() {
+        when(debatRepository.countDebatsBySujetDepuis(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{3L, 5L}, new Object[]{2L, 1L}));
+
+        List<Sujet> result = recommandationService.getRecommandations(1L, 100);
+
+        assertThat(result).extracting(Sujet::getId).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void getRecommandations_ShouldRespectConfiguredSize() {
+        RecommandationService deuxSeulement =
+                new RecommandationService(new CatalogueSujets(sujetRepository), debatRepository, 2, 30, 100, 60);
+
+        assertThat(deuxSeulement.getRecommandations(1L, 1200)).hasSize(2);
+    }
+
+    // ==========================================
+    // TESTS : cache et précalcul
+    // ==========================================
+
+    @Test
+    void getRecommandations_ShouldBeCached_UntilLevelChanges() {
+        recommandationService.getRecommandations(1L, 100);
+        recommandationService.getRecommandations(1L, 150);
+        verify(debatRepository, times(1)).findHistoriqueParSujet(1L);
+
+        // Passage INTERMEDIAIRE : nouveaux sujets accessibles
+        List<Sujet> result = recommandationService.getRecommandations(1L, 250);
+
+        verify(debatRepository, times(2)).findHistoriqueParSujet(1L);
+        assertThat(result).extracting(Sujet::getId).contains(4L);
+    }
+
+    @Test
+    void precalculer_ShouldFillCacheForActiveUsers() {
+        when(debatRepository.findUtilisateursActifsDepuis(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{7L, 1200}));
+
+        recommandationService.precalculer();
+        List<Sujet> result = recommandationService.getRecommandations(7L, 1200);
+
+        assertThat(result).hasSize(5);
+        verify(debatRepository, times(1)).findHistoriqueParSujet(7L);
+        verify(debatRepository, times(1)).countDebatsBySujetDepuis(any());
+    }
+}
@@ -0,0 +1,147 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Client.ChatbotClient;
+import debatearena.backend.Client.ChatbotHealthMonitor;
+import debatearena.backend.DTO.ChatbotResponse;
+import debatearena.backend.DTO.MessageResponse;
+import debatearena.backend.Entity.Debat;
+import debatearena.backend.Entity.Message;
+import debatearena.backend.Entity.Utilisateur;
+import debatearena.backend.Entity.role_enum;
+import debatearena.backend.Exceptions.ChatbotServiceException;
+import debatearena.backend.Repository.DebatRepository;
+import debatearena.backend.Repository.MessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReponseChatbotServiceTest {
+
+    @Mock private ChatbotClient chatbotClient;
+    @Mock private MessageRepository messageRepository;
+    @Mock private DebatRepository debatRepository;
+    @Mock private UtilisateurService utilisateurService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ReponseChatbotService reponseChatbotService;
+    private Utilisateur chatbotUser;
+
+    @BeforeEach
+    void setUp() {
+        reponseChatbotService = new ReponseChatbotService(
+                chatbotClient, new ChatbotHealthMonitor(chatbotClient, 3, 30), messageRepository, debatRepository, utilisateurService,
+                transactionManager, 1, 1, 10, false, 1
+        );
+
+        chatbotUser = new Utilisateur();
+        chatbotUser.setId(999L);
+        chatbotUser.setRole(role_enum.CHATBOT);
+
+        Debat debat = new Debat();
+        debat.setId(100L);
+
+        lenient().when(debatRepository.getReferenceById(100L)).thenReturn(debat);
+        lenient().when(utilisateurService.getChatbotUser()).thenReturn(chatbotUser);
+        lenient().when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> {
+            Message m = invocation.getArgument(0);
+            m.setId(501L);
+            return m;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        reponseChatbotService.arreter();
+    }
+
+    @Test
+    void planifierReponse_ShouldSaveChatbotReplyAndUpdateSession() throws Exception {
+        // ARRANGE
+        when(chatbotClient.sendMessage("contexte", null))
+                .thenReturn(new ChatbotResponse("Ma contre-attaque", "session-123"));
+        AtomicReference<String> session = new AtomicReference<>();
+
+        // ACT
+        CompletableFuture<MessageResponse> future =
+                reponseChatbotService.planifierReponse(100L, 500L, "contexte", null, session::set);
+        MessageResponse reponse = future.get(5, TimeUnit.SECONDS);
+
+        // ASSERT
+        assertThat(reponse.getId()).isEqualTo(501L);
+        assertThat(reponse.getContenu()).isEqualTo("Ma contre-attaque");
+        assertThat(reponse.getAuteur()).isEqualTo("CHATBOT");
+        assertThat(session.get()).isEqualTo("session-123");
+        assertThat(reponseChatbotService.getNombreReponsesEnAttente()).isZero();
+    }
+
+    @Test
+    void planifierReponse_ShouldSaveFallback_WhenChatbotFails() throws Exception {
+        // ARRANGE
+        when(chatbotClient.sendMessage(any(), any())).thenThrow(new ChatbotServiceException("timeout"));
+
+        // ACT
+        MessageResponse reponse = reponseChatbotService
+                .planifierReponse(100L, 500L, "contexte", null, s -> { })
+                .get(5, TimeUnit.SECONDS);
+
+        // ASSERT
+        assertThat(reponse.getContenu()).isEqualTo(ReponseChatbotService.REPONSE_INDISPONIBLE);
+    }
+
+    @Test
+    void planifierReponseEnFlux_ShouldRelayFragmentsAndSaveFullReply() throws Exception {
+        // ARRANGE
+        when(chatbotClient.streamMessage(eq("contexte"), isNull(), any())).thenAnswer(invocation -> {
+            Consumer<String> surFragment = invocation.getArgument(2);
+            surFragment.accept("Ma contre-");
+            surFragment.accept("attaque");
+            return new ChatbotResponse("Ma contre-attaque", "session-123");
+        });
+        List<String> fragments = new ArrayList<>();
+
+        // ACT
+        MessageResponse reponse = reponseChatbotService
+                .planifierReponseEnFlux(100L, 500L, "contexte", null, s -> { }, fragments::add)
+                .get(5, TimeUnit.SECONDS);
+
+        // ASSERT
+        assertThat(fragments).containsExactly("Ma contre-", "attaque");
+        assertThat(reponse.getContenu()).isEqualTo("Ma contre-attaque");
+        verify(chatbotClient, never()).sendMessage(any(), any());
+    }
+
+    @Test
+    void planifierReponse_ShouldSaveOverloadReplyInItsOwnTransaction_WhenPoolRejects() throws Exception {
+        // ARRANGE : pool arrêté, toute soumission est refusée
+        reponseChatbotService.arreter();
+
+        // ACT
+        MessageResponse reponse = reponseChatbotService
+                .planifierReponse(100L, 500L, "contexte", null, s -> { })
+                .get(5, TimeUnit.SECONDS);
+
+        // ASSERT : enregistrée dans une nouvelle transaction, jamais dans celle de l'appelant
+        assertThat(reponse.getContenu()).isEqualTo(ReponseChatbotService.REPONSE_SURCHARGE);
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+        verifyNoInteractions(chatbotClient);
+    }
+}
@@ -0,0 +1,83 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Repository.DebatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionChatbotRegistryTest {
+
+    @Mock
+    private DebatRepository debatRepository;
+
+    private SessionChatbotRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SessionChatbotRegistry(debatRepository, 100, 60);
+    }
+
+    @Test
+    void getSession_ShouldFallBackToDatabase_AndCacheResult() {
+        // ARRANGE : session enregistrée par une autre instance ou avant un redémarrage
+        when(debatRepository.findChatbotSessionIdById(100L)).thenReturn(Optional.of("session-123"));
+
+        // ACT
+        String premier = registry.getSession(100L);
+        String second = registry.getSession(100L);
+
+        // ASSERT
+        assertThat(premier).isEqualTo("session-123");
+        assertThat(second).isEqualTo("session-123");
+        verify(debatRepository, times(1)).findChatbotSessionIdById(100L);
+    }
+
+    @Test
+    void enregistrer_ShouldPersistOnlyWhenSessionChanges() {
+        // ACT
+        registry.enregistrer(100L, "session-123");
+        registry.enregistrer(100L, "session-123");
+        registry.enregistrer(100L, null);
+
+        // ASSERT
+        verify(debatRepository, times(1)).updateChatbotSessionId(100L, "session-123");
+        assertThat(registry.getSession(100L)).isEqualTo("session-123");
+        assertThat(registry.getNombreSessions()).isEqualTo(1);
+    }
+
+    @Test
+    void retirer_ShouldClearCacheAndColumn() {
+        // ARRANGE
+        registry.enregistrer(100L, "session-123");
+
+        // ACT
+        String sessionId = registry.retirer(100L);
+
+        // ASSERT
+        assertThat(sessionId).isEqualTo("session-123");
+        assertThat(registry.getNombreSessions()).isZero();
+        verify(debatRepository).updateChatbotSessionId(100L, null);
+    }
+
+    @Test
+    void retirer_ShouldDoNothing_WhenNoSession() {
+        // ARRANGE
+        when(debatRepository.findChatbotSessionIdById(100L)).thenReturn(Optional.empty());
+
+        // ACT
+        String sessionId = registry.retirer(100L);
+
+        // ASSERT
+        assertThat(sessionId).isNull();
+        verify(debatRepository, never()).updateChatbotSessionId(any(), any());
+    }
+}
@@ -0,0 +1,155 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Entity.StatistiquesUtilisateur;
+import debatearena.backend.Repository.DebatRepository;
+import debatearena.backend.Repository.StatistiquesUtilisateurRepository;
+import debatearena.backend.Repository.TestRepository;
+import debatearena.backend.Repository.UtilisateurRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatistiquesUtilisateurServiceTest {
+
+    @Mock private StatistiquesUtilisateurRepository statistiquesRepository;
+    @Mock private DebatRepository debatRepository;
+    @Mock private TestRepository testRepository;
+    @Mock private UtilisateurRepository utilisateurRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private StatistiquesUtilisateurService statistiquesService;
+
+    private void stubAgregats(Long userId, int total, int gagnes, int nombreNotes, Integer somme, Integer max) {
+        when(debatRepository.countByUtilisateurId(userId)).thenReturn(total);
+        when(testRepository.countDebatsGagnesByUserId(userId)).thenReturn(gagnes);
+        when(testRepository.countNotesByUserId(userId)).thenReturn(nombreNotes);
+        when(testRepository.getSommeNotesByUserId(userId)).thenReturn(somme);
+        when(testRepository.getMeilleureNoteByUserId(userId)).thenReturn(max);
+    }
+
+    // ==========================================
+    // TESTS : Lecture
+    // ==========================================
+
+    @Test
+    void getStatistiques_ShouldReadSingleRow_WhenPresent() {
+        StatistiquesUtilisateur stats = new StatistiquesUtilisateur(1L, 10, 5, 4, 50, 16, LocalDateTime.now());
+        when(statistiquesRepository.findById(1L)).thenReturn(Optional.of(stats));
+
+        StatistiquesUtilisateur result = statistiquesService.getStatistiques(1L);
+
+        assertThat(result.getTotalDebats()).isEqualTo(10);
+        assertThat(result.getMoyenneNotes()).isEqualTo(12); // 50 / 4 tronqué
+        verifyNoInteractions(debatRepository, testRepository);
+    }
+
+    @Test
+    void getStatistiques_ShouldComputeWithoutWriting_WhenMissing() {
+        when(statistiquesRepository.findById(1L)).thenReturn(Optional.empty());
+        stubAgregats(1L, 3, 1, 2, 25, 14);
+
+        StatistiquesUtilisateur result = statistiquesService.getStatistiques(1L);
+
+        assertThat(result.getTotalDebats()).isEqualTo(3);
+        assertThat(result.getSommeNotes()).isEqualTo(25);
+        assertThat(result.getMeilleureNote()).isEqualTo(14);
+        // Lecture seule : aucune insertion, donc aucun conflit entre premiers accès concurrents
+        verify(statistiquesRepository, never()).save(any());
+        verify(statistiquesRepository, never()).creerSiAbsente(any());
+    }
+
+    // ==========================================
+    // TESTS : Mises à jour incrémentales
+    // ==========================================
+
+    @Test
+    void surDebatCree_ShouldIncrementInPlace() {
+        when(statistiquesRepository.ajouterDebats(1L, 1)).thenReturn(1);
+
+        statistiquesService.surDebatCree(1L);
+
+        verify(statistiquesRepository, never()).save(any());
+        verifyNoInteractions(debatRepository, testRepository);
+    }
+
+    @Test
+    void surDebatTermine_ShouldOnlyTouchUpdateDate() {
+        when(statistiquesRepository.marquerModifie(1L)).thenReturn(1);
+
+        statistiquesService.surDebatTermine(1L);
+
+        verify(statistiquesRepository, never()).save(any());
+        verifyNoInteractions(debatRepository, testRepository);
+    }
+
+    @Test
+    void surDebatCree_ShouldRecompute_WhenRowMissing() {
+        when(statistiquesRepository.ajouterDebats(1L, 1)).thenReturn(0);
+
+        statistiquesService.surDebatCree(1L);
+
+        // Création sans conflit puis recalcul en SQL, jamais d'écriture depuis une copie
+        verify(statistiquesRepository).creerSiAbsente(1L);
+        verify(statistiquesRepository).recalculerEnPlace(1L);
+        verify(statistiquesRepository, never()).save(any());
+    }
+
+    @Test
+    void surTestNote_ShouldAddFirstGradeInPlace() {
+        when(statistiquesRepository.ajouterNote(1L, 15)).thenReturn(1);
+
+        statistiquesService.surTestNote(1L, null, 15);
+
+        verify(statistiquesRepository, never()).save(any());
+    }
+
+    @Test
+    void surTestNote_ShouldRecompute_WhenGradeIsCorrected() {
+        statistiquesService.surTestNote(1L, 15, 8);
+
+        verify(statistiquesRepository, never()).ajouterNote(any(), anyInt());
+        verify(statistiquesRepository).recalculerEnPlace(1L);
+    }
+
+    // ==========================================
+    // TESTS : Reconstruction
+    // ==========================================
+
+    @Test
+    void reconstruire_ShouldOnlyRewriteDriftedRows() {
+        when(utilisateurRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+
+        // 1 : à jour ; 2 : total_debats faux ; 3 : ligne absente
+        stubAgregats(1L, 4, 1, 1, 12, 12);
+        stubAgregats(2L, 2, 0, 0, null, null);
+        when(statistiquesRepository.findById(1L))
+                .thenReturn(Optional.of(new StatistiquesUtilisateur(1L, 4, 1, 1, 12, 12, LocalDateTime.now())));
+        when(statistiquesRepository.findById(2L))
+                .thenReturn(Optional.of(new StatistiquesUtilisateur(2L, 5, 0, 0, 0, null, LocalDateTime.now())));
+        when(statistiquesRepository.findById(3L)).thenReturn(Optional.empty());
+
+        int corrigees = statistiquesService.reconstruire();
+
+        assertThat(corrigees).isEqualTo(2);
+        verify(statistiquesRepository, never()).recalculerEnPlace(1L);
+        verify(statistiquesRepository).recalculerEnPlace(2L);
+        verify(statistiquesRepository).creerSiAbsente(3L);
+        verify(statistiquesRepository).recalculerEnPlace(3L);
+        verify(statistiquesRepository, never()).save(any());
+        // Une transaction courte par utilisateur
+        verify(transactionManager, times(3)).commit(any());
+    }
+}
@@ -1,26 +1,27 @@
 package debatearena.backend.Service;
 
+import debatearena.backend.DTO.PageResponse;
+import debatearena.backend.DTO.RechercheSujetsResponse;
 import debatearena.backend.DTO.SujetResponse;
 import debatearena.backend.Entity.Sujet;
 import debatearena.backend.Entity.Utilisateur;
 import debatearena.backend.Entity.categorie_sujet_enum;
 import debatearena.backend.Entity.niveau_enum;
+import debatearena.backend.Exceptions.BadRequestException;
+import debatearena.backend.Repository.DebatRepository;
 import debatearena.backend.Repository.SujetRepository;
+import debatearena.backend.Utils.CurseurPagination;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,7 +33,9 @@ class SujetServiceTest {
     @Mock
     private UtilisateurService utilisateurService;
 
-    @InjectMocks
+    @Mock
+    private DebatRepository debatRepository;
+
     private SujetService sujetService;
 
     private Utilisateur utilisateurDebutant;
@@ -42,6 +45,11 @@ class SujetServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Le catalogue est réel : il lit le dépôt mocké une seule fois
+        CatalogueSujets catalogue = new CatalogueSujets(sujetRepository);
+        RecommandationService recommandations = new RecommandationService(catalogue, debatRepository, 10, 30, 100, 60);
+        sujetService = new SujetService(catalogue, utilisateurService, recommandations);
+
         // --- Utilisateur Débutant (Score < 200) ---
         utilisateurDebutant = new Utilisateur();
         utilisateurDebutant.setId(1L);
@@ -67,6 +75,41 @@ class SujetServiceTest {
         sujetExpert.setDifficulte(niveau_enum.EXPERT);
     }
 
+    // ==========================================
+    // TESTS : getSujetsPage
+    // ==========================================
+
+    @Test
+    void getSujetsPage_ShouldReturnCursor_WhenMoreResultsExist() {
+        // ARRANGE : taille 1, la requête lit 2 lignes pour détecter la page suivante
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateurDebutant);
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetExpert, sujetDebutant));
+
+        // ACT
+        PageResponse<SujetResponse> page = sujetService.getSujetsPage(null, 1);
+
+        // ASSERT
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getItems().get(0).getId()).isEqualTo(10L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(CurseurPagination.decoderId(page.getCurseurSuivant())).isEqualTo(10L);
+    }
+
+    @Test
+    void getSujetsPage_ShouldResumeAfterCursor() {
+        // ARRANGE
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateurDebutant);
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetDebutant, sujetExpert));
+
+        // ACT
+        PageResponse<SujetResponse> page = sujetService.getSujetsPage(CurseurPagination.encoder(10L), 1);
+
+        // ASSERT
+        assertThat(page.getItems()).extracting(SujetResponse::getId).containsExactly(20L);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getCurseurSuivant()).isNull();
+    }
+
     // ==========================================
     // TESTS : getAllSujets
     // ==========================================
@@ -98,7 +141,7 @@ class SujetServiceTest {
     void getSujetById_ShouldReturnSujet_WhenFound() {
         // ARRANGE
         when(utilisateurService.getCurrentUser()).thenReturn(utilisateurDebutant);
-        when(sujetRepository.findById(10L)).thenReturn(Optional.of(sujetDebutant));
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetDebutant, sujetExpert));
 
         // ACT
         SujetResponse response = sujetService.getSujetById(10L);
@@ -110,7 +153,7 @@ class SujetServiceTest {
 
     @Test
     void getSujetById_ShouldThrowException_WhenNotFound() {
-        when(sujetRepository.findById(99L)).thenReturn(Optional.empty());
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetDebutant, sujetExpert));
         assertThrows(RuntimeException.class, () -> sujetService.getSujetById(99L));
     }
 
@@ -122,8 +165,7 @@ class SujetServiceTest {
     void getSujetsFiltres_ShouldFilterByCategoryAndDifficulty() {
         // ARRANGE
         when(utilisateurService.getCurrentUser()).thenReturn(utilisateurDebutant);
-        when(sujetRepository.findByCategorieAndDifficulte(categorie_sujet_enum.INFORMATIQUE, niveau_enum.DEBUTANT))
-                .thenReturn(Collections.singletonList(sujetDebutant));
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetDebutant, sujetExpert));
 
         // ACT
         List<SujetResponse> result = sujetService.getSujetsFiltres("INFORMATIQUE", "DEBUTANT");
@@ -137,8 +179,7 @@ class SujetServiceTest {
     void getSujetsFiltres_ShouldFilterByCategoryOnly() {
         // ARRANGE
         when(utilisateurService.getCurrentUser()).thenReturn(utilisateurDebutant);
-        when(sujetRepository.findByCategorie(categorie_sujet_enum.INFORMATIQUE))
-                .thenReturn(Collections.singletonList(sujetDebutant));
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetDebutant, sujetExpert));
 
         // ACT
         List<SujetResponse> result = sujetService.getSujetsFiltres("INFORMATIQUE", null);
@@ -200,6 +241,17 @@ class SujetServiceTest {
         assertThat(result).hasSize(2);
     }
 
+    @Test
+    void getEtagRecommandes_ShouldChange_WhenRecommendedListChanges() {
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetDebutant, sujetExpert));
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateurDebutant, utilisateurExpert);
+
+        String etagDebutant = sujetService.getEtagRecommandes();
+        String etagExpert = sujetService.getEtagRecommandes();
+
+        assertThat(etagDebutant).isNotEqualTo(etagExpert);
+    }
+
     // ==========================================
     // TESTS : peutAccederAuSujet
     // ==========================================
@@ -207,7 +259,7 @@ class SujetServiceTest {
     @Test
     void peutAccederAuSujet_ShouldReturnFalse_WhenBeginnerTriesExpert() {
         when(utilisateurService.getCurrentUser()).thenReturn(utilisateurDebutant);
-        when(sujetRepository.findById(20L)).thenReturn(Optional.of(sujetExpert));
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetDebutant, sujetExpert));
 
         boolean access = sujetService.peutAccederAuSujet(20L);
 
@@ -217,7 +269,7 @@ class SujetServiceTest {
     @Test
     void peutAccederAuSujet_ShouldReturnTrue_WhenExpertTriesBeginner() {
         when(utilisateurService.getCurrentUser()).thenReturn(utilisateurExpert);
-        when(sujetRepository.findById(10L)).thenReturn(Optional.of(sujetDebutant));
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetDebutant, sujetExpert));
 
         boolean access = sujetService.peutAccederAuSujet(10L);
 
@@ -229,14 +281,75 @@ class SujetServiceTest {
     // ==========================================
 
     @Test
-    void searchSujets_ShouldCallRepo() {
+    void searchSujets_ShouldMatchTitleIgnoringCase() {
         when(utilisateurService.getCurrentUser()).thenReturn(utilisateurDebutant);
-        when(sujetRepository.findByTitreContainingIgnoreCase("HTML"))
-                .thenReturn(Collections.singletonList(sujetDebutant));
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetDebutant, sujetExpert));
 
-        List<SujetResponse> result = sujetService.searchSujets("HTML");
+        List<SujetResponse> result = sujetService.searchSujets("html");
 
-        assertThat(result).hasSize(1);
+        assertThat(result).extracting(SujetResponse::getId).containsExactly(10L);
+    }
+
+    @Test
+    void rechercherSujetsPage_ShouldPageRankedResults_AndSuggest() {
+        Sujet sujetQuantique = new Sujet(30L, "Physique quantique et philosophie", niveau_enum.EXPERT, categorie_sujet_enum.SANTE);
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateurExpert);
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetDebutant, sujetExpert, sujetQuantique));
+
+        RechercheSujetsResponse premiere = sujetService.rechercherSujetsPage("quantique quantm", null, 1);
+
+        assertThat(premiere.getItems()).hasSize(1);
+        assertThat(premiere.isHasNext()).isTrue();
+        assertThat(premiere.getSuggestions()).containsExactly("quantique quantum");
+
+        RechercheSujetsResponse seconde = sujetService.rechercherSujetsPage("quantique quantm", premiere.getCurseurSuivant(), 1);
+
+        assertThat(seconde.getItems()).hasSize(1);
+        assertThat(seconde.isHasNext()).isFalse();
+        assertThat(seconde.getItems().get(0).getId()).isNotEqualTo(premiere.getItems().get(0).getId());
+    }
+
+    @Test
+    void rechercherSujetsPage_ShouldRejectOutOfRangeCursor() {
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateurExpert);
+
+        assertThrows(BadRequestException.class, () -> sujetService.rechercherSujetsPage(
+                "quantique", CurseurPagination.encoder((long) Integer.MAX_VALUE + 1), 10));
+        assertThrows(BadRequestException.class, () -> sujetService.rechercherSujetsPage(
+                "quantique", CurseurPagination.encoder(-1L), 10));
+        verifyNoInteractions(sujetRepository);
+    }
+
+    // ==========================================
+    // TESTS : Catalogue en mémoire
+    // ==========================================
+
+    @Test
+    void lectures_ShouldHitRepositoryOnlyOnce() {
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateurExpert);
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetDebutant, sujetExpert));
+
+        sujetService.getAllSujets();
+        sujetService.getSujetsFiltres("SANTE", null);
+        sujetService.searchSujets("quantum");
+        sujetService.getSujetsRecommandes();
+        sujetService.getSujetById(20L);
+
+        verify(sujetRepository, times(1)).findAll();
+        verifyNoMoreInteractions(sujetRepository);
+    }
+
+    @Test
+    void getEtagCatalogue_ShouldDependOnUserLevel() {
+        when(sujetRepository.findAll()).thenReturn(Arrays.asList(sujetDebutant, sujetExpert));
+
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateurDebutant);
+        String etagDebutant = sujetService.getEtagCatalogue();
+        when(utilisateurService.getCurrentUser()).thenReturn(utilisateurExpert);
+        String etagExpert = sujetService.getEtagCatalogue();
+
+        assertThat(etagDebutant).startsWith("\"").endsWith("-DEBUTANT\"");
+        assertThat(etagExpert).isNotEqualTo(etagDebutant);
     }
 
     @Test
@@ -0,0 +1,85 @@
+package debatearena.backend.Service;
+
+import debatearena.backend.Entity.Utilisateur;
+import debatearena.backend.Entity.role_enum;
+import debatearena.backend.Repository.UtilisateurRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UtilisateurCacheTest {
+
+    @Mock
+    private UtilisateurRepository utilisateurRepository;
+
+    private Utilisateur utilisateur;
+
+    @BeforeEach
+    void setUp() {
+        utilisateur = new Utilisateur();
+        utilisateur.setId(1L);
+        utilisateur.setEmail("test@test.com");
+        utilisateur.setNom("Doe");
+        utilisateur.setPrenom("John");
+        utilisateur.setRole(role_enum.UTILISATEUR);
+        utilisateur.setScore(100);
+    }
+
+    @Test
+    void getParEmail_ShouldHitDatabaseOnceWithinTtl() {
+        UtilisateurCache cache = new UtilisateurCache(utilisateurRepository, true, 100, 30);
+        when(utilisateurRepository.findWithBadgeByEmail("test@test.com")).thenReturn(Optional.of(utilisateur));
+
+        Utilisateur premier = cache.getParEmail("test@test.com").orElseThrow();
+        Utilisateur second = cache.getParEmail("test@test.com").orElseThrow();
+
+        assertThat(second.getScore()).isEqualTo(100);
+        verify(utilisateurRepository, times(1)).findWithBadgeByEmail("test@test.com");
+
+        // Copies indépendantes : une modification locale ne pollue pas le cache
+        premier.setScore(999);
+        assertThat(cache.getParEmail("test@test.com").orElseThrow().getScore()).isEqualTo(100);
+    }
+
+    @Test
+    void invalider_ShouldForceReload() {
+        UtilisateurCache cache = new UtilisateurCache(utilisateurRepository, true, 100, 30);
+        when(utilisateurRepository.findWithBadgeByEmail("test@test.com")).thenReturn(Optional.of(utilisateur));
+
+        cache.getParEmail("test@test.com");
+        cache.invalider("test@test.com");
+        cache.getParEmail("test@test.com");
+
+        verify(utilisateurRepository, times(2)).findWithBadgeByEmail("test@test.com");
+    }
+
+    @Test
+    void getParEmail_ShouldAlwaysQuery_WhenCacheDisabled() {
+        UtilisateurCache cache = new UtilisateurCache(utilisateurRepository, false, 100, 30);
+        when(utilisateurRepository.findWithBadgeByEmail("test@test.com")).thenReturn(Optional.of(utilisateur));
+
+        cache.getParEmail("test@test.com");
+        cache.getParEmail("test@test.com");
+
+        verify(utilisateurRepository, times(2)).findWithBadgeByEmail("test@test.com");
+    }
+
+    @Test
+    void getParEmail_ShouldNotCacheUnknownUser() {
+        UtilisateurCache cache = new UtilisateurCache(utilisateurRepository, true, 100, 30);
+        when(utilisateurRepository.findWithBadgeByEmail("inconnu@test.com")).thenReturn(Optional.empty());
+
+        assertThat(cache.getParEmail("inconnu@test.com")).isEmpty();
+        assertThat(cache.getParEmail("inconnu@test.com")).isEmpty();
+
+        verify(utilisateurRepository, times(2)).findWithBadgeByEmail("inconnu@test.com");
+    }
+}
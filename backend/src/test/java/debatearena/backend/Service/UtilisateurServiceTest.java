@@ -1,14 +1,22 @@
 package debatearena.backend.Service;
 
 import debatearena.backend.DTO.Dashboard;
+import debatearena.backend.DTO.DebatRecap;
 import debatearena.backend.DTO.UpdateProfileRequest;
 import debatearena.backend.DTO.UtilisateurProfile;
+import debatearena.backend.Entity.Badge;
+import debatearena.backend.Entity.StatistiquesUtilisateur;
 import debatearena.backend.Entity.Utilisateur;
+import debatearena.backend.Entity.categorie_badge_enum;
+import debatearena.backend.Entity.categorie_sujet_enum;
+import debatearena.backend.Entity.niveau_enum;
 import debatearena.backend.Entity.role_enum;
+import debatearena.backend.Exceptions.NotFoundException;
 import debatearena.backend.Exceptions.UnauthorizedException;
 import debatearena.backend.Repository.DebatRepository;
-import debatearena.backend.Repository.TestRepository;
+import debatearena.backend.Repository.ScoreUtilisateurView;
 import debatearena.backend.Repository.UtilisateurRepository;
+import debatearena.backend.Security.UtilisateurPrincipal;
 import debatearena.backend.Utils.ImageStorageService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,19 +24,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +57,12 @@ class UtilisateurServiceTest {
     @Mock private UtilisateurRepository utilisateurRepository;
     @Mock private ImageStorageService imageStorageService;
     @Mock private DebatRepository debatRepository;
-    @Mock private TestRepository testRepository;
+    @Mock private StatistiquesUtilisateurService statistiquesUtilisateurService;
+    @Mock private UtilisateurCache utilisateurCache;
+    @Mock private ClassementService classementService;
+    @Mock private AccumulateurScores accumulateurScores;
+    @Mock private BadgeService badgeService;
+    @Mock private DonneesReference donneesReference;
 
     // Mocks pour la sécurité
     @Mock private SecurityContext securityContext;
@@ -113,7 +138,7 @@ class UtilisateurServiceTest {
 
     @Test
     void getMyProfile_ShouldReturnDto() {
-        when(utilisateurRepository.findByEmail("test@test.com")).thenReturn(Optional.of(currentUser));
+        when(utilisateurCache.getParEmail("test@test.com")).thenReturn(Optional.of(currentUser));
 
         UtilisateurProfile profile = utilisateurService.getMyProfile();
 
@@ -130,7 +155,7 @@ class UtilisateurServiceTest {
         MockMultipartFile file = new MockMultipartFile("image", "test.jpg", "image/jpeg", "bytes".getBytes());
         request.setImage(file);
 
-        when(utilisateurRepository.findByEmail("test@test.com")).thenReturn(Optional.of(currentUser));
+        when(utilisateurCache.getParEmail("test@test.com")).thenReturn(Optional.of(currentUser));
         when(imageStorageService.saveImage(any(MultipartFile.class))).thenReturn("uploads/test.jpg");
 
         // ACT
@@ -139,7 +164,10 @@ class UtilisateurServiceTest {
         // ASSERT
         assertThat(result.getNom()).isEqualTo("NewName");
         assertThat(currentUser.getImagePath()).isEqualTo("uploads/test.jpg"); // Vérifie que l'entité a changé
-        verify(utilisateurRepository).save(currentUser);
+        // Mise à jour ciblée : la copie en cache n'est jamais réécrite (score, badge, mot de passe)
+        verify(utilisateurRepository).modifierProfil(1L, "NewName", "John", "uploads/test.jpg");
+        verify(utilisateurRepository, never()).save(any());
+        verify(utilisateurCache).invalider("test@test.com");
     }
 
     // ==========================================
@@ -152,17 +180,15 @@ class UtilisateurServiceTest {
         // Utilisateur avec score 100 (Débutant) -> Progression 50% (car 100/200)
         currentUser.setScore(100);
 
-        when(utilisateurRepository.findByEmail("test@test.com")).thenReturn(Optional.of(currentUser));
+        when(utilisateurCache.getParEmail("test@test.com")).thenReturn(Optional.of(currentUser));
 
-        // Mocks des statistiques Repository
-        when(debatRepository.countByUtilisateurId(1L)).thenReturn(10); // 10 débats total
-        when(testRepository.countDebatsGagnesByUserId(1L)).thenReturn(5); // 5 gagnés
-        when(testRepository.getMoyenneNotesByUserId(1L)).thenReturn(12);
-        when(testRepository.getMeilleureNoteByUserId(1L)).thenReturn(15);
+        // Ligne user_stats : 10 débats, 5 gagnés, 4 notes pour un total de 48 (moyenne 12), max 15
+        when(statistiquesUtilisateurService.getStatistiques(1L))
+                .thenReturn(new StatistiquesUtilisateur(1L, 10, 5, 4, 48, 15, LocalDateTime.now()));
 
         // Pour simplifier ce test, on renvoie une liste vide pour l'historique
         // (éviter de mocker toute la chaîne de mapping complexe ici)
-        when(debatRepository.findRecentDebatsByUtilisateurId(1L)).thenReturn(Collections.emptyList());
+        when(debatRepository.findRecentDebatsByUtilisateurId(eq(1L), any())).thenReturn(Collections.emptyList());
 
         // ACT
         Dashboard dashboard = utilisateurService.getDashboard();
@@ -185,14 +211,11 @@ class UtilisateurServiceTest {
     @Test
     void getDashboard_ShouldHandleZeroDebats() {
         // Test division par zéro pour le taux de réussite
-        when(utilisateurRepository.findByEmail("test@test.com")).thenReturn(Optional.of(currentUser));
+        when(utilisateurCache.getParEmail("test@test.com")).thenReturn(Optional.of(currentUser));
 
-        when(debatRepository.countByUtilisateurId(1L)).thenReturn(0);
-        when(testRepository.countDebatsGagnesByUserId(1L)).thenReturn(0);
-        // Les repositories renvoient null si pas de données pour AVG/MAX
-        when(testRepository.getMoyenneNotesByUserId(1L)).thenReturn(null);
-        when(testRepository.getMeilleureNoteByUserId(1L)).thenReturn(null);
-        when(debatRepository.findRecentDebatsByUtilisateurId(1L)).thenReturn(Collections.emptyList());
+        // Ligne vide : pas de note, donc moyenne et maximum null
+        when(statistiquesUtilisateurService.getStatistiques(1L)).thenReturn(new StatistiquesUtilisateur(1L));
+        when(debatRepository.findRecentDebatsByUtilisateurId(eq(1L), any())).thenReturn(Collections.emptyList());
 
         Dashboard dashboard = utilisateurService.getDashboard();
 
@@ -200,14 +223,149 @@ class UtilisateurServiceTest {
         assertThat(dashboard.getMoyenneNotes()).isEqualTo(0); // Doit gérer le null
     }
 
+    @Test
+    void getDashboard_ShouldReturnRecapsWithoutReloadingDebats() {
+        // ARRANGE : la requête renvoie déjà des DebatRecap prêts
+        when(utilisateurCache.getParEmail("test@test.com")).thenReturn(Optional.of(currentUser));
+        when(statistiquesUtilisateurService.getStatistiques(1L)).thenReturn(new StatistiquesUtilisateur(1L));
+        DebatRecap recap = new DebatRecap(45L, "Sujet", categorie_sujet_enum.INFORMATIQUE, niveau_enum.DEBUTANT,
+                7L, "POUR", 16, LocalDateTime.of(2025, 1, 15, 14, 30), 750);
+        when(debatRepository.findRecentDebatsByUtilisateurId(eq(1L), any())).thenReturn(List.of(recap));
+
+        // ACT
+        Dashboard dashboard = utilisateurService.getDashboard();
+
+        // ASSERT
+        assertThat(dashboard.getDebatsRecents()).containsExactly(recap);
+        assertThat(recap.getType()).isEqualTo("TEST");
+        assertThat(recap.getDuree()).isEqualTo("12min 30s");
+        verify(debatRepository, never()).findById(any());
+    }
+
     // ==========================================
     // TESTS : Gestion des erreurs
     // ==========================================
 
     @Test
     void getCurrentUser_ShouldThrowException_WhenUserNotFound() {
-        when(utilisateurRepository.findByEmail("test@test.com")).thenReturn(Optional.empty());
+        when(utilisateurCache.getParEmail("test@test.com")).thenReturn(Optional.empty());
 
         assertThrows(UnauthorizedException.class, () -> utilisateurService.getCurrentUser());
     }
-}
\ No newline at end of file
+
+    // ==========================================
+    // TESTS : Utilisateur courant (requête & cache)
+    // ==========================================
+
+    @Test
+    void getCurrentUser_ShouldResolveOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            when(utilisateurCache.getParEmail("test@test.com")).thenReturn(Optional.of(currentUser));
+
+            Utilisateur premier = utilisateurService.getCurrentUser();
+            Utilisateur second = utilisateurService.getCurrentUser();
+
+            assertThat(second).isSameAs(premier);
+            verify(utilisateurCache, times(1)).getParEmail("test@test.com");
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void getCurrentUserId_ShouldReadPrincipalWithoutLookup() {
+        currentUser.setPassword("hash");
+        UtilisateurPrincipal principal = new UtilisateurPrincipal(currentUser);
+        when(authentication.getPrincipal()).thenReturn(principal);
+
+        assertThat(utilisateurService.getCurrentUserId()).isEqualTo(1L);
+        verifyNoInteractions(utilisateurCache, utilisateurRepository);
+    }
+
+    @Test
+    void updateScore_ShouldUseAtomicUpdate_AndInvalidateCachedUser() {
+        ScoreUtilisateurView score = mock(ScoreUtilisateurView.class);
+        when(score.getEmail()).thenReturn("test@test.com");
+        when(score.getScore()).thenReturn(15);
+        when(utilisateurRepository.ajouterScore(1L, 5)).thenReturn(1);
+        when(utilisateurRepository.findScoreById(1L)).thenReturn(Optional.of(score));
+
+        utilisateurService.updateScore(currentUser, 5);
+
+        // Pas de lecture-modification-écriture sur l'entité
+        verify(utilisateurRepository, never()).save(any());
+        assertThat(currentUser.getScore()).isZero();
+        verify(utilisateurCache).invalider("test@test.com");
+        verify(classementService).surScoreModifie(1L, 15);
+    }
+
+    @Test
+    void updateScore_ShouldUpgradeBadge_WhenScoreReachesThreshold() {
+        Badge expert = new Badge();
+        expert.setNom("Expert en argumentation");
+        expert.setCategorie(categorie_badge_enum.ARGENT);
+
+        ScoreUtilisateurView score = mock(ScoreUtilisateurView.class);
+        when(score.getEmail()).thenReturn("test@test.com");
+        when(score.getScore()).thenReturn(510);
+        when(score.getBadgeCategorie()).thenReturn(categorie_badge_enum.BRONZE);
+        when(utilisateurRepository.ajouterScore(1L, 20)).thenReturn(1);
+        when(utilisateurRepository.findScoreById(1L)).thenReturn(Optional.of(score));
+        when(badgeService.badgePourScore(510)).thenReturn(Optional.of(expert));
+        when(badgeService.estMeilleur(expert, categorie_badge_enum.BRONZE)).thenReturn(true);
+
+        utilisateurService.updateScore(1L, 20);
+
+        verify(utilisateurRepository).changerBadge(1L, expert);
+    }
+
+    @Test
+    void updateScore_ShouldThrow_WhenUserDoesNotExist() {
+        when(utilisateurRepository.ajouterScore(99L, 5)).thenReturn(0);
+
+        assertThrows(NotFoundException.class, () -> utilisateurService.updateScore(99L, 5));
+    }
+
+    @Test
+    void updateScore_ShouldBufferPoints_WhenWriteBehindIsEnabled() {
+        when(accumulateurScores.estActif()).thenReturn(true);
+
+        utilisateurService.updateScore(1L, 5);
+
+        verify(accumulateurScores).ajouter(1L, 5);
+        verifyNoInteractions(utilisateurRepository);
+    }
+
+    @Test
+    void updateScore_ShouldBufferPointsOnlyAfterCommit_WhenWriteBehindIsEnabled() {
+        when(accumulateurScores.estActif()).thenReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            utilisateurService.updateScore(1L, 5);
+
+            verify(accumulateurScores, never()).ajouter(anyLong(), anyInt());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(accumulateurScores).ajouter(1L, 5);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void appliquerScoresEnAttente_ShouldApplyOneUpdatePerUser_AndRequeueOnFailure() {
+        Map<Long, Integer> lot = new LinkedHashMap<>();
+        lot.put(1L, 12);
+        lot.put(2L, 7);
+        when(accumulateurScores.vider()).thenReturn(lot);
+        when(utilisateurRepository.ajouterScore(1L, 12)).thenReturn(1);
+        when(utilisateurRepository.ajouterScore(2L, 7)).thenThrow(new RuntimeException("Base indisponible"));
+
+        utilisateurService.appliquerScoresEnAttente();
+
+        verify(utilisateurRepository).ajouterScore(1L, 12);
+        verify(accumulateurScores).ajouter(2L, 7);
+        verify(accumulateurScores, never()).ajouter(eq(1L), anyInt());
+    }
+}
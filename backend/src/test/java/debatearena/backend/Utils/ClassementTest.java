@@ -0,0 +1,94 @@
+package debatearena.backend.Utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassementTest {
+
+    private Classement classement;
+
+    @BeforeEach
+    void setUp() {
+        classement = new Classement();
+        classement.definir(1L, 500);
+        classement.definir(2L, 800);
+        classement.definir(3L, 500);
+        classement.definir(4L, 100);
+        classement.definir(5L, 0);
+    }
+
+    @Test
+    void rang_ShouldShareRankBetweenTies() {
+        assertThat(classement.rang(2L)).isEqualTo(1);
+        assertThat(classement.rang(1L)).isEqualTo(2);
+        assertThat(classement.rang(3L)).isEqualTo(2);
+        assertThat(classement.rang(4L)).isEqualTo(4);
+        assertThat(classement.rang(5L)).isEqualTo(5);
+        assertThat(classement.rang(99L)).isNull();
+    }
+
+    @Test
+    void meilleurs_ShouldOrderByPointsThenId() {
+        List<Classement.Position> top = classement.meilleurs(3);
+
+        assertThat(top).extracting(Classement.Position::getJoueurId).containsExactly(2L, 1L, 3L);
+        assertThat(top).extracting(Classement.Position::getRang).containsExactly(1, 2, 2);
+    }
+
+    @Test
+    void voisins_ShouldSurroundPlayer() {
+        assertThat(classement.voisins(3L, 1))
+                .extracting(Classement.Position::getJoueurId).containsExactly(1L, 3L, 4L);
+        assertThat(classement.voisins(2L, 2))
+                .extracting(Classement.Position::getJoueurId).containsExactly(2L, 1L, 3L);
+        assertThat(classement.voisins(5L, 2))
+                .extracting(Classement.Position::getJoueurId).containsExactly(3L, 4L, 5L);
+        assertThat(classement.voisins(99L, 2)).isEmpty();
+    }
+
+    @Test
+    void definirEtAjouter_ShouldMovePlayer() {
+        classement.ajouter(4L, 1000);
+        classement.definir(2L, 50);
+        classement.retirer(5L);
+
+        assertThat(classement.rang(4L)).isEqualTo(1);
+        assertThat(classement.getPoints(4L)).isEqualTo(1100);
+        assertThat(classement.rang(2L)).isEqualTo(4);
+        assertThat(classement.taille()).isEqualTo(4);
+    }
+
+    @Test
+    void rang_ShouldMatchSortedOrder_WhenScoresGrowBeyondInitialCapacity() {
+        Classement grand = new Classement();
+        Map<Long, Integer> attendus = new HashMap<>();
+        Random aleatoire = new Random(42);
+
+        for (int i = 0; i < 2000; i++) {
+            long joueurId = aleatoire.nextInt(300);
+            int points = aleatoire.nextInt(5000);
+            grand.definir(joueurId, points);
+            attendus.put(joueurId, points);
+        }
+
+        List<Map.Entry<Long, Integer>> tries = attendus.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .toList();
+        for (Map.Entry<Long, Integer> entree : tries) {
+            long devant = attendus.values().stream().filter(p -> p > entree.getValue()).count();
+            assertThat(grand.rang(entree.getKey())).isEqualTo((int) devant + 1);
+        }
+        assertThat(grand.meilleurs(tries.size()))
+                .extracting(Classement.Position::getJoueurId)
+                .containsExactlyElementsOf(tries.stream().map(Map.Entry::getKey).toList());
+    }
+}
@@ -0,0 +1,58 @@
+package debatearena.backend.Utils;
+
+import debatearena.backend.DTO.PageResponse;
+import debatearena.backend.Exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CurseurPaginationTest {
+
+    @Test
+    void encoder_ShouldRoundTripDateAndId() {
+        LocalDateTime date = LocalDateTime.of(2025, 1, 15, 14, 30, 15, 123456000);
+
+        CurseurPagination.Curseur curseur = CurseurPagination.decoder(CurseurPagination.encoder(date, 456L));
+
+        assertThat(curseur.getDate()).isEqualTo(date);
+        assertThat(curseur.getId()).isEqualTo(456L);
+    }
+
+    @Test
+    void decoder_ShouldReturnNull_ForFirstPage() {
+        assertThat(CurseurPagination.decoder(null)).isNull();
+        assertThat(CurseurPagination.decoderId("")).isNull();
+    }
+
+    @Test
+    void decoder_ShouldRejectTamperedCursor() {
+        assertThrows(BadRequestException.class, () -> CurseurPagination.decoder("%%%"));
+        assertThrows(BadRequestException.class, () -> CurseurPagination.decoder(CurseurPagination.encoder(42L)));
+        assertThrows(BadRequestException.class, () -> CurseurPagination.decoderId("YWJj"));
+    }
+
+    @Test
+    void bornerTaille_ShouldApplyDefaultAndLimits() {
+        assertThat(CurseurPagination.bornerTaille(null)).isEqualTo(CurseurPagination.TAILLE_DEFAUT);
+        assertThat(CurseurPagination.bornerTaille(0)).isEqualTo(1);
+        assertThat(CurseurPagination.bornerTaille(1000)).isEqualTo(CurseurPagination.TAILLE_MAX);
+    }
+
+    @Test
+    void construirePage_ShouldTrimExtraRowAndPointCursorAtLastItem() {
+        PageResponse<String> page = CurseurPagination.construirePage(
+                List.of(1L, 2L, 3L),
+                2,
+                id -> "item-" + id,
+                CurseurPagination::encoder
+        );
+
+        assertThat(page.getItems()).containsExactly("item-1", "item-2");
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(CurseurPagination.decoderId(page.getCurseurSuivant())).isEqualTo(2L);
+    }
+}
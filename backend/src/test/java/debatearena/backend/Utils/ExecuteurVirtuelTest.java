@@ -0,0 +1,59 @@
+package debatearena.backend.Utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@EnabledForJreRange(min = JRE.JAVA_21)
+class ExecuteurVirtuelTest {
+
+    @Test
+    void execute_ShouldRunOnVirtualThread() throws Exception {
+        try (ExecuteurVirtuel executeur = new ExecuteurVirtuel("test-", 10)) {
+            CountDownLatch fin = new CountDownLatch(1);
+            boolean[] virtuel = new boolean[1];
+
+            executeur.execute(() -> {
+                try {
+                    // Thread.isVirtual() n'existe pas dans l'API Java 17 ciblée à la compilation
+                    virtuel[0] = (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread());
+                } catch (ReflectiveOperationException e) {
+                    virtuel[0] = false;
+                }
+                fin.countDown();
+            });
+
+            assertThat(fin.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(virtuel[0]).isTrue();
+        }
+    }
+
+    @Test
+    void execute_ShouldReject_WhenCeilingReached_AndFreeSlotAfterwards() throws InterruptedException {
+        try (ExecuteurVirtuel executeur = new ExecuteurVirtuel("test-", 1)) {
+            CountDownLatch liberer = new CountDownLatch(1);
+            executeur.execute(() -> {
+                try {
+                    liberer.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            assertThrows(TaskRejectedException.class, () -> executeur.execute(() -> { }));
+
+            liberer.countDown();
+            for (int i = 0; i < 50 && executeur.getPlacesLibres() == 0; i++) {
+                Thread.sleep(20);
+            }
+            assertThat(executeur.getPlacesLibres()).isEqualTo(1);
+        }
+    }
+}
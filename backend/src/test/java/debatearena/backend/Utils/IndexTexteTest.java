@@ -0,0 +1,69 @@
+package debatearena.backend.Utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexTexteTest {
+
+    private IndexTexte index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IndexTexte(Map.of(
+                1L, "L'intelligence artificielle est-elle dangereuse ?",
+                2L, "Les réseaux sociaux et la santé mentale",
+                3L, "L'art contemporain",
+                4L, "Faut-il réguler l'intelligence artificielle dans l'éducation ?"
+        ));
+    }
+
+    @Test
+    void tokeniser_ShouldFoldAccentsAndDropStopWords() {
+        assertThat(IndexTexte.tokeniser("L'Éducation et les Réseaux"))
+                .containsExactly("education", "reseau");
+    }
+
+    @Test
+    void rechercher_ShouldIgnoreAccentsAndElisions() {
+        assertThat(index.rechercher("reseaux sante")).containsExactly(2L);
+        assertThat(index.rechercher("éducation")).containsExactly(4L);
+    }
+
+    @Test
+    void rechercher_ShouldMatchPrefixes_AndRankFullMatchesFirst() {
+        // "art" est exact pour le sujet 3 et préfixe de "artificielle" pour 1 et 4
+        assertThat(index.rechercher("intelligence artificielle art"))
+                .containsExactly(1L, 4L, 3L);
+        assertThat(index.rechercher("intel")).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void rechercher_ShouldTolerateTypos() {
+        assertThat(index.rechercher("inteligence")).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(index.rechercher("dangereuze")).containsExactly(1L);
+    }
+
+    @Test
+    void rechercher_ShouldReturnEmpty_WhenNothingMatches() {
+        assertThat(index.rechercher("football")).isEmpty();
+        assertThat(index.rechercher("   ")).isEmpty();
+    }
+
+    @Test
+    void suggerer_ShouldCorrectUnknownTerms() {
+        assertThat(index.suggerer("inteligence artficielle")).containsExactly("intelligence artificielle");
+        assertThat(index.suggerer("intelligence")).isEmpty();
+        assertThat(index.suggerer("football")).isEmpty();
+    }
+
+    @Test
+    void distance_ShouldStopAboveMax() {
+        assertThat(IndexTexte.distance("chat", "chats", 2)).isEqualTo(1);
+        assertThat(IndexTexte.distance("chat", "chien", 1)).isEqualTo(2);
+        assertThat(IndexTexte.distance("a", "abcdef", 2)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,102 @@
+package debatearena.backend.Utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TtlCacheTest {
+
+    private HorlogeManuelle horloge;
+    private TtlCache<Long, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        horloge = new HorlogeManuelle();
+        cache = new TtlCache<>(2, Duration.ofMinutes(10), horloge);
+    }
+
+    @Test
+    void get_ShouldReturnValue_BeforeExpiration() {
+        cache.put(1L, "session-1");
+        horloge.avancer(Duration.ofMinutes(9));
+
+        assertThat(cache.get(1L)).isEqualTo("session-1");
+    }
+
+    @Test
+    void get_ShouldReturnNull_AfterExpiration() {
+        cache.put(1L, "session-1");
+        horloge.avancer(Duration.ofMinutes(10));
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void get_ShouldExtendExpiration_OnAccess() {
+        cache.put(1L, "session-1");
+        horloge.avancer(Duration.ofMinutes(8));
+        cache.get(1L);
+        horloge.avancer(Duration.ofMinutes(8));
+
+        assertThat(cache.get(1L)).isEqualTo("session-1");
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsed_WhenFull() {
+        cache.put(1L, "session-1");
+        cache.put(2L, "session-2");
+        cache.get(1L);
+
+        cache.put(3L, "session-3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(1L)).isEqualTo("session-1");
+        assertThat(cache.get(3L)).isEqualTo("session-3");
+    }
+
+    @Test
+    void purgerExpirees_ShouldRemoveOnlyExpiredEntries() {
+        cache.put(1L, "session-1");
+        horloge.avancer(Duration.ofMinutes(5));
+        cache.put(2L, "session-2");
+        horloge.avancer(Duration.ofMinutes(6));
+
+        int supprimees = cache.purgerExpirees();
+
+        assertThat(supprimees).isEqualTo(1);
+        assertThat(cache.get(2L)).isEqualTo("session-2");
+    }
+
+    private static class HorlogeManuelle extends Clock {
+
+        private Instant maintenant = Instant.parse("2025-01-15T10:00:00Z");
+
+        void avancer(Duration duree) {
+            maintenant = maintenant.plus(duree);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return maintenant;
+        }
+    }
+}
@@ -2,6 +2,7 @@
 import os
 from fastapi import Depends, FastAPI, HTTPException
 from fastapi.middleware.cors import CORSMiddleware
+from fastapi.responses import StreamingResponse
 from pydantic import BaseModel
 from typing import Optional
 from dotenv import load_dotenv
@@ -54,6 +55,11 @@ async def root():
     return {"message": "DebatArena API is running"}
 
 
+@app.get("/health")
+async def health():
+    return {"status": "healthy", "service": "chatbot"}
+
+
 @app.post("/chat", response_model=ChatResponse)
 async def chat(request: ChatRequest, chatbot: ChatbotService = Depends(get_chatbot_service)):
     try:
@@ -67,6 +73,33 @@ async def chat(request: ChatRequest, chatbot: ChatbotService = Depends(get_chatb
         raise HTTPException(status_code=500, detail=str(e))
 
 
+@app.post("/chat/stream")
+async def chat_stream(request: ChatRequest, chatbot: ChatbotService = Depends(get_chatbot_service)):
+    """Renvoie la réponse en texte brut par morceaux, l'ID de session dans l'en-tête X-Session-Id.
+    Chaque fragment est transmis dès qu'il est produit ; seule une erreur avant le premier
+    fragment peut encore donner une 500, au-delà le flux est interrompu."""
+    try:
+        session_id, fragments = chatbot.generate_response_stream(
+            message=request.message,
+            mode=request.mode,
+            session_id=request.session_id
+        )
+        premier = next(fragments, None)
+    except Exception as e:
+        raise HTTPException(status_code=500, detail=str(e))
+
+    def morceaux():
+        if premier is not None:
+            yield premier
+        yield from fragments
+
+    return StreamingResponse(
+        morceaux(),
+        media_type="text/plain; charset=utf-8",
+        headers={"X-Session-Id": session_id}
+    )
+
+
 @app.delete("/session/{session_id}")
 async def clear_session(session_id: str, chatbot: ChatbotService = Depends(get_chatbot_service)):
     try:
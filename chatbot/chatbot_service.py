@@ -2,7 +2,7 @@
 import os
 import uuid
 import warnings
-from typing import Dict, List
+from typing import Dict, Iterator, List, Tuple
 
 warnings.filterwarnings("ignore")
 
@@ -62,8 +62,18 @@ Adaptation : Tu adaptes ton comportement selon mode.
 
     def generate_response(self, message: str, mode: str = "train", session_id: str = None) -> dict:
         """Générer une réponse du chatbot avec support des deux modes."""
+        session_id = self._open_session(session_id)
+        response_text = "".join(self._generate(message, mode, session_id))
+        return {"text": response_text, "session_id": session_id}
+
+    def generate_response_stream(self, message: str, mode: str = "train",
+                                 session_id: str = None) -> Tuple[str, Iterator[str]]:
+        """Générer une réponse en flux : l'ID de session tout de suite, puis les fragments au fil de l'eau."""
+        session_id = self._open_session(session_id)
+        return session_id, self._generate(message, mode, session_id)
 
-        # --- Créer ou récupérer la session ---
+    def _open_session(self, session_id: str = None) -> str:
+        """Créer ou récupérer la session."""
         if not session_id:
             session_id = str(uuid.uuid4())
 
@@ -71,6 +81,11 @@ Adaptation : Tu adaptes ton comportement selon mode.
             self.sessions[session_id] = []
             self.evaluations[session_id] = []
 
+        return session_id
+
+    def _generate(self, message: str, mode: str, session_id: str) -> Iterator[str]:
+        """Produire la réponse fragment par fragment ; l'historique est complété au dernier fragment."""
+
         # --- Enregistrer le message utilisateur ---
         self.sessions[session_id].append({"role": "user", "content": message})
 
@@ -80,15 +95,21 @@ Adaptation : Tu adaptes ton comportement selon mode.
             self.evaluations[session_id].append(analysis)
         # --- Si l'utilisateur demande le score final ---
         if mode == "score" and message.lower() in ["fin du débat", "fin", "score"]:
-            final_report = self._generate_final_score(session_id)
-            self.sessions[session_id].append({"role": "assistant", "content": final_report})
-            return {"text": final_report, "session_id": session_id}
-
-        # --- Générer une réponse simulée pour le chatbot ---
-        response_text = f"Argument enregistré : {message[:50]}..."  # simulation simple
-        self.sessions[session_id].append({"role": "assistant", "content": response_text})
-
-        return {"text": response_text, "session_id": session_id}
+            response_text = self._generate_final_score(session_id)
+        else:
+            # --- Générer une réponse simulée pour le chatbot ---
+            response_text = f"Argument enregistré : {message[:50]}..."  # simulation simple
+
+        # Flux simulé : aucun modèle ne génère ici, la réponse déjà complète est découpée par mots.
+        # Avec un vrai modèle (Gemini, stream=True), chaque chunk reçu serait relayé tel quel.
+        produit = []
+        mots = response_text.split(" ")
+        for i, mot in enumerate(mots):
+            fragment = mot if i == len(mots) - 1 else mot + " "
+            produit.append(fragment)
+            yield fragment
+
+        self.sessions[session_id].append({"role": "assistant", "content": "".join(produit)})
 
     def _build_context(self, session_id: str) -> str:
         """Reconstruire le contexte des derniers échanges."""
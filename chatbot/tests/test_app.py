@@ -18,6 +18,13 @@ mock_service.generate_response.side_effect = (
     }
 )
 
+mock_service.generate_response_stream.side_effect = (
+    lambda message, mode="train", session_id=None: (
+        session_id or "session123",
+        iter(["Réponse ", "simulée: ", message])
+    )
+)
+
 mock_service.clear_session.return_value = None
 
 
@@ -43,6 +50,12 @@ def test_root():
     assert response.json()["message"] == "DebatArena API is running"
 
 
+def test_health():
+    response = client.get("/health")
+    assert response.status_code == 200
+    assert response.json()["status"] == "healthy"
+
+
 def test_chat_basic():
     response = client.post(
         "/chat",
@@ -73,6 +86,16 @@ def test_chat_final_score():
     assert "Score final" in response.json()["text"]
 
 
+def test_chat_stream():
+    response = client.post(
+        "/chat/stream",
+        json={"message": "Bonjour", "session_id": "sessionABC"}
+    )
+    assert response.status_code == 200
+    assert response.headers["x-session-id"] == "sessionABC"
+    assert response.text == "Réponse simulée: Bonjour"
+
+
 def test_clear_session():
     response = client.delete("/session/session123")
     assert response.status_code == 200
@@ -58,3 +58,18 @@ def test_multiple_sessions(chatbot_service):
     r2 = chatbot_service.generate_response("Session 2")
 
     assert r1["session_id"] != r2["session_id"]
+
+
+def test_generate_response_stream(chatbot_service):
+    session_id, fragments = chatbot_service.generate_response_stream(
+        "Premier message", session_id="stream-1")
+
+    assert session_id == "stream-1"
+    premier = next(fragments)
+    assert premier == "Argument "
+    # La réponse n'est pas encore dans l'historique tant que le flux n'est pas fini
+    assert len(chatbot_service.sessions[session_id]) == 1
+
+    texte = premier + "".join(fragments)
+    assert texte == "Argument enregistré : Premier message..."
+    assert chatbot_service.sessions[session_id][-1] == {"role": "assistant", "content": texte}